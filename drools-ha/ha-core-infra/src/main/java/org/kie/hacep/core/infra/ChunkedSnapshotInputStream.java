@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.hacep.core.infra;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.kie.hacep.core.infra.message.SnapshotChunkMessage;
+
+/**
+ * Exposes the chunks of a snapshot as a single stream, verifying the checksum of every chunk as it is reached
+ * and the checksum of the whole snapshot at the end. Every chunk is released as soon as it has been read.
+ */
+public class ChunkedSnapshotInputStream extends InputStream {
+
+    private final List<SnapshotChunkMessage> chunks;
+    private final long expectedChecksum;
+    private final CRC32 checksum = new CRC32();
+    private int chunkIndex = -1;
+    private byte[] current = new byte[0];
+    private int position;
+
+    public ChunkedSnapshotInputStream(List<SnapshotChunkMessage> chunks, long expectedChecksum) {
+        this.chunks = chunks;
+        this.expectedChecksum = expectedChecksum;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        return current[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        int count = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return current.length - position;
+    }
+
+    private boolean ensureAvailable() throws IOException {
+        while (position == current.length) {
+            if (chunkIndex >= 0) {
+                chunks.set(chunkIndex, null);
+            }
+            chunkIndex++;
+            if (chunkIndex == chunks.size()) {
+                chunkIndex--;
+                if (checksum.getValue() != expectedChecksum) {
+                    throw new IOException("Snapshot checksum mismatch, expected " + expectedChecksum + " but was " + checksum.getValue());
+                }
+                return false;
+            }
+            SnapshotChunkMessage chunk = chunks.get(chunkIndex);
+            current = chunk.getBytes();
+            position = 0;
+            CRC32 chunkChecksum = new CRC32();
+            chunkChecksum.update(current, 0, current.length);
+            if (chunkChecksum.getValue() != chunk.getChecksum()) {
+                throw new IOException("Checksum mismatch on chunk " + chunk.getIndex() + " of snapshot " + chunk.getSnapshotId());
+            }
+            checksum.update(current, 0, current.length);
+        }
+        return true;
+    }
+}
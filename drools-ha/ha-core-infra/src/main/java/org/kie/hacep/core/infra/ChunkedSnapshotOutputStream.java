@@ -0,0 +1,151 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.hacep.core.infra;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+import org.kie.hacep.core.infra.message.SnapshotChunkMessage;
+import org.kie.remote.impl.producer.Producer;
+
+/**
+ * Splits the compressed session bytes in fixed-size {@link SnapshotChunkMessage}s and sends them on the snapshot
+ * topic as soon as they are full, so the whole session never needs to be held in memory.
+ * The first chunk is kept back until a second one is needed: a snapshot fitting in a single chunk is returned by
+ * {@link #getInlineBytes()} and travels inside the manifest.
+ */
+public class ChunkedSnapshotOutputStream extends OutputStream {
+
+    public static final String CHUNK_KEY_PREFIX = DefaultSessionSnapShooter.KEY + "-CHUNK-";
+
+    private final Producer producer;
+    private final String topicName;
+    private final String snapshotId;
+    private final byte[] buffer;
+    private final CRC32 checksum = new CRC32();
+    private int position;
+    private int chunkCount;
+    private long size;
+    private SnapshotChunkMessage firstChunk;
+    private boolean closed;
+
+    public ChunkedSnapshotOutputStream(Producer producer, String topicName, String snapshotId, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Snapshot chunk size must be positive: " + chunkSize);
+        }
+        this.producer = producer;
+        this.topicName = topicName;
+        this.snapshotId = snapshotId;
+        this.buffer = new byte[chunkSize];
+    }
+
+    public static String chunkKey(int index) {
+        return CHUNK_KEY_PREFIX + index;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (position == buffer.length) {
+            nextChunk();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (position == buffer.length) {
+                nextChunk();
+            }
+            int count = Math.min(len, buffer.length - position);
+            System.arraycopy(b, off, buffer, position, count);
+            position += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            if (position > 0 || chunkCount == 0) {
+                nextChunk();
+            }
+            closed = true;
+        }
+    }
+
+    public String getSnapshotId() {
+        return snapshotId;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getChecksum() {
+        return checksum.getValue();
+    }
+
+    /**
+     * @return the whole compressed snapshot when it fitted in a single chunk, null when it has been sent as chunks
+     */
+    public byte[] getInlineBytes() {
+        return chunkCount == 1 ? firstChunk.getBytes() : null;
+    }
+
+    private void nextChunk() {
+        byte[] bytes = Arrays.copyOf(buffer, position);
+        CRC32 chunkChecksum = new CRC32();
+        chunkChecksum.update(bytes, 0, bytes.length);
+        checksum.update(bytes, 0, bytes.length);
+        size += bytes.length;
+        SnapshotChunkMessage chunk = new SnapshotChunkMessage(UUID.randomUUID().toString(),
+                                                              snapshotId,
+                                                              chunkCount,
+                                                              bytes,
+                                                              chunkChecksum.getValue());
+        if (chunkCount == 0) {
+            firstChunk = chunk;
+        } else {
+            if (chunkCount == 1) {
+                send(firstChunk);
+            }
+            send(chunk);
+        }
+        chunkCount++;
+        position = 0;
+    }
+
+    private void send(SnapshotChunkMessage chunk) {
+        producer.produceSync(topicName, chunkKey(chunk.getIndex()), chunk);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Snapshot stream " + snapshotId + " already closed");
+        }
+    }
+}
@@ -15,14 +15,13 @@
  */
 package org.kie.hacep.core.infra;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.kie.api.KieServices;
 import org.kie.api.marshalling.KieMarshallers;
@@ -38,7 +37,6 @@ import org.kie.hacep.core.infra.message.SnapshotMessage;
 import org.kie.hacep.core.infra.utils.SnapshotOnDemandUtils;
 import org.kie.remote.impl.producer.EventProducer;
 import org.kie.remote.impl.producer.Producer;
-import org.kie.remote.util.SerializationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,6 +45,8 @@ public class DefaultSessionSnapShooter implements SessionSnapshooter {
     private final Logger logger = LoggerFactory.getLogger(DefaultSessionSnapShooter.class);
     private EnvConfig envConfig;
     private SnapshotOnDemandUtils snapshotOnDemandUtils;
+    private volatile SnapshotStats lastSnapshotStats;
+    private volatile SnapshotStats lastRestoreStats;
 
     public static final String KEY = "LAST-SNAPSHOT";
 
@@ -56,51 +56,87 @@ public class DefaultSessionSnapShooter implements SessionSnapshooter {
     }
 
     public void serialize(KieSessionContext kieSessionContext, String lastInsertedEventkey, long lastInsertedEventOffset) {
+        long start = System.currentTimeMillis();
         KieMarshallers marshallers = KieServices.get().getMarshallers();
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            Producer producer = new EventProducer<>();
-            producer.start(Config.getSnapshotProducerConfig());
-            marshallers.newMarshaller(kieSessionContext.
-                    getKieSession().
-                    getKieBase()).
-                    marshall(out, kieSessionContext.getKieSession());
-            /* We are storing the last inserted key and offset together with the session's bytes */
-            byte[] bytes = out.toByteArray();
-            SnapshotMessage message = new SnapshotMessage(UUID.randomUUID().toString(),
+        SnapshotCompression compression = SnapshotCompression.fromName(envConfig.getSnapshotCompression());
+        Producer producer = new EventProducer<>();
+        producer.start(Config.getSnapshotProducerConfig());
+        try {
+            /* The session is marshalled straight through the compressor into chunks sent as they fill up,
+             the manifest goes last together with the last inserted key and offset */
+            ChunkedSnapshotOutputStream chunks = new ChunkedSnapshotOutputStream(producer,
+                                                                                 envConfig.getSnapshotTopicName(),
+                                                                                 UUID.randomUUID().toString(),
+                                                                                 envConfig.getSnapshotChunkSize());
+            CountingOutputStream out = new CountingOutputStream(compression.compress(chunks));
+            try {
+                marshallers.newMarshaller(kieSessionContext.
+                        getKieSession().
+                        getKieBase()).
+                        marshall(out, kieSessionContext.getKieSession());
+            } finally {
+                out.close();
+            }
+            SnapshotMessage message = new SnapshotMessage(chunks.getSnapshotId(),
                                                           envConfig.getKJarGAV(),
-                                                          bytes,
+                                                          chunks.getInlineBytes(),
                                                           kieSessionContext.getFhManager(),
                                                           lastInsertedEventkey,
                                                           lastInsertedEventOffset,
-                                                          LocalDateTime.now());
+                                                          LocalDateTime.now(),
+                                                          compression.name(),
+                                                          chunks.getChunkCount(),
+                                                          out.getCount(),
+                                                          chunks.getSize(),
+                                                          chunks.getChecksum());
             producer.produceSync(envConfig.getSnapshotTopicName(), KEY, message);
-            producer.stop();
+            lastSnapshotStats = new SnapshotStats(message.getId(),
+                                                  compression.name(),
+                                                  out.getCount(),
+                                                  chunks.getSize(),
+                                                  chunks.getChunkCount(),
+                                                  System.currentTimeMillis() - start);
+            if (logger.isInfoEnabled()) {
+                logger.info("Snapshot written {}", lastSnapshotStats);
+            }
         } catch (IOException e) {
             logger.error(e.getMessage(), e);
+        } finally {
+            producer.stop();
         }
     }
 
     public SnapshotInfos deserialize() {
         KieServices srv = KieServices.get();
         if (srv != null) {
+            long start = System.currentTimeMillis();
             KafkaConsumer<String, byte[]> consumer = snapshotOnDemandUtils.getConfiguredSnapshotConsumer(envConfig);
-            ConsumerRecords<String, byte[]> records = consumer.poll(envConfig.getPollSnapshotDuration());
-            byte[] bytes = null;
-            for (ConsumerRecord record : records) {
-                bytes = (byte[]) record.value();
+            SnapshotReader reader;
+            try {
+                reader = SnapshotReader.readAll(consumer, envConfig.getPollSnapshotDuration());
+            } finally {
+                consumer.close();
             }
-            consumer.close();
 
-            SnapshotMessage snapshotMsg = bytes != null ? SerializationUtil.deserialize(bytes) : null;
+            SnapshotMessage snapshotMsg = reader.getLatest();
             if (snapshotMsg != null) {
                 KieContainer kieContainer = null;
                 KieSession kSession = null;
-                try (ByteArrayInputStream in = new ByteArrayInputStream(snapshotMsg.getSerializedSession())) {
+                try (InputStream in = reader.openSession()) {
 
                     KieSessionConfiguration conf = srv.newKieSessionConfiguration();
                     conf.setOption(ClockTypeOption.get("pseudo"));
                     kieContainer = KieContainerUtils.getKieContainer(envConfig, srv);
                     kSession = srv.getMarshallers().newMarshaller(kieContainer.getKieBase()).unmarshall(in, conf, null);
+                    lastRestoreStats = new SnapshotStats(snapshotMsg.getId(),
+                                                         snapshotMsg.getCompression(),
+                                                         snapshotMsg.getUncompressedSize(),
+                                                         snapshotMsg.getCompressedSize(),
+                                                         snapshotMsg.getChunkCount(),
+                                                         System.currentTimeMillis() - start);
+                    if (logger.isInfoEnabled()) {
+                        logger.info("Snapshot restored {}", lastRestoreStats);
+                    }
                 } catch (IOException | ClassNotFoundException e) {
                     logger.error(e.getMessage(), e);
                 }
@@ -124,13 +160,12 @@ public class DefaultSessionSnapShooter implements SessionSnapshooter {
     @Override
     public LocalDateTime getLastSnapshotTime() {
         KafkaConsumer<String, byte[]> consumer = snapshotOnDemandUtils.getConfiguredSnapshotConsumer(envConfig);
-        ConsumerRecords<String, byte[]> records = consumer.poll(envConfig.getPollSnapshotDuration());
-        byte[] bytes = null;
-        for (ConsumerRecord record : records) {
-            bytes = (byte[]) record.value();
+        SnapshotMessage snapshotMsg;
+        try {
+            snapshotMsg = SnapshotReader.readAll(consumer, envConfig.getPollSnapshotDuration()).getLatest();
+        } finally {
+            consumer.close();
         }
-        consumer.close();
-        SnapshotMessage snapshotMsg = bytes != null ? SerializationUtil.deserialize(bytes) : null;
         if (snapshotMsg != null) {
             return snapshotMsg.getTime();
         } else {
@@ -138,4 +173,36 @@ public class DefaultSessionSnapShooter implements SessionSnapshooter {
         }
     }
 
+    public SnapshotStats getLastSnapshotStats() {
+        return lastSnapshotStats;
+    }
+
+    public SnapshotStats getLastRestoreStats() {
+        return lastRestoreStats;
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
 }
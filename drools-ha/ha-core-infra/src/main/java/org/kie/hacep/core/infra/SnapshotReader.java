@@ -0,0 +1,192 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.hacep.core.infra;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.kie.hacep.core.infra.message.SnapshotChunkMessage;
+import org.kie.hacep.core.infra.message.SnapshotMessage;
+import org.kie.remote.util.SerializationUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the records of the snapshot topic, keeping the last snapshot manifest, the last complete snapshot and,
+ * for chunked snapshots, the chunks of every snapshot id by index. The chunks of a complete snapshot are only
+ * dropped once a newer snapshot is complete, so a snapshot still being written never hides the previous one.
+ * Chunks stay compressed until {@link #openSession()} streams them through the decompressor.
+ */
+public class SnapshotReader {
+
+    /**
+     * Consecutive empty polls after which {@link #readAll(Consumer, Duration)} gives up reaching the end offsets
+     */
+    static final int MAX_EMPTY_POLLS = 30;
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotReader.class);
+
+    private final Map<String, Map<Integer, SnapshotChunkMessage>> chunks = new HashMap<>();
+    private final Set<String> announced = new HashSet<>();
+    private SnapshotMessage manifest;
+    private SnapshotMessage latest;
+
+    /**
+     * Polls the snapshot topic until the consumer reached the end offsets observed when the read started, giving up
+     * after {@link #MAX_EMPTY_POLLS} polls in a row returned nothing.
+     */
+    public static SnapshotReader readAll(Consumer<String, byte[]> consumer, Duration pollDuration) {
+        SnapshotReader reader = new SnapshotReader();
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(consumer.assignment());
+        int emptyPolls = 0;
+        while (!isCaughtUp(consumer, endOffsets)) {
+            ConsumerRecords<String, byte[]> records = consumer.poll(pollDuration);
+            if (!records.isEmpty()) {
+                emptyPolls = 0;
+                reader.accept(records);
+            } else if (++emptyPolls >= MAX_EMPTY_POLLS) {
+                logger.warn("Snapshot topic not read up to {} after {} empty polls, using the records read so far", endOffsets, emptyPolls);
+                break;
+            }
+        }
+        return reader;
+    }
+
+    public void accept(ConsumerRecords<String, byte[]> records) {
+        for (ConsumerRecord<String, byte[]> record : records) {
+            accept(record.key(), record.value());
+        }
+    }
+
+    public void accept(String key, byte[] value) {
+        if (value == null) {
+            return;
+        }
+        if (key != null && key.startsWith(ChunkedSnapshotOutputStream.CHUNK_KEY_PREFIX)) {
+            SnapshotChunkMessage chunk = SerializationUtil.deserialize(value);
+            chunks.computeIfAbsent(chunk.getSnapshotId(), id -> new HashMap<>()).put(chunk.getIndex(), chunk);
+        } else {
+            manifest = SerializationUtil.deserialize(value);
+            announced.add(manifest.getId());
+        }
+        promoteManifest();
+    }
+
+    /**
+     * Makes the last manifest the latest snapshot once all its chunks are there, dropping the chunks of the
+     * snapshots announced before it, complete or not
+     */
+    private void promoteManifest() {
+        if (manifest == null || manifest == latest || !hasAllChunks(manifest)) {
+            return;
+        }
+        for (String snapshotId : announced) {
+            if (!Objects.equals(snapshotId, manifest.getId())) {
+                chunks.remove(snapshotId);
+            }
+        }
+        announced.clear();
+        announced.add(manifest.getId());
+        latest = manifest;
+    }
+
+    private boolean hasAllChunks(SnapshotMessage snapshot) {
+        if (!snapshot.isChunked()) {
+            return true;
+        }
+        Map<Integer, SnapshotChunkMessage> snapshotChunks = chunks.get(snapshot.getId());
+        if (snapshotChunks == null) {
+            return false;
+        }
+        for (int i = 0; i < snapshot.getChunkCount(); i++) {
+            if (!snapshotChunks.containsKey(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the last manifest read, even if some of its chunks are still missing
+     */
+    public SnapshotMessage getManifest() {
+        return manifest;
+    }
+
+    /**
+     * @return the most recent manifest whose chunks are all available, null if there is none
+     */
+    public SnapshotMessage getLatest() {
+        return latest;
+    }
+
+    public boolean isComplete() {
+        return latest != null;
+    }
+
+    /**
+     * Opens the uncompressed session bytes of the latest complete snapshot
+     */
+    public InputStream openSession() throws IOException {
+        if (!isComplete()) {
+            throw new IllegalStateException("No complete snapshot available");
+        }
+        SnapshotCompression compression = SnapshotCompression.fromName(latest.getCompression());
+        InputStream in;
+        if (latest.isChunked()) {
+            Map<Integer, SnapshotChunkMessage> snapshotChunks = chunks.get(latest.getId());
+            List<SnapshotChunkMessage> ordered = new ArrayList<>(latest.getChunkCount());
+            for (int i = 0; i < latest.getChunkCount(); i++) {
+                ordered.add(snapshotChunks.get(i));
+            }
+            in = new ChunkedSnapshotInputStream(ordered, latest.getChecksum());
+        } else {
+            byte[] bytes = latest.getSerializedSession();
+            if (latest.getCompression() != null) {
+                CRC32 checksum = new CRC32();
+                checksum.update(bytes, 0, bytes.length);
+                if (checksum.getValue() != latest.getChecksum()) {
+                    throw new IOException("Checksum mismatch on snapshot " + latest.getId());
+                }
+            }
+            in = new ByteArrayInputStream(bytes);
+        }
+        return compression.decompress(in);
+    }
+
+    private static boolean isCaughtUp(Consumer<String, byte[]> consumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> entry : endOffsets.entrySet()) {
+            if (consumer.position(entry.getKey()) < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
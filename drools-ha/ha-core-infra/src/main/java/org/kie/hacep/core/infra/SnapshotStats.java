@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.hacep.core.infra;
+
+/**
+ * Figures of a single snapshot write or restore, used to monitor the compression ratio and the time spent on
+ * snapshots.
+ */
+public class SnapshotStats {
+
+    private final String snapshotId;
+    private final String compression;
+    private final long uncompressedSize;
+    private final long compressedSize;
+    private final int chunkCount;
+    private final long durationMillis;
+
+    public SnapshotStats(String snapshotId,
+                         String compression,
+                         long uncompressedSize,
+                         long compressedSize,
+                         int chunkCount,
+                         long durationMillis) {
+        this.snapshotId = snapshotId;
+        this.compression = compression;
+        this.uncompressedSize = uncompressedSize;
+        this.compressedSize = compressedSize;
+        this.chunkCount = chunkCount;
+        this.durationMillis = durationMillis;
+    }
+
+    public String getSnapshotId() {
+        return snapshotId;
+    }
+
+    public String getCompression() {
+        return compression;
+    }
+
+    public long getUncompressedSize() {
+        return uncompressedSize;
+    }
+
+    public long getCompressedSize() {
+        return compressedSize;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public double getCompressionRatio() {
+        return compressedSize == 0 ? 0 : (double) uncompressedSize / compressedSize;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("SnapshotStats{");
+        sb.append("snapshotId='").append(snapshotId).append('\'');
+        sb.append(", compression='").append(compression).append('\'');
+        sb.append(", uncompressedSize=").append(uncompressedSize);
+        sb.append(", compressedSize=").append(compressedSize);
+        sb.append(", compressionRatio=").append(String.format("%.2f", getCompressionRatio()));
+        sb.append(", chunkCount=").append(chunkCount);
+        sb.append(", durationMillis=").append(durationMillis);
+        sb.append('}');
+        return sb.toString();
+    }
+}
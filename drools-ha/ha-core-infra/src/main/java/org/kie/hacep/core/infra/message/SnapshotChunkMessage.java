@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.hacep.core.infra.message;
+
+import java.io.Serializable;
+
+import org.kie.remote.message.AbstractMessage;
+
+/**
+ * A fixed-size slice of a compressed session snapshot. The chunks belonging to the same snapshot share the
+ * snapshot id and are reassembled by index, each one carrying the CRC32 of its own bytes.
+ */
+public class SnapshotChunkMessage extends AbstractMessage implements Serializable {
+
+  private String snapshotId;
+  private int index;
+  private byte[] bytes;
+  private long checksum;
+
+  /* Empty constructor for serialization */
+  public SnapshotChunkMessage() { }
+
+  public SnapshotChunkMessage(String id,
+                              String snapshotId,
+                              int index,
+                              byte[] bytes,
+                              long checksum) {
+    super(id);
+    this.snapshotId = snapshotId;
+    this.index = index;
+    this.bytes = bytes;
+    this.checksum = checksum;
+  }
+
+  public String getSnapshotId() {
+    return snapshotId;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public byte[] getBytes() {
+    return bytes;
+  }
+
+  public long getChecksum() {
+    return checksum;
+  }
+}
@@ -32,6 +32,11 @@ public class SnapshotMessage extends AbstractMessage implements Serializable {
   private long lastInsertedEventOffset;
   private LocalDateTime time;
   private String kjarGAV;
+  private String compression;
+  private int chunkCount;
+  private long uncompressedSize;
+  private long compressedSize;
+  private long checksum;
 
   /* Empty constructor for serialization */
   public SnapshotMessage() { }
@@ -52,6 +57,31 @@ public class SnapshotMessage extends AbstractMessage implements Serializable {
     this.kjarGAV = kjarGAV;
   }
 
+  /**
+   * Manifest of a compressed snapshot: when the compressed session fits in a single chunk it is carried inline
+   * in serializedSession, otherwise serializedSession is null and the session is spread over chunkCount
+   * {@link SnapshotChunkMessage}s sharing this message id.
+   */
+  public SnapshotMessage(String id,
+                         String kjarGAV,
+                         byte[] serializedSession,
+                         FactHandlesManager fhManager,
+                         String lastInsertedEventkey,
+                         long lastInsertedEventOffset,
+                         LocalDateTime time,
+                         String compression,
+                         int chunkCount,
+                         long uncompressedSize,
+                         long compressedSize,
+                         long checksum) {
+    this(id, kjarGAV, serializedSession, fhManager, lastInsertedEventkey, lastInsertedEventOffset, time);
+    this.compression = compression;
+    this.chunkCount = chunkCount;
+    this.uncompressedSize = uncompressedSize;
+    this.compressedSize = compressedSize;
+    this.checksum = checksum;
+  }
+
   public byte[] getSerializedSession() {
     return serializedSession;
   }
@@ -80,4 +110,29 @@ public class SnapshotMessage extends AbstractMessage implements Serializable {
     return kjarGAV;
   }
 
+  /* null for snapshots written without compression, before the chunked format */
+  public String getCompression() {
+    return compression;
+  }
+
+  public int getChunkCount() {
+    return chunkCount;
+  }
+
+  public boolean isChunked() {
+    return chunkCount > 1;
+  }
+
+  public long getUncompressedSize() {
+    return uncompressedSize;
+  }
+
+  public long getCompressedSize() {
+    return compressedSize;
+  }
+
+  public long getChecksum() {
+    return checksum;
+  }
+
 }
@@ -15,16 +15,14 @@
  */
 package org.kie.hacep.core.infra.utils;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Properties;
 
-import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
@@ -39,12 +37,12 @@ import org.kie.hacep.consumer.KieContainerUtils;
 import org.kie.hacep.core.GlobalStatus;
 import org.kie.hacep.core.infra.SessionSnapshooter;
 import org.kie.hacep.core.infra.SnapshotInfos;
+import org.kie.hacep.core.infra.SnapshotReader;
 import org.kie.hacep.core.infra.message.SnapshotMessage;
 import org.kie.remote.TopicsConfig;
 import org.kie.remote.command.SnapshotOnDemandCommand;
 import org.kie.remote.impl.producer.Producer;
 import org.kie.remote.impl.producer.Sender;
-import org.kie.remote.util.SerializationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,10 +70,11 @@ public class SnapshotOnDemandUtilsImpl implements SnapshotOnDemandUtils {
     }
 
     private SnapshotInfos buildNewSnapshotOnDemand(EnvConfig envConfig, LocalDateTime limitAge, Producer producer) {
-        SnapshotMessage snapshotMsg = askAndReadSnapshotOnDemand(envConfig, limitAge, producer);
+        SnapshotReader reader = askAndReadSnapshotOnDemand(envConfig, limitAge, producer);
+        SnapshotMessage snapshotMsg = reader.getLatest();
         KieSession kSession = null;
         KieContainer kieContainer = null;
-        try (ByteArrayInputStream in = new ByteArrayInputStream(snapshotMsg.getSerializedSession())) {
+        try (InputStream in = reader.openSession()) {
             KieServices ks = KieServices.get();
             kieContainer = KieContainerUtils.getKieContainer(envConfig, ks);
             KieSessionConfiguration conf = ks.newKieSessionConfiguration();
@@ -93,7 +92,7 @@ public class SnapshotOnDemandUtilsImpl implements SnapshotOnDemandUtils {
                                  snapshotMsg.getKjarGAV());
     }
 
-    private SnapshotMessage askAndReadSnapshotOnDemand(EnvConfig envConfig,
+    private SnapshotReader askAndReadSnapshotOnDemand(EnvConfig envConfig,
                                                               LocalDateTime limitAge,
                                                               Producer producer) {
         Properties props = Config.getProducerConfig("SnapshotOnDemandUtils.askASnapshotOnDemand");
@@ -103,20 +102,15 @@ public class SnapshotOnDemandUtilsImpl implements SnapshotOnDemandUtils {
         sender.stop();
         KafkaConsumer consumer = getConfiguredSnapshotConsumer(envConfig);
         boolean snapshotReady = false;
-        SnapshotMessage msg = null;
+        SnapshotReader reader = new SnapshotReader();
         try {
             GlobalStatus.setCanBecomeLeader(false);
             int counter = 0;
             while (!snapshotReady) {
-                ConsumerRecords<String, byte[]> records = consumer.poll(envConfig.getPollSnapshotDuration());
-                byte[] bytes = null;
-                for (ConsumerRecord record : records) {
-                    bytes = (byte[]) record.value();
-                }
-                SnapshotMessage snapshotMsg = bytes != null ? SerializationUtil.deserialize(bytes) : null;
+                reader.accept(consumer.poll(envConfig.getPollSnapshotDuration()));
+                SnapshotMessage snapshotMsg = reader.getLatest();
                 if (snapshotMsg != null && limitAge.isBefore(snapshotMsg.getTime())) {
                     snapshotReady = true;
-                    msg = snapshotMsg;
                 } else {
                     // use a counter to avoid infinite attempts
                     counter += 1;
@@ -132,7 +126,7 @@ public class SnapshotOnDemandUtilsImpl implements SnapshotOnDemandUtils {
             consumer.close();
             GlobalStatus.setCanBecomeLeader(true);
         }
-        return msg;
+        return reader;
     }
 
     @Override
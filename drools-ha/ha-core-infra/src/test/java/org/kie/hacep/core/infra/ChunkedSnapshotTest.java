@@ -0,0 +1,237 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.hacep.core.infra;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+import org.kie.hacep.core.infra.message.SnapshotChunkMessage;
+import org.kie.hacep.core.infra.message.SnapshotMessage;
+import org.kie.remote.impl.producer.Producer;
+import org.kie.remote.message.Message;
+import org.kie.remote.message.ResultMessage;
+
+import static org.junit.Assert.*;
+import static org.kie.remote.util.SerializationUtil.serialize;
+
+public class ChunkedSnapshotTest {
+
+    @Test
+    public void smallSnapshotIsInlinedTest() throws IOException {
+        RecordingProducer producer = new RecordingProducer();
+        byte[] session = "a small session".getBytes();
+        SnapshotReader reader = writeAndRead(producer, session, SnapshotCompression.LZ4, 1024);
+        assertTrue(producer.keys.isEmpty());
+        assertFalse(reader.getLatest().isChunked());
+        assertArrayEquals(session, readFully(reader.openSession()));
+    }
+
+    @Test
+    public void bigSnapshotIsChunkedTest() throws IOException {
+        for (SnapshotCompression compression : SnapshotCompression.values()) {
+            RecordingProducer producer = new RecordingProducer();
+            byte[] session = randomSession(100_000);
+            SnapshotReader reader = writeAndRead(producer, session, compression, 1024);
+            SnapshotMessage manifest = reader.getLatest();
+            assertTrue(manifest.isChunked());
+            assertEquals(manifest.getChunkCount(), producer.keys.size());
+            assertEquals(ChunkedSnapshotOutputStream.chunkKey(0), producer.keys.get(0));
+            assertEquals(session.length, manifest.getUncompressedSize());
+            assertArrayEquals(session, readFully(reader.openSession()));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void corruptedChunkIsDetectedTest() throws IOException {
+        RecordingProducer producer = new RecordingProducer();
+        SnapshotReader reader = writeAndRead(producer, randomSession(10_000), SnapshotCompression.NONE, 1024);
+        SnapshotChunkMessage chunk = producer.chunks.get(3);
+        chunk.getBytes()[0]++;
+        reader.accept(ChunkedSnapshotOutputStream.chunkKey(3), serialize(chunk));
+        readFully(reader.openSession());
+    }
+
+    @Test
+    public void incompleteSnapshotIsNotReturnedTest() throws IOException {
+        RecordingProducer producer = new RecordingProducer();
+        writeAndRead(producer, randomSession(10_000), SnapshotCompression.NONE, 1024);
+        SnapshotReader reader = new SnapshotReader();
+        reader.accept(DefaultSessionSnapShooter.KEY, serialize(producer.manifest));
+        assertNotNull(reader.getManifest());
+        assertNull(reader.getLatest());
+    }
+
+    @Test
+    public void partialNewerSnapshotKeepsPreviousTest() throws IOException {
+        byte[] session = randomSession(10_000);
+        RecordingProducer producer = new RecordingProducer();
+        SnapshotReader reader = writeAndRead(producer, session, SnapshotCompression.NONE, 1024);
+
+        RecordingProducer newer = new RecordingProducer();
+        ChunkedSnapshotOutputStream chunks = new ChunkedSnapshotOutputStream(newer, "snapshot", "newer-snapshot-id", 1024);
+        chunks.write(randomSession(5_000));
+        for (int i = 0; i < newer.keys.size(); i++) {
+            reader.accept(newer.keys.get(i), serialize(newer.chunks.get(i)));
+        }
+
+        assertEquals("snapshot-id", reader.getLatest().getId());
+        assertArrayEquals(session, readFully(reader.openSession()));
+    }
+
+    @Test
+    public void newerCompleteSnapshotReplacesPreviousTest() throws IOException {
+        RecordingProducer producer = new RecordingProducer();
+        SnapshotReader reader = writeAndRead(producer, randomSession(10_000), SnapshotCompression.NONE, 1024);
+
+        byte[] session = randomSession(20_000);
+        RecordingProducer newer = new RecordingProducer();
+        ChunkedSnapshotOutputStream chunks = new ChunkedSnapshotOutputStream(newer, "snapshot", "newer-snapshot-id", 1024);
+        chunks.write(session);
+        chunks.close();
+        for (int i = 0; i < newer.keys.size(); i++) {
+            reader.accept(newer.keys.get(i), serialize(newer.chunks.get(i)));
+        }
+        reader.accept(DefaultSessionSnapShooter.KEY, serialize(manifest(chunks, SnapshotCompression.NONE, session)));
+
+        assertEquals("newer-snapshot-id", reader.getLatest().getId());
+        assertArrayEquals(session, readFully(reader.openSession()));
+    }
+
+    @Test
+    public void readAllKeepsPollingUntilCaughtUpTest() throws IOException {
+        byte[] session = randomSession(10_000);
+        RecordingProducer producer = new RecordingProducer();
+        writeAndRead(producer, session, SnapshotCompression.NONE, 1024);
+
+        TopicPartition partition = new TopicPartition("snapshot", 0);
+        MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(Collections.singletonList(partition));
+        consumer.updateBeginningOffsets(Collections.singletonMap(partition, 0L));
+        consumer.updateEndOffsets(Collections.singletonMap(partition, (long) producer.keys.size() + 1));
+        // the records only show up after a few empty polls
+        consumer.schedulePollTask(() -> { });
+        consumer.schedulePollTask(() -> { });
+        consumer.schedulePollTask(() -> {
+            long offset = 0;
+            for (int i = 0; i < producer.keys.size(); i++) {
+                consumer.addRecord(new ConsumerRecord<>("snapshot", 0, offset++, producer.keys.get(i), serialize(producer.chunks.get(i))));
+            }
+            consumer.addRecord(new ConsumerRecord<>("snapshot", 0, offset, DefaultSessionSnapShooter.KEY, serialize(producer.manifest)));
+        });
+
+        SnapshotReader reader = SnapshotReader.readAll(consumer, Duration.ofMillis(1));
+        assertNotNull(reader.getLatest());
+        assertArrayEquals(session, readFully(reader.openSession()));
+    }
+
+    @Test
+    public void readAllGivesUpAfterEmptyPollsTest() {
+        TopicPartition partition = new TopicPartition("snapshot", 0);
+        MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(Collections.singletonList(partition));
+        consumer.updateBeginningOffsets(Collections.singletonMap(partition, 0L));
+        consumer.updateEndOffsets(Collections.singletonMap(partition, 10L));
+
+        SnapshotReader reader = SnapshotReader.readAll(consumer, Duration.ofMillis(1));
+        assertNull(reader.getLatest());
+    }
+
+    @Test
+    public void legacySnapshotTest() throws IOException {
+        byte[] session = randomSession(5_000);
+        SnapshotMessage legacy = new SnapshotMessage("id", null, session, null, "key", 1L, LocalDateTime.now());
+        SnapshotReader reader = new SnapshotReader();
+        reader.accept(DefaultSessionSnapShooter.KEY, serialize(legacy));
+        assertArrayEquals(session, readFully(reader.openSession()));
+    }
+
+    private SnapshotReader writeAndRead(RecordingProducer producer, byte[] session, SnapshotCompression compression, int chunkSize) throws IOException {
+        ChunkedSnapshotOutputStream chunks = new ChunkedSnapshotOutputStream(producer, "snapshot", "snapshot-id", chunkSize);
+        try (OutputStream out = compression.compress(chunks)) {
+            out.write(session);
+        }
+        producer.manifest = manifest(chunks, compression, session);
+        SnapshotReader reader = new SnapshotReader();
+        for (int i = 0; i < producer.keys.size(); i++) {
+            reader.accept(producer.keys.get(i), serialize(producer.chunks.get(i)));
+        }
+        reader.accept(DefaultSessionSnapShooter.KEY, serialize(producer.manifest));
+        return reader;
+    }
+
+    private SnapshotMessage manifest(ChunkedSnapshotOutputStream chunks, SnapshotCompression compression, byte[] session) {
+        return new SnapshotMessage(chunks.getSnapshotId(), null, chunks.getInlineBytes(), null, "key", 1L,
+                                   LocalDateTime.now(), compression.name(), chunks.getChunkCount(),
+                                   session.length, chunks.getSize(), chunks.getChecksum());
+    }
+
+    private byte[] randomSession(int size) {
+        byte[] session = new byte[size];
+        Random random = new Random(size);
+        for (int i = 0; i < size; i++) {
+            session[i] = (byte) ('a' + random.nextInt(8));
+        }
+        return session;
+    }
+
+    private byte[] readFully(InputStream in) throws IOException {
+        try (InputStream is = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[512];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static class RecordingProducer implements Producer {
+
+        private final List<String> keys = new ArrayList<>();
+        private final List<SnapshotChunkMessage> chunks = new ArrayList<>();
+        private SnapshotMessage manifest;
+
+        @Override
+        public void start(Properties properties) { }
+
+        @Override
+        public void stop() { }
+
+        @Override
+        public <T> void produceSync(String topicName, String key, ResultMessage<T> object) { }
+
+        @Override
+        public void produceSync(String topicName, String key, Message object) {
+            keys.add(key);
+            chunks.add((SnapshotChunkMessage) object);
+        }
+    }
+}
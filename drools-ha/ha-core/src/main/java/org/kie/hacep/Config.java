@@ -51,6 +51,10 @@ public class Config {
     public static final String UPDATABLE_KJAR = "UPDATABLEKJAR";
     public static final String KJAR_GAV = "KJARGAV";
     public static final String DEFAULT_MAX_SNAPSHOT_REQUEST_ATTEMPTS = "30";
+    public static final String SNAPSHOT_COMPRESSION = "SNAPSHOT_COMPRESSION";
+    public static final String DEFAULT_SNAPSHOT_COMPRESSION = "LZ4";
+    public static final String SNAPSHOT_CHUNK_SIZE = "SNAPSHOT_CHUNK_SIZE";
+    public static final int DEFAULT_SNAPSHOT_CHUNK_SIZE = 512 * 1024;
     private static final Logger logger = LoggerFactory.getLogger(Config.class);
     private static final String CONSUMER_CONF = "consumer.properties";
     private static final String PRODUCER_CONF = "producer.properties";
@@ -43,6 +43,8 @@ public final class EnvConfig {
     private Duration pollSnapshotDuration;
     private boolean updatableKJar;
     private String kJarGAV;//groupid:artifactid:version
+    private String snapshotCompression = Config.DEFAULT_SNAPSHOT_COMPRESSION;
+    private int snapshotChunkSize = Config.DEFAULT_SNAPSHOT_CHUNK_SIZE;
     public static final String SECONDS = "sec";
     public static final String MILLISEC = "millisec";
 
@@ -66,6 +68,8 @@ public final class EnvConfig {
                 withMaxSnapshotRequestAttempts(Optional.ofNullable(System.getenv(Config.MAX_SNAPSHOT_REQUEST_ATTEMPTS)).orElse(Config.DEFAULT_MAX_SNAPSHOT_REQUEST_ATTEMPTS)).
                 withUpdatableKJar(Optional.ofNullable(System.getenv(Config.UPDATABLE_KJAR)).orElse(Boolean.FALSE.toString())).
                 withKJarGAV(Optional.ofNullable(System.getenv(Config.KJAR_GAV)).orElse(null)).
+                withSnapshotCompression(Optional.ofNullable(System.getenv(Config.SNAPSHOT_COMPRESSION)).orElse(Config.DEFAULT_SNAPSHOT_COMPRESSION)).
+                withSnapshotChunkSize(Optional.ofNullable(System.getenv(Config.SNAPSHOT_CHUNK_SIZE)).orElse(String.valueOf(Config.DEFAULT_SNAPSHOT_CHUNK_SIZE))).
                 underTest(Optional.ofNullable(System.getenv(Config.UNDER_TEST)).orElse(Config.TEST));
     }
 
@@ -195,6 +199,23 @@ public final class EnvConfig {
         return this;
     }
 
+    public EnvConfig withSnapshotCompression(String snapshotCompression) {
+        if (snapshotCompression == null) {
+            throw new IllegalArgumentException("No snapshotCompression provided");
+        }
+        this.snapshotCompression = snapshotCompression;
+        return this;
+    }
+
+    public EnvConfig withSnapshotChunkSize(String snapshotChunkSize) {
+        int chunkSize = Integer.parseInt(snapshotChunkSize);
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("snapshotChunkSize must be positive");
+        }
+        this.snapshotChunkSize = chunkSize;
+        return this;
+    }
+
     public String getNamespace() {
         return namespace;
     }
@@ -275,6 +296,14 @@ public final class EnvConfig {
         return kJarGAV;
     }
 
+    public String getSnapshotCompression() {
+        return snapshotCompression;
+    }
+
+    public int getSnapshotChunkSize() {
+        return snapshotChunkSize;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("EnvConfig{");
@@ -298,6 +327,8 @@ public final class EnvConfig {
         sb.append(", pollSnapshotDuration=").append(pollSnapshotDuration);
         sb.append(", updatableKJar=").append(updatableKJar);
         sb.append(", kJarGAV='").append(kJarGAV).append('\'');
+        sb.append(", snapshotCompression='").append(snapshotCompression).append('\'');
+        sb.append(", snapshotChunkSize=").append(snapshotChunkSize);
         sb.append('}');
         return sb.toString();
     }
@@ -32,6 +32,13 @@ public class EnvConfigTest {
         assertEquals(PollUnit.MILLISECOND, config.getPollUnit());
         assertEquals(PollUnit.SECOND, config.getPollSnapshotUnit());
         assertTrue(1 == config.getPollSnapshotTimeout());
+        assertEquals(Config.DEFAULT_SNAPSHOT_COMPRESSION, config.getSnapshotCompression());
+        assertEquals(Config.DEFAULT_SNAPSHOT_CHUNK_SIZE, config.getSnapshotChunkSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void snapshotChunkSizeExceptionTest() {
+        EnvConfig.anEnvConfig().withSnapshotChunkSize("0");
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -19,6 +19,7 @@ import java.util.*;
 
 import org.eclipse.bpmn2.FlowElement;
 import org.eclipse.bpmn2.SequenceFlow;
+import org.jbpm.simulation.util.PersistentLinkedSet;
 
 public class PathContext {
 
@@ -31,7 +32,7 @@ public class PathContext {
         TEMP;
     }
 
-    private Set<FlowElement> pathElements = new LinkedHashSet<FlowElement>();
+    private PersistentLinkedSet<FlowElement> pathElements = new PersistentLinkedSet<FlowElement>();
     private Type type;
     private boolean canBeFinished = true;
     private boolean locked = false;
@@ -39,7 +40,7 @@ public class PathContext {
     private int canBeFinishedCounter = 0;
     private String pathId;
 
-    private Set<FlowElement> visitedSplitPoint = new LinkedHashSet<FlowElement>();
+    private PersistentLinkedSet<FlowElement> visitedSplitPoint = new PersistentLinkedSet<FlowElement>();
 
     private FlowElement splitOrigin = null;
 
@@ -63,7 +64,7 @@ public class PathContext {
     
     public void addPathElement(FlowElement element) {
         checkSize();
-        if (!locked) {
+        if (!locked && element != null) {
             this.pathElements.add(element);
         }
     }
@@ -77,17 +78,20 @@ public class PathContext {
     public void addAllPathElement(List<SequenceFlow> elements) {
         checkSize();
         if (!locked) {
-            this.pathElements.addAll(elements);
+            for (SequenceFlow element : elements) {
+                if (element != null) {
+                    this.pathElements.add(element);
+                }
+            }
         }
     }
     
     public Set<FlowElement> getPathElements() {
-        this.pathElements.removeIf(Objects::isNull);
         return this.pathElements;
     }
 
     public void setPathElements(Set<FlowElement> pathElements) {
-        this.pathElements = pathElements;
+        this.pathElements = toPersistentSet(pathElements);
     }
 
     public boolean isCanBeFinished() {
@@ -152,7 +156,29 @@ public class PathContext {
     }
 
     public void setVisitedSplitPoint(Set<FlowElement> visitedSplitPoint) {
-        this.visitedSplitPoint = visitedSplitPoint;
+        this.visitedSplitPoint = toPersistentSet(visitedSplitPoint);
+    }
+
+    /**
+     * Takes over the path elements and visited split points of the given context, they are shared
+     * with it until any of both contexts changes them.
+     */
+    protected void shareElements(PathContext other) {
+        this.pathElements = other.pathElements.copy();
+        this.visitedSplitPoint = other.visitedSplitPoint.copy();
+    }
+
+    private static PersistentLinkedSet<FlowElement> toPersistentSet(Set<FlowElement> elements) {
+        if (elements instanceof PersistentLinkedSet) {
+            return (PersistentLinkedSet<FlowElement>) elements;
+        }
+        PersistentLinkedSet<FlowElement> result = new PersistentLinkedSet<FlowElement>();
+        for (FlowElement element : elements) {
+            if (element != null) {
+                result.add(element);
+            }
+        }
+        return result;
     }
 
 
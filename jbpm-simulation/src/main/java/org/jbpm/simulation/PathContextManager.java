@@ -18,25 +18,33 @@ package org.jbpm.simulation;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
+import java.util.function.Consumer;
 
 import org.eclipse.bpmn2.FlowElement;
 import org.eclipse.bpmn2.SequenceFlow;
+import org.eclipse.bpmn2.StartEvent;
+import org.eclipse.bpmn2.SubProcess;
 import org.jbpm.simulation.PathContext.Type;
 
 public class PathContextManager {
 
     private final int maxPathSize = Integer.parseInt(System.getProperty("org.jbpm.simulation.max.paths", "100"));
+    private int maxCompletePaths = Integer.parseInt(System.getProperty("org.jbpm.simulation.max.complete.paths", String.valueOf(Integer.MAX_VALUE)));
 
     private Stack<PathContext> paths = new Stack<PathContext>();
     private List<PathContext> completePaths = new ArrayList<PathContext>();
     private Set<String> completedPathsIds = new HashSet<String>();
+    private int completePathsCount = 0;
+    private Consumer<PathContext> pathConsumer = null;
+
+    private Map<SubProcess, StartEvent> subProcessStartEvents = new HashMap<SubProcess, StartEvent>();
     
     protected Map<String, FlowElement> catchingEvents = null;
 
@@ -47,6 +55,37 @@ public class PathContextManager {
     public void setCatchingEvents(Map<String, FlowElement> catchingEvents) {
         this.catchingEvents = catchingEvents;
     }
+
+    /**
+     * Completed paths are handed over to the given consumer as soon as they are found instead of being
+     * collected in complete paths, so they can be released right after conversion.
+     */
+    public void setPathConsumer(Consumer<PathContext> pathConsumer) {
+        this.pathConsumer = pathConsumer;
+    }
+
+    public int getMaxCompletePaths() {
+        return maxCompletePaths;
+    }
+
+    public void setMaxCompletePaths(int maxCompletePaths) {
+        this.maxCompletePaths = maxCompletePaths;
+    }
+
+    public int getCompletePathsCount() {
+        return completePathsCount;
+    }
+
+    public StartEvent getStartEvent(SubProcess subProcess) {
+        return subProcessStartEvents.computeIfAbsent(subProcess, sp -> {
+            for (FlowElement element : sp.getFlowElements()) {
+                if (element instanceof StartEvent) {
+                    return (StartEvent) element;
+                }
+            }
+            return null;
+        });
+    }
     
     public PathContext getContextFromStack() {
         checkSize();
@@ -118,9 +157,7 @@ public class PathContextManager {
         PathContext clone = new PathContext(Type.ACTIVE);
         clone.setCanBeFinishedNoIncrement(toclone.isCanBeFinished());
         clone.setCanBeFinishedCounter(toclone.getCanBeFinishedCounter());
-        
-        clone.setPathElements(new LinkedHashSet<FlowElement>(toclone.getPathElements()));
-        clone.setVisitedSplitPoint(new LinkedHashSet<FlowElement>(toclone.getVisitedSplitPoint()));
+        clone.shareElements(toclone);
         
         this.paths.push(clone);
         return clone;
@@ -131,9 +168,7 @@ public class PathContextManager {
         PathContext clone = new PathContext(Type.ACTIVE);
         clone.setCanBeFinishedNoIncrement(toclone.isCanBeFinished());
         clone.setCanBeFinishedCounter(toclone.getCanBeFinishedCounter());
-        
-        clone.setPathElements(new LinkedHashSet<FlowElement>(toclone.getPathElements()));
-        clone.setVisitedSplitPoint(new LinkedHashSet<FlowElement>(toclone.getVisitedSplitPoint()));
+        clone.shareElements(toclone);
         toclone.setType(Type.TEMP);
         return clone;
     }
@@ -219,10 +254,18 @@ public class PathContextManager {
         }
 
         int elementsId = pathIdElements.toString().hashCode();
-        context.setPathId("Path" + elementsId + "-" + this.completePaths.size());
+        context.setPathId("Path" + elementsId + "-" + this.completePathsCount);
         if (!completedPathsIds.contains(elementsId+"")) {
-            this.completePaths.add(context);
             completedPathsIds.add(elementsId+"");
+            completePathsCount++;
+            if (pathConsumer != null) {
+                pathConsumer.accept(context);
+            } else {
+                this.completePaths.add(context);
+            }
+            if (completePathsCount >= maxCompletePaths) {
+                throw new PathLimitReachedException(maxCompletePaths);
+            }
         }
     }
 
@@ -232,4 +275,16 @@ public class PathContextManager {
         }
     }
 
+    /**
+     * Signals that the configured number of complete paths was found, so path finding can stop.
+     */
+    public static class PathLimitReachedException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public PathLimitReachedException(int maxCompletePaths) {
+            super("Max number (" + maxCompletePaths + ") of complete paths reached");
+        }
+    }
+
 }
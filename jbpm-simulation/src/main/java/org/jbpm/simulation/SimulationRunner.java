@@ -70,7 +70,16 @@ public class SimulationRunner {
 
     public static SimulationRepository runSimulation(String processId, String bpmn2Container, int numberOfAllInstances, long interval, boolean runRules, Resource... rules) {
 
-        SimulationContext context = SimulationContextFactory.newContext(new BPMN2SimulationDataProvider(bpmn2Container), new WorkingMemorySimulationRepository(runRules, rules));
+        return runSimulation(processId, bpmn2Container, numberOfAllInstances, interval, new WorkingMemorySimulationRepository(runRules, rules));
+    }
+
+    /**
+     * Runs the simulation storing the events in the given repository, e.g. an AggregatingSimulationRepository
+     * for simulations with many instances.
+     */
+    public static SimulationRepository runSimulation(String processId, String bpmn2Container, int numberOfAllInstances, long interval, SimulationRepository repository) {
+
+        SimulationContext context = SimulationContextFactory.newContext(new BPMN2SimulationDataProvider(bpmn2Container), repository);
         SimulationDataProvider provider = context.getDataProvider();
 
         PathFinder finder = PathFinderFactory.getInstance(bpmn2Container);
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.jbpm.simulation;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Path format converter that is able to convert paths one by one, as soon as they are found by the path finder,
+ * so complete paths don't need to be kept until path finding is done.
+ */
+public interface StreamingPathFormatConverter<E> extends PathFormatConverter<E> {
+
+    /**
+     * Creates a new sink for a single path finding run.
+     */
+    PathSink<E> createSink();
+
+    default E convert(List<PathContext> paths) {
+        PathSink<E> sink = createSink();
+        if (paths != null) {
+            paths.forEach(sink);
+        }
+        return sink.getResult();
+    }
+
+    interface PathSink<E> extends Consumer<PathContext> {
+
+        E getResult();
+    }
+}
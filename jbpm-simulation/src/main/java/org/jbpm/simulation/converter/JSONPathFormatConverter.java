@@ -15,32 +15,42 @@
 
 package org.jbpm.simulation.converter;
 
-import java.util.List;
 import java.util.Set;
 
 import org.eclipse.bpmn2.FlowElement;
 import org.jbpm.simulation.PathContext;
-import org.jbpm.simulation.PathFormatConverter;
+import org.jbpm.simulation.StreamingPathFormatConverter;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-public class JSONPathFormatConverter implements PathFormatConverter<JSONObject> {
+public class JSONPathFormatConverter implements StreamingPathFormatConverter<JSONObject> {
 
-    public JSONObject convert(List<PathContext> completePaths) {
-        JSONObject parent = new JSONObject();
-        JSONObject paths = new JSONObject();
-        try {
-            if(completePaths != null && !completePaths.isEmpty()) {
-                for(PathContext pc : completePaths) {
-                    paths.put(pc.getPathId(), getPathFlowElementsAsString(pc.getPathElements()));
-                }
+    private static final Logger logger = LoggerFactory.getLogger(JSONPathFormatConverter.class);
+
+    public PathSink<JSONObject> createSink() {
+        final JSONObject paths = new JSONObject();
+        return new PathSink<JSONObject>() {
+
+            public void accept(PathContext pc) {
+                put(paths, pc.getPathId(), getPathFlowElementsAsString(pc.getPathElements()));
+            }
+
+            public JSONObject getResult() {
+                JSONObject parent = new JSONObject();
+                put(parent, "paths", paths);
+                return parent;
             }
-            parent.put("paths", paths);
+        };
+    }
+
+    private void put(JSONObject target, String key, Object value) {
+        try {
+            target.put(key, value);
         } catch (JSONException e) {
-            // TODO need logging
-            e.printStackTrace();
+            logger.error("Unable to add '{}' to the JSON paths", key, e);
         }
-        return parent;
     }
     
     private String getPathFlowElementsAsString(Set<FlowElement> flowElements) {
@@ -32,14 +32,7 @@ public class EmbeddedSubprocessHandler extends MainElementHandler {
         SubProcess subProcess = ((SubProcess) element);
         
         // process internal nodes of the sub process
-        List<FlowElement> sbElements = subProcess.getFlowElements();
-        StartEvent start = null;
-        for (FlowElement sbElement : sbElements) {
-            if (sbElement instanceof StartEvent) {
-                start = (StartEvent) sbElement;
-                break;
-            }
-        }
+        StartEvent start = manager.getStartEvent(subProcess);
         boolean canBeFinsihed = manager.getContextFromStack().isCanBeFinished();
         manager.getContextFromStack().setCanBeFinishedNoIncrement(false);
         super.handle(start, manager);
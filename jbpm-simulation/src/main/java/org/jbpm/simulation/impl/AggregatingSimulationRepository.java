@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.jbpm.simulation.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jbpm.simulation.AggregatedSimulationEvent;
+import org.jbpm.simulation.SimulationEvent;
+import org.jbpm.simulation.SimulationInfo;
+import org.jbpm.simulation.SimulationRepository;
+import org.jbpm.simulation.impl.events.ActivitySimulationEvent;
+import org.jbpm.simulation.impl.events.AggregatedActivitySimulationEvent;
+import org.jbpm.simulation.impl.events.AggregatedEndEventSimulationEvent;
+import org.jbpm.simulation.impl.events.AggregatedProcessSimulationEvent;
+import org.jbpm.simulation.impl.events.EndSimulationEvent;
+import org.jbpm.simulation.impl.events.HTAggregatedSimulationEvent;
+import org.jbpm.simulation.impl.events.HumanTaskActivitySimulationEvent;
+import org.jbpm.simulation.impl.events.ProcessInstanceEndSimulationEvent;
+import org.jbpm.simulation.util.QuantileSketch;
+
+/**
+ * Simulation repository that aggregates events as they are stored instead of keeping them. It produces the same
+ * aggregated events as default.simulation.rules.drl does with the WorkingMemorySimulationRepository, but memory
+ * only depends on the number of nodes and paths of the process, not on the number of simulated instances.
+ * Quantiles of the durations are available as well through the kept sketches.
+ */
+public class AggregatingSimulationRepository implements SimulationRepository {
+
+    private Map<String, NodeStatistics> activities = new LinkedHashMap<String, NodeStatistics>();
+    private Map<String, NodeStatistics> humanTasks = new LinkedHashMap<String, NodeStatistics>();
+    private Map<String, String> endEvents = new LinkedHashMap<String, String>();
+
+    private QuantileSketch endEventProcessDurations = new QuantileSketch();
+    private QuantileSketch processDurations = new QuantileSketch();
+    private Set<String> processInfos = new LinkedHashSet<String>();
+    private Map<String, Integer> pathInstances = new LinkedHashMap<String, Integer>();
+
+    protected SimulationInfo simulationInfo;
+
+    public synchronized void storeEvent(SimulationEvent event) {
+        if (event instanceof HumanTaskActivitySimulationEvent) {
+            HumanTaskActivitySimulationEvent htEvent = (HumanTaskActivitySimulationEvent) event;
+            NodeStatistics statistics = humanTasks.computeIfAbsent(htEvent.getActivityName(), name -> new NodeStatistics(htEvent.getActivityId(), true));
+            statistics.duration.add(htEvent.getDuration());
+            statistics.waitTime.add(htEvent.getWaitTime());
+            statistics.resourceUtilization.add(htEvent.getResourceUtilization());
+            statistics.resourceCost.add(htEvent.getResourceCost());
+        } else if (event instanceof ActivitySimulationEvent) {
+            ActivitySimulationEvent activityEvent = (ActivitySimulationEvent) event;
+            NodeStatistics statistics = activities.computeIfAbsent(activityEvent.getActivityName(), name -> new NodeStatistics(activityEvent.getActivityId(), false));
+            statistics.duration.add(activityEvent.getDuration());
+        } else if (event instanceof EndSimulationEvent) {
+            EndSimulationEvent endEvent = (EndSimulationEvent) event;
+            endEvents.putIfAbsent(endEvent.getActivityName(), endEvent.getActivityId());
+            endEventProcessDurations.add(endEvent.getProcessDuration());
+        } else if (event instanceof ProcessInstanceEndSimulationEvent) {
+            ProcessInstanceEndSimulationEvent processEvent = (ProcessInstanceEndSimulationEvent) event;
+            processDurations.add(processEvent.getProcessDuration());
+            processInfos.add(processEvent.getProcessId() + "@" + processEvent.getProcessName() + "@" + processEvent.getProcessVersion());
+            pathInstances.merge(processEvent.getPathId(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Aggregated events in the same order as produced by default.simulation.rules.drl rules: end events,
+     * human tasks, other activities and finally the process. A node name is reported only once, end events
+     * take precedence over human tasks and those over other activities.
+     */
+    public synchronized List<AggregatedSimulationEvent> getAggregatedEvents() {
+        List<AggregatedSimulationEvent> aggregated = new ArrayList<AggregatedSimulationEvent>();
+
+        // same as the rules, every end event reports the duration of all process instances
+        for (Map.Entry<String, String> endEvent : endEvents.entrySet()) {
+            aggregated.add(new AggregatedEndEventSimulationEvent(endEvent.getKey(), endEvent.getValue(),
+                                                                 endEventProcessDurations.getMin(), endEventProcessDurations.getMean(), endEventProcessDurations.getMax(),
+                                                                 endEventProcessDurations.getCount(), "endEvent"));
+        }
+        for (Map.Entry<String, NodeStatistics> entry : humanTasks.entrySet()) {
+            if (endEvents.containsKey(entry.getKey())) {
+                continue;
+            }
+            NodeStatistics statistics = entry.getValue();
+            aggregated.add(new HTAggregatedSimulationEvent(entry.getKey(), statistics.activityId,
+                                                           statistics.duration.getMin(), statistics.duration.getMean(), statistics.duration.getMax(),
+                                                           statistics.waitTime.getMin(), statistics.waitTime.getMean(), statistics.waitTime.getMax(),
+                                                           statistics.resourceUtilization.getMin(), statistics.resourceUtilization.getMean(), statistics.resourceUtilization.getMax(),
+                                                           statistics.duration.getCount(),
+                                                           statistics.resourceCost.getMean(), statistics.resourceCost.getMin(), statistics.resourceCost.getMax(),
+                                                           "userTask"));
+        }
+        for (Map.Entry<String, NodeStatistics> entry : activities.entrySet()) {
+            if (endEvents.containsKey(entry.getKey()) || humanTasks.containsKey(entry.getKey())) {
+                continue;
+            }
+            NodeStatistics statistics = entry.getValue();
+            aggregated.add(new AggregatedActivitySimulationEvent(entry.getKey(), statistics.activityId,
+                                                                 statistics.duration.getMin(), statistics.duration.getMean(), statistics.duration.getMax(),
+                                                                 statistics.duration.getCount(), ""));
+        }
+        if (!processInfos.isEmpty()) {
+            AggregatedProcessSimulationEvent processEvent = new AggregatedProcessSimulationEvent(processInfos,
+                                                                                                 processDurations.getMin(), processDurations.getMean(), processDurations.getMax());
+            processEvent.getPathNumberOfInstances().putAll(pathInstances);
+            aggregated.add(processEvent);
+        }
+        return aggregated;
+    }
+
+    /**
+     * Durations of the given activity or human task, null if no event was stored for it.
+     */
+    public synchronized QuantileSketch getActivityDurations(String activityName) {
+        NodeStatistics statistics = humanTasks.get(activityName);
+        if (statistics == null) {
+            statistics = activities.get(activityName);
+        }
+        return statistics == null ? null : statistics.duration;
+    }
+
+    /**
+     * Wait times of the given human task, null if no event was stored for it.
+     */
+    public synchronized QuantileSketch getWaitTimes(String activityName) {
+        NodeStatistics statistics = humanTasks.get(activityName);
+        return statistics == null ? null : statistics.waitTime;
+    }
+
+    public synchronized QuantileSketch getProcessDurations() {
+        return processDurations;
+    }
+
+    public synchronized void close() {
+        activities.clear();
+        humanTasks.clear();
+        endEvents.clear();
+        endEventProcessDurations = new QuantileSketch();
+        processDurations = new QuantileSketch();
+        processInfos.clear();
+        pathInstances.clear();
+    }
+
+    public SimulationInfo getSimulationInfo() {
+        return this.simulationInfo;
+    }
+
+    public void setSimulationInfo(SimulationInfo simInfo) {
+        this.simulationInfo = simInfo;
+    }
+
+    private static class NodeStatistics {
+
+        private final String activityId;
+        private final QuantileSketch duration = new QuantileSketch();
+        private final QuantileSketch waitTime;
+        private final QuantileSketch resourceUtilization;
+        private final QuantileSketch resourceCost;
+
+        private NodeStatistics(String activityId, boolean humanTask) {
+            this.activityId = activityId;
+            this.waitTime = humanTask ? new QuantileSketch() : null;
+            this.resourceUtilization = humanTask ? new QuantileSketch() : null;
+            this.resourceCost = humanTask ? new QuantileSketch() : null;
+        }
+    }
+}
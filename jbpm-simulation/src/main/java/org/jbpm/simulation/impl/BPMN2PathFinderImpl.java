@@ -48,6 +48,7 @@ import org.jbpm.simulation.PathContext;
 import org.jbpm.simulation.PathContextManager;
 import org.jbpm.simulation.PathFinder;
 import org.jbpm.simulation.PathFormatConverter;
+import org.jbpm.simulation.StreamingPathFormatConverter;
 import org.jbpm.simulation.handler.ElementHandler;
 import org.jbpm.simulation.handler.HandlerRegistry;
 import org.jbpm.simulation.util.BPMN2Utils;
@@ -100,6 +101,12 @@ public class BPMN2PathFinderImpl implements PathFinder {
     }
 
     public List<PathContext> findPaths() {
+        traverse();
+
+        return manager.getCompletePaths();
+    }
+
+    protected void traverse() {
         Map<String, FlowElement> catchingEvents = new HashMap<String, FlowElement>();
         if (this.definitions != null) {
             List<RootElement> rootElements = definitions.getRootElements();
@@ -115,16 +122,18 @@ public class BPMN2PathFinderImpl implements PathFinder {
         
         manager.setCatchingEvents(catchingEvents);
         ElementHandler handler = HandlerRegistry.getMainHandler();
-        // show what was found
-        for (FlowElement fe : triggerElements) {
-            if (fe instanceof StartEvent || fe instanceof Activity || fe instanceof IntermediateCatchEvent) {
-                handler.handle(fe, manager);
+        try {
+            // show what was found
+            for (FlowElement fe : triggerElements) {
+                if (fe instanceof StartEvent || fe instanceof Activity || fe instanceof IntermediateCatchEvent) {
+                    handler.handle(fe, manager);
+                }
             }
+
+            manager.complete();
+        } catch (PathContextManager.PathLimitReachedException e) {
+            // enough paths found, remaining ones are ignored
         }
-        
-        manager.complete();
-        
-        return manager.getCompletePaths();
     }
 
     protected static String streamToString(InputStream is) {
@@ -144,10 +153,24 @@ public class BPMN2PathFinderImpl implements PathFinder {
     }
 
     public <E> E findPaths(PathFormatConverter<E> converter) {
+        if (converter instanceof StreamingPathFormatConverter) {
+            StreamingPathFormatConverter.PathSink<E> sink = ((StreamingPathFormatConverter<E>) converter).createSink();
+            manager.setPathConsumer(sink);
+            traverse();
+
+            return sink.getResult();
+        }
         findPaths();
         
         return converter.convert(manager.getCompletePaths());
     }
+
+    /**
+     * Limits the number of complete paths to be found, path finding stops once it's reached.
+     */
+    public void setMaxCompletePaths(int maxCompletePaths) {
+        manager.setMaxCompletePaths(maxCompletePaths);
+    }
     
     protected void readFlowElements(FlowElementsContainer container, Map<String, FlowElement> catchingEvents) {
      // find flow elements and traverse it find path
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.jbpm.simulation.util;
+
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Insertion ordered set that shares its elements with the copies made of it. Elements are kept in a
+ * persistent linked list where every copy only holds a reference to the last node, so copying is constant
+ * time and adding an element never affects other copies. Lookups go through a persistent hash trie that maps
+ * every element to its node, it is shared between copies the same way and updated by path copying, so
+ * lookups and additions stay logarithmic however long the list grows.
+ * Removal copies the nodes added after the removed element, which is fine as it's a rare operation.
+ */
+public class PersistentLinkedSet<E> extends AbstractSet<E> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final class Node<E> {
+
+        private final E value;
+        private final Node<E> parent;
+        private final int size;
+
+        private Node(E value, Node<E> parent) {
+            this.value = value;
+            this.parent = parent;
+            this.size = parent == null ? 1 : parent.size + 1;
+        }
+    }
+
+    private static final class Entry {
+
+        private final int hash;
+        private final Object key;
+        private final Node<?> node;
+
+        private Entry(int hash, Object key, Node<?> node) {
+            this.hash = hash;
+            this.key = key;
+            this.node = node;
+        }
+
+        private boolean matches(int hash, Object key) {
+            return this.hash == hash && Objects.equals(this.key, key);
+        }
+    }
+
+    /**
+     * Immutable hash trie node, every slot holds either an {@link Entry}, a child trie or an array of entries
+     * whose keys have the same hash.
+     */
+    private static final class Trie {
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        private Trie(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private static Node<?> get(Trie trie, int hash, Object key) {
+            for (int shift = 0; trie != null; shift += BITS) {
+                int bit = 1 << ((hash >>> shift) & MASK);
+                if ((trie.bitmap & bit) == 0) {
+                    return null;
+                }
+                Object slot = trie.slots[Integer.bitCount(trie.bitmap & (bit - 1))];
+                if (slot instanceof Trie) {
+                    trie = (Trie) slot;
+                } else if (slot instanceof Entry) {
+                    return ((Entry) slot).matches(hash, key) ? ((Entry) slot).node : null;
+                } else {
+                    for (Entry entry : (Entry[]) slot) {
+                        if (entry.matches(hash, key)) {
+                            return entry.node;
+                        }
+                    }
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        private static Trie put(Trie trie, Entry entry, int shift) {
+            int bit = 1 << ((entry.hash >>> shift) & MASK);
+            if (trie == null) {
+                return new Trie(bit, new Object[]{entry});
+            }
+            int index = Integer.bitCount(trie.bitmap & (bit - 1));
+            if ((trie.bitmap & bit) == 0) {
+                Object[] slots = new Object[trie.slots.length + 1];
+                System.arraycopy(trie.slots, 0, slots, 0, index);
+                slots[index] = entry;
+                System.arraycopy(trie.slots, index, slots, index + 1, trie.slots.length - index);
+                return new Trie(trie.bitmap | bit, slots);
+            }
+            Object slot = trie.slots[index];
+            Object replacement;
+            if (slot instanceof Trie) {
+                replacement = put((Trie) slot, entry, shift + BITS);
+            } else if (slot instanceof Entry) {
+                Entry current = (Entry) slot;
+                replacement = current.matches(entry.hash, entry.key) ? entry : merge(current, entry, shift + BITS);
+            } else {
+                Entry[] bucket = (Entry[]) slot;
+                int position = 0;
+                while (position < bucket.length && !bucket[position].matches(entry.hash, entry.key)) {
+                    position++;
+                }
+                Entry[] updated = Arrays.copyOf(bucket, Math.max(bucket.length, position + 1));
+                updated[position] = entry;
+                replacement = updated;
+            }
+            return trie.replace(index, replacement);
+        }
+
+        private static Object merge(Entry first, Entry second, int shift) {
+            if (first.hash == second.hash) {
+                return new Entry[]{first, second};
+            }
+            // hashes that differ differ within the 32 bits covered up to the last level, so shift stays in range
+            int firstIndex = (first.hash >>> shift) & MASK;
+            int secondIndex = (second.hash >>> shift) & MASK;
+            if (firstIndex == secondIndex) {
+                return new Trie(1 << firstIndex, new Object[]{merge(first, second, shift + BITS)});
+            }
+            return new Trie((1 << firstIndex) | (1 << secondIndex),
+                            firstIndex < secondIndex ? new Object[]{first, second} : new Object[]{second, first});
+        }
+
+        private static Trie remove(Trie trie, int hash, Object key, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if (trie == null || (trie.bitmap & bit) == 0) {
+                return trie;
+            }
+            int index = Integer.bitCount(trie.bitmap & (bit - 1));
+            Object slot = trie.slots[index];
+            Object replacement;
+            if (slot instanceof Trie) {
+                Trie child = remove((Trie) slot, hash, key, shift + BITS);
+                if (child == slot) {
+                    return trie;
+                }
+                replacement = child;
+            } else if (slot instanceof Entry) {
+                if (!((Entry) slot).matches(hash, key)) {
+                    return trie;
+                }
+                replacement = null;
+            } else {
+                Entry[] bucket = (Entry[]) slot;
+                Entry[] remaining = new Entry[bucket.length - 1];
+                int size = 0;
+                for (Entry entry : bucket) {
+                    if (!entry.matches(hash, key)) {
+                        if (size == remaining.length) {
+                            return trie;
+                        }
+                        remaining[size++] = entry;
+                    }
+                }
+                replacement = remaining.length == 1 ? remaining[0] : remaining;
+            }
+            if (replacement != null) {
+                return trie.replace(index, replacement);
+            }
+            if (trie.bitmap == bit) {
+                return null;
+            }
+            Object[] slots = new Object[trie.slots.length - 1];
+            System.arraycopy(trie.slots, 0, slots, 0, index);
+            System.arraycopy(trie.slots, index + 1, slots, index, slots.length - index);
+            return new Trie(trie.bitmap & ~bit, slots);
+        }
+
+        private Trie replace(int index, Object slot) {
+            Object[] slots = this.slots.clone();
+            slots[index] = slot;
+            return new Trie(bitmap, slots);
+        }
+    }
+
+    private Node<E> last;
+    private Trie index;
+
+    public PersistentLinkedSet() {
+    }
+
+    public PersistentLinkedSet(Collection<? extends E> elements) {
+        addAll(elements);
+    }
+
+    private PersistentLinkedSet(Node<E> last, Trie index) {
+        this.last = last;
+        this.index = index;
+    }
+
+    /**
+     * Returns a copy of this set in constant time, changes on any of them are not visible to the other.
+     */
+    public PersistentLinkedSet<E> copy() {
+        return new PersistentLinkedSet<E>(last, index);
+    }
+
+    @Override
+    public int size() {
+        return last == null ? 0 : last.size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return find(o) != null;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (contains(e)) {
+            return false;
+        }
+        last = new Node<E>(e, last);
+        index = Trie.put(index, new Entry(hash(e), e, last), 0);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        Node<E> found = find(o);
+        if (found == null) {
+            return false;
+        }
+        Deque<E> following = new ArrayDeque<E>();
+        for (Node<E> node = last; node != found; node = node.parent) {
+            following.push(node.value);
+        }
+        Node<E> rebuilt = found.parent;
+        Trie rebuiltIndex = Trie.remove(index, hash(o), o, 0);
+        for (E value : following) {
+            rebuilt = new Node<E>(value, rebuilt);
+            rebuiltIndex = Trie.put(rebuiltIndex, new Entry(hash(value), value, rebuilt), 0);
+        }
+        last = rebuilt;
+        index = rebuiltIndex;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        last = null;
+        index = null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        final Object[] values = new Object[size()];
+        int index = values.length;
+        for (Node<E> node = last; node != null; node = node.parent) {
+            values[--index] = node.value;
+        }
+        return new Iterator<E>() {
+
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < values.length;
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (E) values[next++];
+            }
+
+            @Override
+            public void remove() {
+                if (next == 0) {
+                    throw new IllegalStateException();
+                }
+                PersistentLinkedSet.this.remove(values[next - 1]);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<E> find(Object o) {
+        return (Node<E>) Trie.get(index, hash(o), o);
+    }
+
+    private static int hash(Object o) {
+        int hash = o == null ? 0 : o.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+}
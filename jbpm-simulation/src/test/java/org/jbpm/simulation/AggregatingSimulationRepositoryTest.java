@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.jbpm.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.List;
+import java.util.Map;
+
+import org.jbpm.simulation.impl.AggregatingSimulationRepository;
+import org.jbpm.simulation.impl.events.ActivitySimulationEvent;
+import org.jbpm.simulation.impl.events.AggregatedActivitySimulationEvent;
+import org.jbpm.simulation.impl.events.AggregatedEndEventSimulationEvent;
+import org.jbpm.simulation.impl.events.AggregatedProcessSimulationEvent;
+import org.jbpm.simulation.impl.events.EndSimulationEvent;
+import org.jbpm.simulation.impl.events.HTAggregatedSimulationEvent;
+import org.jbpm.simulation.impl.events.HumanTaskActivitySimulationEvent;
+import org.jbpm.simulation.impl.events.ProcessInstanceEndSimulationEvent;
+import org.jbpm.simulation.util.QuantileSketch;
+import org.junit.Test;
+
+public class AggregatingSimulationRepositoryTest {
+
+    @Test
+    public void testAggregateEvents() {
+        AggregatingSimulationRepository repo = new AggregatingSimulationRepository();
+
+        for (int i = 1; i <= 4; i++) {
+            repo.storeEvent(new ActivitySimulationEvent("process", i, "Script", "_2", i * 1000, 0, i * 1000, "scriptTask"));
+            repo.storeEvent(new HumanTaskActivitySimulationEvent("process", i, "Review", "_3", i * 2000, i * 100, i * 10, 0, i * 2000, i * 0.25));
+            repo.storeEvent(new EndSimulationEvent("process", i, 0, i * 3000, 0, "_4", "End", "Process", "1.0"));
+            repo.storeEvent(new ProcessInstanceEndSimulationEvent("process", i, 0, i * 3000, i % 2 == 0 ? "Path1" : "Path2", "Process", "1.0"));
+        }
+        repo.storeEvent(new ProcessInstanceEndSimulationEvent("process", 5, 0, 3000, "Path1", "Process", "1.0"));
+
+        List<AggregatedSimulationEvent> aggregated = repo.getAggregatedEvents();
+        assertEquals(4, aggregated.size());
+
+        AggregatedEndEventSimulationEvent endEvent = (AggregatedEndEventSimulationEvent) aggregated.get(0);
+        assertEquals("_4", endEvent.getActivityId());
+        assertEquals(4, endEvent.getNumberOfInstances());
+        assertEquals(3000, endEvent.getMinProcessDuration(), 0);
+        assertEquals(12000, endEvent.getMaxProcessDuration(), 0);
+
+        HTAggregatedSimulationEvent htEvent = (HTAggregatedSimulationEvent) aggregated.get(1);
+        assertEquals("Review", htEvent.getActivityName());
+        assertEquals("userTask", htEvent.getType());
+        assertEquals(4, htEvent.getNumberOfInstances());
+        assertEquals(5000, htEvent.getAvgExecutionTime(), 0);
+        assertEquals(100, htEvent.getMinWaitTime(), 0);
+        assertEquals(400, htEvent.getMaxWaitTime(), 0);
+        assertEquals(0.625, htEvent.getAvgResourceUtilization(), 0.0001);
+        assertEquals(40, htEvent.getMaxResourceCost(), 0);
+
+        AggregatedActivitySimulationEvent activityEvent = (AggregatedActivitySimulationEvent) aggregated.get(2);
+        assertEquals("Script", activityEvent.getActivityName());
+        assertEquals(1000, activityEvent.getMinExecutionTime(), 0);
+        assertEquals(2500, activityEvent.getAvgExecutionTime(), 0);
+        assertEquals(4000, activityEvent.getMaxExecutionTime(), 0);
+
+        AggregatedProcessSimulationEvent processEvent = (AggregatedProcessSimulationEvent) aggregated.get(3);
+        assertEquals("process", processEvent.getProcessId());
+        assertEquals("Process", processEvent.getProcessName());
+        assertEquals(3000, processEvent.getMinExecutionTime(), 0);
+        assertEquals(3, (int) processEvent.getNumberOfInstancesPerPath("Path1"));
+        assertEquals(2, (int) processEvent.getNumberOfInstancesPerPath("Path2"));
+
+        QuantileSketch durations = repo.getActivityDurations("Script");
+        assertEquals(4, durations.getCount());
+        assertEquals(1000, durations.getQuantile(0), 0);
+        assertEquals(2000, durations.getQuantile(0.5), 2000 * QuantileSketch.DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    @Test
+    public void testQuantileSketchAccuracy() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i <= 100000; i++) {
+            sketch.add(i);
+        }
+        assertEquals(100001, sketch.getCount());
+        assertEquals(0, sketch.getMin(), 0);
+        assertEquals(100000, sketch.getMax(), 0);
+        assertEquals(50000, sketch.getMean(), 0.0001);
+        for (double quantile : new double[]{0.1, 0.5, 0.9, 0.99}) {
+            double expected = quantile * 100000;
+            assertEquals(expected, sketch.getQuantile(quantile), expected * QuantileSketch.DEFAULT_RELATIVE_ACCURACY + 1);
+        }
+    }
+
+    @Test
+    public void testSimulationRunnerWithGateway() throws IOException {
+        InputStreamReader in = new InputStreamReader(this.getClass().getResourceAsStream("/BPMN-SimpleExclusiveGatewayProcess.bpmn2"));
+
+        String out = new String();
+        BufferedReader br = new BufferedReader(in);
+        for (String line = br.readLine(); line != null; line = br.readLine()) {
+            out += line;
+        }
+
+        AggregatingSimulationRepository repo = (AggregatingSimulationRepository) SimulationRunner.runSimulation("defaultPackage.test", out, 10, 2000, new AggregatingSimulationRepository());
+        assertNotNull(repo);
+        assertEquals(5, repo.getAggregatedEvents().size());
+
+        for (AggregatedSimulationEvent event : repo.getAggregatedEvents()) {
+            if (event instanceof AggregatedProcessSimulationEvent) {
+                Map<String, Integer> numberOfInstancePerPath = ((AggregatedProcessSimulationEvent) event).getPathNumberOfInstances();
+                assertNotNull(numberOfInstancePerPath);
+                assertTrue(3 == numberOfInstancePerPath.get("Path800898475-0"));
+                assertTrue(7 == numberOfInstancePerPath.get("Path-960633761-1"));
+            }
+        }
+        repo.close();
+    }
+}
@@ -38,6 +38,7 @@ public class PathFinderTest {
     public void setup() {
         System.clearProperty("org.jbpm.simulation.max.paths");
         System.clearProperty("org.jbpm.simulation.max.elements");
+        System.clearProperty("org.jbpm.simulation.max.complete.paths");
     }
     @Test
     public void testSinglePath() throws IOException {
@@ -1713,4 +1714,28 @@ public class PathFinderTest {
         finder.findPaths();
 
     }
+
+    @Test
+    public void testInclusiveSplitStreamedToConverter() throws IOException {
+        PathFinder finder = PathFinderFactory.getInstance(this.getClass().getResourceAsStream("/BPMN2-InclusiveSplit.bpmn2"));
+
+        JSONObject jsonPaths = finder.findPaths(new JSONPathFormatConverter());
+        assertNotNull(jsonPaths);
+        try {
+            assertEquals(7, ((JSONObject)jsonPaths.get("paths")).length());
+        } catch (JSONException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMaxCompletePathsReached() throws IOException {
+        System.setProperty("org.jbpm.simulation.max.complete.paths", "3");
+        PathFinder finder = PathFinderFactory.getInstance(this.getClass().getResourceAsStream("/BPMN2-InclusiveSplit.bpmn2"));
+
+        List<PathContext> paths = finder.findPaths();
+
+        assertNotNull(paths);
+        assertEquals(3, paths.size());
+    }
 }
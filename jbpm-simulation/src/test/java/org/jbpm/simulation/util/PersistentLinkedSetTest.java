@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.jbpm.simulation.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class PersistentLinkedSetTest {
+
+    @Test
+    public void testInsertionOrder() {
+        PersistentLinkedSet<String> set = new PersistentLinkedSet<String>();
+        assertTrue(set.add("c"));
+        assertTrue(set.add("a"));
+        assertTrue(set.add("b"));
+        assertFalse(set.add("a"));
+
+        assertEquals(3, set.size());
+        assertEquals(Arrays.asList("c", "a", "b"), new ArrayList<String>(set));
+        assertTrue(set.contains("a"));
+        assertFalse(set.contains("d"));
+    }
+
+    @Test
+    public void testCopiesAreIndependent() {
+        PersistentLinkedSet<String> set = new PersistentLinkedSet<String>(Arrays.asList("a", "b"));
+        PersistentLinkedSet<String> copy = set.copy();
+
+        set.add("c");
+        copy.add("d");
+        copy.remove("a");
+
+        assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<String>(set));
+        assertEquals(Arrays.asList("b", "d"), new ArrayList<String>(copy));
+    }
+
+    @Test
+    public void testRemoveKeepsOrder() {
+        PersistentLinkedSet<String> set = new PersistentLinkedSet<String>(Arrays.asList("a", "b", "c", "d"));
+
+        assertTrue(set.remove("b"));
+        assertFalse(set.remove("b"));
+        assertEquals(Arrays.asList("a", "c", "d"), new ArrayList<String>(set));
+        assertFalse(set.contains("b"));
+
+        Iterator<String> it = set.iterator();
+        while (it.hasNext()) {
+            if ("c".equals(it.next())) {
+                it.remove();
+            }
+        }
+        assertEquals(Arrays.asList("a", "d"), new ArrayList<String>(set));
+        assertTrue(set.add("b"));
+        assertEquals(Arrays.asList("a", "d", "b"), new ArrayList<String>(set));
+    }
+
+    @Test
+    public void testManyElements() {
+        PersistentLinkedSet<Integer> set = new PersistentLinkedSet<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            set.add(i);
+        }
+        assertEquals(1000, set.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.contains(i));
+        }
+        assertFalse(set.contains(1000));
+        assertEquals(new HashSet<Integer>(set), set);
+    }
+
+    @Test
+    public void testCollidingHashesAndRemovals() {
+        PersistentLinkedSet<Key> set = new PersistentLinkedSet<Key>();
+        Set<Key> expected = new LinkedHashSet<Key>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            Key key = new Key(random.nextInt(400));
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(key), set.remove(key));
+            } else {
+                assertEquals(expected.add(key), set.add(key));
+            }
+        }
+        PersistentLinkedSet<Key> copy = set.copy();
+        for (Key key : expected) {
+            assertTrue(copy.remove(key));
+        }
+        assertEquals(new ArrayList<Key>(expected), new ArrayList<Key>(set));
+        assertTrue(copy.isEmpty());
+        for (int i = 0; i < 400; i++) {
+            assertFalse(copy.contains(new Key(i)));
+        }
+    }
+
+    private static final class Key {
+
+        private final int id;
+
+        private Key(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            // only differs in the low and the high bits, keys share the levels of the trie in between
+            return (id % 8) << 27 | id % 3;
+        }
+    }
+}
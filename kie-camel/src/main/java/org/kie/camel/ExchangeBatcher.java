@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.camel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+
+/**
+ * Collects exchanges into batches and hands every batch over to a processor once it reaches the configured size or,
+ * at the latest, once the configured timeout after its first exchange expired. Exchanges are batched separately per
+ * key, e.g. per target container. The callbacks of the exchanges are completed after the processor returned; the
+ * processor is expected to set the result, or the exception, of every exchange of the batch.
+ */
+public class ExchangeBatcher {
+
+    private final int batchSize;
+    private final long batchTimeout;
+    private final ScheduledExecutorService scheduler;
+    private final Function<Exchange, Object> keyExtractor;
+    private final Consumer<List<Exchange>> processor;
+
+    private final Map<Object, Batch> batches = new HashMap<>();
+
+    public ExchangeBatcher(int batchSize, long batchTimeout, ScheduledExecutorService scheduler,
+                           Function<Exchange, Object> keyExtractor, Consumer<List<Exchange>> processor) {
+        this.batchSize = batchSize;
+        this.batchTimeout = batchTimeout;
+        this.scheduler = scheduler;
+        this.keyExtractor = keyExtractor;
+        this.processor = processor;
+    }
+
+    /**
+     * Adds the exchange to its batch, the batch is processed right away in the calling thread when it is full.
+     * @return always false as the exchange is completed asynchronously through the callback
+     */
+    public boolean add(Exchange exchange, AsyncCallback callback) {
+        Object key = keyExtractor.apply(exchange);
+        Batch full = null;
+        synchronized (batches) {
+            Batch batch = batches.get(key);
+            if (batch == null) {
+                batch = new Batch();
+                batches.put(key, batch);
+                if (batchSize > 1) {
+                    Batch scheduled = batch;
+                    batch.timeout = scheduler.schedule(() -> flush(key, scheduled), batchTimeout, TimeUnit.MILLISECONDS);
+                }
+            }
+            batch.exchanges.add(exchange);
+            batch.callbacks.add(callback);
+            if (batch.exchanges.size() >= batchSize) {
+                batches.remove(key);
+                if (batch.timeout != null) {
+                    batch.timeout.cancel(false);
+                }
+                full = batch;
+            }
+        }
+        if (full != null) {
+            process(full);
+        }
+        return false;
+    }
+
+    /**
+     * Processes all the pending batches in the calling thread, e.g. when the producer is stopped.
+     */
+    public void flushAll() {
+        List<Batch> pending;
+        synchronized (batches) {
+            pending = new ArrayList<>(batches.values());
+            batches.clear();
+        }
+        for (Batch batch : pending) {
+            if (batch.timeout != null) {
+                batch.timeout.cancel(false);
+            }
+            process(batch);
+        }
+    }
+
+    private void flush(Object key, Batch batch) {
+        synchronized (batches) {
+            // the batch may have been filled up in the meantime
+            if (batches.get(key) != batch) {
+                return;
+            }
+            batches.remove(key);
+        }
+        process(batch);
+    }
+
+    private void process(Batch batch) {
+        try {
+            processor.accept(batch.exchanges);
+        } catch (Throwable t) {
+            for (Exchange exchange : batch.exchanges) {
+                exchange.setException(t);
+            }
+        } finally {
+            for (AsyncCallback callback : batch.callbacks) {
+                callback.done(false);
+            }
+        }
+    }
+
+    private static class Batch {
+
+        private final List<Exchange> exchanges = new ArrayList<>();
+        private final List<AsyncCallback> callbacks = new ArrayList<>();
+        private ScheduledFuture<?> timeout;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.camel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.impl.DefaultAsyncProducer;
+import org.kie.api.KieServices;
+import org.kie.api.command.Command;
+import org.kie.api.command.KieCommands;
+import org.kie.api.runtime.ExecutionResults;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.client.KieServicesFactory;
+import org.kie.server.client.RuleServicesClient;
+
+import static org.kie.camel.KieCamelConstants.KIE_CONTAINER_ID;
+import static org.kie.camel.KieCamelConstants.KIE_LOOKUP;
+import static org.kie.camel.KieCamelConstants.KIE_OPERATION;
+import static org.kie.camel.KieCamelConstants.RESPONSE_MESSAGE;
+import static org.kie.camel.KieCamelConstants.RESPONSE_TYPE;
+import static org.kie.camel.KieCamelUtils.getResultMessage;
+
+/**
+ * Producer used when batching is enabled on a rule client endpoint: the bodies of the exchanges sent to the same container (and
+ * ksession lookup) are executed as one batch through {@link RuleServicesClient#executeCommandsWithResults(String, Command)}.
+ * A body that is a {@link Command} is added to the batch as it is and its exchange receives the whole
+ * {@link ExecutionResults}; any other body is inserted as a fact, rules are fired once at the end of the batch, and the
+ * exchange receives its fact as returned by the kie server.
+ */
+public class KieBatchingProducer extends DefaultAsyncProducer {
+
+    static final String OUT_IDENTIFIER_PREFIX = "camel-batch-";
+
+    private final KieEndpoint endpoint;
+
+    private RuleServicesClient client;
+    private ScheduledExecutorService scheduler;
+    private ExchangeBatcher batcher;
+
+    public KieBatchingProducer( KieEndpoint endpoint ) {
+        super(endpoint);
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        KieConfiguration configuration = endpoint.getConfiguration();
+        scheduler = endpoint.getCamelContext().getExecutorServiceManager().newSingleThreadScheduledExecutor( this, "KieBatchingProducer" );
+        batcher = new ExchangeBatcher( configuration.getBatchSize(), configuration.getBatchTimeout(), scheduler,
+                                       this::getBatchKey, this::execute );
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (batcher != null) {
+            batcher.flushAll();
+        }
+        if (scheduler != null) {
+            endpoint.getCamelContext().getExecutorServiceManager().shutdownNow( scheduler );
+        }
+        super.doStop();
+    }
+
+    @Override
+    public boolean process( Exchange exchange, AsyncCallback callback ) {
+        if (exchange.getIn().getHeader( KIE_CONTAINER_ID, String.class ) == null) {
+            exchange.setException( new IllegalArgumentException( "Missing header " + KIE_CONTAINER_ID + " required by batch execution" ) );
+            callback.done( true );
+            return true;
+        }
+        String operation = exchange.getIn().getHeader( KIE_OPERATION, String.class );
+        if (endpoint.getOperation() == null && operation != null && !KieEndpoint.BATCH_OPERATION.equals( operation )) {
+            exchange.setException( new IllegalArgumentException( "Operation " + operation + " is not supported by batch execution" ) );
+            callback.done( true );
+            return true;
+        }
+        return batcher.add( exchange, callback );
+    }
+
+    private Object getBatchKey( Exchange exchange ) {
+        return Arrays.asList( exchange.getIn().getHeader( KIE_CONTAINER_ID, String.class ),
+                              exchange.getIn().getHeader( KIE_LOOKUP, String.class ) );
+    }
+
+    private void execute( List<Exchange> exchanges ) {
+        Message first = exchanges.get( 0 ).getIn();
+        String containerId = first.getHeader( KIE_CONTAINER_ID, String.class );
+        String lookup = first.getHeader( KIE_LOOKUP, String.class );
+
+        KieCommands commands = KieServices.get().getCommands();
+        List<Command> batch = new ArrayList<>( exchanges.size() + 1 );
+        boolean facts = false;
+        for (int i = 0; i < exchanges.size(); i++) {
+            Object body = exchanges.get( i ).getIn().getBody();
+            if (body instanceof Command) {
+                batch.add( (Command) body );
+            } else {
+                batch.add( commands.newInsert( body, OUT_IDENTIFIER_PREFIX + i ) );
+                facts = true;
+            }
+        }
+        if (facts) {
+            batch.add( commands.newFireAllRules() );
+        }
+
+        ServiceResponse<ExecutionResults> response = getClient().executeCommandsWithResults( containerId, commands.newBatchExecution( batch, lookup ) );
+        ExecutionResults results = response.getResult();
+        for (int i = 0; i < exchanges.size(); i++) {
+            Exchange exchange = exchanges.get( i );
+            boolean command = exchange.getIn().getBody() instanceof Command;
+            Message message = getResultMessage( exchange );
+            if (results == null) {
+                message.setBody( null );
+            } else {
+                message.setBody( command ? results : results.getValue( OUT_IDENTIFIER_PREFIX + i ) );
+            }
+            message.setHeader( RESPONSE_TYPE, response.getType() );
+            message.setHeader( RESPONSE_MESSAGE, response.getMsg() );
+        }
+    }
+
+    private synchronized RuleServicesClient getClient() {
+        if (client == null) {
+            client = KieServicesFactory.newKieServicesClient( endpoint.getKieServicesConf() ).getServicesClient( RuleServicesClient.class );
+        }
+        return client;
+    }
+}
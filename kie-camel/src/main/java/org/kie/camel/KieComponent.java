@@ -55,7 +55,7 @@ public class KieComponent extends DefaultComponent {
             kieServicesConf = kieConfiguration.getKieServicesConfigurationCustomizer().apply(kieServicesConf);
         }
 
-        return new KieEndpoint(uri, this, kieServicesConf, configuration);
+        return new KieEndpoint(uri, this, kieServicesConf, kieConfiguration);
     }
 
     public KieConfiguration getConfiguration() {
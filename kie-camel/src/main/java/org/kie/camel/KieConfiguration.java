@@ -35,6 +35,20 @@ public class KieConfiguration implements Cloneable {
     @UriParam(label = "security", secret = true)
     private String password;
 
+    /**
+     * When greater than 1 the rule client producer aggregates exchanges and executes their bodies against the kie server
+     * as one batch of at most batchSize commands. Only supported with client=rule and the executeCommandsWithResults
+     * operation.
+     */
+    @UriParam(label = "producer")
+    private int batchSize;
+
+    /**
+     * Maximum time in milliseconds an exchange waits for its batch to fill up.
+     */
+    @UriParam(label = "producer", defaultValue = "100")
+    private long batchTimeout = 100;
+
     private KieServicesConfigurationCustomizer kieServicesConfigurationCustomizer;
 
     private Map<String, String> bodyParams = new HashMap<>();
@@ -93,6 +107,22 @@ public class KieConfiguration implements Cloneable {
         this.password = password;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize( int batchSize ) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    public void setBatchTimeout( long batchTimeout ) {
+        this.batchTimeout = batchTimeout;
+    }
+
     public KieServicesConfigurationCustomizer getKieServicesConfigurationCustomizer() {
         return kieServicesConfigurationCustomizer;
     }
@@ -28,6 +28,9 @@ import org.kie.server.client.KieServicesConfiguration;
 
 public class KieEndpoint extends DefaultEndpoint {
 
+    static final String BATCH_CLIENT = "rule";
+    static final String BATCH_OPERATION = "executeCommandsWithResults";
+
     private final KieServicesConfiguration kieServicesConf;
     private final KieConfiguration configuration;
 
@@ -59,9 +62,24 @@ public class KieEndpoint extends DefaultEndpoint {
 
     @Override
     public Producer createProducer() throws Exception {
+        if (configuration.getBatchSize() > 1) {
+            if (!isBatchable()) {
+                throw new IllegalArgumentException( "batchSize is only supported with client=" + BATCH_CLIENT + " and operation=" + BATCH_OPERATION +
+                                                    ", not with client=" + client + " and operation=" + operation );
+            }
+            return new KieBatchingProducer(this);
+        }
         return new KieProducer(this);
     }
 
+    /**
+     * Only rule commands are batched, as the batching producer executes all its exchanges through
+     * {@link org.kie.server.client.RuleServicesClient#executeCommandsWithResults(String, org.kie.api.command.Command)}.
+     */
+    private boolean isBatchable() {
+        return BATCH_CLIENT.equals( client ) && ( operation == null || BATCH_OPERATION.equals( operation ) );
+    }
+
     @Override
     public Consumer createConsumer( Processor processor ) throws Exception {
         throw new UnsupportedOperationException("Consumer not supported for " + getClass().getSimpleName() + " endpoint");
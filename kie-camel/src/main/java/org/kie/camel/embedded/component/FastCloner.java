@@ -16,7 +16,11 @@
 
 package org.kie.camel.embedded.component;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
@@ -42,9 +46,19 @@ import java.util.regex.Pattern;
 
 /** Cloner: deep clone objects.
  * This class is thread safe. One instance can be used by multiple threads on the same time.
+ * <p>
+ * On first use of a class a cloner specialised for it is generated: the constructor and the field accessors are
+ * resolved once as method handles and all primitive and immutable fields are copied by a single composed handle, so cloning
+ * does no per field reflection nor lookups in the registries. Instances of classes without fields that need a deep clone (and
+ * primitive arrays) can't be part of a cycle, see {@link #setAcyclicIdentityTracking(boolean)} to clone them without identity
+ * tracking.
  * 18 Sep 2008 */
 public class FastCloner {
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
     public interface IFastCloner {
         Object clone(Object t, FastCloner cloner, Map<Object, Object> clones) throws IllegalAccessException;
     }
@@ -53,10 +67,14 @@ public class FastCloner {
     private final Set<Class<?>> nullInstead = new HashSet<Class<?>>();
     private final Map<Class<?>, IFastCloner> fastCloners = new HashMap<Class<?>, IFastCloner>();
     private final Map<Object, Boolean> ignoredInstances = new IdentityHashMap<Object, Boolean>();
+    private final Set<Class<?>> constantClasses = new HashSet<Class<?>>();
     private final ConcurrentHashMap<Class<?>, List<Field>> fieldsCache = new ConcurrentHashMap<Class<?>, List<Field>>();
+    private final ConcurrentHashMap<Class<?>, ClassCloner> classCloners = new ConcurrentHashMap<Class<?>, ClassCloner>();
     private boolean dumpClonedClasses;
     private boolean cloningEnabled = true;
     private boolean nullTransient;
+    private boolean codeGenerationEnabled = true;
+    private boolean acyclicIdentityTracking = true;
 
     public FastCloner() {
         init();
@@ -79,6 +97,35 @@ public class FastCloner {
      *            true for transient fields to be nulled */
     public void setNullTransient(final boolean nullTransient) {
         this.nullTransient = nullTransient;
+        this.classCloners.clear();
+    }
+
+    public boolean isCodeGenerationEnabled() {
+        return this.codeGenerationEnabled;
+    }
+
+    /** when disabled classes are cloned through reflection only, field by field, and every cloned instance is tracked.
+     * 
+     * @param codeGenerationEnabled
+     *            false to disable the generated class cloners */
+    public void setCodeGenerationEnabled(final boolean codeGenerationEnabled) {
+        this.codeGenerationEnabled = codeGenerationEnabled;
+        this.classCloners.clear();
+    }
+
+    public boolean isAcyclicIdentityTracking() {
+        return this.acyclicIdentityTracking;
+    }
+
+    /** when disabled, instances that can't reference any object to be cloned (e.g. beans with primitive and immutable fields
+     * only) are not registered in the identity map used to preserve shared references and cycles. That makes cloning of large
+     * graphs of such instances cheaper, but an instance referenced twice in the graph is cloned twice.
+     * 
+     * @param acyclicIdentityTracking
+     *            false to clone acyclic instances without identity tracking */
+    public void setAcyclicIdentityTracking(final boolean acyclicIdentityTracking) {
+        this.acyclicIdentityTracking = acyclicIdentityTracking;
+        this.classCloners.clear();
     }
 
     /** registers a std set of fast cloners. */
@@ -103,6 +150,8 @@ public class FastCloner {
 
     public void registerConstant(final Object o) {
         this.ignoredInstances.put(o, true);
+        this.constantClasses.add(o.getClass());
+        this.classCloners.clear();
     }
 
     public void registerConstant(final Class<?> c, final String privateFieldName) {
@@ -110,7 +159,9 @@ public class FastCloner {
             final Field field = c.getDeclaredField(privateFieldName);
             field.setAccessible(true);
             final Object v = field.get(null);
-            this.ignoredInstances.put(v, true);
+            if (v != null) {
+                registerConstant(v);
+            }
         } catch (final SecurityException e) {
             throw new RuntimeException(e);
         } catch (final NoSuchFieldException e) {
@@ -177,6 +228,7 @@ public class FastCloner {
         for (final Class<?> cl : c) {
             this.ignored.add(cl);
         }
+        this.classCloners.clear();
     }
 
     /** instead of cloning these classes will set the field to null
@@ -187,11 +239,13 @@ public class FastCloner {
         for (final Class<?> cl : c) {
             this.nullInstead.add(cl);
         }
+        this.classCloners.clear();
     }
 
     /** spring framework friendly version of nullInsteadOfClone */
     public void setExtraNullInsteadOfClone(final Set<Class<?>> set) {
         this.nullInstead.addAll(set);
+        this.classCloners.clear();
     }
 
     /** registers an immutable class. Immutable classes are not cloned.
@@ -202,15 +256,18 @@ public class FastCloner {
         for (final Class<?> cl : c) {
             this.ignored.add(cl);
         }
+        this.classCloners.clear();
     }
 
     /** spring framework friendly version of registerImmutable */
     public void setExtraImmutables(final Set<Class<?>> set) {
         this.ignored.addAll(set);
+        this.classCloners.clear();
     }
 
     public void registerFastCloner(final Class<?> c, final IFastCloner fastCloner) {
         this.fastCloners.put(c, fastCloner);
+        this.classCloners.clear();
     }
 
     @SuppressWarnings("unchecked")
@@ -248,6 +305,10 @@ public class FastCloner {
         if (this.dumpClonedClasses) {
             System.out.println("start>" + o.getClass());
         }
+        if (classCloner(o.getClass()).leaf) {
+            // nothing referenced by a leaf needs cloning, its shallow clone is a deep clone
+            return shallowClone(o);
+        }
         final Map<Object, Object> clones = new IdentityHashMap<Object, Object>(16);
         try {
             return cloneInternal(o, clones);
@@ -286,78 +347,352 @@ public class FastCloner {
         if (o == this) {
             return null;
         }
-        if (this.ignoredInstances.containsKey(o)) {
+        final ClassCloner classCloner = classCloner(o.getClass());
+        if (classCloner.hasConstants && this.ignoredInstances.containsKey(o)) {
             return o;
         }
-        final Class<T> clz = (Class<T>)o.getClass();
-        if (clz.isEnum()) {
-            return o;
+        if (classCloner.tracked && clones != null) {
+            final Object clonedPreviously = clones.get(o);
+            if (clonedPreviously != null) {
+                return (T)clonedPreviously;
+            }
+        }
+        return (T)classCloner.clone(o, clones);
+    }
+
+    /** returns the cloner of instances of the given class, generating it on first use */
+    private ClassCloner classCloner(final Class<?> c) {
+        ClassCloner classCloner = this.classCloners.get(c);
+        if (classCloner == null) {
+            classCloner = createClassCloner(c);
+            final ClassCloner previous = this.classCloners.putIfAbsent(c, classCloner);
+            if (previous != null) {
+                classCloner = previous;
+            }
+        }
+        return classCloner;
+    }
+
+    private ClassCloner createClassCloner(final Class<?> c) {
+        final boolean hasConstants = this.constantClasses.contains(c);
+        if (c.isEnum()) {
+            return new SameInstanceCloner(hasConstants);
         }
         // skip cloning ignored classes
-        if (this.nullInstead.contains(clz)) {
-            return null;
+        if (this.nullInstead.contains(c)) {
+            return new NullCloner(hasConstants);
+        }
+        if (this.ignored.contains(c)) {
+            return new SameInstanceCloner(hasConstants);
+        }
+        final IFastCloner fastCloner = this.fastCloners.get(c);
+        if (fastCloner != null) {
+            return new RegisteredFastCloner(hasConstants, fastCloner);
+        }
+        if (!this.codeGenerationEnabled || this.dumpClonedClasses) {
+            return new ReflectiveCloner(hasConstants);
+        }
+        if (c.isArray()) {
+            return c.getComponentType().isPrimitive() ? new PrimitiveArrayCloner(hasConstants, this.acyclicIdentityTracking) : new ObjectArrayCloner(hasConstants);
         }
-        if (this.ignored.contains(clz)) {
+        try {
+            return new GeneratedCloner(c, hasConstants);
+        } catch (final IllegalAccessException e) {
+            // e.g. final fields that can't be written through a method handle on this jvm
+            return new ReflectiveCloner(hasConstants);
+        }
+    }
+
+    /** true if values of a field of the given declared type are always added to the clone as they are */
+    private boolean isCopiedAsIs(final Class<?> type) {
+        if (type.isPrimitive() || type.isEnum()) {
+            return true;
+        }
+        // a final declared type is the runtime type of all the values
+        return Modifier.isFinal(type.getModifiers()) && !type.isArray() && !this.nullInstead.contains(type) && this.ignored.contains(type);
+    }
+
+    private static Object newInstance(final Class<?> c) {
+        try {
+            return c.newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException("Unable To instantiate object from class " + c.getName(), e);
+        }
+    }
+
+    /** clones instances of one class. Instances of leaf classes don't reference anything that needs to be cloned. Instances of
+     * tracked classes are registered in the clones map, before cloning their fields. */
+    private abstract static class ClassCloner {
+
+        final boolean hasConstants;
+        final boolean leaf;
+        final boolean tracked;
+
+        ClassCloner(final boolean hasConstants, final boolean leaf, final boolean tracked) {
+            this.hasConstants = hasConstants;
+            this.leaf = leaf;
+            this.tracked = tracked;
+        }
+
+        abstract Object clone(Object o, Map<Object, Object> clones) throws IllegalAccessException;
+    }
+
+    private static final class SameInstanceCloner extends ClassCloner {
+
+        SameInstanceCloner(final boolean hasConstants) {
+            super(hasConstants, true, false);
+        }
+
+        @Override
+        Object clone(final Object o, final Map<Object, Object> clones) {
             return o;
         }
-        final Object clonedPreviously = clones != null ? clones.get(o) : null;
-        if (clonedPreviously != null) {
-            return (T)clonedPreviously;
+    }
+
+    private static final class NullCloner extends ClassCloner {
+
+        NullCloner(final boolean hasConstants) {
+            super(hasConstants, true, false);
         }
 
-        final Object fastClone = fastClone(o, clones);
-        if (fastClone != null) {
-            if (clones != null) {
+        @Override
+        Object clone(final Object o, final Map<Object, Object> clones) {
+            return null;
+        }
+    }
+
+    private final class RegisteredFastCloner extends ClassCloner {
+
+        private final IFastCloner fastCloner;
+
+        RegisteredFastCloner(final boolean hasConstants, final IFastCloner fastCloner) {
+            super(hasConstants, false, true);
+            this.fastCloner = fastCloner;
+        }
+
+        @Override
+        Object clone(final Object o, final Map<Object, Object> clones) throws IllegalAccessException {
+            final Object fastClone = this.fastCloner.clone(o, FastCloner.this, clones);
+            if (clones != null && fastClone != null) {
                 clones.put(o, fastClone);
             }
-            return (T)fastClone;
+            return fastClone;
         }
+    }
 
-        if (this.dumpClonedClasses) {
-            System.out.println("clone>" + clz);
+    private static final class PrimitiveArrayCloner extends ClassCloner {
+
+        PrimitiveArrayCloner(final boolean hasConstants, final boolean tracked) {
+            super(hasConstants, true, tracked);
         }
-        if (clz.isArray()) {
+
+        @Override
+        Object clone(final Object o, final Map<Object, Object> clones) {
             final int length = Array.getLength(o);
-            final T newInstance = (T)Array.newInstance(clz.getComponentType(), length);
-            clones.put(o, newInstance);
-            for (int i = 0; i < length; i++) {
-                final Object v = Array.get(o, i);
-                final Object clone = clones != null ? cloneInternal(v, clones) : v;
-                Array.set(newInstance, i, clone);
+            final Object newInstance = Array.newInstance(o.getClass().getComponentType(), length);
+            System.arraycopy(o, 0, newInstance, 0, length);
+            if (this.tracked && clones != null) {
+                clones.put(o, newInstance);
             }
             return newInstance;
         }
+    }
 
-        T newInstance = null;
-        try {
-            newInstance = clz.newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException("Unable To instantiate object from class " + clz.getName(), e);
+    private final class ObjectArrayCloner extends ClassCloner {
+
+        ObjectArrayCloner(final boolean hasConstants) {
+            super(hasConstants, false, true);
         }
 
-        if (clones != null) {
+        @Override
+        Object clone(final Object o, final Map<Object, Object> clones) throws IllegalAccessException {
+            final Object[] array = (Object[])o;
+            final Object[] newInstance = (Object[])Array.newInstance(o.getClass().getComponentType(), array.length);
+            if (clones == null) {
+                System.arraycopy(array, 0, newInstance, 0, array.length);
+                return newInstance;
+            }
             clones.put(o, newInstance);
+            for (int i = 0; i < array.length; i++) {
+                newInstance[i] = cloneInternal(array[i], clones);
+            }
+            return newInstance;
         }
-        final List<Field> fields = allFields(clz);
-        for (final Field field : fields) {
-            if (!Modifier.isStatic(field.getModifiers())) {
-                if (this.nullTransient && Modifier.isTransient(field.getModifiers())) {
-                    // request by Jonathan : transient fields can be null-ed
-                    final Class<?> type = field.getType();
-                    if (!type.isPrimitive()) {
-                        field.set(newInstance, null);
-                    }
-                } else {
-                    final Object fieldObject = field.get(o);
+    }
+
+    /** cloner specialised for one class: the fields copied as they are get copied by a single method handle composed of their
+     * getters and setters, the remaining ones are deep cloned through their own getter and setter handles. */
+    private final class GeneratedCloner extends ClassCloner {
+
+        private final Class<?> clz;
+        private final MethodHandle constructor;
+        private final MethodHandle copyFields;
+        private final MethodHandle[] getters;
+        private final MethodHandle[] setters;
+
+        GeneratedCloner(final Class<?> clz, final boolean hasConstants) throws IllegalAccessException {
+            this(clz, hasConstants, deepClonedFields(clz));
+        }
+
+        private GeneratedCloner(final Class<?> clz, final boolean hasConstants, final List<Field> deepClonedFields) throws IllegalAccessException {
+            super(hasConstants, deepClonedFields.isEmpty(), !deepClonedFields.isEmpty() || acyclicIdentityTracking);
+            this.clz = clz;
+            this.constructor = constructor(clz);
+
+            MethodHandle copy = null;
+            for (final Field field : allFields(clz)) {
+                final MethodHandle fieldCopy = fieldCopy(field);
+                if (fieldCopy != null) {
+                    copy = copy == null ? fieldCopy : MethodHandles.foldArguments(fieldCopy, copy);
+                }
+            }
+            this.copyFields = copy;
+
+            this.getters = new MethodHandle[deepClonedFields.size()];
+            this.setters = new MethodHandle[deepClonedFields.size()];
+            for (int i = 0; i < this.getters.length; i++) {
+                final Field field = deepClonedFields.get(i);
+                this.getters[i] = LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+                this.setters[i] = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+            }
+        }
+
+        /** returns a (Object dest, Object src)void handle for a field not deep cloned, null for the ones left untouched */
+        private MethodHandle fieldCopy(final Field field) throws IllegalAccessException {
+            final int mods = field.getModifiers();
+            if (Modifier.isStatic(mods)) {
+                return null;
+            }
+            final Class<?> type = field.getType();
+            if (nullTransient && Modifier.isTransient(mods)) {
+                if (type.isPrimitive()) {
+                    return null;
+                }
+                // request by Jonathan : transient fields can be null-ed
+                final MethodHandle setter = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+                return MethodHandles.dropArguments(MethodHandles.insertArguments(setter, 1, (Object)null), 1, Object.class);
+            }
+            if (!isCopiedAsIs(type)) {
+                return null;
+            }
+            final MethodHandle getter = LOOKUP.unreflectGetter(field).asType(MethodType.methodType(type, Object.class));
+            final MethodHandle setter = LOOKUP.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, type));
+            return MethodHandles.filterArguments(setter, 1, getter);
+        }
+
+        @Override
+        Object clone(final Object o, final Map<Object, Object> clones) throws IllegalAccessException {
+            final Object newInstance;
+            try {
+                newInstance = this.constructor != null ? (Object)this.constructor.invokeExact() : newInstance(this.clz);
+            } catch (final RuntimeException e) {
+                throw e;
+            } catch (final Throwable t) {
+                throw new RuntimeException("Unable To instantiate object from class " + this.clz.getName(), t);
+            }
+            if (this.tracked && clones != null) {
+                clones.put(o, newInstance);
+            }
+            try {
+                if (this.copyFields != null) {
+                    this.copyFields.invokeExact(newInstance, o);
+                }
+                for (int i = 0; i < this.getters.length; i++) {
+                    final Object fieldObject = (Object)this.getters[i].invokeExact(o);
                     final Object fieldObjectClone = clones != null ? cloneInternal(fieldObject, clones) : fieldObject;
-                    field.set(newInstance, fieldObjectClone);
-                    if (this.dumpClonedClasses && (fieldObjectClone != fieldObject)) {
-                        System.out.println("cloned field>" + field + "  -- of class " + o.getClass());
+                    this.setters[i].invokeExact(newInstance, fieldObjectClone);
+                }
+            } catch (final IllegalAccessException | RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable t) {
+                throw new RuntimeException("error during cloning of " + o, t);
+            }
+            return newInstance;
+        }
+    }
+
+    /** the non static fields that can't be copied as they are */
+    private List<Field> deepClonedFields(final Class<?> c) {
+        final List<Field> deepClonedFields = new ArrayList<Field>();
+        for (final Field field : allFields(c)) {
+            final int mods = field.getModifiers();
+            if (Modifier.isStatic(mods) || (this.nullTransient && Modifier.isTransient(mods)) || isCopiedAsIs(field.getType())) {
+                continue;
+            }
+            deepClonedFields.add(field);
+        }
+        return deepClonedFields;
+    }
+
+    /** returns a ()Object handle of the no-arg constructor, or null to let {@link Class#newInstance()} report the failure */
+    private static MethodHandle constructor(final Class<?> c) {
+        if (Modifier.isAbstract(c.getModifiers())) {
+            return null;
+        }
+        try {
+            final Constructor<?> constructor = c.getDeclaredConstructor();
+            if (!Modifier.isPublic(constructor.getModifiers()) || !Modifier.isPublic(c.getModifiers())) {
+                // keep the access rules of Class.newInstance()
+                return null;
+            }
+            return LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        } catch (final NoSuchMethodException | IllegalAccessException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /** the reflection based cloner, every instance is tracked */
+    private final class ReflectiveCloner extends ClassCloner {
+
+        ReflectiveCloner(final boolean hasConstants) {
+            super(hasConstants, false, true);
+        }
+
+        @Override
+        Object clone(final Object o, final Map<Object, Object> clones) throws IllegalAccessException {
+            final Class<?> clz = o.getClass();
+            if (dumpClonedClasses) {
+                System.out.println("clone>" + clz);
+            }
+            if (clz.isArray()) {
+                final int length = Array.getLength(o);
+                final Object newInstance = Array.newInstance(clz.getComponentType(), length);
+                if (clones != null) {
+                    clones.put(o, newInstance);
+                }
+                for (int i = 0; i < length; i++) {
+                    final Object v = Array.get(o, i);
+                    final Object clone = clones != null ? cloneInternal(v, clones) : v;
+                    Array.set(newInstance, i, clone);
+                }
+                return newInstance;
+            }
+
+            final Object newInstance = newInstance(clz);
+            if (clones != null) {
+                clones.put(o, newInstance);
+            }
+            final List<Field> fields = allFields(clz);
+            for (final Field field : fields) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    if (nullTransient && Modifier.isTransient(field.getModifiers())) {
+                        // request by Jonathan : transient fields can be null-ed
+                        final Class<?> type = field.getType();
+                        if (!type.isPrimitive()) {
+                            field.set(newInstance, null);
+                        }
+                    } else {
+                        final Object fieldObject = field.get(o);
+                        final Object fieldObjectClone = clones != null ? cloneInternal(fieldObject, clones) : fieldObject;
+                        field.set(newInstance, fieldObjectClone);
+                        if (dumpClonedClasses && (fieldObjectClone != fieldObject)) {
+                            System.out.println("cloned field>" + field + "  -- of class " + o.getClass());
+                        }
                     }
                 }
             }
+            return newInstance;
         }
-        return newInstance;
     }
 
     /** copies all properties from src to dest. Src and dest can be of different class, provided they contain same field names
@@ -435,6 +770,7 @@ public class FastCloner {
      *            true to enable printing all cloned classes */
     public void setDumpClonedClasses(final boolean dumpClonedClasses) {
         this.dumpClonedClasses = dumpClonedClasses;
+        this.classCloners.clear();
     }
 
     public boolean isCloningEnabled() {
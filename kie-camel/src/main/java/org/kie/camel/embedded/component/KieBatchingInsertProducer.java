@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.camel.embedded.component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultAsyncProducer;
+import org.kie.api.KieServices;
+import org.kie.api.command.Command;
+import org.kie.api.command.KieCommands;
+import org.kie.api.runtime.CommandExecutor;
+import org.kie.api.runtime.ExecutionResults;
+import org.kie.camel.ExchangeBatcher;
+import org.kie.internal.runtime.StatefulKnowledgeSession;
+
+/** A producer that inserts incoming messages as facts into the
+ * Drools session in batches: up to batchSize exchanges, or the
+ * ones received within batchTimeout, are inserted by a single
+ * batch command.
+ * With a stateful session the fact handle of every inserted fact
+ * is set as the {@link KieComponent#KIE_FACT_HANDLE} exchange property.
+ * With a stateless session all the facts of a batch are inserted in
+ * the same session and the rules are fired once per batch. */
+public class KieBatchingInsertProducer extends DefaultAsyncProducer {
+
+    private static final String OUT_IDENTIFIER_PREFIX = "camel-insert-";
+
+    // the corresponding endpoint
+    private final KieEmbeddedEndpoint ke;
+    private final KieInsertProducer.Unwrapper unwrapper;
+    private final CommandExecutor exec;
+    private final boolean stateful;
+
+    private ScheduledExecutorService scheduler;
+    private ExchangeBatcher batcher;
+
+    public KieBatchingInsertProducer(KieEmbeddedEndpoint endpoint) {
+        super(endpoint);
+        ke = endpoint;
+        unwrapper = KieInsertProducer.getUnwrapper(ke.getAction());
+        exec = ke.getExecutor();
+        stateful = exec instanceof StatefulKnowledgeSession;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        scheduler = ke.getCamelContext().getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "KieBatchingInsertProducer");
+        batcher = new ExchangeBatcher(ke.getBatchSize(), ke.getBatchTimeout(), scheduler, exchange -> ke, this::insert);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (batcher != null) {
+            batcher.flushAll();
+        }
+        if (scheduler != null) {
+            ke.getCamelContext().getExecutorServiceManager().shutdownNow(scheduler);
+        }
+        super.doStop();
+    }
+
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        return batcher.add(exchange, callback);
+    }
+
+    private void insert(List<Exchange> exchanges) {
+        KieCommands commands = KieServices.get().getCommands();
+        List<Command> batch = new ArrayList<Command>(exchanges.size() + 1);
+        for (int i = 0; i < exchanges.size(); i++) {
+            Object fact = unwrapper.getObject(exchanges.get(i));
+            if (stateful && ke.getEntryPoint() != null) {
+                batch.add(commands.newInsert(fact, OUT_IDENTIFIER_PREFIX + i, false, ke.getEntryPoint()));
+            } else if (stateful) {
+                batch.add(commands.newInsert(fact, OUT_IDENTIFIER_PREFIX + i));
+            } else {
+                batch.add(commands.newInsert(fact));
+            }
+        }
+        if (!stateful) {
+            batch.add(commands.newFireAllRules());
+        }
+
+        ExecutionResults results = exec.execute(commands.newBatchExecution(batch));
+        if (stateful && results != null) {
+            for (int i = 0; i < exchanges.size(); i++) {
+                exchanges.get(i).setProperty(KieComponent.KIE_FACT_HANDLE, results.getFactHandle(OUT_IDENTIFIER_PREFIX + i));
+            }
+        }
+    }
+}
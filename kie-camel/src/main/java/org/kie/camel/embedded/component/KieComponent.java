@@ -38,6 +38,7 @@ import org.apache.camel.impl.DefaultComponent;
 public class KieComponent extends DefaultComponent {
     // Property name *must* follow the Camel conventions (see org.apache.camel.Exchange)
     public static final String KIE_LOOKUP = "KieLookup";
+    public static final String KIE_FACT_HANDLE = "KieFactHandle";
 
     public KieComponent() {
     }
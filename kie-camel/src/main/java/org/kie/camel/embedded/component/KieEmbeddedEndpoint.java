@@ -98,6 +98,8 @@ public class KieEmbeddedEndpoint extends DefaultEndpoint {
     private Action action = Action.EXECUTE;
     private String entryPoint = null;
     private String channel = null;
+    private int batchSize = 0;
+    private long batchTimeout = 100;
 
     public KieEmbeddedEndpoint(String endpointUri, String remaining, KieComponent component) throws URISyntaxException {
         super(endpointUri, component);
@@ -111,6 +113,8 @@ public class KieEmbeddedEndpoint extends DefaultEndpoint {
     public Producer createProducer() throws Exception {
         if (Action.EXECUTE.equals(action)) {
             return new KieExecuteProducer(this);
+        } else if (batchSize > 1) {
+            return new KieBatchingInsertProducer(this);
         } else {
             return new KieInsertProducer(this);
         }
@@ -232,6 +236,24 @@ public class KieEmbeddedEndpoint extends DefaultEndpoint {
         this.channel = channel;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /** when greater than 1 the insert actions aggregate up to batchSize exchanges and insert them with a single batch command */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /** maximum time in milliseconds an exchange waits for its insert batch to fill up */
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
     public Exchange createExchange(Object pojo) {
         DefaultMessage msg = new DefaultMessage();
         msg.setBody(pojo);
@@ -57,19 +57,7 @@ public class KieInsertProducer extends DefaultProducer {
 
         // Configures this Producer with the proper action
         // by composing strategy objects
-        KieEmbeddedEndpoint.Action action = ke.getAction();
-        Unwrapper unwrapper = null;
-        switch (action) {
-        case INSERT_BODY:
-            unwrapper = BodyUnwrapper.INSTANCE;
-            break;
-        case INSERT_MESSAGE:
-            unwrapper = MessageUnwrapper.INSTANCE;
-            break;
-        case INSERT_EXCHANGE:
-            unwrapper = ExchangeUnwrapper.INSTANCE;
-            break;
-        }
+        Unwrapper unwrapper = getUnwrapper(ke.getAction());
 
         // Creates the actual worker
         CommandExecutor exec = ke.getExecutor();
@@ -91,6 +79,19 @@ public class KieInsertProducer extends DefaultProducer {
         worker.process(exchange);
     }
 
+    static Unwrapper getUnwrapper(KieEmbeddedEndpoint.Action action) {
+        switch (action) {
+        case INSERT_BODY:
+            return BodyUnwrapper.INSTANCE;
+        case INSERT_MESSAGE:
+            return MessageUnwrapper.INSTANCE;
+        case INSERT_EXCHANGE:
+            return ExchangeUnwrapper.INSTANCE;
+        default:
+            return null;
+        }
+    }
+
     /** An interface for the worker strategy */
     private static interface InsertWorker {
         public void process(Exchange exchange) throws Exception;
@@ -128,7 +129,7 @@ public class KieInsertProducer extends DefaultProducer {
 
     /** Another strategy interface to properly process incoming objects
      * selecting between body, message or exchange */
-    private static interface Unwrapper {
+    static interface Unwrapper {
         public Object getObject(Exchange exchange);
     }
 
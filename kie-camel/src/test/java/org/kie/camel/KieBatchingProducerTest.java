@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.camel;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+import org.kie.server.api.model.ServiceResponse;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.kie.camel.KieCamelConstants.KIE_CONTAINER_ID;
+import static org.kie.camel.KieCamelConstants.KIE_OPERATION;
+import static org.kie.camel.KieCamelConstants.RESPONSE_TYPE;
+import static org.kie.camel.KieCamelUtils.getResultMessage;
+
+public class KieBatchingProducerTest extends BaseKieComponentTest {
+
+    @Test
+    public void testExchangesExecutedAsOneBatch() throws Exception {
+        MockEndpoint mockEndpoint = getMockEndpoint( "mock:result" );
+        mockEndpoint.expectedMessageCount( 2 );
+
+        Map<String, Object> headers = Collections.singletonMap( KIE_CONTAINER_ID, "containerId" );
+        Future<Object> first = template.asyncRequestBodyAndHeaders( "direct:start", "first", headers );
+        Future<Object> second = template.asyncRequestBodyAndHeaders( "direct:start", "second", headers );
+        first.get();
+        second.get();
+        assertMockEndpointsSatisfied();
+
+        verify( 1, postRequestedFor( urlEqualTo( "/containers/instances/containerId" ) )
+                .withRequestBody( containing( KieBatchingProducer.OUT_IDENTIFIER_PREFIX + "0" ) )
+                .withRequestBody( containing( KieBatchingProducer.OUT_IDENTIFIER_PREFIX + "1" ) ) );
+        List<Exchange> exchanges = mockEndpoint.getExchanges();
+        for (Exchange exchange : exchanges) {
+            assertEquals( ServiceResponse.ResponseType.SUCCESS, getResultMessage( exchange ).getHeader( RESPONSE_TYPE ) );
+        }
+    }
+
+    @Test
+    public void testOtherOperationRejected() throws Exception {
+        MockEndpoint mockEndpoint = getMockEndpoint( "mock:result" );
+        mockEndpoint.expectedMessageCount( 0 );
+
+        Exchange exchange = template.request( "direct:start", e -> {
+            e.getIn().setBody( "fact" );
+            e.getIn().setHeader( KIE_CONTAINER_ID, "containerId" );
+            e.getIn().setHeader( KIE_OPERATION, "fireAllRules" );
+        } );
+
+        assertIsInstanceOf( IllegalArgumentException.class, exchange.getException() );
+        assertMockEndpointsSatisfied();
+        verify( 0, postRequestedFor( urlEqualTo( "/containers/instances/containerId" ) ) );
+    }
+
+    @Test
+    public void testBatchingRejectedForOtherClients() throws Exception {
+        for (String query : new String[]{"client=process&operation=startProcess", "client=dmn", "client=rule&operation=fireAllRules"}) {
+            try {
+                context.getEndpoint( "kie:" + getAuthenticadUrl( "admin", "admin" ) + "?" + query + "&batchSize=2" ).createProducer();
+                fail( "Batching should not be supported with " + query );
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        stubFor(get(urlEqualTo("/"))
+                        .withHeader("Accept", equalTo("application/xml"))
+                        .willReturn(aResponse()
+                                            .withStatus(200)
+                                            .withHeader("Content-Type", "application/xml")
+                                            .withBody("<response type=\"SUCCESS\" msg=\"Kie Server info\">\n" +
+                                                      "  <kie-server-info>\n" +
+                                                      "     <capabilities>BRM</capabilities>\n" +
+                                                      "    <version>1.2.3</version>\n" +
+                                                      "  </kie-server-info>\n" +
+                                                      "</response>")));
+
+        stubFor(post(urlEqualTo("/containers/instances/containerId"))
+                        .withHeader("Accept", equalTo("application/xml"))
+                        .willReturn(aResponse()
+                                            .withStatus(200)
+                                            .withHeader("Content-Type", "application/xml")
+                                            .withBody("<response type=\"SUCCESS\" msg=\"Container containerId successfully called.\"/>")));
+
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .to("kie:" + getAuthenticadUrl("admin", "admin") + "?client=rule&batchSize=2&batchTimeout=10000")
+                        .to("mock:result");
+            }
+        };
+    }
+}
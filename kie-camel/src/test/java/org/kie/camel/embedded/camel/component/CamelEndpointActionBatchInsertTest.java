@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.camel.embedded.camel.component;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.naming.Context;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.Test;
+import org.kie.api.event.rule.ObjectInsertedEvent;
+import org.kie.api.event.rule.RuleRuntimeEventListener;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.camel.embedded.component.KieComponent;
+import org.kie.pipeline.camel.Person;
+import org.mockito.ArgumentCaptor;
+
+import static org.mockito.Mockito.*;
+
+public class CamelEndpointActionBatchInsertTest extends KieCamelTestSupport {
+    private KieSession ksession;
+    private RuleRuntimeEventListener wmel;
+
+    @Test
+    public void testSessionBatchInsert() throws Exception {
+        Person bob = new Person();
+        bob.setName("Bob");
+        Person alice = new Person();
+        alice.setName("Alice");
+
+        Future<Exchange> first = template.asyncSend("direct:test-batch", e -> e.getIn().setBody(bob));
+        Future<Exchange> second = template.asyncSend("direct:test-batch", e -> e.getIn().setBody(alice));
+
+        Exchange firstResult = first.get(5, TimeUnit.SECONDS);
+        Exchange secondResult = second.get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<ObjectInsertedEvent> oie = ArgumentCaptor.forClass(ObjectInsertedEvent.class);
+        verify(wmel, times(2)).objectInserted(oie.capture());
+        assertEquals(2, oie.getAllValues().size());
+
+        assertNull(firstResult.getException());
+        assertNull(secondResult.getException());
+        assertNotNull(firstResult.getProperty(KieComponent.KIE_FACT_HANDLE, FactHandle.class));
+        assertNotNull(secondResult.getProperty(KieComponent.KIE_FACT_HANDLE, FactHandle.class));
+    }
+
+    @Test
+    public void testSessionBatchInsertFlushedOnTimeout() throws Exception {
+        Person person = new Person();
+        person.setName("Bob");
+
+        template.sendBody("direct:test-batch", person);
+
+        ArgumentCaptor<ObjectInsertedEvent> oie = ArgumentCaptor.forClass(ObjectInsertedEvent.class);
+        verify(wmel).objectInserted(oie.capture());
+        assertSame(person, oie.getValue().getObject());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("direct:test-batch").to("kie-local://ksession1?action=insertBody&batchSize=2&batchTimeout=50");
+            }
+        };
+    }
+
+    @Override
+    protected void configureDroolsContext(Context jndiContext) {
+        String rule = "";
+        rule += "import " + Person.class.getCanonicalName() + ";\n";
+        rule += "rule rule1 \n";
+        rule += "  when \n";
+        rule += "    $p : Person() \n";
+        rule += "  then \n";
+        rule += "    // no-op \n";
+        rule += "end\n";
+
+        ksession = registerKnowledgeRuntime("ksession1", rule);
+        wmel = mock(RuleRuntimeEventListener.class);
+        ksession.addEventListener(wmel);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.camel.embedded.component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the generated class cloners of {@link FastCloner} with the reflection based cloning. Not run by the build,
+ * start it through {@link #main(String[])} from the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class FastClonerBenchmark {
+
+    @Param({"REFLECTION", "GENERATED", "GENERATED_UNTRACKED"})
+    private String mode;
+
+    @Param({"1", "20"})
+    private int items;
+
+    private FastCloner cloner;
+    private Order order;
+    private Item item;
+
+    @Setup
+    public void setup() {
+        cloner = new FastCloner();
+        cloner.setCodeGenerationEnabled(!"REFLECTION".equals(mode));
+        cloner.setAcyclicIdentityTracking(!"GENERATED_UNTRACKED".equals(mode));
+
+        order = new Order();
+        order.id = 42L;
+        order.customer = "customer";
+        for (int i = 0; i < items; i++) {
+            Item orderItem = new Item();
+            orderItem.sku = "sku-" + i;
+            orderItem.quantity = i;
+            orderItem.price = i * 1.5;
+            order.items.add(orderItem);
+            order.itemsBySku.put(orderItem.sku, orderItem);
+        }
+        item = order.items.get(0);
+    }
+
+    @Benchmark
+    public Item cloneFlatFact() {
+        return cloner.deepClone(item);
+    }
+
+    @Benchmark
+    public Order cloneFactGraph() {
+        return cloner.deepClone(order);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FastClonerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    public static class Order {
+
+        private long id;
+        private String customer;
+        private List<Item> items = new ArrayList<>();
+        private Map<String, Item> itemsBySku = new HashMap<>();
+    }
+
+    public static class Item {
+
+        private String sku;
+        private int quantity;
+        private double price;
+        private boolean shipped;
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.camel.embedded.component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FastClonerTest {
+
+    @Test
+    public void testDeepCloneKeepsCycles() {
+        for (FastCloner cloner : cloners()) {
+            Node first = new Node("first");
+            Node second = new Node("second");
+            first.next = second;
+            second.next = first;
+            first.children.add(second);
+
+            Node clone = cloner.deepClone(first);
+
+            assertThat(clone).isNotSameAs(first);
+            assertThat(clone.name).isSameAs(first.name);
+            assertThat(clone.next).isNotSameAs(second);
+            assertThat(clone.next.name).isEqualTo("second");
+            assertThat(clone.next.next).isSameAs(clone);
+            assertThat(clone.children).hasSize(1);
+            assertThat(clone.children.get(0)).isSameAs(clone.next);
+        }
+    }
+
+    @Test
+    public void testDeepCloneOfValueObjects() {
+        for (FastCloner cloner : cloners()) {
+            Point point = new Point(1, 2L, 3.0, true, 'c', "label", Color.RED);
+
+            Point clone = cloner.deepClone(point);
+
+            assertThat(clone).isNotSameAs(point);
+            assertThat(clone.x).isEqualTo(1);
+            assertThat(clone.y).isEqualTo(2L);
+            assertThat(clone.z).isEqualTo(3.0);
+            assertThat(clone.visible).isTrue();
+            assertThat(clone.code).isEqualTo('c');
+            assertThat(clone.label).isSameAs(point.label);
+            assertThat(clone.color).isSameAs(Color.RED);
+        }
+    }
+
+    @Test
+    public void testDeepCloneOfMutableFieldsAndArrays() {
+        for (FastCloner cloner : cloners()) {
+            Shape shape = new Shape();
+            shape.origin = new Point(1, 2L, 3.0, false, 'o', "origin", Color.BLUE);
+            shape.coordinates = new int[]{1, 2, 3};
+            shape.points = new Point[]{shape.origin, null};
+            shape.tag = new Tag("tag");
+            shape.attributes = new HashMap<>();
+            shape.attributes.put("key", shape.tag);
+
+            Shape clone = cloner.deepClone(shape);
+
+            assertThat(clone.origin).isNotSameAs(shape.origin);
+            assertThat(clone.origin.label).isEqualTo("origin");
+            assertThat(clone.coordinates).isNotSameAs(shape.coordinates).containsExactly(1, 2, 3);
+            assertThat(clone.points).isNotSameAs(shape.points).hasSize(2);
+            assertThat(clone.points[0]).isNotSameAs(shape.origin);
+            assertThat(clone.points[0].label).isEqualTo("origin");
+            assertThat(clone.points[1]).isNull();
+            assertThat(clone.tag).isNotSameAs(shape.tag);
+            assertThat(clone.tag.value).isEqualTo("tag");
+            assertThat(clone.attributes).isNotSameAs(shape.attributes).hasSize(1);
+            assertThat(clone.attributes.get("key")).isSameAs(clone.tag);
+        }
+    }
+
+    @Test
+    public void testAcyclicIdentityTracking() {
+        FastCloner cloner = new FastCloner();
+        Shape shape = new Shape();
+        shape.tag = new Tag("tag");
+        shape.attributes = new HashMap<>();
+        shape.attributes.put("key", shape.tag);
+
+        Shape clone = cloner.deepClone(shape);
+        assertThat(clone.attributes.get("key")).isSameAs(clone.tag);
+
+        cloner.setAcyclicIdentityTracking(false);
+        clone = cloner.deepClone(shape);
+        assertThat(clone.attributes.get("key")).isNotSameAs(clone.tag);
+        assertThat(((Tag) clone.attributes.get("key")).value).isEqualTo("tag");
+        assertThat(clone.tag.value).isEqualTo("tag");
+    }
+
+    @Test
+    public void testNullTransient() {
+        for (FastCloner cloner : cloners()) {
+            cloner.setNullTransient(true);
+            Shape shape = new Shape();
+            shape.cache = "cached";
+            shape.origin = new Point(1, 2L, 3.0, false, 'o', "origin", Color.BLUE);
+
+            Shape clone = cloner.deepClone(shape);
+
+            assertThat(clone.cache).isNull();
+            assertThat(clone.origin.label).isEqualTo("origin");
+
+            cloner.setNullTransient(false);
+            assertThat(cloner.deepClone(shape).cache).isEqualTo("cached");
+        }
+    }
+
+    @Test
+    public void testRegisteredFastClonerAndImmutable() {
+        for (FastCloner cloner : cloners()) {
+            Point origin = new Point(0, 0L, 0.0, false, 'o', "origin", Color.BLUE);
+            Shape shape = new Shape();
+            shape.origin = origin;
+            shape.tag = new Tag("tag");
+
+            // change of the registrations after the class cloners have been generated
+            assertThat(cloner.deepClone(shape).origin).isNotSameAs(origin);
+
+            cloner.registerImmutable(Point.class);
+            cloner.registerFastCloner(Tag.class, (t, c, clones) -> new Tag("fast"));
+
+            Shape clone = cloner.deepClone(shape);
+
+            assertThat(clone.origin).isSameAs(origin);
+            assertThat(clone.tag.value).isEqualTo("fast");
+        }
+    }
+
+    @Test
+    public void testShallowClone() {
+        for (FastCloner cloner : cloners()) {
+            Shape shape = new Shape();
+            shape.origin = new Point(1, 2L, 3.0, false, 'o', "origin", Color.BLUE);
+            shape.coordinates = new int[]{1};
+
+            Shape clone = cloner.shallowClone(shape);
+
+            assertThat(clone).isNotSameAs(shape);
+            assertThat(clone.origin).isSameAs(shape.origin);
+            assertThat(clone.coordinates).isSameAs(shape.coordinates);
+        }
+    }
+
+    private static List<FastCloner> cloners() {
+        FastCloner reflective = new FastCloner();
+        reflective.setCodeGenerationEnabled(false);
+        return Arrays.asList(new FastCloner(), reflective);
+    }
+
+    public enum Color {
+        RED,
+        BLUE
+    }
+
+    public static class Point {
+
+        private int x;
+        private long y;
+        private double z;
+        private boolean visible;
+        private char code;
+        private String label;
+        private Color color;
+
+        public Point() {
+        }
+
+        public Point(int x, long y, double z, boolean visible, char code, String label, Color color) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.visible = visible;
+            this.code = code;
+            this.label = label;
+            this.color = color;
+        }
+    }
+
+    public static class Shape {
+
+        private Point origin;
+        private Point[] points;
+        private int[] coordinates;
+        private Tag tag;
+        private HashMap<String, Object> attributes;
+        private transient String cache;
+    }
+
+    public static class Tag {
+
+        private String value;
+
+        public Tag() {
+        }
+
+        public Tag(String value) {
+            this.value = value;
+        }
+    }
+
+    public static class Node {
+
+        private String name;
+        private Node next;
+        private List<Node> children = new ArrayList<>();
+
+        public Node() {
+        }
+
+        public Node(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -17,6 +17,7 @@ package org.kie.maven.plugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -31,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.inject.Inject;
 
@@ -104,6 +106,13 @@ public class BuildMojo extends AbstractKieMojo {
     @Parameter(property = "generateModel", defaultValue = "no")
     private String generateModel;
 
+    /**
+     * Skips the build when neither the project resources nor its classpath changed since the last build and
+     * only writes the class files whose content changed.
+     */
+    @Parameter(property = "kie.incremental", defaultValue = "false")
+    private boolean incremental;
+
     public void execute() throws MojoExecutionException, MojoFailureException {
         // BuildMojo is executed when GenerateModelMojo isn't and vice-versa
         boolean modelParameterEnabled = modelParameterEnabled(generateModel);
@@ -116,8 +125,8 @@ public class BuildMojo extends AbstractKieMojo {
 
     private void buildDrl() throws MojoFailureException {
         ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        Set<URL> urls = new HashSet<>();
         try {
-            Set<URL> urls = new HashSet<>();
             for (String element : project.getCompileClasspathElements()) {
                 urls.add(new File(element).toURI().toURL());
             }
@@ -141,6 +150,16 @@ public class BuildMojo extends AbstractKieMojo {
         }
 
         try {
+            Map<String, Object> kieMap = getKieMap();
+            // the kie module is shared with the caller through the kieMap, so it has to be built anyway
+            IncrementalBuildState buildState = incremental && kieMap.isEmpty() ? loadBuildState(urls) : null;
+            if (buildState != null && buildState.isUpToDate()) {
+                buildState.reuseOutputs();
+                storeBuildState(buildState);
+                getLog().info("KieModule is up to date, build skipped");
+                return;
+            }
+
             setSystemProperties(properties);
 
             KieServices ks = KieServices.Factory.get();
@@ -153,7 +172,6 @@ public class BuildMojo extends AbstractKieMojo {
 
             List<Message> errors = messages != null ? messages.filterMessages( Message.Level.ERROR): Collections.emptyList();
 
-            Map<String, Object> kieMap = getKieMap();
             if (container != null && !kieMap.isEmpty()) {
                 CompilerHelper helper = new CompilerHelper();
                 helper.share(kieMap, kModule, getLog());
@@ -166,6 +184,9 @@ public class BuildMojo extends AbstractKieMojo {
                     getLog().error(error.toString());
                 }
                 throw new MojoFailureException("Build failed!");
+            } else if (buildState != null) {
+                writeChangedClassFiles(kModule, buildState);
+                storeBuildState(buildState);
             } else {
                 writeClassFiles( kModule );
             }
@@ -189,6 +210,54 @@ public class BuildMojo extends AbstractKieMojo {
                 } );
     }
 
+    private void writeChangedClassFiles(InternalKieModule kModule, IncrementalBuildState buildState) throws MojoFailureException {
+        MemoryFileSystem mfs = ((MemoryKieModule) kModule).getMemoryFileSystem();
+        AtomicInteger written = new AtomicInteger();
+        try {
+            kModule.getFileNames()
+                    .parallelStream()
+                    .filter(name -> name.endsWith(".class") && !name.contains("target/classes") && !name.contains("target\\classes"))
+                    .forEach(fileName -> {
+                        MemoryFile memFile = (MemoryFile) mfs.getFile(fileName);
+                        Path path = Paths.get(outputDirectory.getPath(), memFile.getPath().toPortableString());
+                        try {
+                            if (buildState.write(path, mfs.getBytes(fileName))) {
+                                written.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (UncheckedIOException e) {
+            throw new MojoFailureException("Unable to write file", e.getCause());
+        }
+        getLog().info(String.format("Written %d changed class files", written.get()));
+    }
+
+    private IncrementalBuildState loadBuildState(Set<URL> urls) throws MojoFailureException {
+        try {
+            return IncrementalBuildState.load(new File(project.getBuild().getDirectory()), "build")
+                    .addValue("generateModel", generateModel)
+                    .addValue("usesPMML", usesPMML)
+                    .addValue("properties", properties)
+                    .addFile(project.getFile())
+                    .addDirectory(sourceFolder, p -> true)
+                    .addClasspath(urls);
+        } catch (IOException e) {
+            throw new MojoFailureException("Unable to compute the incremental build state", e);
+        }
+    }
+
+    private void storeBuildState(IncrementalBuildState buildState) throws MojoFailureException {
+        try {
+            for (Path staleFile : buildState.store()) {
+                getLog().info("Removed stale class file " + staleFile);
+            }
+        } catch (IOException e) {
+            throw new MojoFailureException("Unable to store the incremental build state", e);
+        }
+    }
+
     private void saveFile(MemoryFileSystem mfs, String fileName) throws MojoFailureException {
         MemoryFile memFile = (MemoryFile)mfs.getFile(fileName);
         final Path path = Paths.get(outputDirectory.getPath(), memFile.getPath().toPortableString());
@@ -17,6 +17,7 @@ package org.kie.maven.plugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -32,6 +33,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -73,6 +75,8 @@ public class GenerateModelMojo extends AbstractKieMojo {
 
     public static PathMatcher drlFileMatcher = FileSystems.getDefault().getPathMatcher("glob:**.drl");
 
+    private static final String droolsModelCompilerPath = "/generated-sources/drools-model-compiler/main/java";
+
     @Parameter(defaultValue = "${session}", required = true, readonly = true)
     private MavenSession mavenSession;
 
@@ -97,6 +101,13 @@ public class GenerateModelMojo extends AbstractKieMojo {
     @Parameter(property = "generateModel", defaultValue = "YES_WITHDRL")
     private String generateModel;
 
+    /**
+     * Skips the generation when neither the project resources nor its classpath changed since the last build and
+     * only writes the generated files whose content changed.
+     */
+    @Parameter(property = "kie.incremental", defaultValue = "false")
+    private boolean incremental;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
         // GenerateModelMojo is executed when BuildMojo isn't and vice-versa
@@ -113,8 +124,8 @@ public class GenerateModelMojo extends AbstractKieMojo {
 
     private void generateModel() throws MojoExecutionException {
         ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        Set<URL> urls = new HashSet<>();
         try {
-            Set<URL> urls = new HashSet<>();
             for (String element : project.getCompileClasspathElements()) {
                 urls.add(new File(element).toURI().toURL());
             }
@@ -137,7 +148,21 @@ public class GenerateModelMojo extends AbstractKieMojo {
             throw new RuntimeException(e);
         }
 
+        final String newCompileSourceRoot = targetDirectory.getPath() + droolsModelCompilerPath;
+
         try {
+            IncrementalBuildState buildState = incremental ? loadBuildState(urls) : null;
+            if (buildState != null && buildState.isUpToDate()) {
+                project.addCompileSourceRoot(newCompileSourceRoot);
+                buildState.reuseOutputs();
+                storeBuildState(buildState);
+                if (ExecModelMode.shouldDeleteFile(generateModel)) {
+                    deleteDrlFiles(new HashSet<>());
+                }
+                getLog().info("DSL is up to date, generation skipped");
+                return;
+            }
+
             setSystemProperties(properties);
 
             KieServices ks = KieServices.Factory.get();
@@ -164,25 +189,47 @@ public class GenerateModelMojo extends AbstractKieMojo {
                     ((MemoryKieModule) ((CanonicalKieModule) kieModule).getInternalKieModule()).getMemoryFileSystem() :
                     ((MemoryKieModule) kieModule).getMemoryFileSystem();
 
-            final String droolsModelCompilerPath = "/generated-sources/drools-model-compiler/main/java";
-            final String newCompileSourceRoot = targetDirectory.getPath() + droolsModelCompilerPath;
             project.addCompileSourceRoot(newCompileSourceRoot);
 
-            for (String generatedFile : generatedFiles) {
-                final MemoryFile f = (MemoryFile) mfs.getFile(generatedFile);
-                final Path newFile = Paths.get(targetDirectory.getPath(),
-                                               droolsModelCompilerPath,
-                                               f.getPath().toPortableString());
-
+            if (buildState != null) {
+                // the generated files are independent of each other, so compare and write them in parallel
+                AtomicInteger written = new AtomicInteger();
                 try {
-                    Files.deleteIfExists(newFile);
-                    Files.createDirectories(newFile.getParent());
-                    Files.copy(f.getContents(), newFile, StandardCopyOption.REPLACE_EXISTING);
-
-                    getLog().info("Generating " + newFile);
-                } catch (IOException e) {
-                    e.printStackTrace();
-                    throw new MojoExecutionException("Unable to write file", e);
+                    generatedFiles.parallelStream().forEach(generatedFile -> {
+                        final MemoryFile f = (MemoryFile) mfs.getFile(generatedFile);
+                        final Path newFile = Paths.get(targetDirectory.getPath(),
+                                                       droolsModelCompilerPath,
+                                                       f.getPath().toPortableString());
+                        try {
+                            if (buildState.write(newFile, mfs.getBytes(generatedFile))) {
+                                written.incrementAndGet();
+                                getLog().debug("Generating " + newFile);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw new MojoExecutionException("Unable to write file", e.getCause());
+                }
+                getLog().info(String.format("Generated %d changed files out of %d", written.get(), generatedFiles.size()));
+            } else {
+                for (String generatedFile : generatedFiles) {
+                    final MemoryFile f = (MemoryFile) mfs.getFile(generatedFile);
+                    final Path newFile = Paths.get(targetDirectory.getPath(),
+                                                   droolsModelCompilerPath,
+                                                   f.getPath().toPortableString());
+
+                    try {
+                        Files.deleteIfExists(newFile);
+                        Files.createDirectories(newFile.getParent());
+                        Files.copy(f.getContents(), newFile, StandardCopyOption.REPLACE_EXISTING);
+
+                        getLog().info("Generating " + newFile);
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                        throw new MojoExecutionException("Unable to write file", e);
+                    }
                 }
             }
 
@@ -193,10 +240,14 @@ public class GenerateModelMojo extends AbstractKieMojo {
             final Path packagesDestinationPath = Paths.get(targetDirectory.getPath(), "classes", packagesMemoryFilePath, packagesMemoryFile.getName());
 
             try {
-                if (!Files.exists(packagesDestinationPath)) {
-                    Files.createDirectories(packagesDestinationPath.getParent());
+                if (buildState != null) {
+                    buildState.write(packagesDestinationPath, mfs.getBytes(path));
+                } else {
+                    if (!Files.exists(packagesDestinationPath)) {
+                        Files.createDirectories(packagesDestinationPath.getParent());
+                    }
+                    Files.copy(packagesMemoryFile.getContents(), packagesDestinationPath, StandardCopyOption.REPLACE_EXISTING);
                 }
-                Files.copy(packagesMemoryFile.getContents(), packagesDestinationPath, StandardCopyOption.REPLACE_EXISTING);
             } catch (IOException e) {
                 e.printStackTrace();
                 throw new MojoExecutionException("Unable to write file", e);
@@ -205,6 +256,10 @@ public class GenerateModelMojo extends AbstractKieMojo {
             if (ExecModelMode.shouldDeleteFile(generateModel)) {
                 deleteDrlFiles(drlFiles);
             }
+
+            if (buildState != null) {
+                storeBuildState(buildState);
+            }
         } finally {
             Thread.currentThread().setContextClassLoader(contextClassLoader);
         }
@@ -212,6 +267,30 @@ public class GenerateModelMojo extends AbstractKieMojo {
         getLog().info("DSL successfully generated");
     }
 
+    private IncrementalBuildState loadBuildState(Set<URL> urls) throws MojoExecutionException {
+        try {
+            return IncrementalBuildState.load(targetDirectory, "generateModel")
+                    .addValue("generateModel", generateModel)
+                    .addValue("properties", properties)
+                    .addFile(project.getFile())
+                    .addDirectory(new File(projectDir, "src" + File.separator + "main"), p -> true)
+                    .excludeCompiledSources(Paths.get(targetDirectory.getPath(), droolsModelCompilerPath))
+                    .addClasspath(urls);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to compute the incremental build state", e);
+        }
+    }
+
+    private void storeBuildState(IncrementalBuildState buildState) throws MojoExecutionException {
+        try {
+            for (Path staleFile : buildState.store()) {
+                getLog().info("Removed stale generated file " + staleFile);
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to store the incremental build state", e);
+        }
+    }
+
     private void deleteDrlFiles(Set<String> actualDrlFiles) throws MojoExecutionException {
         // Remove drl files
         try (final Stream<Path> drlFilesToDeleted = Files.find(outputDirectory.toPath(), Integer.MAX_VALUE, (p, f) -> drlFileMatcher.matches(p))) {
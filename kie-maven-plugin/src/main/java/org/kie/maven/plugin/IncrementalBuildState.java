@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.maven.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps track of the inputs and outputs of a goal between two builds of the same project, so an unchanged kjar
+ * doesn't need to be rebuilt and only the files whose content actually changed get written to disk.
+ * <p>
+ * The fingerprint covers the content of the given resources and the classpath the goal runs with: jars are
+ * identified by path, size and timestamp, class folders by the content of their class files.
+ */
+public class IncrementalBuildState {
+
+    static final String STATE_DIRECTORY = "kie-maven-plugin";
+
+    private final Path stateFile;
+    private final String previousFingerprint;
+    private final Set<Path> previousOutputs;
+    private final Set<Path> outputs = ConcurrentHashMap.newKeySet();
+    private final Set<String> compiledOutputs = new HashSet<>();
+    private final MessageDigest digest;
+    private String fingerprint;
+
+    private IncrementalBuildState(Path stateFile, String previousFingerprint, Set<Path> previousOutputs) {
+        this.stateFile = stateFile;
+        this.previousFingerprint = previousFingerprint;
+        this.previousOutputs = previousOutputs;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static IncrementalBuildState load(File targetDirectory, String goal) throws IOException {
+        Path stateFile = Paths.get(targetDirectory.getPath(), STATE_DIRECTORY, goal + ".state");
+        if (!Files.exists(stateFile)) {
+            return new IncrementalBuildState(stateFile, null, Collections.emptySet());
+        }
+        List<String> lines = Files.readAllLines(stateFile, StandardCharsets.UTF_8);
+        Set<Path> previousOutputs = lines.stream()
+                .skip(1)
+                .filter(line -> !line.isEmpty())
+                .map(Paths::get)
+                .collect(Collectors.toSet());
+        return new IncrementalBuildState(stateFile, lines.isEmpty() ? null : lines.get(0), previousOutputs);
+    }
+
+    public IncrementalBuildState addValue(String name, Object value) {
+        update(name + "=" + (value instanceof Map ? new TreeMap<>((Map<?, ?>) value) : value));
+        return this;
+    }
+
+    public IncrementalBuildState addFile(File file) throws IOException {
+        if (file != null && file.isFile()) {
+            update(file.getAbsolutePath());
+            update(Files.readAllBytes(file.toPath()));
+        }
+        return this;
+    }
+
+    public IncrementalBuildState addDirectory(File directory, Predicate<Path> filter) throws IOException {
+        if (directory == null || !directory.isDirectory()) {
+            return this;
+        }
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(directory.toPath())) {
+            files = stream.filter(Files::isRegularFile)
+                    .filter(filter)
+                    .filter(p -> !previousOutputs.contains(p.toAbsolutePath()))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            update(directory.toPath().relativize(file).toString());
+            update(Files.readAllBytes(file));
+        }
+        return this;
+    }
+
+    /**
+     * Ignores the class files compiled from the sources the previous build generated in the given folder, so
+     * compiling the goal's own output doesn't make the next build look out of date.
+     */
+    public IncrementalBuildState excludeCompiledSources(Path generatedSourcesRoot) {
+        Path root = generatedSourcesRoot.toAbsolutePath();
+        for (Path output : previousOutputs) {
+            String name = output.toString();
+            if (output.startsWith(root) && name.endsWith(".java")) {
+                String relative = root.relativize(output).toString();
+                compiledOutputs.add(relative.substring(0, relative.length() - ".java".length()));
+            }
+        }
+        return this;
+    }
+
+    public IncrementalBuildState addClasspath(Collection<URL> urls) throws IOException {
+        List<File> entries = new ArrayList<>();
+        for (URL url : urls) {
+            try {
+                entries.add(Paths.get(url.toURI()).toFile());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                update(url.toExternalForm());
+            }
+        }
+        entries.sort(null);
+        for (File entry : entries) {
+            if (entry.isDirectory()) {
+                // class folders (e.g. the project's own output) are hashed by content, minus what the goal wrote there
+                addDirectory(entry, p -> p.toString().endsWith(".class") && !isCompiledOutput(entry.toPath().relativize(p)));
+            } else {
+                update(entry.getAbsolutePath() + ":" + entry.length() + ":" + entry.lastModified());
+            }
+        }
+        return this;
+    }
+
+    public String getFingerprint() {
+        if (fingerprint == null) {
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            fingerprint = sb.toString();
+        }
+        return fingerprint;
+    }
+
+    /**
+     * @return true when the inputs didn't change since the last build and all the files it wrote are still there
+     */
+    public boolean isUpToDate() {
+        return getFingerprint().equals(previousFingerprint) && previousOutputs.stream().allMatch(Files::exists);
+    }
+
+    /**
+     * Keeps all the outputs of the previous build, to be used when the goal is skipped as up to date.
+     */
+    public void reuseOutputs() {
+        outputs.addAll(previousOutputs);
+    }
+
+    /**
+     * Writes the given content unless the file already has exactly that content, leaving its timestamp untouched
+     * so incremental compilation of the generated sources keeps working.
+     *
+     * @return true if the file was written
+     */
+    public boolean write(Path file, byte[] content) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        outputs.add(absolute);
+        if (Files.isRegularFile(absolute) && Files.size(absolute) == content.length
+                && Arrays.equals(Files.readAllBytes(absolute), content)) {
+            return false;
+        }
+        Files.createDirectories(absolute.getParent());
+        Files.write(absolute, content);
+        return true;
+    }
+
+    /**
+     * Removes the files written by the previous build and not by this one, then saves the state for the next build.
+     *
+     * @return the removed files
+     */
+    public Set<Path> store() throws IOException {
+        Set<Path> staleOutputs = new HashSet<>(previousOutputs);
+        staleOutputs.removeAll(outputs);
+        for (Path staleOutput : staleOutputs) {
+            Files.deleteIfExists(staleOutput);
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add(getFingerprint());
+        outputs.stream().map(Path::toString).sorted().forEach(lines::add);
+        Files.createDirectories(stateFile.getParent());
+        Files.write(stateFile, lines, StandardCharsets.UTF_8);
+        return staleOutputs;
+    }
+
+    private boolean isCompiledOutput(Path classFile) {
+        String name = classFile.toString();
+        name = name.substring(0, name.length() - ".class".length());
+        int nested = name.indexOf('$');
+        return compiledOutputs.contains(nested < 0 ? name : name.substring(0, nested));
+    }
+
+    private void update(String value) {
+        update(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void update(byte[] bytes) {
+        // length prefix so consecutive values can't be confused with each other
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(bytes);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.maven.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IncrementalBuildStateTest {
+
+    private Path projectDir;
+    private File targetDir;
+    private File resourcesDir;
+
+    @Before
+    public void init() throws IOException {
+        projectDir = Files.createTempDirectory("incremental-build");
+        targetDir = projectDir.resolve("target").toFile();
+        resourcesDir = projectDir.resolve("src/main/resources").toFile();
+        write(resourcesDir.toPath().resolve("org/kie/rules.drl"), "rule R1 when then end");
+    }
+
+    @After
+    public void cleanUp() throws IOException {
+        try (Stream<Path> files = Files.walk(projectDir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testUpToDateOnlyWhenInputsUnchanged() throws IOException {
+        Path output = targetDir.toPath().resolve("classes/org/kie/Rules.class");
+
+        IncrementalBuildState first = load("generateModel");
+        assertThat(first.isUpToDate()).isFalse();
+        first.write(output, bytes("v1"));
+        first.store();
+
+        assertThat(load("generateModel").isUpToDate()).isTrue();
+        assertThat(load("generateModel").addValue("generateModel", "YES").isUpToDate()).isFalse();
+
+        Files.delete(output);
+        assertThat(load("generateModel").isUpToDate()).isFalse();
+        write(output, "v1");
+
+        write(resourcesDir.toPath().resolve("org/kie/rules.drl"), "rule R2 when then end");
+        assertThat(load("generateModel").isUpToDate()).isFalse();
+    }
+
+    @Test
+    public void testWriteOnlyChangedFiles() throws IOException {
+        Path output = targetDir.toPath().resolve("generated/org/kie/Rules.java");
+
+        IncrementalBuildState first = load("generateModel");
+        assertThat(first.write(output, bytes("class Rules {}"))).isTrue();
+        first.store();
+        output.toFile().setLastModified(1000L);
+
+        IncrementalBuildState second = load("generateModel");
+        assertThat(second.write(output, bytes("class Rules {}"))).isFalse();
+        assertThat(output.toFile().lastModified()).isEqualTo(1000L);
+        assertThat(second.write(output, bytes("class Rules { int i; }"))).isTrue();
+        assertThat(new String(Files.readAllBytes(output), StandardCharsets.UTF_8)).isEqualTo("class Rules { int i; }");
+    }
+
+    @Test
+    public void testStaleOutputsRemoved() throws IOException {
+        Path kept = targetDir.toPath().resolve("generated/org/kie/Rules.java");
+        Path removed = targetDir.toPath().resolve("generated/org/kie/RemovedRules.java");
+
+        IncrementalBuildState first = load("generateModel");
+        first.write(kept, bytes("class Rules {}"));
+        first.write(removed, bytes("class RemovedRules {}"));
+        first.store();
+
+        IncrementalBuildState second = load("generateModel");
+        second.write(kept, bytes("class Rules {}"));
+        assertThat(second.store()).containsExactly(removed.toAbsolutePath());
+        assertThat(Files.exists(removed)).isFalse();
+        assertThat(Files.exists(kept)).isTrue();
+    }
+
+    @Test
+    public void testClassesCompiledFromOutputsIgnored() throws IOException {
+        Path generatedRoot = targetDir.toPath().resolve("generated-sources");
+        Path classesDir = targetDir.toPath().resolve("classes");
+        write(classesDir.resolve("org/kie/Fact.class"), "fact");
+
+        IncrementalBuildState first = loadWithClasspath(generatedRoot, classesDir);
+        first.write(generatedRoot.resolve("org/kie/Rules.java"), bytes("class Rules {}"));
+        first.store();
+
+        // what the compiler produces from the generated sources
+        write(classesDir.resolve("org/kie/Rules.class"), "rules");
+        write(classesDir.resolve("org/kie/Rules$1.class"), "rules inner");
+        assertThat(loadWithClasspath(generatedRoot, classesDir).isUpToDate()).isTrue();
+
+        write(classesDir.resolve("org/kie/Fact.class"), "changed fact");
+        assertThat(loadWithClasspath(generatedRoot, classesDir).isUpToDate()).isFalse();
+    }
+
+    private IncrementalBuildState load(String goal) throws IOException {
+        return IncrementalBuildState.load(targetDir, goal)
+                .addDirectory(resourcesDir, p -> true);
+    }
+
+    private IncrementalBuildState loadWithClasspath(Path generatedRoot, Path classesDir) throws IOException {
+        URL classes = classesDir.toUri().toURL();
+        return load("generateModel")
+                .excludeCompiledSources(generatedRoot)
+                .addClasspath(Collections.singleton(classes));
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, bytes(content));
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,6 +1,9 @@
 package org.kie.perf;
 
+import org.kie.perf.metrics.HdrHistogramReservoir;
+
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 
 public class SharedMetricRegistry {
 
@@ -29,4 +32,24 @@ public class SharedMetricRegistry {
         return instance;
     }
 
+    /**
+     * Returns the timer registered under the given name, creating it backed by an
+     * {@link HdrHistogramReservoir} so that tail latencies are not lost to sampling.
+     */
+    public static Timer latencyTimer(String name) {
+        MetricRegistry registry = getInstance();
+        synchronized (registry) {
+            Timer timer = registry.getTimers().get(name);
+            if (timer == null) {
+                try {
+                    timer = registry.register(name, new Timer(new HdrHistogramReservoir()));
+                } catch (IllegalArgumentException e) {
+                    // registered concurrently through MetricRegistry.timer
+                    timer = registry.timer(name);
+                }
+            }
+            return timer;
+        }
+    }
+
 }
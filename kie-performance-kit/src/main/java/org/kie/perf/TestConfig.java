@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Properties;
 
 import org.kie.perf.run.Duration;
+import org.kie.perf.run.FixedRate;
 import org.kie.perf.run.IRunType;
 import org.kie.perf.run.Iteration;
 import org.kie.perf.suite.ConcurrentLoadSuite;
@@ -34,6 +35,7 @@ public class TestConfig {
     protected int duration;
     protected int iterations;
     protected int expectedRate;
+    protected int arrivalRate;
 
     protected ReporterType reporterType;
     protected int periodicity;
@@ -100,10 +102,19 @@ public class TestConfig {
             expectedRate = Integer.valueOf(expectedRateProp);
         }
 
+        // executions per second of the FIXEDRATE run type
+        arrivalRate = Integer.valueOf(System.getProperty("arrivalRate", "0"));
+        if (runType == RunType.FIXEDRATE && arrivalRate <= 0) {
+            throw new IllegalArgumentException("Run type " + runType + " requires a positive arrivalRate");
+        }
+
         properties.put("runType", runType);
         properties.put("duration", duration);
         properties.put("iterations", iterations);
         properties.put("expectedRate", expectedRate);
+        if (runType == RunType.FIXEDRATE) {
+            properties.put("arrivalRate", arrivalRate);
+        }
 
         reporterType = ReporterType.valueOf(System.getProperty("reporterType").toUpperCase());
         periodicity = Integer.valueOf(System.getProperty("periodicity"));
@@ -225,6 +236,10 @@ public class TestConfig {
         return expectedRate;
     }
 
+    public int getArrivalRate() {
+        return arrivalRate;
+    }
+
     public ReporterType getReporterType() {
         return reporterType;
     }
@@ -286,7 +301,7 @@ public class TestConfig {
     }
 
     public static enum RunType {
-        DURATION(Duration.class), ITERATION(Iteration.class);
+        DURATION(Duration.class), ITERATION(Iteration.class), FIXEDRATE(FixedRate.class);
 
         private Class<? extends IRunType> klass;
 
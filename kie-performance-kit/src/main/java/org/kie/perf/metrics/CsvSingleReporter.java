@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.nio.charset.Charset;
 import java.util.Locale;
@@ -181,11 +182,33 @@ public class CsvSingleReporter extends ScheduledReporter {
                 convertDuration(snapshot.getMean()), convertDuration(snapshot.getMax()), convertDuration(snapshot.getStdDev()),
                 convertDuration(snapshot.getMedian()), convertDuration(snapshot.get75thPercentile()), convertDuration(snapshot.get95thPercentile()),
                 convertDuration(snapshot.get98thPercentile()), convertDuration(snapshot.get99thPercentile()),
-                convertDuration(snapshot.get999thPercentile()));
+                convertDuration(snapshot.get999thPercentile()), convertDuration(snapshot.getValue(0.9999)));
+
+        if (snapshot instanceof HdrSnapshot) {
+            reportPercentileDistribution(name, (HdrSnapshot) snapshot);
+        }
+    }
+
+    /**
+     * Writes the whole latency distribution of the merged histogram next to the csv file, so
+     * it can be plotted with the usual HdrHistogram tooling.
+     */
+    private void reportPercentileDistribution(String name, HdrSnapshot snapshot) {
+        final File file = new File(directory, getFileName(name) + "." + getMeterName(name) + ".hgrm");
+        try {
+            final PrintStream out = new PrintStream(new FileOutputStream(file, false), false, UTF_8.name());
+            try {
+                snapshot.outputPercentileDistribution(out, 1.0 / convertDuration(1.0));
+            } finally {
+                out.close();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Error writing to {}", file, e);
+        }
     }
 
     private void reportMeter(String name, Meter meter) {
-        report(name, getMeterName(name), meter.getCount(), 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f);
+        report(name, getMeterName(name), meter.getCount(), 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f);
     }
 
     private void reportHistogram(String name, Histogram histogram) {
@@ -194,15 +217,15 @@ public class CsvSingleReporter extends ScheduledReporter {
         report(name, getMeterName(name), histogram.getCount(), 0.0f, (double) snapshot.getMin(), (double) snapshot.getMean(),
                 (double) snapshot.getMax(), (double) snapshot.getStdDev(), (double) snapshot.getMedian(), (double) snapshot.get75thPercentile(),
                 (double) snapshot.get95thPercentile(), (double) snapshot.get98thPercentile(), (double) snapshot.get99thPercentile(),
-                (double) snapshot.get999thPercentile());
+                (double) snapshot.get999thPercentile(), (double) snapshot.getValue(0.9999));
     }
 
     private void reportCounter(String name, Counter counter) {
-        report(name, getMeterName(name), counter.getCount(), 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f);
+        report(name, getMeterName(name), counter.getCount(), 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f);
     }
 
     private void reportGauge(String name, Gauge gauge) {
-        report(name, getMeterName(name), gauge.getValue(), 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f);
+        report(name, getMeterName(name), gauge.getValue(), 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f);
     }
 
     private void report(String name, Object... values) {
@@ -214,9 +237,9 @@ public class CsvSingleReporter extends ScheduledReporter {
                 try {
                     if (!fileAlreadyExists) {
                         out.println("Metric,Count/Value,Mean Rate [events/" + getRateUnit() + "],Min [" + getDurationUnit() + "],Mean ["
-                                + getDurationUnit() + "],Max [" + getDurationUnit() + "],Standard Deviation,Median,p75,p95,p98,p99,p99.9");
+                                + getDurationUnit() + "],Max [" + getDurationUnit() + "],Standard Deviation,Median,p75,p95,p98,p99,p99.9,p99.99");
                     }
-                    out.printf(locale, String.format(locale, "%s%n", "%s,%s,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f"), values);
+                    out.printf(locale, String.format(locale, "%s%n", "%s,%s,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f"), values);
                 } finally {
                     out.close();
                 }
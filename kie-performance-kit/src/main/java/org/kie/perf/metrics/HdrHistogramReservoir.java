@@ -0,0 +1,49 @@
+package org.kie.perf.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SingleWriterRecorder;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+/**
+ * Reservoir keeping every recorded value in an HdrHistogram instead of sampling them, so the
+ * tail percentiles are exact up to the configured precision. Each recording thread writes to
+ * its own recorder without contention; the per-thread histograms are merged when a snapshot
+ * is taken.
+ */
+public class HdrHistogramReservoir implements Reservoir {
+
+    private static final int SIGNIFICANT_VALUE_DIGITS = 3;
+
+    private final List<SingleWriterRecorder> recorders = new CopyOnWriteArrayList<SingleWriterRecorder>();
+    private final ThreadLocal<SingleWriterRecorder> recorder = ThreadLocal.withInitial(() -> {
+        SingleWriterRecorder threadRecorder = new SingleWriterRecorder(SIGNIFICANT_VALUE_DIGITS);
+        recorders.add(threadRecorder);
+        return threadRecorder;
+    });
+
+    private final Histogram total = new Histogram(SIGNIFICANT_VALUE_DIGITS);
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        recorder.get().recordValue(value);
+    }
+
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        for (SingleWriterRecorder threadRecorder : recorders) {
+            total.add(threadRecorder.getIntervalHistogram());
+        }
+        return new HdrSnapshot(total.copy());
+    }
+
+}
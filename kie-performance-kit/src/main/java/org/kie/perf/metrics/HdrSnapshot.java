@@ -0,0 +1,81 @@
+package org.kie.perf.metrics;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import com.codahale.metrics.Snapshot;
+
+/**
+ * {@link Snapshot} view of a merged HdrHistogram, see {@link HdrHistogramReservoir}.
+ */
+public class HdrSnapshot extends Snapshot {
+
+    private final Histogram histogram;
+
+    public HdrSnapshot(Histogram histogram) {
+        this.histogram = histogram;
+    }
+
+    @Override
+    public double getValue(double quantile) {
+        if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+            throw new IllegalArgumentException(quantile + " is not in [0..1]");
+        }
+        return histogram.getValueAtPercentile(quantile * 100.0);
+    }
+
+    @Override
+    public long[] getValues() {
+        long[] values = new long[size()];
+        int i = 0;
+        for (HistogramIterationValue value : histogram.recordedValues()) {
+            for (long c = 0; c < value.getCountAddedInThisIterationStep() && i < values.length; c++) {
+                values[i++] = value.getValueIteratedTo();
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long getMax() {
+        return histogram.getMaxValue();
+    }
+
+    @Override
+    public double getMean() {
+        return histogram.getMean();
+    }
+
+    @Override
+    public long getMin() {
+        return histogram.getMinValue();
+    }
+
+    @Override
+    public double getStdDev() {
+        return histogram.getStdDeviation();
+    }
+
+    @Override
+    public void dump(OutputStream output) {
+        outputPercentileDistribution(new PrintStream(output), 1.0);
+    }
+
+    /**
+     * Writes the full percentile distribution in the HdrHistogram text format (.hgrm), values
+     * are divided by the given ratio.
+     */
+    public void outputPercentileDistribution(PrintStream output, double valueUnitScalingRatio) {
+        histogram.outputPercentileDistribution(output, valueUnitScalingRatio);
+        output.flush();
+    }
+
+}
@@ -105,6 +105,8 @@ public class PerfRepoReporter extends ScheduledReporter {
             
             if (tc.getRunType() == RunType.DURATION) {
                 testExecutionName += " - " + tc.getDuration() + " seconds";
+            } else if (tc.getRunType() == RunType.FIXEDRATE) {
+                testExecutionName += " - " + tc.getDuration() + " seconds at " + tc.getArrivalRate() + "/s";
             } else {
                 testExecutionName += " - " + tc.getIterations() + " iterations";
             }
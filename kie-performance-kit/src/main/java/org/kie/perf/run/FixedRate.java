@@ -0,0 +1,58 @@
+package org.kie.perf.run;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.kie.perf.TestConfig;
+import org.kie.perf.suite.ConcurrentLoadSuite;
+
+/**
+ * Open model run type - executions are scheduled at a fixed arrival rate for the configured
+ * duration regardless of how long the previous ones took.
+ */
+public class FixedRate implements IRunType {
+
+    private long endTime;
+    private int limit;
+
+    private int i;
+
+    private long interval;
+    private long nextStart;
+
+    @Override
+    public void start(int limit) {
+        TestConfig tc = TestConfig.getInstance();
+        this.limit = limit;
+        endTime = System.currentTimeMillis() + tc.getDuration() * 1000;
+        i = 0;
+
+        // arrival rate is for the whole suite, every concurrent thread takes its share
+        int workers = 1;
+        if (ConcurrentLoadSuite.class.getSimpleName().equals(tc.getSuite())) {
+            workers = Math.max(1, tc.getThreads());
+        }
+        interval = Math.max(1, TimeUnit.SECONDS.toNanos(workers) / tc.getArrivalRate());
+        // spread the threads over the first interval instead of starting them all at once
+        nextStart = System.nanoTime() + ThreadLocalRandom.current().nextLong(interval);
+    }
+
+    @Override
+    public boolean isEnd() {
+        i++;
+        return i > limit || System.currentTimeMillis() > endTime;
+    }
+
+    @Override
+    public long awaitNextStart() {
+        long intendedStart = nextStart;
+        nextStart += interval;
+        long wait;
+        while ((wait = intendedStart - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+        return intendedStart;
+    }
+
+}
@@ -6,4 +6,14 @@ public interface IRunType {
 
     public boolean isEnd();
 
+    /**
+     * Waits until the next execution is due and returns the {@link System#nanoTime()} at which it
+     * was meant to start. Latency measured from this time includes any delay caused by previous
+     * slow executions, so it is not affected by coordinated omission. Closed loop run types start
+     * the next execution immediately.
+     */
+    public default long awaitNextStart() {
+        return System.nanoTime();
+    }
+
 }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.kie.perf.Executor;
 import org.kie.perf.SharedMetricRegistry;
@@ -82,7 +83,7 @@ public class ConcurrentLoadSuite implements ITestSuite {
         TestConfig tc = TestConfig.getInstance();
 
         Timer.Context contextDuration = null;
-        if (tc.getRunType() != RunType.DURATION) {
+        if (tc.getRunType() == RunType.ITERATION) {
             Timer duration = SharedMetricRegistry.getInstance().timer(MetricRegistry.name(scenario, "scenario.total.duration"));
             contextDuration = duration.time();
         }
@@ -140,14 +141,15 @@ public class ConcurrentLoadSuite implements ITestSuite {
         
         @Override
         public void run() {
-            Timer duration = SharedMetricRegistry.getInstance().timer(MetricRegistry.name(scenario.getClass(), "scenario.single.duration"));
+            // all threads record into the same timer, its reservoir keeps a histogram per thread
+            Timer duration = SharedMetricRegistry.latencyTimer(MetricRegistry.name(scenario.getClass(), "scenario.single.duration"));
             IRunType run = TestConfig.getInstance().getRunType().newInstance();
 
             run.start(max);
             while (!run.isEnd()) {
-                Timer.Context context = duration.time();
+                long start = run.awaitNextStart();
                 scenario.execute();
-                context.stop();
+                duration.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             }
         }
     }
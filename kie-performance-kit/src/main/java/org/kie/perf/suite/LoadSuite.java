@@ -2,6 +2,7 @@ package org.kie.perf.suite;
 
 import java.util.Arrays;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.kie.perf.Executor;
 import org.kie.perf.SharedMetricRegistry;
@@ -79,7 +80,7 @@ public class LoadSuite implements ITestSuite {
         IRunType run = tc.getRunType().newInstance();
 
         Timer.Context contextDuration = null;
-        if (tc.getRunType() != RunType.DURATION) {
+        if (tc.getRunType() == RunType.ITERATION) {
             Timer duration = metrics.timer(MetricRegistry.name(scenario.getClass(), "scenario.total.duration"));
             contextDuration = duration.time();
         }
@@ -90,16 +91,16 @@ public class LoadSuite implements ITestSuite {
             max = limit.value();
         }
 
-        Timer scenarioDuration = metrics.timer(MetricRegistry.name(scenario.getClass(), "scenario.single.duration"));
+        Timer scenarioDuration = SharedMetricRegistry.latencyTimer(MetricRegistry.name(scenario.getClass(), "scenario.single.duration"));
         run.start(max);
         while (!run.isEnd()) {
-            Timer.Context context = scenarioDuration.time();
+            long start = run.awaitNextStart();
             try {
                 scenario.execute();
             } catch (Exception ex) {
                 ex.printStackTrace();
             }
-            context.stop();
+            scenarioDuration.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
         if (contextDuration != null) {
             contextDuration.stop();
@@ -23,6 +23,7 @@ public class KieServerConstants {
     public static final String CLASS_TYPE_HEADER = "X-KIE-ClassType";
     public static final String KIE_CONTENT_TYPE_HEADER = "X-KIE-ContentType";
     public static final String KIE_CONVERSATION_ID_TYPE_HEADER = "X-KIE-ConversationId";
+    public static final String KIE_CONTINUATION_TOKEN_HEADER = "X-KIE-ContinuationToken";
 
     // extensions control parameters
     public static final String KIE_DROOLS_SERVER_EXT_DISABLED = "org.drools.server.ext.disabled";
@@ -45,6 +46,9 @@ public class KieServerConstants {
     public static final String KIE_SERVER_JAAS_DOMAIN = "org.kie.server.domain";
     public static final String KIE_SERVER_CONTROLLER = "org.kie.server.controller";
     public static final String KIE_SERVER_STATE_REPO = "org.kie.server.repo";
+    public static final String KIE_SERVER_STATE_REPO_JOURNAL = "org.kie.server.repo.journal";
+    public static final String CFG_STORAGE_JOURNAL_FLUSH_INTERVAL = "org.kie.server.storage.journal.flush.interval";
+    public static final String CFG_STORAGE_JOURNAL_COMPACTION_THRESHOLD = "org.kie.server.storage.journal.compaction.threshold";
     public static final String KIE_SERVER_STATE_REPO_TYPE_DEFAULT = "KieServerStateFileRepository";
     public static final String KIE_SERVER_STATE_REPO_TYPE_CLOUD = "KieServerStateCloudRepository";
     public static final String KIE_SERVER_STATE_REPO_TYPE_OPENSHIFT = "KieServerStateOpenShiftRepository";
@@ -52,6 +56,11 @@ public class KieServerConstants {
     public static final String KIE_SERVER_STATE_IMMUTABLE_INIT = "org.kie.server.state.immutable.init";
     public static final String KIE_SERVER_CONTAINER_DEPLOYMENT = "org.kie.server.container.deployment";
     public static final String KIE_SERVER_CONTAINER_LOCATOR = "org.kie.server.container.locator";
+    public static final String KIE_SERVER_CONTAINER_UPDATE_SWAP = "org.kie.server.container.update.swap";
+    public static final String KIE_SERVER_CONTAINER_UPDATE_DRAIN_TIMEOUT = "org.kie.server.container.update.drain.timeout";
+    public static final String KIE_SERVER_SCANNER_SHARED = "org.kie.server.scanner.shared";
+    public static final String KIE_SERVER_SCANNER_POOL_SIZE = "org.kie.server.scanner.pool.size";
+    public static final String KIE_SERVER_SCANNER_METADATA_CACHE_TTL = "org.kie.server.scanner.metadata.cache.ttl";
     public static final String KIE_SERVER_ACTIVATE_POLICIES = "org.kie.server.policy.activate";
     public static final String KIE_SERVER_MGMT_API_DISABLED = "org.kie.server.mgmt.api.disabled";
     public static final String KIE_SERVER_STARTUP_STRATEGY = "org.kie.server.startup.strategy";
@@ -121,6 +130,9 @@ public class KieServerConstants {
 
     public static final String KIE_OPTAPLANNER_THREAD_POOL_QUEUE_SIZE = "org.optaplanner.server.ext.thread.pool.queue.size";
 
+    public static final String KIE_TASK_ASSIGNING_RUNTIME_PLANNING_EXECUTION_THREADS = "org.kie.server.taskAssigning.runtime.planningExecution.threads";
+    public static final String KIE_TASK_ASSIGNING_RUNTIME_PLANNING_EXECUTION_MAX_BATCH_SIZE = "org.kie.server.taskAssigning.runtime.planningExecution.maxBatchSize";
+
     // ProcessConfig configuration item constants
     public static final String PCFG_RUNTIME_STRATEGY = "RuntimeStrategy";
     public static final String PCFG_KIE_BASE = "KBase";
@@ -150,6 +162,12 @@ public class KieServerConstants {
 
     public static final String CFG_CASE_ID_GENERATOR = "org.kie.server.cases.generator";
 
+    public static final String CFG_BULK_PROCESS_START_CHUNK_SIZE = "org.kie.server.bulk.process.start.chunk.size";
+    public static final String CFG_BULK_TASK_OPERATION_BATCH_SIZE = "org.kie.server.bulk.task.operation.batch.size";
+    public static final String CFG_DMN_BATCH_PARALLELISM = "org.kie.server.dmn.batch.parallelism";
+    public static final String CFG_SCENARIO_SIMULATION_PARALLELISM = "org.kie.server.scenario.simulation.parallelism";
+    public static final String CFG_SCENARIO_SIMULATION_MAX_PARALLELISM = "org.kie.server.scenario.simulation.max.parallelism";
+
     public static final String KIE_SERVER_PERSISTENCE_UNIT_NAME = "org.jbpm.domain";
 
     public static final String QUERY_ORDER_BY = "q_order_by";
@@ -159,6 +177,12 @@ public class KieServerConstants {
 
     public static final String CFG_KIE_SERVER_JMS_SESSION_TX = "org.kie.server.jms.session.tx";
     public static final String CFG_KIE_SERVER_JMS_SESSION_ACK = "org.kie.server.jms.session.ack";
+    public static final String CFG_KIE_SERVER_JMS_BATCH_ENABLED = "org.kie.server.jms.batch.enabled";
+    public static final String CFG_KIE_SERVER_JMS_BATCH_QUEUE = "org.kie.server.jms.batch.queue";
+    public static final String CFG_KIE_SERVER_JMS_BATCH_CONNECTION_FACTORY = "org.kie.server.jms.batch.connection.factory";
+    public static final String CFG_KIE_SERVER_JMS_BATCH_SIZE = "org.kie.server.jms.batch.size";
+    public static final String CFG_KIE_SERVER_JMS_BATCH_THREADS = "org.kie.server.jms.batch.threads";
+    public static final String CFG_KIE_SERVER_JMS_BATCH_RECEIVE_TIMEOUT = "org.kie.server.jms.batch.receive.timeout";
 
     // System variable to store the enabled packages for the XStreamMarshaller
     public static final String SYSTEM_XSTREAM_ENABLED_PACKAGES = "org.kie.server.xstream.enabled.packages";
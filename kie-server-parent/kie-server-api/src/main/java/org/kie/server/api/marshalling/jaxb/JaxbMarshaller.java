@@ -146,6 +146,7 @@ import org.kie.server.api.model.definition.SearchQueryFilterSpec;
 import org.kie.server.api.model.definition.TaskQueryFilterSpec;
 import org.kie.server.api.model.definition.TimerDefinition;
 import org.kie.server.api.model.dmn.DMNContextKS;
+import org.kie.server.api.model.dmn.DMNContextKSList;
 import org.kie.server.api.model.dmn.DMNDecisionInfo;
 import org.kie.server.api.model.dmn.DMNDecisionResultKS;
 import org.kie.server.api.model.dmn.DMNInputDataInfo;
@@ -155,6 +156,7 @@ import org.kie.server.api.model.dmn.DMNModelInfo;
 import org.kie.server.api.model.dmn.DMNModelInfoList;
 import org.kie.server.api.model.dmn.DMNNodeStub;
 import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.api.model.dmn.DMNResultKSList;
 import org.kie.server.api.model.instance.DocumentInstance;
 import org.kie.server.api.model.instance.DocumentInstanceList;
 import org.kie.server.api.model.instance.ErrorInfoInstance;
@@ -167,6 +169,10 @@ import org.kie.server.api.model.instance.ProcessInstanceCustomVars;
 import org.kie.server.api.model.instance.ProcessInstanceCustomVarsList;
 import org.kie.server.api.model.instance.ProcessInstanceList;
 import org.kie.server.api.model.instance.ProcessInstanceUserTaskWithVariablesList;
+import org.kie.server.api.model.instance.ProcessStartRequest;
+import org.kie.server.api.model.instance.ProcessStartRequestList;
+import org.kie.server.api.model.instance.ProcessStartResult;
+import org.kie.server.api.model.instance.ProcessStartResultList;
 import org.kie.server.api.model.instance.RequestInfoInstance;
 import org.kie.server.api.model.instance.RequestInfoInstanceList;
 import org.kie.server.api.model.instance.ScoreWrapper;
@@ -180,6 +186,10 @@ import org.kie.server.api.model.instance.TaskEventInstance;
 import org.kie.server.api.model.instance.TaskEventInstanceList;
 import org.kie.server.api.model.instance.TaskInstance;
 import org.kie.server.api.model.instance.TaskInstanceList;
+import org.kie.server.api.model.instance.TaskOperation;
+import org.kie.server.api.model.instance.TaskOperationList;
+import org.kie.server.api.model.instance.TaskOperationResult;
+import org.kie.server.api.model.instance.TaskOperationResultList;
 import org.kie.server.api.model.instance.TaskSummary;
 import org.kie.server.api.model.instance.TaskSummaryList;
 import org.kie.server.api.model.instance.TaskWithProcessDescription;
@@ -389,6 +399,8 @@ public class JaxbMarshaller implements Marshaller {
                                                  DMNMessageKS.class,
                                                  DMNDecisionResultKS.class,
                                                  DMNModelInfoList.class,
+                                                 DMNContextKSList.class,
+                                                 DMNResultKSList.class,
                                                  DMNModelInfo.class,
                                                  DMNDecisionInfo.class,
                                                  DMNInputDataInfo.class,
@@ -413,7 +425,15 @@ public class JaxbMarshaller implements Marshaller {
                                                  ProcessInstanceUserTaskWithVariablesList.class,
                                                  CaseUserTaskWithVariablesList.class,
                                                  CaseInstanceCustomVarsList.class,
-                                                 ProcessStartSpec.class
+                                                 ProcessStartSpec.class,
+                                                 ProcessStartRequest.class,
+                                                 ProcessStartRequestList.class,
+                                                 ProcessStartResult.class,
+                                                 ProcessStartResultList.class,
+                                                 TaskOperation.class,
+                                                 TaskOperationList.class,
+                                                 TaskOperationResult.class,
+                                                 TaskOperationResultList.class
         };
     }
 
@@ -63,6 +63,7 @@ import org.kie.server.api.model.ReleaseIdFilter;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.ServiceResponsesList;
 import org.kie.server.api.model.dmn.DMNContextKS;
+import org.kie.server.api.model.dmn.DMNContextKSList;
 import org.kie.server.api.model.dmn.DMNDecisionInfo;
 import org.kie.server.api.model.dmn.DMNDecisionResultKS;
 import org.kie.server.api.model.dmn.DMNInputDataInfo;
@@ -72,6 +73,7 @@ import org.kie.server.api.model.dmn.DMNModelInfo;
 import org.kie.server.api.model.dmn.DMNModelInfoList;
 import org.kie.server.api.model.dmn.DMNNodeStub;
 import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.api.model.dmn.DMNResultKSList;
 import org.kie.server.api.model.instance.SolverInstance;
 import org.optaplanner.persistence.xstream.api.score.AbstractScoreXStreamConverter;
 import org.slf4j.Logger;
@@ -198,6 +200,8 @@ public class XStreamMarshaller implements Marshaller {
         this.xstream.processAnnotations(DMNMessageKS.class);
         this.xstream.processAnnotations(DMNDecisionResultKS.class);
         this.xstream.processAnnotations(DMNModelInfoList.class);
+        this.xstream.processAnnotations(DMNContextKSList.class);
+        this.xstream.processAnnotations(DMNResultKSList.class);
         this.xstream.processAnnotations(DMNModelInfo.class);
         this.xstream.processAnnotations(DMNDecisionInfo.class);
         this.xstream.processAnnotations(DMNInputDataInfo.class);
@@ -77,8 +77,10 @@ import org.kie.server.api.model.definition.UserTaskDefinition;
 import org.kie.server.api.model.definition.UserTaskDefinitionList;
 import org.kie.server.api.model.definition.VariablesDefinition;
 import org.kie.server.api.model.dmn.DMNContextKS;
+import org.kie.server.api.model.dmn.DMNContextKSList;
 import org.kie.server.api.model.dmn.DMNModelInfoList;
 import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.api.model.dmn.DMNResultKSList;
 import org.kie.server.api.model.instance.DocumentInstance;
 import org.kie.server.api.model.instance.DocumentInstanceList;
 import org.kie.server.api.model.instance.ErrorInfoInstance;
@@ -90,6 +92,7 @@ import org.kie.server.api.model.instance.ProcessInstance;
 import org.kie.server.api.model.instance.ProcessInstanceCustomVars;
 import org.kie.server.api.model.instance.ProcessInstanceCustomVarsList;
 import org.kie.server.api.model.instance.ProcessInstanceList;
+import org.kie.server.api.model.instance.ProcessStartResultList;
 import org.kie.server.api.model.instance.RequestInfoInstance;
 import org.kie.server.api.model.instance.RequestInfoInstanceList;
 import org.kie.server.api.model.instance.SolverInstance;
@@ -98,6 +101,7 @@ import org.kie.server.api.model.instance.TaskEventInstance;
 import org.kie.server.api.model.instance.TaskEventInstanceList;
 import org.kie.server.api.model.instance.TaskInstance;
 import org.kie.server.api.model.instance.TaskInstanceList;
+import org.kie.server.api.model.instance.TaskOperationResultList;
 import org.kie.server.api.model.instance.TaskSummary;
 import org.kie.server.api.model.instance.TaskSummaryList;
 import org.kie.server.api.model.instance.TaskWithProcessDescription;
@@ -192,6 +196,8 @@ public class ServiceResponse<T> implements KieServiceResponse<T> {
             @XmlElement(name = "task-event-instance-list", type = TaskEventInstanceList.class),
             @XmlElement(name = "work-item-instance", type = WorkItemInstance.class),
             @XmlElement(name = "work-item-instance-list", type = WorkItemInstanceList.class),
+            @XmlElement(name = "process-start-result-list", type = ProcessStartResultList.class),
+            @XmlElement(name = "task-operation-result-list", type = TaskOperationResultList.class),
             @XmlElement(name = "request-info-instance", type = RequestInfoInstance.class),
             @XmlElement(name = "request-info-instance-list", type = RequestInfoInstanceList.class),
             @XmlElement(name = "error-info-instance", type = ErrorInfoInstance.class),
@@ -250,6 +256,8 @@ public class ServiceResponse<T> implements KieServiceResponse<T> {
             @XmlElement(name = "dmn-evaluation-context", type = DMNContextKS.class),
             @XmlElement(name = "dmn-evaluation-result", type = DMNResultKS.class),
             @XmlElement(name = "dmn-model-info-list", type = DMNModelInfoList.class),
+            @XmlElement(name = "dmn-evaluation-context-list", type = DMNContextKSList.class),
+            @XmlElement(name = "dmn-evaluation-result-list", type = DMNResultKSList.class),
 
             // PMML
             @XmlElement(name = "pmml-result", type = PMML4Result.class),
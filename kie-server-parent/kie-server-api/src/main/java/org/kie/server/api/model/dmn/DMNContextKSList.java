@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.api.model.dmn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamImplicit;
+
+/**
+ * Batch of DMN contexts to be evaluated against the same model - and optionally the same decisions or decision service.
+ * Model and decisions are given once for the whole batch, only the dmn context of each entry is taken into account.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "dmn-evaluation-context-list")
+@XStreamAlias("dmn-evaluation-context-list")
+public class DMNContextKSList {
+
+    @XmlElement(name = "model-namespace")
+    @XStreamAlias("model-namespace")
+    private String namespace;
+
+    @XmlElement(name = "model-name")
+    @XStreamAlias("model-name")
+    private String modelName;
+
+    @XmlElement(name = "decision-name")
+    @XStreamImplicit(itemFieldName = "decision-name")
+    @JsonFormat(with = {JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY, JsonFormat.Feature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED})
+    private List<String> decisionNames = new ArrayList<>();
+
+    @XmlElement(name = "decision-id")
+    @XStreamImplicit(itemFieldName = "decision-id")
+    @JsonFormat(with = {JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY, JsonFormat.Feature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED})
+    private List<String> decisionIds = new ArrayList<>();
+
+    @XmlElement(name = "decision-service-name")
+    @XStreamAlias("decision-service-name")
+    private String decisionServiceName;
+
+    // note Jackson annotation is needed on this field and getter, in order for Jackson to NOT use JAXB annotation but proper Jackson annotation
+    @XmlElement(name = "dmn-evaluation-context")
+    @JsonIgnore
+    @XStreamImplicit(itemFieldName = "dmn-evaluation-context")
+    private DMNContextKS[] contexts = new DMNContextKS[0];
+
+    public DMNContextKSList() {
+        // no-arg constructor for marshalling
+    }
+
+    public DMNContextKSList(String namespace, String modelName, List<DMNContextKS> contexts) {
+        this.namespace = namespace;
+        this.modelName = modelName;
+        setContexts(contexts);
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public void setNamespace(String namespace) {
+        this.namespace = namespace;
+    }
+
+    public String getModelName() {
+        return modelName;
+    }
+
+    public void setModelName(String modelName) {
+        this.modelName = modelName;
+    }
+
+    public List<String> getDecisionNames() {
+        return decisionNames;
+    }
+
+    public void setDecisionNames(List<String> decisionNames) {
+        this.decisionNames = decisionNames;
+    }
+
+    public List<String> getDecisionIds() {
+        return decisionIds;
+    }
+
+    public void setDecisionIds(List<String> decisionIds) {
+        this.decisionIds = decisionIds;
+    }
+
+    public String getDecisionServiceName() {
+        return decisionServiceName;
+    }
+
+    public void setDecisionServiceName(String decisionServiceName) {
+        this.decisionServiceName = decisionServiceName;
+    }
+
+    @JsonProperty("contexts")
+    public List<DMNContextKS> getContexts() {
+        if (contexts == null) {
+            return new ArrayList<>();
+        }
+        return Arrays.asList(contexts);
+    }
+
+    @JsonProperty("contexts")
+    public void setContexts(List<DMNContextKS> contexts) {
+        this.contexts = contexts.toArray(new DMNContextKS[]{});
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("DMNContextKSList [")
+                .append("namespace=").append(namespace)
+                .append(", modelName=").append(modelName)
+                .append(", decisionServiceName=").append(decisionServiceName)
+                .append(", decisionNames=").append(decisionNames)
+                .append(", decisionIds=").append(decisionIds)
+                .append(", contexts=").append(contexts == null ? 0 : contexts.length)
+                .append("]").toString();
+    }
+}
@@ -104,6 +104,13 @@ public class DMNMessageKS implements DMNMessage {
         return res;
     }
 
+    public static DMNMessageKS of(Severity severity, String message) {
+        DMNMessageKS res = new DMNMessageKS();
+        res.severity = DMNMessageSeverityKS.of(severity);
+        res.message = message;
+        return res;
+    }
+
     @Override
     public Severity getSeverity() {
         return severity.asSeverity();
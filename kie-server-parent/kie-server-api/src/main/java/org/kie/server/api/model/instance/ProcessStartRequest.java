@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.api.model.instance;
+
+import java.util.Map;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "process-start-request")
+public class ProcessStartRequest {
+
+    @XmlElement(name = "process-id")
+    private String processId;
+    @XmlElement(name = "correlation-key")
+    private String correlationKey;
+    @XmlElement(name = "process-variables")
+    private Map<String, Object> variables;
+
+    public ProcessStartRequest() {
+    }
+
+    public ProcessStartRequest(String processId, Map<String, Object> variables) {
+        this(processId, null, variables);
+    }
+
+    public ProcessStartRequest(String processId, String correlationKey, Map<String, Object> variables) {
+        this.processId = processId;
+        this.correlationKey = correlationKey;
+        this.variables = variables;
+    }
+
+    public String getProcessId() {
+        return processId;
+    }
+
+    public void setProcessId(String processId) {
+        this.processId = processId;
+    }
+
+    public String getCorrelationKey() {
+        return correlationKey;
+    }
+
+    public void setCorrelationKey(String correlationKey) {
+        this.correlationKey = correlationKey;
+    }
+
+    public Map<String, Object> getVariables() {
+        return variables;
+    }
+
+    public void setVariables(Map<String, Object> variables) {
+        this.variables = variables;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessStartRequest{" +
+                "processId='" + processId + '\'' +
+                ", correlationKey='" + correlationKey + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.api.model.instance;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Outcome of one request of a bulk process start: either the id of the started process instance
+ * or the error that prevented it from being started. The index refers to the position of the
+ * request in the submitted list.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "process-start-result")
+public class ProcessStartResult {
+
+    @XmlElement(name = "index")
+    private Integer index;
+    @XmlElement(name = "process-id")
+    private String processId;
+    @XmlElement(name = "correlation-key")
+    private String correlationKey;
+    @XmlElement(name = "process-instance-id")
+    private Long processInstanceId;
+    @XmlElement(name = "error-message")
+    private String errorMessage;
+
+    public ProcessStartResult() {
+    }
+
+    public ProcessStartResult(Integer index, String processId, String correlationKey, Long processInstanceId, String errorMessage) {
+        this.index = index;
+        this.processId = processId;
+        this.correlationKey = correlationKey;
+        this.processInstanceId = processInstanceId;
+        this.errorMessage = errorMessage;
+    }
+
+    public Integer getIndex() {
+        return index;
+    }
+
+    public void setIndex(Integer index) {
+        this.index = index;
+    }
+
+    public String getProcessId() {
+        return processId;
+    }
+
+    public void setProcessId(String processId) {
+        this.processId = processId;
+    }
+
+    public String getCorrelationKey() {
+        return correlationKey;
+    }
+
+    public void setCorrelationKey(String correlationKey) {
+        this.correlationKey = correlationKey;
+    }
+
+    public Long getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    public void setProcessInstanceId(Long processInstanceId) {
+        this.processInstanceId = processInstanceId;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessStartResult{" +
+                "index=" + index +
+                ", processId='" + processId + '\'' +
+                ", processInstanceId=" + processInstanceId +
+                ", errorMessage='" + errorMessage + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.api.model.instance;
+
+import java.util.Map;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Single lifecycle operation of a bulk task request. The operation is one of the task state
+ * transitions (claim, start, complete, release, delegate, ...), target user is used by delegate
+ * and forward while task data carries outcome of complete and fail.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "task-operation")
+public class TaskOperation {
+
+    public static final String ACTIVATE = "activate";
+    public static final String CLAIM = "claim";
+    public static final String START = "start";
+    public static final String STOP = "stop";
+    public static final String COMPLETE = "complete";
+    public static final String DELEGATE = "delegate";
+    public static final String EXIT = "exit";
+    public static final String FAIL = "fail";
+    public static final String FORWARD = "forward";
+    public static final String RELEASE = "release";
+    public static final String RESUME = "resume";
+    public static final String SKIP = "skip";
+    public static final String SUSPEND = "suspend";
+
+    @XmlElement(name = "task-id")
+    private Long taskId;
+    @XmlElement(name = "operation")
+    private String operation;
+    @XmlElement(name = "target-user")
+    private String targetUser;
+    @XmlElement(name = "task-data")
+    private Map<String, Object> data;
+
+    public TaskOperation() {
+    }
+
+    public TaskOperation(Long taskId, String operation) {
+        this.taskId = taskId;
+        this.operation = operation;
+    }
+
+    public static TaskOperation claim(Long taskId) {
+        return new TaskOperation(taskId, CLAIM);
+    }
+
+    public static TaskOperation start(Long taskId) {
+        return new TaskOperation(taskId, START);
+    }
+
+    public static TaskOperation release(Long taskId) {
+        return new TaskOperation(taskId, RELEASE);
+    }
+
+    public static TaskOperation complete(Long taskId, Map<String, Object> data) {
+        TaskOperation operation = new TaskOperation(taskId, COMPLETE);
+        operation.setData(data);
+        return operation;
+    }
+
+    public static TaskOperation delegate(Long taskId, String targetUser) {
+        TaskOperation operation = new TaskOperation(taskId, DELEGATE);
+        operation.setTargetUser(targetUser);
+        return operation;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getTargetUser() {
+        return targetUser;
+    }
+
+    public void setTargetUser(String targetUser) {
+        this.targetUser = targetUser;
+    }
+
+    public Map<String, Object> getData() {
+        return data;
+    }
+
+    public void setData(Map<String, Object> data) {
+        this.data = data;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskOperation{" +
+                "taskId=" + taskId +
+                ", operation='" + operation + '\'' +
+                ", targetUser='" + targetUser + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.api.model.instance;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.kie.server.api.model.ItemList;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "task-operation-list")
+public class TaskOperationList implements ItemList<TaskOperation> {
+
+    @XmlElement(name = "task-operation")
+    private TaskOperation[] operations;
+
+    /**
+     * Number of operations executed within one transaction, server default is used when not set.
+     */
+    @XmlElement(name = "batch-size")
+    private Integer batchSize;
+
+    public TaskOperationList() {
+    }
+
+    public TaskOperationList(TaskOperation[] operations) {
+        this.operations = operations;
+    }
+
+    public TaskOperationList(List<TaskOperation> operations) {
+        this.operations = operations.toArray(new TaskOperation[operations.size()]);
+    }
+
+    public TaskOperation[] getOperations() {
+        return operations;
+    }
+
+    public void setOperations(TaskOperation[] operations) {
+        this.operations = operations;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public List<TaskOperation> getItems() {
+        if (operations == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(operations);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.api.model.instance;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Outcome of one operation of a bulk task request. The index refers to the position of the
+ * operation in the submitted list, error message is only set when the operation failed.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "task-operation-result")
+public class TaskOperationResult {
+
+    @XmlElement(name = "index")
+    private Integer index;
+    @XmlElement(name = "task-id")
+    private Long taskId;
+    @XmlElement(name = "operation")
+    private String operation;
+    @XmlElement(name = "container-id")
+    private String containerId;
+    @XmlElement(name = "success")
+    private boolean success;
+    @XmlElement(name = "error-message")
+    private String errorMessage;
+
+    public TaskOperationResult() {
+    }
+
+    public TaskOperationResult(Integer index, Long taskId, String operation, String containerId, boolean success, String errorMessage) {
+        this.index = index;
+        this.taskId = taskId;
+        this.operation = operation;
+        this.containerId = containerId;
+        this.success = success;
+        this.errorMessage = errorMessage;
+    }
+
+    public Integer getIndex() {
+        return index;
+    }
+
+    public void setIndex(Integer index) {
+        this.index = index;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getContainerId() {
+        return containerId;
+    }
+
+    public void setContainerId(String containerId) {
+        this.containerId = containerId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskOperationResult{" +
+                "index=" + index +
+                ", taskId=" + taskId +
+                ", operation='" + operation + '\'' +
+                ", containerId='" + containerId + '\'' +
+                ", success=" + success +
+                ", errorMessage='" + errorMessage + '\'' +
+                '}';
+    }
+}
@@ -46,6 +46,11 @@ public class ScenarioSimulationResult {
     @XStreamAlias("failures")
     private List<ScenarioSimulationFailure> failures = new ArrayList<>();
 
+    // execution time of each scenario in milliseconds, in the order scenarios are defined
+    @XmlElement(name = "timings")
+    @XStreamAlias("timings")
+    private List<ScenarioSimulationTiming> timings = new ArrayList<>();
+
     public int getRunCount() {
         return runCount;
     }
@@ -77,4 +82,12 @@ public class ScenarioSimulationResult {
     public void setFailures(List<ScenarioSimulationFailure> failures) {
         this.failures = failures;
     }
+
+    public List<ScenarioSimulationTiming> getTimings() {
+        return timings;
+    }
+
+    public void setTimings(List<ScenarioSimulationTiming> timings) {
+        this.timings = timings;
+    }
 }
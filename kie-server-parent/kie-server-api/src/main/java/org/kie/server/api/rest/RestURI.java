@@ -87,6 +87,7 @@ public class RestURI {
     public static final String START_PROCESS_FROM_NODES_POST_URI = "{" + PROCESS_ID + "}/instances/fromNodes";
     public static final String START_PROCESS_FROM_NODES_WITH_CORRELATION_KEY_POST_URI = "{" + PROCESS_ID + "}/instances/correlation/{" + CORRELATION_KEY + "}/fromNodes";
     public static final String START_PROCESS_WITH_CORRELATION_KEY_POST_URI = "{" + PROCESS_ID + "}/instances/correlation/{" + CORRELATION_KEY + "}";
+    public static final String START_PROCESSES_BULK_POST_URI = "instances/bulk";
     public static final String ABORT_PROCESS_INST_DEL_URI = "instances/{" + PROCESS_INST_ID + "}";
     public static final String ABORT_PROCESS_INSTANCES_DEL_URI = "instances";
     public static final String SIGNAL_PROCESS_INST_POST_URI = "instances/{" + PROCESS_INST_ID + "}/signal/{" + SIGNAL_NAME + "}";
@@ -164,6 +165,7 @@ public class RestURI {
     public static final String TASK_INSTANCE_SKIP_PUT_URI = "{" + TASK_INSTANCE_ID + "}/states/skipped";
     public static final String TASK_INSTANCE_SUSPEND_PUT_URI = "{" + TASK_INSTANCE_ID + "}/states/suspended";
     public static final String TASK_INSTANCE_NOMINATE_PUT_URI = "{" + TASK_INSTANCE_ID + "}/states/nominated";
+    public static final String TASK_INSTANCES_BULK_POST_URI = "states/bulk";
 
     public static final String TASK_INSTANCE_PRIORITY_PUT_URI = "{" + TASK_INSTANCE_ID + "}/priority";
     public static final String TASK_INSTANCE_DESCRIPTION_PUT_URI = "{" + TASK_INSTANCE_ID + "}/description";
@@ -221,6 +223,8 @@ public class RestURI {
     public static final String QUERY_DEF_GET_URI = "{" + QUERY_NAME + "}";
     public static final String RUN_QUERY_DEF_GET_URI = "{" + QUERY_NAME + "}/data";
     public static final String RUN_FILTERED_QUERY_DEF_POST_URI = "{" + QUERY_NAME + "}/filtered-data";
+    public static final String RUN_CURSOR_QUERY_DEF_POST_URI = "{" + QUERY_NAME + "}/cursor-data";
+    public static final String EXPORT_QUERY_DEF_POST_URI = "{" + QUERY_NAME + "}/export";
     public static final String RUN_FILTERED_QUERY_DEF_BY_CONTAINER_POST_URI = "containers/{" + CONTAINER_ID + "}/query/{" + QUERY_NAME + "}/filtered-data";
 
     // optaplanner URI
@@ -234,6 +238,7 @@ public class RestURI {
 
     // DMN URI
     public static final String DMN_URI = "containers/{" + CONTAINER_ID + "}/dmn";
+    public static final String DMN_BATCH_URI = "batch";
 
     // Scenario Simulation URI
     public static final String SCENARIO_SIMULATION_URI = "containers/{" + CONTAINER_ID + "}/scesim";
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.api.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.model.dmn.DMNContextKS;
+import org.kie.server.api.model.dmn.DMNContextKSList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(Parameterized.class)
+public class DMNContextKSListMarshallingTest {
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{{MarshallingFormat.JAXB}, {MarshallingFormat.XSTREAM}, {MarshallingFormat.JSON}});
+    }
+
+    @Parameterized.Parameter
+    public MarshallingFormat marshallingFormat;
+
+    @Test
+    public void testRoundTrip() {
+        Marshaller marshaller = MarshallerFactory.getMarshaller(new HashSet<>(Arrays.asList(DMNContextKSList.class, DMNContextKS.class)),
+                                                                marshallingFormat,
+                                                                DMNContextKSList.class.getClassLoader());
+
+        DMNContextKSList batch = new DMNContextKSList("foo", "bar", Arrays.asList(new DMNContextKS(Collections.singletonMap("age", "18")),
+                                                                               new DMNContextKS(Collections.singletonMap("age", "65"))));
+        batch.setDecisionServiceName("ds");
+
+        DMNContextKSList result = marshaller.unmarshall(marshaller.marshall(batch), DMNContextKSList.class);
+        assertNotNull(result);
+        assertEquals("foo", result.getNamespace());
+        assertEquals("bar", result.getModelName());
+        assertEquals("ds", result.getDecisionServiceName());
+        assertEquals(2, result.getContexts().size());
+        assertEquals("18", result.getContexts().get(0).getDmnContext().get("age"));
+        assertEquals("65", result.getContexts().get(1).getDmnContext().get("age"));
+
+        marshaller.dispose();
+    }
+}
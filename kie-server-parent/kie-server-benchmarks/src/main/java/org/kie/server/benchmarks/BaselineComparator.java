@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares a JMH JSON result file with the recorded baseline and fails when any benchmark
+ * regressed by more than the allowed threshold, when a baseline benchmark is missing from the
+ * results, or when there is no baseline to compare with.
+ * <p>
+ * Usage: <code>BaselineComparator &lt;result.json&gt; &lt;baseline.json&gt;</code>
+ * <ul>
+ * <li><code>benchmarks.baseline.threshold</code> - allowed regression in percent, 10 by default</li>
+ * <li><code>benchmarks.baseline.update</code> - when <code>true</code> the baseline is replaced by the result</li>
+ * </ul>
+ */
+public class BaselineComparator {
+
+    public static final String THRESHOLD_PROPERTY = "benchmarks.baseline.threshold";
+    public static final String UPDATE_PROPERTY = "benchmarks.baseline.update";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BaselineComparator <result.json> <baseline.json>");
+            System.exit(2);
+        }
+        File result = new File(args[0]);
+        File baseline = new File(args[1]);
+
+        if (Boolean.getBoolean(UPDATE_PROPERTY)) {
+            Files.copy(result.toPath(), baseline.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline " + baseline + " updated from " + result);
+            return;
+        }
+
+        double threshold = Double.parseDouble(System.getProperty(THRESHOLD_PROPERTY, "10"));
+        try {
+            int failures = check(result, baseline, threshold);
+            if (failures > 0) {
+                System.err.println(failures + " benchmark(s) regressed by more than " + threshold + "% or are missing from " + result);
+                System.exit(1);
+            }
+        } catch (IllegalStateException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compares the result file with the baseline file, see {@link #compare(Map, Map, double)}.
+     * @throws IllegalStateException if the baseline has no benchmarks, since nothing could be compared.
+     */
+    static int check(File result, File baseline, double threshold) throws IOException {
+        Map<String, JsonNode> baselineBenchmarks = read(baseline);
+        if (baselineBenchmarks.isEmpty()) {
+            throw new IllegalStateException("Baseline " + baseline + " has no benchmarks, record it first with -D" + UPDATE_PROPERTY + "=true");
+        }
+        return compare(read(result), baselineBenchmarks, threshold);
+    }
+
+    /**
+     * Returns the number of failed benchmarks: the ones that regressed by more than threshold percent, plus the
+     * baseline benchmarks that are missing from the results. Benchmarks that are not in the baseline yet are only
+     * reported.
+     */
+    static int compare(Map<String, JsonNode> results, Map<String, JsonNode> baseline, double threshold) {
+        int failures = 0;
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode current = entry.getValue();
+            JsonNode previous = baseline.get(entry.getKey());
+            double score = current.path("primaryMetric").path("score").asDouble();
+            String unit = current.path("primaryMetric").path("scoreUnit").asText();
+
+            if (previous == null) {
+                System.out.println(String.format("NEW        %s %.3f %s", entry.getKey(), score, unit));
+                continue;
+            }
+            double previousScore = previous.path("primaryMetric").path("score").asDouble();
+            double change = changeInPercent(current.path("mode").asText(), previousScore, score);
+
+            boolean regressed = change > threshold;
+            if (regressed) {
+                failures++;
+            }
+            System.out.println(String.format("%-10s %s %.3f -> %.3f %s (%+.1f%%)",
+                                             regressed ? "REGRESSED" : "OK",
+                                             entry.getKey(), previousScore, score, unit, change));
+        }
+        for (String key : baseline.keySet()) {
+            if (!results.containsKey(key)) {
+                failures++;
+                System.out.println(String.format("%-10s %s", "MISSING", key));
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Returns how much worse the current score is compared to the previous one, in percent;
+     * negative values are improvements. Throughput is higher-is-better, all other modes
+     * report time and are lower-is-better.
+     */
+    static double changeInPercent(String mode, double previous, double current) {
+        if (previous == 0) {
+            return 0;
+        }
+        if ("thrpt".equals(mode)) {
+            return (previous - current) / previous * 100;
+        }
+        return (current - previous) / previous * 100;
+    }
+
+    static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> benchmarks = new LinkedHashMap<>();
+        if (!file.exists()) {
+            return benchmarks;
+        }
+        for (JsonNode benchmark : MAPPER.readTree(file)) {
+            benchmarks.put(key(benchmark), benchmark);
+        }
+        return benchmarks;
+    }
+
+    static String key(JsonNode benchmark) {
+        StringBuilder key = new StringBuilder(benchmark.path("benchmark").asText());
+        Map<String, String> params = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = benchmark.path("params").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> param = fields.next();
+            params.put(param.getKey(), param.getValue().asText());
+        }
+        if (!params.isEmpty()) {
+            key.append(params);
+        }
+        return key.toString();
+    }
+}
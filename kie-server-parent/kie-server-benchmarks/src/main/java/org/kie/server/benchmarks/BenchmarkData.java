@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.command.BatchExecutionCommand;
+import org.kie.api.command.Command;
+import org.kie.api.command.KieCommands;
+import org.kie.api.runtime.KieContainer;
+import org.kie.server.api.model.instance.ProcessInstance;
+import org.kie.server.api.model.instance.ProcessInstanceList;
+import org.kie.server.api.model.instance.TaskSummary;
+import org.kie.server.api.model.instance.TaskSummaryList;
+
+/**
+ * Shared fixtures for the benchmarks - response payloads of typical size and an
+ * in-memory kjar with a stateless session so no maven repository is required.
+ */
+public final class BenchmarkData {
+
+    public static final String CONTAINER_ID = "benchmark";
+    public static final String KSESSION_NAME = "benchmark-stateless";
+
+    private static final String KMODULE =
+            "<kmodule xmlns=\"http://www.drools.org/xsd/kmodule\">\n" +
+            "  <kbase name=\"benchmark-kbase\" default=\"true\" packages=\"org.kie.server.benchmarks\">\n" +
+            "    <ksession name=\"" + KSESSION_NAME + "\" type=\"stateless\" default=\"true\"/>\n" +
+            "  </kbase>\n" +
+            "</kmodule>";
+
+    private static final String DRL =
+            "package org.kie.server.benchmarks;\n" +
+            "\n" +
+            "rule \"approve adult applicant\"\n" +
+            "when\n" +
+            "    $a : Applicant( age >= 18, approved == false )\n" +
+            "then\n" +
+            "    modify( $a ) { setApproved( true ) };\n" +
+            "end\n";
+
+    private BenchmarkData() {
+    }
+
+    public static ProcessInstanceList processInstances(int size) {
+        List<ProcessInstance> instances = new ArrayList<>(size);
+        Date now = new Date();
+        for (int i = 0; i < size; i++) {
+            instances.add(ProcessInstance.builder()
+                                  .id((long) i)
+                                  .processId("evaluation")
+                                  .processName("Evaluation")
+                                  .processVersion("1.0")
+                                  .state(1)
+                                  .containerId(CONTAINER_ID)
+                                  .initiator("user" + (i % 7))
+                                  .date(now)
+                                  .build());
+        }
+        return new ProcessInstanceList(instances);
+    }
+
+    public static TaskSummaryList taskSummaries(int size) {
+        List<TaskSummary> tasks = new ArrayList<>(size);
+        Date now = new Date();
+        for (int i = 0; i < size; i++) {
+            tasks.add(TaskSummary.builder()
+                              .id((long) i)
+                              .name("Review " + i)
+                              .status("Reserved")
+                              .priority(i % 10)
+                              .actualOwner("user" + (i % 7))
+                              .createdOn(now)
+                              .processInstanceId((long) i)
+                              .processId("evaluation")
+                              .containerId(CONTAINER_ID)
+                              .build());
+        }
+        return new TaskSummaryList(tasks);
+    }
+
+    public static BatchExecutionCommand applicantsCommand(int size) {
+        KieCommands commands = KieServices.Factory.get().getCommands();
+        List<Command<?>> list = new ArrayList<>(size + 1);
+        for (int i = 0; i < size; i++) {
+            list.add(commands.newInsert(new Applicant(10 + (i % 20)), "applicant-" + i));
+        }
+        list.add(commands.newFireAllRules("fired"));
+        return commands.newBatchExecution(list, KSESSION_NAME);
+    }
+
+    public static KieContainer buildKieContainer() {
+        KieServices ks = KieServices.Factory.get();
+        ReleaseId releaseId = ks.newReleaseId("org.kie.server.benchmarks", "benchmark-kjar", "1.0.0");
+
+        KieFileSystem kfs = ks.newKieFileSystem();
+        kfs.generateAndWritePomXML(releaseId);
+        kfs.writeKModuleXML(KMODULE);
+        kfs.write("src/main/resources/org/kie/server/benchmarks/applicant.drl", DRL);
+
+        KieBuilder kieBuilder = ks.newKieBuilder(kfs).buildAll();
+        if (kieBuilder.getResults().hasMessages(Message.Level.ERROR)) {
+            throw new IllegalStateException("Unable to build benchmark kjar " + kieBuilder.getResults().getMessages());
+        }
+        return ks.newKieContainer(releaseId);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.router.proxy.aggragate.JSONResponseAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Merge, sort and page of query responses collected by the router from several servers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class JSONResponseAggregatorBenchmark {
+
+    @Param({"2", "5"})
+    private int servers;
+
+    @Param({"10", "100"})
+    private int size;
+
+    private JSONResponseAggregator aggregator;
+    private List<String> responses;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        aggregator = new JSONResponseAggregator();
+        Marshaller marshaller = MarshallerFactory.getMarshaller(Collections.emptySet(), MarshallingFormat.JSON, getClass().getClassLoader());
+        try {
+            responses = new ArrayList<>(servers);
+            for (int i = 0; i < servers; i++) {
+                responses.add(marshaller.marshall(BenchmarkData.processInstances(size)));
+            }
+        } finally {
+            marshaller.dispose();
+        }
+    }
+
+    @Benchmark
+    public String aggregate() {
+        return aggregator.aggregate(responses);
+    }
+
+    @Benchmark
+    public String aggregateSortedFirstPage() {
+        return aggregator.aggregate(responses, "ProcessInstanceId", false, 0, 10);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.model.instance.ProcessInstanceList;
+import org.kie.server.api.model.instance.TaskSummaryList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round trips of typical query responses through the JSON, JAXB and XStream marshallers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class MarshallerBenchmark {
+
+    @Param({"JSON", "JAXB", "XSTREAM"})
+    private MarshallingFormat format;
+
+    @Param({"10", "100"})
+    private int size;
+
+    private Marshaller marshaller;
+    private ProcessInstanceList processInstances;
+    private TaskSummaryList taskSummaries;
+    private String marshalledProcessInstances;
+    private String marshalledTaskSummaries;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        marshaller = MarshallerFactory.getMarshaller(Collections.singleton(Applicant.class), format, getClass().getClassLoader());
+        processInstances = BenchmarkData.processInstances(size);
+        taskSummaries = BenchmarkData.taskSummaries(size);
+        marshalledProcessInstances = marshaller.marshall(processInstances);
+        marshalledTaskSummaries = marshaller.marshall(taskSummaries);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        marshaller.dispose();
+    }
+
+    @Benchmark
+    public String marshallProcessInstances() {
+        return marshaller.marshall(processInstances);
+    }
+
+    @Benchmark
+    public ProcessInstanceList unmarshallProcessInstances() {
+        return marshaller.unmarshall(marshalledProcessInstances, ProcessInstanceList.class);
+    }
+
+    @Benchmark
+    public String marshallTaskSummaries() {
+        return marshaller.marshall(taskSummaries);
+    }
+
+    @Benchmark
+    public TaskSummaryList unmarshallTaskSummaries() {
+        return marshaller.unmarshall(marshalledTaskSummaries, TaskSummaryList.class);
+    }
+
+    @Benchmark
+    public TaskSummaryList roundTripTaskSummaries() {
+        return marshaller.unmarshall(marshaller.marshall(taskSummaries), TaskSummaryList.class);
+    }
+}
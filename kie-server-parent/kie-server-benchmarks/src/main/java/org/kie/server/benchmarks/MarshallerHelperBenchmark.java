@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.impl.InternalKieContainer;
+import org.kie.api.command.BatchExecutionCommand;
+import org.kie.server.api.model.KieContainerStatus;
+import org.kie.server.api.model.instance.ProcessInstanceList;
+import org.kie.server.services.impl.KieContainerInstanceImpl;
+import org.kie.server.services.impl.KieServerRegistryImpl;
+import org.kie.server.services.impl.marshal.MarshallerHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Container scoped marshalling as done by the REST and JMS endpoints, including the
+ * container lookup and the per container marshaller cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class MarshallerHelperBenchmark {
+
+    @Param({"application/json", "application/xml", "application/xstream"})
+    private String contentType;
+
+    @Param({"10", "100"})
+    private int size;
+
+    private KieContainerInstanceImpl containerInstance;
+    private MarshallerHelper marshallerHelper;
+    private ProcessInstanceList processInstances;
+    private String marshalledProcessInstances;
+    private String marshalledCommand;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        KieServerRegistryImpl registry = new KieServerRegistryImpl();
+        containerInstance = new KieContainerInstanceImpl(BenchmarkData.CONTAINER_ID,
+                                                         KieContainerStatus.STARTED,
+                                                         (InternalKieContainer) BenchmarkData.buildKieContainer());
+        registry.registerContainer(BenchmarkData.CONTAINER_ID, containerInstance);
+        marshallerHelper = new MarshallerHelper(registry);
+
+        processInstances = BenchmarkData.processInstances(size);
+        marshalledProcessInstances = marshallerHelper.marshal(BenchmarkData.CONTAINER_ID, contentType, processInstances);
+        marshalledCommand = marshallerHelper.marshal(BenchmarkData.CONTAINER_ID, contentType, BenchmarkData.applicantsCommand(size));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        containerInstance.disposeMarshallers();
+        containerInstance.getKieContainer().dispose();
+    }
+
+    @Benchmark
+    public String marshalResponse() {
+        return marshallerHelper.marshal(BenchmarkData.CONTAINER_ID, contentType, processInstances);
+    }
+
+    @Benchmark
+    public ProcessInstanceList unmarshalResponse() {
+        return marshallerHelper.unmarshal(BenchmarkData.CONTAINER_ID, marshalledProcessInstances, contentType, ProcessInstanceList.class);
+    }
+
+    @Benchmark
+    public BatchExecutionCommand unmarshalCommand() {
+        return marshallerHelper.unmarshal(BenchmarkData.CONTAINER_ID, marshalledCommand, contentType, BatchExecutionCommand.class);
+    }
+}
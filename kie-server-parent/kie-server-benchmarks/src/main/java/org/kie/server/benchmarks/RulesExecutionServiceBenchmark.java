@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.impl.InternalKieContainer;
+import org.kie.api.command.BatchExecutionCommand;
+import org.kie.api.runtime.ExecutionResults;
+import org.kie.server.api.model.KieContainerStatus;
+import org.kie.server.services.drools.DroolsKieSessionLookupHandler;
+import org.kie.server.services.drools.RulesExecutionService;
+import org.kie.server.services.impl.KieContainerInstanceImpl;
+import org.kie.server.services.impl.KieServerRegistryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Batch command execution against a stateless session, the path taken by every
+ * rules request once the payload has been unmarshalled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class RulesExecutionServiceBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int facts;
+
+    private KieContainerInstanceImpl containerInstance;
+    private RulesExecutionService rulesExecutionService;
+    private BatchExecutionCommand command;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        KieServerRegistryImpl registry = new KieServerRegistryImpl();
+        registry.getKieSessionLookupManager().addHandler(new DroolsKieSessionLookupHandler());
+        containerInstance = new KieContainerInstanceImpl(BenchmarkData.CONTAINER_ID,
+                                                         KieContainerStatus.STARTED,
+                                                         (InternalKieContainer) BenchmarkData.buildKieContainer());
+        registry.registerContainer(BenchmarkData.CONTAINER_ID, containerInstance);
+        rulesExecutionService = new RulesExecutionService(registry);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareCommand() {
+        // facts are modified by the rules so every invocation needs fresh ones
+        command = BenchmarkData.applicantsCommand(facts);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        containerInstance.getKieContainer().dispose();
+    }
+
+    @Benchmark
+    public ExecutionResults call() {
+        return rulesExecutionService.call(containerInstance, command);
+    }
+}
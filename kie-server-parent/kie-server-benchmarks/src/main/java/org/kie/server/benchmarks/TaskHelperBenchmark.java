@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.server.services.taskassigning.core.model.DefaultLabels;
+import org.kie.server.services.taskassigning.core.model.Group;
+import org.kie.server.services.taskassigning.core.model.Task;
+import org.kie.server.services.taskassigning.core.model.User;
+import org.kie.server.services.taskassigning.core.model.solver.IndexDictionary;
+import org.kie.server.services.taskassigning.core.model.solver.TaskHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The task assigning score rules checks evaluated on every move: potential owner, required skills and matching
+ * affinities. The encoded param switches between the collection based and the bit set based calculation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class TaskHelperBenchmark {
+
+    private static final String SKILLS = DefaultLabels.SKILLS.name();
+    private static final String AFFINITIES = DefaultLabels.AFFINITIES.name();
+
+    @Param({"false", "true"})
+    private boolean encoded;
+
+    @Param({"2000"})
+    private int users;
+
+    @Param({"10000"})
+    private int tasks;
+
+    private List<User> userList;
+    private List<Task> taskList;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(1);
+        userList = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            User user = new User(i, "user" + i, true);
+            Set<Group> groups = new HashSet<>();
+            for (int j = 0; j < 3; j++) {
+                groups.add(group(random.nextInt(50)));
+            }
+            user.setGroups(groups);
+            user.setLabelValues(SKILLS, labelValues(random, "skill", 8, 100));
+            user.setLabelValues(AFFINITIES, labelValues(random, "affinity", 5, 40));
+            userList.add(user);
+        }
+        taskList = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task(i, "task" + i, 0);
+            for (int j = 0; j < 3; j++) {
+                task.getPotentialOwners().add(group(random.nextInt(50)));
+            }
+            String ownerId = "user" + random.nextInt(users);
+            task.getPotentialOwners().add(new User(ownerId.hashCode(), ownerId));
+            task.setLabelValues(SKILLS, labelValues(random, "skill", 2, 100));
+            task.setLabelValues(AFFINITIES, labelValues(random, "affinity", 2, 40));
+            taskList.add(task);
+        }
+        if (encoded) {
+            IndexDictionary dictionary = new IndexDictionary();
+            userList.forEach(user -> user.encode(dictionary));
+            taskList.forEach(task -> task.encode(dictionary));
+        }
+    }
+
+    @Benchmark
+    public int evaluateMove() {
+        next = (next + 1) & Integer.MAX_VALUE;
+        Task task = taskList.get(next % tasks);
+        User user = userList.get((next * 31 & Integer.MAX_VALUE) % users);
+        int result = TaskHelper.countMatchingLabels(task, user, AFFINITIES);
+        if (TaskHelper.isPotentialOwner(task, user)) {
+            result++;
+        }
+        if (TaskHelper.hasAllLabels(task, user, SKILLS)) {
+            result++;
+        }
+        return result;
+    }
+
+    private static Group group(int index) {
+        String groupId = "group" + index;
+        return new Group(groupId.hashCode(), groupId);
+    }
+
+    private static Set<Object> labelValues(Random random, String prefix, int size, int range) {
+        Set<Object> values = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            values.add(prefix + random.nextInt(range));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.server.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BaselineComparatorTest {
+
+    private static final String AVERAGE_TIME = "avgt";
+    private static final String THROUGHPUT = "thrpt";
+    private static final double THRESHOLD = 10;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testChangeInPercentAverageTime() {
+        assertEquals(20, BaselineComparator.changeInPercent(AVERAGE_TIME, 100, 120), 0.001);
+        assertEquals(-20, BaselineComparator.changeInPercent(AVERAGE_TIME, 100, 80), 0.001);
+    }
+
+    @Test
+    public void testChangeInPercentThroughput() {
+        assertEquals(-20, BaselineComparator.changeInPercent(THROUGHPUT, 100, 120), 0.001);
+        assertEquals(20, BaselineComparator.changeInPercent(THROUGHPUT, 100, 80), 0.001);
+    }
+
+    @Test
+    public void testChangeInPercentNoPreviousScore() {
+        assertEquals(0, BaselineComparator.changeInPercent(AVERAGE_TIME, 0, 80), 0.001);
+    }
+
+    @Test
+    public void testCompareWithinThreshold() throws IOException {
+        Map<String, JsonNode> baseline = benchmarks(benchmark("a", AVERAGE_TIME, 100), benchmark("b", THROUGHPUT, 100));
+        Map<String, JsonNode> results = benchmarks(benchmark("a", AVERAGE_TIME, 110), benchmark("b", THROUGHPUT, 90));
+
+        assertEquals(0, BaselineComparator.compare(results, baseline, THRESHOLD));
+    }
+
+    @Test
+    public void testCompareAboveThreshold() throws IOException {
+        Map<String, JsonNode> baseline = benchmarks(benchmark("a", AVERAGE_TIME, 100), benchmark("b", THROUGHPUT, 100));
+        Map<String, JsonNode> results = benchmarks(benchmark("a", AVERAGE_TIME, 111), benchmark("b", THROUGHPUT, 89));
+
+        assertEquals(2, BaselineComparator.compare(results, baseline, THRESHOLD));
+    }
+
+    @Test
+    public void testCompareImprovementIsNotARegression() throws IOException {
+        Map<String, JsonNode> baseline = benchmarks(benchmark("a", AVERAGE_TIME, 100), benchmark("b", THROUGHPUT, 100));
+        Map<String, JsonNode> results = benchmarks(benchmark("a", AVERAGE_TIME, 50), benchmark("b", THROUGHPUT, 200));
+
+        assertEquals(0, BaselineComparator.compare(results, baseline, THRESHOLD));
+    }
+
+    @Test
+    public void testCompareMissingBenchmarkFails() throws IOException {
+        Map<String, JsonNode> baseline = benchmarks(benchmark("a", AVERAGE_TIME, 100), benchmark("b", AVERAGE_TIME, 100));
+        Map<String, JsonNode> results = benchmarks(benchmark("a", AVERAGE_TIME, 100));
+
+        assertEquals(1, BaselineComparator.compare(results, baseline, THRESHOLD));
+    }
+
+    @Test
+    public void testCompareNewBenchmarkIsOnlyReported() throws IOException {
+        Map<String, JsonNode> baseline = benchmarks(benchmark("a", AVERAGE_TIME, 100));
+        Map<String, JsonNode> results = benchmarks(benchmark("a", AVERAGE_TIME, 100), benchmark("b", AVERAGE_TIME, 1000));
+
+        assertEquals(0, BaselineComparator.compare(results, baseline, THRESHOLD));
+    }
+
+    @Test
+    public void testCompareByParams() throws IOException {
+        Map<String, JsonNode> baseline = benchmarks(benchmark("a", AVERAGE_TIME, 100, "\"size\": \"10\""),
+                                                    benchmark("a", AVERAGE_TIME, 1000, "\"size\": \"100\""));
+        Map<String, JsonNode> results = benchmarks(benchmark("a", AVERAGE_TIME, 100, "\"size\": \"10\""),
+                                                   benchmark("a", AVERAGE_TIME, 1500, "\"size\": \"100\""));
+
+        assertEquals(2, baseline.size());
+        assertEquals(1, BaselineComparator.compare(results, baseline, THRESHOLD));
+    }
+
+    @Test
+    public void testCheckEmptyBaselineFails() throws IOException {
+        File result = write("result.json", "[" + benchmark("a", AVERAGE_TIME, 100) + "]");
+        File baseline = write("baseline.json", "[]");
+        try {
+            BaselineComparator.check(result, baseline, THRESHOLD);
+            fail("An empty baseline must not pass the comparison");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains(BaselineComparator.UPDATE_PROPERTY));
+        }
+    }
+
+    @Test
+    public void testCheckMissingBaselineFails() throws IOException {
+        File result = write("result.json", "[" + benchmark("a", AVERAGE_TIME, 100) + "]");
+        try {
+            BaselineComparator.check(result, new File(folder.getRoot(), "missing.json"), THRESHOLD);
+            fail("A missing baseline must not pass the comparison");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains(BaselineComparator.UPDATE_PROPERTY));
+        }
+    }
+
+    @Test
+    public void testCheckMissingResultFails() throws IOException {
+        File baseline = write("baseline.json", "[" + benchmark("a", AVERAGE_TIME, 100) + "]");
+
+        assertEquals(1, BaselineComparator.check(new File(folder.getRoot(), "missing.json"), baseline, THRESHOLD));
+    }
+
+    @Test
+    public void testCheck() throws IOException {
+        File result = write("result.json", "[" + benchmark("a", AVERAGE_TIME, 105) + "," + benchmark("b", AVERAGE_TIME, 150) + "]");
+        File baseline = write("baseline.json", "[" + benchmark("a", AVERAGE_TIME, 100) + "," + benchmark("b", AVERAGE_TIME, 100) + "]");
+
+        assertEquals(1, BaselineComparator.check(result, baseline, THRESHOLD));
+    }
+
+    private Map<String, JsonNode> benchmarks(String... benchmarks) throws IOException {
+        return BaselineComparator.read(write("benchmarks.json", "[" + String.join(",", benchmarks) + "]"));
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(folder.getRoot(), name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String benchmark(String name, String mode, double score) {
+        return benchmark(name, mode, score, "");
+    }
+
+    private static String benchmark(String name, String mode, double score, String params) {
+        return "{\"benchmark\": \"org.kie.server.benchmarks." + name + "\", " +
+                "\"mode\": \"" + mode + "\", " +
+                "\"params\": {" + params + "}, " +
+                "\"primaryMetric\": {\"score\": " + score + ", \"scoreUnit\": \"us/op\"}}";
+    }
+}
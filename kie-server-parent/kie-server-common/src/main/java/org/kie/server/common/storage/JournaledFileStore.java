@@ -0,0 +1,307 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.common.storage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Crash-safe key/value store of serialized entries, persisted as a compacted snapshot plus an append-only journal.
+ * <p>
+ * Reads are served from memory. Writes update memory immediately and are coalesced (only the latest value of every
+ * key is kept) until a background thread appends them to the journal and forces it to disk. Once the journal holds
+ * more records than the compaction threshold, all the live entries are written to a temporary snapshot that
+ * atomically replaces the previous one, and the journal is truncated.
+ * <p>
+ * Every record carries a CRC32 checksum: on recovery the snapshot is loaded, the journal is replayed on top of it and
+ * a torn or corrupted record ends the replay and is discarded, as it can only be the last one written before a crash.
+ */
+public class JournaledFileStore implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournaledFileStore.class);
+
+    public static final String SNAPSHOT_SUFFIX = ".snapshot";
+    public static final String JOURNAL_SUFFIX = ".journal";
+
+    private static final String PUT = "P";
+    private static final String DELETE = "D";
+    private static final String SEPARATOR = "\t";
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final int compactionThreshold;
+
+    private final Map<String, String> entries = new ConcurrentHashMap<>();
+    // latest not yet persisted value per key, null values stand for deletions
+    private final Map<String, String> pending = new LinkedHashMap<>();
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService flusher;
+
+    private int journalRecords;
+
+    /**
+     * @param basePath path the snapshot and journal files are derived from, by appending
+     * {@value #SNAPSHOT_SUFFIX} and {@value #JOURNAL_SUFFIX}
+     * @param flushIntervalMillis how long writes are coalesced in memory before being journaled
+     * @param compactionThreshold number of journal records that triggers a compaction
+     */
+    public JournaledFileStore(Path basePath, long flushIntervalMillis, int compactionThreshold) {
+        this.snapshotFile = Paths.get(basePath.toString() + SNAPSHOT_SUFFIX);
+        this.journalFile = Paths.get(basePath.toString() + JOURNAL_SUFFIX);
+        this.compactionThreshold = compactionThreshold;
+        recover();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "KIE Journaled Store Flusher " + basePath.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public String get(String key) {
+        return entries.get(key);
+    }
+
+    public boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    public Map<String, String> getAll() {
+        return Collections.unmodifiableMap(entries);
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public void put(String key, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported, use remove instead");
+        }
+        entries.put(key, value);
+        synchronized (pending) {
+            pending.put(key, value);
+        }
+    }
+
+    public void remove(String key) {
+        entries.remove(key);
+        synchronized (pending) {
+            pending.put(key, null);
+        }
+    }
+
+    /**
+     * Journals all the pending writes and forces them to disk, compacting the journal if needed.
+     */
+    public void flush() throws IOException {
+        synchronized (flushLock) {
+            Map<String, String> toWrite;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                toWrite = new LinkedHashMap<>(pending);
+                pending.clear();
+            }
+            try {
+                appendToJournal(toWrite);
+            } catch (IOException e) {
+                // keep the failed writes unless newer ones came in meanwhile
+                synchronized (pending) {
+                    toWrite.forEach(pending::putIfAbsent);
+                }
+                throw e;
+            }
+            if (journalRecords >= compactionThreshold) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Writes all the live entries to a new snapshot that atomically replaces the previous one and empties the journal.
+     */
+    public void compact() throws IOException {
+        synchronized (flushLock) {
+            Path tmp = Paths.get(snapshotFile.toString() + ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+                for (Map.Entry<String, String> entry : entries.entrySet()) {
+                    writer.write(toRecord(PUT, entry.getKey(), entry.getValue()));
+                }
+                writer.flush();
+                channel.force(true);
+            }
+            try {
+                Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            // replaying the journal on top of the new snapshot is harmless, so a crash here loses nothing
+            try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.truncate(0);
+                channel.force(true);
+            }
+            journalRecords = 0;
+            logger.debug("Compacted {} entries into {}", entries.size(), snapshotFile);
+        }
+    }
+
+    /**
+     * Discards the in-memory state and reloads it from disk, after persisting the pending writes.
+     */
+    public void reload() throws IOException {
+        synchronized (flushLock) {
+            flush();
+            Map<String, String> recovered = new HashMap<>();
+            replay(snapshotFile, recovered);
+            journalRecords = replay(journalFile, recovered);
+            entries.keySet().retainAll(recovered.keySet());
+            entries.putAll(recovered);
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        flushQuietly();
+    }
+
+    private void appendToJournal(Map<String, String> toWrite) throws IOException {
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+            for (Map.Entry<String, String> entry : toWrite.entrySet()) {
+                if (entry.getValue() == null) {
+                    writer.write(toRecord(DELETE, entry.getKey(), ""));
+                } else {
+                    writer.write(toRecord(PUT, entry.getKey(), entry.getValue()));
+                }
+            }
+            writer.flush();
+            channel.force(false);
+        }
+        journalRecords += toWrite.size();
+    }
+
+    private void recover() {
+        replay(snapshotFile, entries);
+        journalRecords = replay(journalFile, entries);
+        logger.debug("Recovered {} entries from {} and {} journal records", entries.size(), snapshotFile, journalRecords);
+    }
+
+    /**
+     * Applies the records of the file to the target map, stopping at the first torn or corrupted record,
+     * which is cut off so that the records appended later are not lost behind it.
+     */
+    private int replay(Path file, Map<String, String> target) {
+        int records = 0;
+        if (!Files.exists(file)) {
+            return records;
+        }
+        try {
+            byte[] content = Files.readAllBytes(file);
+            int start = 0;
+            int end;
+            while ((end = indexOf(content, (byte) '\n', start)) != -1) {
+                String[] record = new String(content, start, end - start, StandardCharsets.UTF_8).split(SEPARATOR, -1);
+                if (record.length != 4 || !checksum(record[0], record[1], record[2]).equals(record[3])) {
+                    break;
+                }
+                String key = decode(record[1]);
+                if (DELETE.equals(record[0])) {
+                    target.remove(key);
+                } else {
+                    target.put(key, decode(record[2]));
+                }
+                records++;
+                start = end + 1;
+            }
+            if (start < content.length) {
+                logger.warn("Discarding truncated or corrupted records at the end of {}", file);
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(start);
+                    channel.force(true);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Unable to replay {}", file, e);
+        }
+        return records;
+    }
+
+    private static int indexOf(byte[] content, byte value, int from) {
+        for (int i = from; i < content.length; i++) {
+            if (content[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Unable to flush pending writes to {}", journalFile, e);
+        }
+    }
+
+    private static String toRecord(String operation, String key, String value) {
+        String encodedKey = encode(key);
+        String encodedValue = encode(value);
+        return operation + SEPARATOR + encodedKey + SEPARATOR + encodedValue + SEPARATOR + checksum(operation, encodedKey, encodedValue) + "\n";
+    }
+
+    private static String checksum(String operation, String key, String value) {
+        CRC32 crc = new CRC32();
+        crc.update((operation + SEPARATOR + key + SEPARATOR + value).getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    private static String encode(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.common.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JournaledFileStoreTest {
+
+    private Path basePath;
+    private JournaledFileStore store;
+
+    @Before
+    public void setup() throws IOException {
+        basePath = Files.createTempDirectory("journal_").resolve("store");
+        store = open();
+    }
+
+    @After
+    public void clean() throws IOException {
+        store.close();
+        for (File file : basePath.getParent().toFile().listFiles()) {
+            Files.deleteIfExists(file.toPath());
+        }
+        Files.deleteIfExists(basePath.getParent());
+    }
+
+    @Test
+    public void testReadsServedFromMemoryBeforeFlush() {
+        store.put("one", "<value>1</value>");
+        assertEquals("<value>1</value>", store.get("one"));
+        assertFalse(Files.exists(journal()));
+    }
+
+    @Test
+    public void testRecoverFromJournal() throws IOException {
+        store.put("one", "first\nvalue");
+        store.put("two", "second");
+        store.put("one", "updated\nvalue");
+        store.remove("two");
+        store.flush();
+        // coalesced into one put and one delete
+        assertEquals(2, Files.readAllLines(journal()).size());
+
+        JournaledFileStore recovered = open();
+        assertEquals("updated\nvalue", recovered.get("one"));
+        assertFalse(recovered.contains("two"));
+        recovered.close();
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            store.put("key" + i, "value" + i);
+            store.flush();
+        }
+        assertTrue(Files.exists(snapshot()));
+        assertTrue(Files.readAllLines(journal()).size() < 10);
+
+        JournaledFileStore recovered = open();
+        assertEquals(10, recovered.getAll().size());
+        assertEquals("value9", recovered.get("key9"));
+        recovered.close();
+    }
+
+    @Test
+    public void testTornRecordIsIgnored() throws IOException {
+        store.put("one", "value");
+        store.flush();
+        Files.write(journal(), "P\tdHdv\tdmFs".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        JournaledFileStore recovered = open();
+        assertEquals("value", recovered.get("one"));
+        assertNull(recovered.get("two"));
+        // records appended after recovery are not hidden behind the torn one
+        recovered.put("three", "value");
+        recovered.close();
+
+        recovered = open();
+        assertEquals("value", recovered.get("three"));
+        recovered.close();
+    }
+
+    @Test
+    public void testCloseFlushesPendingWrites() {
+        store.put("one", "value");
+        store.close();
+
+        store = open();
+        assertEquals("value", store.get("one"));
+    }
+
+    private JournaledFileStore open() {
+        return new JournaledFileStore(basePath, 60000, 5);
+    }
+
+    private Path journal() {
+        return basePath.resolveSibling(basePath.getFileName() + JournaledFileStore.JOURNAL_SUFFIX);
+    }
+
+    private Path snapshot() {
+        return basePath.resolveSibling(basePath.getFileName() + JournaledFileStore.SNAPSHOT_SUFFIX);
+    }
+}
@@ -24,6 +24,12 @@ public final class KieServerControllerConstants {
 
     public static final String KIE_CONTROLLER_TEMPLATE_CACHE_TTL = "org.kie.server.controller.template.cache.ttl";
 
+    public static final String KIE_CONTROLLER_WEBSOCKET_MAX_PENDING_MESSAGES =
+            "org.kie.server.controller.websocket.max.pending.messages";
+
+    public static final String KIE_CONTROLLER_WEBSOCKET_COMPRESSION =
+            "org.kie.server.controller.websocket.compression";
+
     public static final String KIE_CONTROLLER_OPENSHIFT_PREFER_KIESERVER_SERVICE =
             "org.kie.server.controller.openshift.prefer.kieserver.service";
 
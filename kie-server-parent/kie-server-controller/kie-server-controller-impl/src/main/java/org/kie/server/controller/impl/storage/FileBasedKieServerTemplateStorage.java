@@ -24,6 +24,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.common.storage.JournaledFileStore;
 import org.kie.server.controller.api.model.spec.ServerTemplate;
 import org.kie.server.controller.api.model.spec.ServerTemplateKey;
 import org.kie.server.controller.api.storage.KieServerTemplateStorage;
@@ -39,6 +41,7 @@ public class FileBasedKieServerTemplateStorage implements KieServerTemplateStora
 	
     public static final String STORAGE_FILE_WATCHER_ENABLED = "org.kie.server.controller.templatefile.watcher.enabled";
     public static final String SERVER_TEMPLATE_FILE_NAME_PROP = "org.kie.server.controller.templatefile";
+    public static final String STORAGE_JOURNAL_ENABLED = "org.kie.server.controller.templatefile.journal.enabled";
     public static final String DEFAULT_SERVER_TEMPLATE_FILENAME = System.getProperty("java.io.tmpdir")+
     		System.getProperty("file.separator")
     		+"template_store.xml";
@@ -52,6 +55,10 @@ public class FileBasedKieServerTemplateStorage implements KieServerTemplateStora
     
     private boolean configWatcherEnabled = Boolean.parseBoolean(System.getProperty(STORAGE_FILE_WATCHER_ENABLED, "false"));
     private ControllerStorageFileWatcher watcher;
+
+    private boolean journalEnabled = Boolean.parseBoolean(System.getProperty(STORAGE_JOURNAL_ENABLED, "false"));
+    // when enabled, every template is written behind to a journal instead of rewriting the whole template file
+    private JournaledFileStore journal;
     
     public static synchronized FileBasedKieServerTemplateStorage getInstance() {
     	if (INSTANCE == null) {
@@ -97,6 +104,10 @@ public class FileBasedKieServerTemplateStorage implements KieServerTemplateStora
     	} else {
     		this.templatesLocation = System.getProperty(SERVER_TEMPLATE_FILE_NAME_PROP, DEFAULT_SERVER_TEMPLATE_FILENAME);
     	}
+        if (journalEnabled) {
+            initJournal();
+            return;
+        }
         loadTemplateMapsFromFile();
     	
     	// setup template file watcher to be updated when changes are discovered
@@ -107,6 +118,51 @@ public class FileBasedKieServerTemplateStorage implements KieServerTemplateStora
         }
     }
 
+    /**
+     * Opens the journal stored next to templatesLocation, importing the templates of the template file
+     * on first use. The template file watcher does not apply to the journal, as the templates served
+     * from memory are the reference.
+     */
+    private void initJournal() {
+        if (configWatcherEnabled) {
+            logger.warn("Template file watcher is not supported when {} is enabled, ignoring it", STORAGE_JOURNAL_ENABLED);
+        }
+        this.journal = new JournaledFileStore(Paths.get(templatesLocation),
+                                              Long.parseLong(System.getProperty(KieServerConstants.CFG_STORAGE_JOURNAL_FLUSH_INTERVAL, "500")),
+                                              Integer.parseInt(System.getProperty(KieServerConstants.CFG_STORAGE_JOURNAL_COMPACTION_THRESHOLD, "1000")));
+        if (journal.isEmpty() && Files.exists(Paths.get(templatesLocation))) {
+            loadTemplateMapsFromXml();
+            templateMap.values().forEach(this::journalTemplate);
+        } else {
+            loadTemplateMapsFromJournal();
+        }
+    }
+
+    private void journalTemplate(ServerTemplate template) {
+        journal.put(template.getId(), this.xstream.toXML(template));
+    }
+
+    private void loadTemplateMapsFromJournal() {
+        Map<String, ServerTemplate> newTemplateMap = new ConcurrentHashMap<>();
+        Map<String, ServerTemplateKey> newTemplateKeyMap = new ConcurrentHashMap<>();
+        journal.getAll().forEach((id, xml) -> {
+            ServerTemplate template = (ServerTemplate) this.xstream.fromXML(xml);
+            newTemplateKeyMap.put(template.getId(), new ServerTemplateKey(template.getId(), template.getName()));
+            newTemplateMap.put(template.getId(), template);
+        });
+        templateKeyMap = newTemplateKeyMap;
+        templateMap = newTemplateMap;
+    }
+
+    /**
+     * Persists the templates written behind to the journal, if any
+     */
+    public void flush() throws IOException {
+        if (journal != null) {
+            journal.flush();
+        }
+    }
+
     /**
      * Writes the map of server templates to the file pointed at by templatesLocation
      */
@@ -119,11 +175,33 @@ public class FileBasedKieServerTemplateStorage implements KieServerTemplateStora
         }
     }
 
+    private void writeTemplate(ServerTemplate serverTemplate) {
+        if (journal != null) {
+            journalTemplate(serverTemplate);
+        } else {
+            writeTemplateMap();
+        }
+    }
+
     /**
-     * Loads the map of server templates from the file pointed at by the templatesLocation
+     * Loads the map of server templates from the file pointed at by the templatesLocation,
+     * or from the journal when it is enabled
      */
-    @SuppressWarnings("unchecked")
     public synchronized void loadTemplateMapsFromFile() {
+        if (journal != null) {
+            try {
+                journal.reload();
+                loadTemplateMapsFromJournal();
+            } catch (Throwable e) {
+                logger.error("Unable to read server template maps from journal", e);
+            }
+            return;
+        }
+        loadTemplateMapsFromXml();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadTemplateMapsFromXml() {
         ArrayList<ServerTemplate> templates = null;
         Map<String, ServerTemplate> newTemplateMap = new ConcurrentHashMap<>();
         Map<String, ServerTemplateKey> newTemplateKeyMap = new ConcurrentHashMap<>();
@@ -160,7 +238,7 @@ public class FileBasedKieServerTemplateStorage implements KieServerTemplateStora
                                                      serverTemplate.getName()));
             template = templateMap.put(serverTemplate.getId(),
                                    serverTemplate);
-            writeTemplateMap();
+            writeTemplate(serverTemplate);
         }
         return template;
     }
@@ -202,7 +280,7 @@ public class FileBasedKieServerTemplateStorage implements KieServerTemplateStora
             templateKeyMap.put(serverTemplate.getId(),
                                new ServerTemplateKey(serverTemplate.getId(),serverTemplate.getName()));
             updated = templateMap.put(serverTemplate.getId(),serverTemplate);
-            writeTemplateMap();
+            writeTemplate(serverTemplate);
         }
         return updated;
     }
@@ -213,7 +291,11 @@ public class FileBasedKieServerTemplateStorage implements KieServerTemplateStora
         synchronized (templateMap) {
             templateKeyMap.remove(identifier);
             removed = templateMap.remove(identifier);
-            writeTemplateMap();
+            if (journal != null) {
+                journal.remove(identifier);
+            } else {
+                writeTemplateMap();
+            }
         }
         return removed;
     }
@@ -243,5 +325,8 @@ public class FileBasedKieServerTemplateStorage implements KieServerTemplateStora
         if (watcher != null) {
             watcher.stop();
         }
+        if (journal != null) {
+            journal.close();
+        }
     }
 }
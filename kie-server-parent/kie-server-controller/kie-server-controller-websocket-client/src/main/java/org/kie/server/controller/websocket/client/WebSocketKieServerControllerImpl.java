@@ -34,6 +34,7 @@ import org.kie.server.controller.api.model.KieServerSetup;
 import org.kie.server.controller.websocket.client.handlers.KieServerSetupMessageHandler;
 import org.kie.server.controller.websocket.common.KieServerMessageHandlerWebSocketClient;
 import org.kie.server.controller.websocket.common.WebSocketClient;
+import org.kie.server.controller.websocket.common.WebSocketMessageFrame;
 import org.kie.server.controller.websocket.common.config.WebSocketClientConfiguration;
 import org.kie.server.services.api.KieControllerNotConnectedException;
 import org.kie.server.services.api.KieControllerNotDefinedException;
@@ -83,7 +84,9 @@ public class WebSocketKieServerControllerImpl implements KieServerController, Ki
                 if (controllerUrl != null && !controllerUrl.isEmpty()) {
                     if (controllerUrl.toLowerCase().startsWith("ws")) {
                         
-                        String connectAndSyncUrl = controllerUrl + "/" + KieServerEnvironment.getServerId();
+                        // announce that responses to correlated messages are understood, so the controller can multiplex commands
+                        String connectAndSyncUrl = controllerUrl + "/" + KieServerEnvironment.getServerId() +
+                                "?" + WebSocketMessageFrame.CORRELATION_PARAMETER + "=true";
     
                         final KieServerSetup kieServerSetup = new KieServerSetup();
                         try {
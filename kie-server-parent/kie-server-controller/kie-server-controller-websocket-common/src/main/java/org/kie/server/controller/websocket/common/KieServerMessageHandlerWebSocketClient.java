@@ -43,7 +43,8 @@ public class KieServerMessageHandlerWebSocketClient extends WebSocketClientImpl<
     @Override
     public void onOpen(final Session session,
                        final EndpointConfig config) {
-        this.messageHandler = new KieServerMessageHandler(session);
+        this.messageHandler = new KieServerMessageHandler(session,
+                                                          getSender(session));
         super.onOpen(session,
                      config);
     }
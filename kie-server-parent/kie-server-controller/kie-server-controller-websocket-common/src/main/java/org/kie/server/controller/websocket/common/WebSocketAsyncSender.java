@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.controller.websocket.common;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.websocket.Session;
+
+import org.kie.server.controller.api.KieServerControllerConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends text messages over a Web Socket session without blocking the caller on network I/O.
+ * Messages are queued and written one at a time through the session's async remote, as containers
+ * do not allow a new async send before the previous one completed. The queue is bounded so that
+ * a slow peer applies backpressure: callers block for at most the send timeout when it is full.
+ */
+public class WebSocketAsyncSender {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebSocketAsyncSender.class);
+
+    public static final int DEFAULT_MAX_PENDING_MESSAGES = 1000;
+
+    private final Session session;
+    private final BlockingQueue<PendingMessage> queue;
+    private final long offerTimeout;
+    private final AtomicBoolean sending = new AtomicBoolean(false);
+
+    public WebSocketAsyncSender(final Session session) {
+        this(session,
+             Integer.getInteger(KieServerControllerConstants.KIE_CONTROLLER_WEBSOCKET_MAX_PENDING_MESSAGES, DEFAULT_MAX_PENDING_MESSAGES),
+             session.getAsyncRemote().getSendTimeout());
+    }
+
+    public WebSocketAsyncSender(final Session session,
+                                final int maxPendingMessages,
+                                final long offerTimeout) {
+        this.session = session;
+        this.queue = new ArrayBlockingQueue<>(maxPendingMessages);
+        this.offerTimeout = offerTimeout > 0 ? offerTimeout : Long.MAX_VALUE;
+    }
+
+    /**
+     * Queues the message for sending.
+     * @return future completed once the message was written to the peer
+     * @throws IOException when the session is closed or the message could not be queued in time
+     */
+    public CompletableFuture<Void> send(final String content) throws IOException {
+        if (!session.isOpen()) {
+            throw new IOException("Web Socket session " + session.getId() + " is closed");
+        }
+        PendingMessage message = new PendingMessage(content);
+        try {
+            if (!queue.offer(message, offerTimeout, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out waiting to queue message on Web Socket session " + session.getId() +
+                                              ", " + queue.size() + " messages pending");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while queueing message on Web Socket session " + session.getId(), e);
+        }
+        sendNext();
+        return message.future;
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    public int getPendingMessages() {
+        return queue.size();
+    }
+
+    private void sendNext() {
+        while (!queue.isEmpty() && sending.compareAndSet(false, true)) {
+            PendingMessage message = queue.poll();
+            if (message == null) {
+                sending.set(false);
+                continue;
+            }
+            try {
+                session.getAsyncRemote().sendText(message.content, result -> {
+                    if (result.isOK()) {
+                        message.future.complete(null);
+                    } else {
+                        LOGGER.warn("Error when sending message on Web Socket session {}", session.getId(), result.getException());
+                        message.future.completeExceptionally(result.getException());
+                    }
+                    sending.set(false);
+                    sendNext();
+                });
+                return;
+            } catch (RuntimeException e) {
+                message.future.completeExceptionally(e);
+                sending.set(false);
+            }
+        }
+    }
+
+    private static class PendingMessage {
+
+        private final String content;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private PendingMessage(String content) {
+            this.content = content;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import javax.websocket.*;
 
 import org.kie.server.controller.websocket.common.auth.WebSocketAuthConfigurator;
@@ -31,10 +32,14 @@ public abstract class WebSocketClientImpl<T extends MessageHandler> extends Endp
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WebSocketClientImpl.class);
 
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
     private WebSocketContainer container = null;
 
     private Session session = null;
 
+    private volatile WebSocketAsyncSender sender = null;
+
     private ClientEndpointConfig config = null;
 
     protected T messageHandler;
@@ -95,13 +100,19 @@ public abstract class WebSocketClientImpl<T extends MessageHandler> extends Endp
                 container.setDefaultMaxSessionIdleTimeout(clientConfig.getMaxSessionIdleTimeout());
                 container.setAsyncSendTimeout(clientConfig.getAsyncSendTimeout());
             }
-            this.config = ClientEndpointConfig.Builder.create()
+            ClientEndpointConfig.Builder builder = ClientEndpointConfig.Builder.create()
                     .configurator(new WebSocketAuthConfigurator(clientConfig.getUserName(),
                                                                 clientConfig.getPassword(),
                                                                 clientConfig.getToken()))
                     .encoders(clientConfig.getEncoders())
-                    .decoders(clientConfig.getDecoders())
-                    .build();
+                    .decoders(clientConfig.getDecoders());
+            if (Boolean.TRUE.equals(clientConfig.getCompression())) {
+                // negotiated with the server, messages are sent uncompressed if it does not support the extension
+                builder.extensions(container.getInstalledExtensions().stream()
+                                           .filter(extension -> PERMESSAGE_DEFLATE.equals(extension.getName()))
+                                           .collect(Collectors.toList()));
+            }
+            this.config = builder.build();
             session = container.connectToServer(this, this.config, URI.create(clientConfig.getControllerUrl()));
             LOGGER.info("New Web Socket Session with id: {}, started", session.getId());
         } catch (Exception e) {
@@ -137,7 +148,7 @@ public abstract class WebSocketClientImpl<T extends MessageHandler> extends Endp
 
         LOGGER.debug("Sending text message using Web Socket Session with id: {}", session.getId());
 
-        session.getBasicRemote().sendText(content);
+        sender.send(content);
     }
 
     @Override
@@ -149,12 +160,27 @@ public abstract class WebSocketClientImpl<T extends MessageHandler> extends Endp
     public void onOpen(final Session session,
                        final EndpointConfig config) {
         LOGGER.info("Connection to Kie Controller over Web Socket is now open with session id: {}", session.getId());
+        this.session = session;
+        getSender(session);
         if(this.messageHandler != null) {
             session.addMessageHandler(this.messageHandler);
         }
         this.closed.set(false);
     }
 
+    /**
+     * Returns the sender of the given session, creating it when the session is new. Everything sent on a session
+     * must go through this sender, as a second one would issue async sends concurrently with it.
+     */
+    protected WebSocketAsyncSender getSender(final Session session) {
+        WebSocketAsyncSender current = this.sender;
+        if (current == null || current.getSession() != session) {
+            current = new WebSocketAsyncSender(session);
+            this.sender = current;
+        }
+        return current;
+    }
+
     @Override
     public void onError(final Session session,
                         final Throwable thr) {
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.controller.websocket.common;
+
+import java.util.UUID;
+
+/**
+ * Framing of text messages that carry a correlation id, used to multiplex many requests over a
+ * single Web Socket session. A framed message is the correlation id prefixed by
+ * {@link #FRAME_MARKER} and terminated by a new line, followed by the payload. As JSON payloads
+ * never start with the marker, unframed messages from peers that do not support correlation are
+ * still recognized and handled in order of arrival.
+ */
+public class WebSocketMessageFrame {
+
+    /**
+     * Request parameter a kie server adds to the controller URL to announce that it understands framed messages.
+     */
+    public static final String CORRELATION_PARAMETER = "correlation";
+
+    public static final char FRAME_MARKER = '#';
+
+    private final String correlationId;
+    private final String payload;
+
+    private WebSocketMessageFrame(String correlationId, String payload) {
+        this.correlationId = correlationId;
+        this.payload = payload;
+    }
+
+    public static String newCorrelationId() {
+        return UUID.randomUUID().toString();
+    }
+
+    public static String frame(String correlationId, String payload) {
+        if (correlationId == null) {
+            return payload;
+        }
+        return new StringBuilder(correlationId.length() + payload.length() + 2)
+                .append(FRAME_MARKER)
+                .append(correlationId)
+                .append('\n')
+                .append(payload)
+                .toString();
+    }
+
+    public static WebSocketMessageFrame parse(String message) {
+        if (message != null && !message.isEmpty() && message.charAt(0) == FRAME_MARKER) {
+            int end = message.indexOf('\n');
+            if (end > 1) {
+                return new WebSocketMessageFrame(message.substring(1, end), message.substring(end + 1));
+            }
+        }
+        return new WebSocketMessageFrame(null, message);
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public boolean isCorrelated() {
+        return correlationId != null;
+    }
+}
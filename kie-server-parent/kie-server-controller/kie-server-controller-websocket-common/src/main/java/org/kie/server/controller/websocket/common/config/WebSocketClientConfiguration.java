@@ -39,6 +39,11 @@ public interface WebSocketClientConfiguration {
 
     Long getAsyncSendTimeout();
 
+    /**
+     * @return true to negotiate per message compression (permessage-deflate) with the server
+     */
+    Boolean getCompression();
+
     List<Class<? extends Encoder>> getEncoders();
 
     List<Class<? extends Decoder>> getDecoders();
@@ -77,6 +82,11 @@ public interface WebSocketClientConfiguration {
             return this;
         }
 
+        public Builder compression(final Boolean compression) {
+            config.setCompression(compression);
+            return this;
+        }
+
         public Builder encoders(final Class<? extends Encoder>... encoders) {
             config.setEncoders(Arrays.asList(encoders));
             return this;
@@ -20,6 +20,8 @@ import java.util.List;
 import javax.websocket.Decoder;
 import javax.websocket.Encoder;
 
+import org.kie.server.controller.api.KieServerControllerConstants;
+
 public class WebSocketClientConfigurationImpl implements WebSocketClientConfiguration {
 
     private String controllerUrl;
@@ -34,6 +36,8 @@ public class WebSocketClientConfigurationImpl implements WebSocketClientConfigur
 
     private Long asyncSendTimeout = 120 * 1000L;
 
+    private Boolean compression = Boolean.getBoolean(KieServerControllerConstants.KIE_CONTROLLER_WEBSOCKET_COMPRESSION);
+
     private List<Class<? extends Encoder>> encoders;
 
     private List<Class<? extends Decoder>> decoders;
@@ -95,6 +99,15 @@ public class WebSocketClientConfigurationImpl implements WebSocketClientConfigur
         this.asyncSendTimeout = asyncSendTimeout;
     }
 
+    @Override
+    public Boolean getCompression() {
+        return compression;
+    }
+
+    public void setCompression(Boolean compression) {
+        this.compression = compression;
+    }
+
     @Override
     public List<Class<? extends Encoder>> getEncoders() {
         return encoders;
@@ -122,6 +135,7 @@ public class WebSocketClientConfigurationImpl implements WebSocketClientConfigur
                 ", password='" + password + '\'' +
                 ", maxSessionIdleTimeout=" + maxSessionIdleTimeout +
                 ", asyncSendTimeout=" + asyncSendTimeout +
+                ", compression=" + compression +
                 ", encoders=" + encoders +
                 ", decoders=" + decoders +
                 '}';
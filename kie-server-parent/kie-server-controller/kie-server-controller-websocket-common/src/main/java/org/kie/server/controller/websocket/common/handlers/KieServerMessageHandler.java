@@ -16,44 +16,84 @@
 package org.kie.server.controller.websocket.common.handlers;
 
 import java.io.IOException;
-import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.websocket.MessageHandler;
 import javax.websocket.Session;
 
+import org.kie.server.controller.websocket.common.WebSocketAsyncSender;
+import org.kie.server.controller.websocket.common.WebSocketMessageFrame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Dispatches messages received on a session to internal handlers. When correlation is enabled, messages framed
+ * with a correlation id (see {@link WebSocketMessageFrame}) are responses dispatched to the handler registered for
+ * that id, so that many requests can be in flight on the same session; all other messages are dispatched to the
+ * handlers in the order they were added. Responses are sent asynchronously and framed with the correlation
+ * id of the message they answer.
+ */
 public class KieServerMessageHandler implements MessageHandler.Whole<String> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KieServerMessageHandler.class);
-    private ArrayDeque<InternalMessageHandler> internalHandlers = new ArrayDeque<>();
+    private ConcurrentLinkedQueue<InternalMessageHandler> internalHandlers = new ConcurrentLinkedQueue<>();
+    private Map<String, InternalMessageHandler> correlatedHandlers = new ConcurrentHashMap<>();
     
     private Session session;    
+    private volatile WebSocketAsyncSender sender;
+    private volatile boolean correlationEnabled;
     
     public KieServerMessageHandler(Session session) {
         this.session = session;
     }
+
+    /**
+     * Creates a handler that sends its responses through the given sender, which must be the one used by
+     * everything else sending on the session.
+     */
+    public KieServerMessageHandler(Session session, WebSocketAsyncSender sender) {
+        this.session = session;
+        this.sender = sender;
+    }
     
     @Override
     public void onMessage(String message) {
         LOGGER.debug("Message received on session id: '{}'", session.getId());
         LOGGER.debug("Message content '{}'", message);
-        InternalMessageHandler handler = internalHandlers.poll();
+        WebSocketMessageFrame frame = WebSocketMessageFrame.parse(message);
+        InternalMessageHandler handler;
+        if (correlationEnabled && frame.isCorrelated()) {
+            handler = correlatedHandlers.remove(frame.getCorrelationId());
+            if (handler == null) {
+                // most likely a response that came after its request timed out, it must not take the handler of another request
+                LOGGER.warn("No message handler registered for correlation id '{}' on session id: '{}', message dropped",
+                            frame.getCorrelationId(), session.getId());
+                return;
+            }
+        } else {
+            handler = internalHandlers.poll();
+        }
         LOGGER.debug("About to handle message with handler {}", handler);
         if(handler == null){
             LOGGER.warn("No message handler available to process message");
             throw new RuntimeException("No message handler available to process message");
         }
-        String response = handler.onMessage(message);
+        String response = handler.onMessage(frame.getPayload());
         LOGGER.debug("Response to be send (if not null) is '{}'", response);
         // add handler if the current one has next one, this needs to be before sending response
         addHandler(handler.getNextHandler());                     
         if (response != null) {
+            final InternalMessageHandler respondingHandler = handler;
             try {
-                session.getBasicRemote().sendText(response);
-                LOGGER.debug("Response successfully sent");
-                handler.afterResponseSent();
+                send(frame.getCorrelationId(), response).whenComplete((result, error) -> {
+                    if (error == null) {
+                        LOGGER.debug("Response successfully sent");
+                        respondingHandler.afterResponseSent();
+                    }
+                });
             } catch (IOException e) {
                 LOGGER.error("Error when sending response", e);
             }
@@ -67,4 +107,56 @@ public class KieServerMessageHandler implements MessageHandler.Whole<String> {
             this.internalHandlers.add(handler);
         }
     }
+
+    /**
+     * Registers a handler for the response framed with the given correlation id.
+     */
+    public void addHandler(String correlationId, InternalMessageHandler handler) {
+        if (handler != null) {
+            LOGGER.debug("Adding message handler {} for correlation id {} to session {}", handler, correlationId, session.getId());
+            this.correlatedHandlers.put(correlationId, handler);
+        }
+    }
+
+    public InternalMessageHandler removeHandler(String correlationId) {
+        return this.correlatedHandlers.remove(correlationId);
+    }
+
+    /**
+     * Discards the handlers still waiting for a correlated response, to be called once the session is closed.
+     */
+    public void close() {
+        LOGGER.debug("Discarding {} correlated message handlers of session {}", correlatedHandlers.size(), session.getId());
+        this.correlatedHandlers.clear();
+    }
+
+    /**
+     * Sends the message asynchronously, framed with the given correlation id if not null.
+     */
+    public CompletableFuture<Void> send(String correlationId, String content) throws IOException {
+        return getSender().send(WebSocketMessageFrame.frame(correlationId, content));
+    }
+
+    private WebSocketAsyncSender getSender() {
+        if (sender == null) {
+            synchronized (this) {
+                if (sender == null) {
+                    sender = new WebSocketAsyncSender(session);
+                }
+            }
+        }
+        return sender;
+    }
+
+    /**
+     * @return true if the peer announced it understands messages framed with a correlation id, in which case the
+     * correlated messages received are responses to the requests sent with {@link #send(String, String)}
+     */
+    public boolean isCorrelationEnabled() {
+        return correlationEnabled;
+    }
+
+    public void setCorrelationEnabled(boolean correlationEnabled) {
+        this.correlationEnabled = correlationEnabled;
+    }
 }
@@ -15,6 +15,8 @@
 
 package org.kie.server.controller.websocket.common.handlers;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -26,16 +28,32 @@ import org.kie.server.api.model.ServiceResponse;
 @SuppressWarnings("rawtypes")
 public class WebSocketServiceResponse extends ServiceResponse implements InternalMessageHandler {
 
+    private static final long DEFAULT_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
     private CountDownLatch latch;
+    private long timeout;
     private KieServiceResponse<?> result;
     private Function<String, KieServiceResponse<?>> handler;
+    private List<Runnable> completionCallbacks = new CopyOnWriteArrayList<>();
     
     public WebSocketServiceResponse(boolean isBlocking, Function<String, KieServiceResponse<?>> handler) {
+        this(isBlocking, DEFAULT_TIMEOUT, handler);
+    }
+
+    WebSocketServiceResponse(boolean isBlocking, long timeout, Function<String, KieServiceResponse<?>> handler) {
         this.handler = handler;
+        this.timeout = timeout;
         if (isBlocking) {
             this.latch = new CountDownLatch(1);
         }
     }
+
+    /**
+     * Registers a callback run once the wait for the response is over, whether it was received or not.
+     */
+    public void onCompletion(Runnable callback) {
+        completionCallbacks.add(callback);
+    }
     
     @Override
     public ResponseType getType() {
@@ -65,8 +83,10 @@ public class WebSocketServiceResponse extends ServiceResponse implements Interna
     protected KieServiceResponse<?> getWrapperResult() {
         if (latch != null) {
             try {
-                this.latch.await(5, TimeUnit.MINUTES);
+                this.latch.await(timeout, TimeUnit.MILLISECONDS);
             } catch (InterruptedException e) {                
+            } finally {
+                completionCallbacks.forEach(Runnable::run);
             }
         }
         if(result == null){
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.controller.websocket.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.websocket.EndpointConfig;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.controller.websocket.common.handlers.InternalMessageHandler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class KieServerMessageHandlerWebSocketClientTest {
+
+    private Session session;
+    private List<String> sent;
+    private List<SendHandler> inFlight;
+    private AtomicBoolean overlappingSend;
+    private AtomicInteger pendingSends;
+
+    @Before
+    public void setup() {
+        sent = new ArrayList<>();
+        inFlight = new ArrayList<>();
+        overlappingSend = new AtomicBoolean(false);
+        pendingSends = new AtomicInteger();
+        session = mock(Session.class);
+        RemoteEndpoint.Async async = mock(RemoteEndpoint.Async.class);
+        when(session.getId()).thenReturn("session");
+        when(session.isOpen()).thenReturn(true);
+        when(session.getAsyncRemote()).thenReturn(async);
+        doAnswer(invocation -> {
+            // containers throw IllegalStateException when a send starts before the previous one completed
+            if (pendingSends.getAndIncrement() > 0) {
+                overlappingSend.set(true);
+            }
+            SendHandler handler = (SendHandler) invocation.getArguments()[1];
+            sent.add((String) invocation.getArguments()[0]);
+            inFlight.add(result -> {
+                pendingSends.decrementAndGet();
+                handler.onResult(result);
+            });
+            return null;
+        }).when(async).sendText(anyString(), any(SendHandler.class));
+    }
+
+    @Test
+    public void testClientAndHandlerShareSender() throws Exception {
+        KieServerMessageHandlerWebSocketClient client = new KieServerMessageHandlerWebSocketClient();
+        client.onOpen(session, mock(EndpointConfig.class));
+
+        client.sendTextWithInternalHandler("{\"request\":true}", new RespondingHandler());
+        client.messageHandler.onMessage(WebSocketMessageFrame.frame("1", "{\"request\":true}"));
+        client.sendTextWithHandler("{\"other\":true}", null);
+
+        assertEquals(1, sent.size());
+        for (int i = 0; i < inFlight.size(); i++) {
+            inFlight.get(i).onResult(new SendResult());
+        }
+
+        assertFalse(overlappingSend.get());
+        assertEquals(3, sent.size());
+        assertEquals("{\"request\":true}", sent.get(0));
+        assertEquals("1", WebSocketMessageFrame.parse(sent.get(1)).getCorrelationId());
+        assertEquals("{\"other\":true}", sent.get(2));
+    }
+
+    private static class RespondingHandler implements InternalMessageHandler {
+
+        @Override
+        public String onMessage(String message) {
+            return "{\"response\":true}";
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.controller.websocket.common;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WebSocketAsyncSenderTest {
+
+    private Session session;
+    private List<String> sent;
+    private List<SendHandler> inFlight;
+
+    @Before
+    public void setup() {
+        sent = new ArrayList<>();
+        inFlight = new ArrayList<>();
+        session = mock(Session.class);
+        RemoteEndpoint.Async async = mock(RemoteEndpoint.Async.class);
+        when(session.getId()).thenReturn("session");
+        when(session.isOpen()).thenReturn(true);
+        when(session.getAsyncRemote()).thenReturn(async);
+        doAnswer(invocation -> {
+            sent.add((String) invocation.getArguments()[0]);
+            inFlight.add((SendHandler) invocation.getArguments()[1]);
+            return null;
+        }).when(async).sendText(anyString(), any(SendHandler.class));
+    }
+
+    @Test
+    public void testMessagesSentOneAtATime() throws IOException {
+        WebSocketAsyncSender sender = new WebSocketAsyncSender(session, 10, 100);
+
+        CompletableFuture<Void> first = sender.send("first");
+        CompletableFuture<Void> second = sender.send("second");
+
+        assertEquals(1, sent.size());
+        assertEquals(1, sender.getPendingMessages());
+        assertFalse(first.isDone());
+
+        inFlight.get(0).onResult(new SendResult());
+        assertTrue(first.isDone());
+        assertEquals(2, sent.size());
+        assertEquals("second", sent.get(1));
+
+        inFlight.get(1).onResult(new SendResult(new IOException("broken pipe")));
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals(0, sender.getPendingMessages());
+    }
+
+    @Test
+    public void testBackpressureWhenQueueIsFull() throws IOException {
+        WebSocketAsyncSender sender = new WebSocketAsyncSender(session, 1, 50);
+
+        sender.send("in flight");
+        sender.send("queued");
+        try {
+            sender.send("rejected");
+            fail("Queue is full, message should not be accepted");
+        } catch (IOException e) {
+            // expected
+        }
+
+        inFlight.get(0).onResult(new SendResult());
+        sender.send("accepted");
+        assertEquals(1, sender.getPendingMessages());
+    }
+
+    @Test(expected = IOException.class)
+    public void testSendOnClosedSession() throws IOException {
+        when(session.isOpen()).thenReturn(false);
+        new WebSocketAsyncSender(session, 1, 50).send("message");
+    }
+}
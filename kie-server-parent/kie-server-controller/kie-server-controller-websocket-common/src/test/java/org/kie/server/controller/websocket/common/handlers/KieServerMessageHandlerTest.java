@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.controller.websocket.common.handlers;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.controller.websocket.common.WebSocketMessageFrame;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class KieServerMessageHandlerTest {
+
+    private List<String> sent;
+    private KieServerMessageHandler messageHandler;
+
+    @Before
+    public void setup() {
+        sent = new ArrayList<>();
+        Session session = mock(Session.class);
+        RemoteEndpoint.Async async = mock(RemoteEndpoint.Async.class);
+        when(session.getId()).thenReturn("session");
+        when(session.isOpen()).thenReturn(true);
+        when(session.getAsyncRemote()).thenReturn(async);
+        doAnswer(invocation -> {
+            sent.add((String) invocation.getArguments()[0]);
+            ((SendHandler) invocation.getArguments()[1]).onResult(new SendResult());
+            return null;
+        }).when(async).sendText(anyString(), any(SendHandler.class));
+
+        messageHandler = new KieServerMessageHandler(session);
+    }
+
+    @Test
+    public void testCorrelatedResponsesOutOfOrder() {
+        messageHandler.setCorrelationEnabled(true);
+        RecordingHandler first = new RecordingHandler(null);
+        RecordingHandler second = new RecordingHandler(null);
+        messageHandler.addHandler("1", first);
+        messageHandler.addHandler("2", second);
+
+        messageHandler.onMessage(WebSocketMessageFrame.frame("2", "{\"second\":true}"));
+        messageHandler.onMessage(WebSocketMessageFrame.frame("1", "{\"first\":true}"));
+
+        assertEquals("{\"first\":true}", first.received);
+        assertEquals("{\"second\":true}", second.received);
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    public void testUnframedMessagesHandledInOrder() {
+        RecordingHandler first = new RecordingHandler(null);
+        RecordingHandler second = new RecordingHandler(null);
+        messageHandler.addHandler(first);
+        messageHandler.addHandler(second);
+
+        messageHandler.onMessage("{\"first\":true}");
+        messageHandler.onMessage("{\"second\":true}");
+
+        assertEquals("{\"first\":true}", first.received);
+        assertEquals("{\"second\":true}", second.received);
+    }
+
+    @Test
+    public void testResponseFramedWithRequestCorrelationId() {
+        RecordingHandler handler = new RecordingHandler("{\"response\":true}");
+        messageHandler.addHandler(handler);
+
+        messageHandler.onMessage(WebSocketMessageFrame.frame("42", "{\"request\":true}"));
+        messageHandler.onMessage("{\"request\":true}");
+
+        assertEquals(2, sent.size());
+        WebSocketMessageFrame frame = WebSocketMessageFrame.parse(sent.get(0));
+        assertEquals("42", frame.getCorrelationId());
+        assertEquals("{\"response\":true}", frame.getPayload());
+        assertEquals("{\"response\":true}", sent.get(1));
+        assertEquals(2, handler.responsesSent);
+    }
+
+    @Test
+    public void testCorrelatedResponseWithoutHandlerIsDropped() {
+        messageHandler.setCorrelationEnabled(true);
+        RecordingHandler queued = new RecordingHandler(null);
+        messageHandler.addHandler(queued);
+
+        messageHandler.onMessage(WebSocketMessageFrame.frame("unknown", "{\"late\":true}"));
+        assertNull(queued.received);
+
+        messageHandler.onMessage("{\"queued\":true}");
+        assertEquals("{\"queued\":true}", queued.received);
+    }
+
+    @Test
+    public void testCorrelatedHandlerRemovedWhenResponseTimesOut() {
+        messageHandler.setCorrelationEnabled(true);
+        WebSocketServiceResponse response = new WebSocketServiceResponse(true, 10, message -> null);
+        messageHandler.addHandler("1", response);
+        response.onCompletion(() -> messageHandler.removeHandler("1"));
+
+        try {
+            response.getResult();
+            fail("The response never came");
+        } catch (RuntimeException e) {
+            assertEquals("Service response not received", e.getMessage());
+        }
+        assertNull(messageHandler.removeHandler("1"));
+    }
+
+    @Test
+    public void testCloseDiscardsCorrelatedHandlers() {
+        messageHandler.setCorrelationEnabled(true);
+        messageHandler.addHandler("1", new RecordingHandler(null));
+
+        messageHandler.close();
+
+        assertNull(messageHandler.removeHandler("1"));
+    }
+
+    private static class RecordingHandler implements InternalMessageHandler {
+
+        private final String response;
+        private String received;
+        private int responsesSent;
+
+        private RecordingHandler(String response) {
+            this.response = response;
+        }
+
+        @Override
+        public String onMessage(String message) {
+            received = message;
+            return response;
+        }
+
+        @Override
+        public void afterResponseSent() {
+            responsesSent++;
+        }
+
+        @Override
+        public InternalMessageHandler getNextHandler() {
+            return response == null ? null : this;
+        }
+    }
+}
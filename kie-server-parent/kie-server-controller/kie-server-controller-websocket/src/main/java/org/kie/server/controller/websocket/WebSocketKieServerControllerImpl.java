@@ -16,6 +16,7 @@
 package org.kie.server.controller.websocket;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.ServiceLoader;
 
 import javax.annotation.PostConstruct;
@@ -37,6 +38,7 @@ import org.kie.server.controller.api.service.NotificationServiceFactory;
 import org.kie.server.controller.api.service.PersistingServerTemplateStorageService;
 import org.kie.server.controller.api.storage.KieServerTemplateStorage;
 import org.kie.server.controller.impl.KieServerControllerImpl;
+import org.kie.server.controller.websocket.common.WebSocketMessageFrame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -94,6 +96,11 @@ public class WebSocketKieServerControllerImpl extends KieServerControllerImpl {
     public void onKieServerConnect(@PathParam("server-id") String serverId, Session session) {
         synchronized (manager) {
             manager.addSession(session);
+            List<String> correlation = session.getRequestParameterMap().get(WebSocketMessageFrame.CORRELATION_PARAMETER);
+            if (correlation != null && correlation.contains(Boolean.TRUE.toString())) {
+                manager.getHandler(session.getId()).setCorrelationEnabled(true);
+                logger.debug("Server with id '{}' supports correlated messages", serverId);
+            }
             manager.getHandler(session.getId()).addHandler(new ConnectedKieServerHandler(manager, session, this, serverId));
         }
     }
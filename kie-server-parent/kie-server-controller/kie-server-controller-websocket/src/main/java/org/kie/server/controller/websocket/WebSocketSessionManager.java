@@ -82,7 +82,10 @@ public class WebSocketSessionManager {
             }
         }
         
-        this.handlersPerSession.remove(session.getId());
+        KieServerMessageHandler handler = this.handlersPerSession.remove(session.getId());
+        if (handler != null) {
+            handler.close();
+        }
         logger.debug("Session '{}' removed to Web Socket manager", session.getId());
         
         if (availableSessionsByUrl.get(serverInfo.getLocation()).isEmpty()) {
@@ -69,7 +69,9 @@ import org.kie.server.client.KieServicesClient;
 import org.kie.server.client.QueryServicesClient;
 import org.kie.server.client.jms.ResponseHandler;
 import org.kie.server.controller.websocket.WebSocketSessionManager;
+import org.kie.server.controller.websocket.common.WebSocketMessageFrame;
 import org.kie.server.controller.websocket.common.WebSocketUtils;
+import org.kie.server.controller.websocket.common.handlers.KieServerMessageHandler;
 import org.kie.server.controller.websocket.common.handlers.WebSocketServiceResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -382,16 +384,8 @@ public class WebSocketKieServerClient implements KieServicesClient {
         logger.debug("Web Socket session ({}) is open {}", session.getId(), session.isOpen());
         String content = WebSocketUtils.marshal(script);
         logger.debug("Content to be sent over Web Socket '{}'", content);
-        try {
-            manager.getHandler(session.getId()).addHandler(response);
-            
-            session.getBasicRemote().sendText(content);
-            logger.debug("Message successfully sent to kie server");
-            return new ServiceResponsesList(Arrays.asList(response));
-        } catch (IOException e) {
-           throw new RuntimeException(e);
-        }
-        
+        send(session, content, response);
+        return new ServiceResponsesList(Arrays.asList(response));
     }
     
     protected ServiceResponsesList sendCommandToAllSessions(CommandScript script, WebSocketServiceResponse response) {
@@ -399,26 +393,53 @@ public class WebSocketKieServerClient implements KieServicesClient {
         List<Session> sessions = manager.getByUrl(url);
         List<ServiceResponse<?>> responses = new ArrayList<>();
         ServiceResponsesList result = new ServiceResponsesList(responses);
+        String content = WebSocketUtils.marshal(script);
+        logger.debug("Content to be sent over Web Socket '{}'", content);
                
         for (Session session : sessions) {
         
             logger.debug("Web Socket session ({}) is open {}", session.getId(), session.isOpen());
-            String content = WebSocketUtils.marshal(script);
-            logger.debug("Content to be sent over Web Socket '{}'", content);
-            try {
-                manager.getHandler(session.getId()).addHandler(response);
-                
-                session.getBasicRemote().sendText(content);
-                logger.debug("Message successfully sent to kie server");
-                responses.add(response);
-            } catch (IOException e) {
-               throw new RuntimeException(e);
-            }
+            send(session, content, response);
+            responses.add(response);
         
         }
         return result;
     }
 
+    /**
+     * Sends the content asynchronously. When the kie server supports it, the message is framed with a correlation id
+     * so that any number of commands can be in flight on the session; otherwise the response handler is queued and
+     * responses are matched in order of arrival.
+     */
+    protected void send(Session session, String content, WebSocketServiceResponse response) {
+        KieServerMessageHandler handler = manager.getHandler(session.getId());
+        String correlationId = handler.isCorrelationEnabled() ? WebSocketMessageFrame.newCorrelationId() : null;
+        try {
+            if (correlationId != null) {
+                handler.addHandler(correlationId, response);
+                // once the wait is over the response can't be delivered anymore, even if it never came
+                response.onCompletion(() -> handler.removeHandler(correlationId));
+                handler.send(correlationId, content).whenComplete((result, error) -> {
+                    if (error != null) {
+                        handler.removeHandler(correlationId);
+                    }
+                });
+            } else {
+                // without correlation the handler must be queued in the same order the messages are sent
+                synchronized (handler) {
+                    handler.addHandler(response);
+                    handler.send(null, content);
+                }
+            }
+            logger.debug("Message successfully queued to kie server");
+        } catch (IOException e) {
+            if (correlationId != null) {
+                handler.removeHandler(correlationId);
+            }
+            throw new RuntimeException(e);
+        }
+    }
+
     
     @Override
     public ServiceResponse<KieServerInfo> getServerInfo() {
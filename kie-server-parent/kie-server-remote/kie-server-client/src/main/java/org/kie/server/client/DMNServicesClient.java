@@ -15,10 +15,13 @@
 
 package org.kie.server.client;
 
+import java.util.List;
+
 import org.kie.dmn.api.core.DMNContext;
 import org.kie.dmn.api.core.DMNResult;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.dmn.DMNModelInfoList;
+import org.kie.server.api.model.dmn.DMNResultKSList;
 
 public interface DMNServicesClient {
     
@@ -101,4 +104,31 @@ public interface DMNServicesClient {
      */
     ServiceResponse<DMNResult> evaluateDecisionService(String containerId, String namespace, String modelName, String decisionServiceName, DMNContext context);
 
+    /**
+     * Evaluate all decisions for the model identified by namespace and modelName, once for each of the given contexts.
+     * Contexts are evaluated in parallel on the server side.
+     *
+     * @param containerId the container id deploying the DMN model
+     * @param namespace namespace to identify the model to evaluate
+     * @param modelName model name to identify the model to evaluate
+     * @param dmnContexts the contexts to evaluate the model with
+     *
+     * @return the results of the evaluation, in the same order as given contexts
+     */
+    ServiceResponse<DMNResultKSList> evaluateAllBatch(String containerId, String namespace, String modelName, List<DMNContext> dmnContexts);
+
+    /**
+     * Evaluate the Decision Service identified by the given name, once for each of the given contexts.
+     * Contexts are evaluated in parallel on the server side.
+     *
+     * @param containerId the container id deploying the DMN model
+     * @param namespace namespace to identify the model to evaluate
+     * @param modelName model name to identify the model to evaluate
+     * @param decisionServiceName the Decision Service name
+     * @param dmnContexts the contexts with all the required inputs (inputData and inputDecision) required by the Decision Service
+     *
+     * @return the results of the evaluation, in the same order as given contexts
+     */
+    ServiceResponse<DMNResultKSList> evaluateDecisionServiceBatch(String containerId, String namespace, String modelName, String decisionServiceName, List<DMNContext> dmnContexts);
+
 }
@@ -29,6 +29,8 @@ import org.kie.server.api.model.definition.UserTaskDefinitionList;
 import org.kie.server.api.model.definition.VariablesDefinition;
 import org.kie.server.api.model.instance.NodeInstance;
 import org.kie.server.api.model.instance.ProcessInstance;
+import org.kie.server.api.model.instance.ProcessStartRequest;
+import org.kie.server.api.model.instance.ProcessStartResult;
 import org.kie.server.api.model.instance.VariableInstance;
 import org.kie.server.api.model.instance.WorkItemInstance;
 import org.kie.server.client.jms.ResponseHandler;
@@ -65,6 +67,15 @@ public interface ProcessServicesClient {
 
     Long startProcessFromNodeIds(String containerId, String processId, CorrelationKey correlationKey, Map<String, Object> variables, String... nodes);
 
+    /**
+     * Starts process instances for all given requests in a single call. Requests are started in chunks of
+     * given size (or the server's default when null), each chunk within one transaction.
+     * @return one result per request, in request order, holding either the process instance id or an error message
+     */
+    List<ProcessStartResult> startProcesses(String containerId, List<ProcessStartRequest> requests, Integer chunkSize);
+
+    List<ProcessStartResult> startProcesses(String containerId, List<ProcessStartRequest> requests);
+
     void abortProcessInstance(String containerId, Long processInstanceId);
 
     void abortProcessInstances(String containerId, List<Long> processInstanceIds);
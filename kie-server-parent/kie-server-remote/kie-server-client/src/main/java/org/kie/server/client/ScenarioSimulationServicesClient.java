@@ -37,4 +37,13 @@ public interface ScenarioSimulationServicesClient {
      * @return result of Test Scenario execution (jUnit like)
      */
     ServiceResponse<ScenarioSimulationResult> executeScenario(String containerId, String content);
+
+    /**
+     * Execute given test scenario against specified containerId, splitting its scenarios across given number of threads
+     * @param containerId id of container to be used to execute the scenario
+     * @param content of Test Scenario file (scesim) to be executed. This string should contain the XML of the scesim file
+     * @param parallelism number of threads to execute scenarios with, 1 executes them serially
+     * @return result of Test Scenario execution (jUnit like) including execution time of every scenario
+     */
+    ServiceResponse<ScenarioSimulationResult> executeScenario(String containerId, String content, Integer parallelism);
 }
@@ -23,6 +23,8 @@ import org.kie.server.api.model.instance.TaskAttachment;
 import org.kie.server.api.model.instance.TaskComment;
 import org.kie.server.api.model.instance.TaskEventInstance;
 import org.kie.server.api.model.instance.TaskInstance;
+import org.kie.server.api.model.instance.TaskOperation;
+import org.kie.server.api.model.instance.TaskOperationResult;
 import org.kie.server.api.model.instance.TaskSummary;
 import org.kie.server.client.jms.ResponseHandler;
 
@@ -59,6 +61,15 @@ public interface UserTaskServicesClient {
 
     void nominateTask(String containerId, Long taskId, String userId, List<String> potentialOwners);
 
+    /**
+     * Executes given lifecycle operations on many tasks at once. Operations are executed in batches of given size
+     * (or the server's default when null), each batch within one transaction.
+     * @return one result per operation, in the order operations were given, telling whether it succeeded
+     */
+    List<TaskOperationResult> executeTaskOperations(String containerId, String userId, List<TaskOperation> operations, Integer batchSize);
+
+    List<TaskOperationResult> executeTaskOperations(String containerId, String userId, List<TaskOperation> operations);
+
     void setTaskPriority(String containerId, Long taskId, int priority);
 
     void setTaskExpirationDate(String containerId, Long taskId, Date date);
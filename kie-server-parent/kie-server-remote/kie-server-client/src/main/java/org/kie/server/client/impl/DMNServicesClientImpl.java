@@ -19,6 +19,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
 import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -40,13 +41,16 @@ import org.kie.server.api.model.KieServerCommand;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.Wrapped;
 import org.kie.server.api.model.dmn.DMNContextKS;
+import org.kie.server.api.model.dmn.DMNContextKSList;
 import org.kie.server.api.model.dmn.DMNDecisionResultKS;
 import org.kie.server.api.model.dmn.DMNModelInfoList;
 import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.api.model.dmn.DMNResultKSList;
 import org.kie.server.client.DMNServicesClient;
 import org.kie.server.client.KieServicesConfiguration;
 
 import static org.kie.server.api.rest.RestURI.CONTAINER_ID;
+import static org.kie.server.api.rest.RestURI.DMN_BATCH_URI;
 import static org.kie.server.api.rest.RestURI.DMN_URI;
 import static org.kie.server.api.rest.RestURI.build;
 
@@ -162,6 +166,69 @@ public class DMNServicesClientImpl extends AbstractKieServicesClientImpl impleme
             return result2;
         }
         
+        @Override
+        public ServiceResponse<DMNResultKSList> evaluateAllBatch(String containerId, String namespace, String modelName, List<DMNContext> dmnContexts) {
+            return evaluateDecisionsBatch(containerId, new DMNContextKSList(namespace, modelName, toContexts(dmnContexts)));
+        }
+
+        @Override
+        public ServiceResponse<DMNResultKSList> evaluateDecisionServiceBatch(String containerId, String namespace, String modelName, String decisionServiceName, List<DMNContext> dmnContexts) {
+            Objects.requireNonNull(decisionServiceName, "Parameter decisionServiceName cannot be null; method evaluateAllBatch() can be used to evaluate all decisions in a model, this method is to invoke a specific decision service only.");
+            DMNContextKSList payload = new DMNContextKSList(namespace, modelName, toContexts(dmnContexts));
+            payload.setDecisionServiceName(decisionServiceName);
+            return evaluateDecisionsBatch(containerId, payload);
+        }
+
+        /**
+         * Please notice this method is NOT exposed to the API interface.
+         */
+        // DO NOT ADD @Override
+        public ServiceResponse<DMNResultKSList> evaluateDecisionsBatch(String containerId, DMNContextKSList payload) {
+            ServiceResponse<DMNResultKSList> result = null;
+            if( config.isRest() ) {
+                Map<String, Object> valuesMap = new HashMap<String, Object>();
+                valuesMap.put(CONTAINER_ID, containerId);
+
+                result = (ServiceResponse<DMNResultKSList>)(ServiceResponse<?>) makeHttpPostRequestAndCreateServiceResponse(
+                        build(loadBalancer.getUrl(), DMN_URI + "/" + DMN_BATCH_URI, valuesMap), payload, DMNResultKSList.class);
+
+            } else {
+                CommandScript script = new CommandScript( Collections.singletonList(
+                        (KieServerCommand) new DescriptorCommand("DMNService", "evaluateDecisionsBatch", serialize(payload), marshaller.getFormat().getType(), new Object[]{containerId})) );
+                result = (ServiceResponse<DMNResultKSList>) executeJmsCommand( script, DescriptorCommand.class.getName(), KieServerConstants.CAPABILITY_DMN, containerId ).getResponses().get(0);
+
+                throwExceptionOnFailure( result );
+                if (shouldReturnWithNullResponse(result)) {
+                    return null;
+                }
+            }
+
+            if (result instanceof Wrapped) {
+                return (ServiceResponse<DMNResultKSList>) ((Wrapped) result).unwrap();
+            }
+
+            // coerce numbers to BigDecimal as per DMN spec, same as for single evaluation
+            if ( config.getMarshallingFormat() == MarshallingFormat.JSON && result.getResult() != null ) {
+                for ( DMNResultKS resultKS : result.getResult().getResults() ) {
+                    recurseAndModifyByCoercingNumbers(resultKS.getContext());
+                    for ( DMNDecisionResult dr : resultKS.getDecisionResults() ) {
+                        DMNDecisionResultKS drKS = (DMNDecisionResultKS) dr;
+                        drKS.setResult(recurseAndModifyByCoercingNumbers( dr.getResult() ));
+                    }
+                }
+            }
+
+            return result;
+        }
+
+        private static List<DMNContextKS> toContexts(List<DMNContext> dmnContexts) {
+            List<DMNContextKS> contexts = new ArrayList<>(dmnContexts.size());
+            for ( DMNContext dmnContext : dmnContexts ) {
+                contexts.add(new DMNContextKS(dmnContext.getAll()));
+            }
+            return contexts;
+        }
+
         private static Object recurseAndModifyByCoercingNumbers(Object result) {
             if ( result instanceof DMNContext ) {
                 DMNContext ctx = (DMNContext) result;
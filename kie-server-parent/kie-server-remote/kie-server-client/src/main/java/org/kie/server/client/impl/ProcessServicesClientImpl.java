@@ -41,6 +41,10 @@ import org.kie.server.api.model.instance.NodeInstance;
 import org.kie.server.api.model.instance.NodeInstanceList;
 import org.kie.server.api.model.instance.ProcessInstance;
 import org.kie.server.api.model.instance.ProcessInstanceList;
+import org.kie.server.api.model.instance.ProcessStartRequest;
+import org.kie.server.api.model.instance.ProcessStartRequestList;
+import org.kie.server.api.model.instance.ProcessStartResult;
+import org.kie.server.api.model.instance.ProcessStartResultList;
 import org.kie.server.api.model.instance.VariableInstance;
 import org.kie.server.api.model.instance.VariableInstanceList;
 import org.kie.server.api.model.instance.WorkItemInstance;
@@ -84,6 +88,7 @@ import static org.kie.server.api.rest.RestURI.PROCESS_URI;
 import static org.kie.server.api.rest.RestURI.SIGNAL_NAME;
 import static org.kie.server.api.rest.RestURI.SIGNAL_PROCESS_INSTANCES_PORT_URI;
 import static org.kie.server.api.rest.RestURI.SIGNAL_PROCESS_INST_POST_URI;
+import static org.kie.server.api.rest.RestURI.START_PROCESSES_BULK_POST_URI;
 import static org.kie.server.api.rest.RestURI.START_PROCESS_FROM_NODES_POST_URI;
 import static org.kie.server.api.rest.RestURI.START_PROCESS_FROM_NODES_WITH_CORRELATION_KEY_POST_URI;
 import static org.kie.server.api.rest.RestURI.START_PROCESS_POST_URI;
@@ -441,6 +446,44 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
         return ((Number) result).longValue();
     }
 
+    @Override
+    public List<ProcessStartResult> startProcesses(String containerId, List<ProcessStartRequest> requests) {
+        return startProcesses(containerId, requests, null);
+    }
+
+    @Override
+    public List<ProcessStartResult> startProcesses(String containerId, List<ProcessStartRequest> requests, Integer chunkSize) {
+        ProcessStartRequestList requestList = new ProcessStartRequestList(requests);
+        requestList.setChunkSize(chunkSize);
+
+        ProcessStartResultList list = null;
+        if( config.isRest() ) {
+            Map<String, Object> valuesMap = new HashMap<String, Object>();
+            valuesMap.put(CONTAINER_ID, containerId);
+
+            list = makeHttpPostRequestAndCreateCustomResponse(
+                    build(loadBalancer.getUrl(), PROCESS_URI + "/" + START_PROCESSES_BULK_POST_URI, valuesMap), requestList,
+                    ProcessStartResultList.class);
+
+        } else {
+            CommandScript script = new CommandScript(singletonList(
+                    (KieServerCommand) new DescriptorCommand( "ProcessService", "startProcesses", serialize(requestList), marshaller.getFormat().getType(), new Object[]{containerId}) ) );
+            ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM", containerId ).getResponses().get(0);
+
+            throwExceptionOnFailure(response);
+            if (shouldReturnWithNullResponse(response)) {
+                return null;
+            }
+            list = deserialize(response.getResult(), ProcessStartResultList.class);
+        }
+
+        if (list != null && list.getResults() != null) {
+            return Arrays.asList(list.getResults());
+        }
+
+        return Collections.emptyList();
+    }
+
     @Override
     public void abortProcessInstance(String containerId, Long processInstanceId) {
         if( config.isRest() ) {
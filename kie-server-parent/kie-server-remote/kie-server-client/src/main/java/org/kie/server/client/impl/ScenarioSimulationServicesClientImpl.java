@@ -53,6 +53,11 @@ public class ScenarioSimulationServicesClientImpl extends AbstractKieServicesCli
 
     @Override
     public ServiceResponse<ScenarioSimulationResult> executeScenario(String containerId, String content) {
+        return executeScenario(containerId, content, null);
+    }
+
+    @Override
+    public ServiceResponse<ScenarioSimulationResult> executeScenario(String containerId, String content, Integer parallelism) {
 
         if (!config.isRest()) {
             throw new IllegalStateException("Only REST is supported");
@@ -62,7 +67,7 @@ public class ScenarioSimulationServicesClientImpl extends AbstractKieServicesCli
         valuesMap.put(CONTAINER_ID, containerId);
 
         ServiceResponse<ScenarioSimulationResult> response = makeHttpPostRequestAndCreateServiceResponse(
-                build(loadBalancer.getUrl(), SCENARIO_SIMULATION_URI, valuesMap),
+                build(loadBalancer.getUrl(), SCENARIO_SIMULATION_URI, valuesMap) + (parallelism == null ? "" : "?parallelism=" + parallelism),
                 content,
                 ScenarioSimulationResult.class);
 
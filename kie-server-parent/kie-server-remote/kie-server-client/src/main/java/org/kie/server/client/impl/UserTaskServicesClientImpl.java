@@ -36,6 +36,10 @@ import org.kie.server.api.model.instance.TaskCommentList;
 import org.kie.server.api.model.instance.TaskEventInstance;
 import org.kie.server.api.model.instance.TaskEventInstanceList;
 import org.kie.server.api.model.instance.TaskInstance;
+import org.kie.server.api.model.instance.TaskOperation;
+import org.kie.server.api.model.instance.TaskOperationList;
+import org.kie.server.api.model.instance.TaskOperationResult;
+import org.kie.server.api.model.instance.TaskOperationResultList;
 import org.kie.server.api.model.instance.TaskSummary;
 import org.kie.server.api.model.instance.TaskSummaryList;
 import org.kie.server.client.KieServicesConfiguration;
@@ -56,6 +60,7 @@ import static org.kie.server.api.rest.RestURI.TASKS_OWNED_GET_URI;
 import static org.kie.server.api.rest.RestURI.TASK_BY_PROCESS_INST_ID_GET_URI;
 import static org.kie.server.api.rest.RestURI.TASK_BY_WORK_ITEM_ID_GET_URI;
 import static org.kie.server.api.rest.RestURI.TASK_GET_URI;
+import static org.kie.server.api.rest.RestURI.TASK_INSTANCES_BULK_POST_URI;
 import static org.kie.server.api.rest.RestURI.TASK_INSTANCE_ACTIVATE_PUT_URI;
 import static org.kie.server.api.rest.RestURI.TASK_INSTANCE_ATTACHMENTS_GET_URI;
 import static org.kie.server.api.rest.RestURI.TASK_INSTANCE_ATTACHMENT_ADD_POST_URI;
@@ -334,6 +339,43 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
         }
     }
 
+    @Override
+    public List<TaskOperationResult> executeTaskOperations(String containerId, String userId, List<TaskOperation> operations) {
+        return executeTaskOperations(containerId, userId, operations, null);
+    }
+
+    @Override
+    public List<TaskOperationResult> executeTaskOperations(String containerId, String userId, List<TaskOperation> operations, Integer batchSize) {
+        TaskOperationList operationList = new TaskOperationList(operations);
+        operationList.setBatchSize(batchSize);
+
+        TaskOperationResultList list = null;
+        if( config.isRest() ) {
+            Map<String, Object> valuesMap = new HashMap<String, Object>();
+            valuesMap.put(CONTAINER_ID, containerId);
+
+            list = makeHttpPostRequestAndCreateCustomResponse(
+                    build(loadBalancer.getUrl(), TASK_URI + "/" + TASK_INSTANCES_BULK_POST_URI, valuesMap) + getUserQueryStr(userId),
+                    operationList, TaskOperationResultList.class);
+        } else {
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
+                    new DescriptorCommand( "UserTaskService", "executeTaskOperations", serialize(operationList), marshaller.getFormat().getType(), new Object[]{containerId, userId}) ) );
+            ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM", containerId ).getResponses().get(0);
+
+            throwExceptionOnFailure(response);
+            if (shouldReturnWithNullResponse(response)) {
+                return null;
+            }
+            list = deserialize(response.getResult(), TaskOperationResultList.class);
+        }
+
+        if (list != null && list.getResults() != null) {
+            return Arrays.asList(list.getResults());
+        }
+
+        return Collections.emptyList();
+    }
+
     @Override
     public void setTaskPriority(String containerId, Long taskId, int priority) {
         if( config.isRest() ) {
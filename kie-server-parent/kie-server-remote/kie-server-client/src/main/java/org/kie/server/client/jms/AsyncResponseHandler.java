@@ -25,7 +25,6 @@ import javax.jms.MessageConsumer;
 import javax.jms.MessageListener;
 import javax.jms.Queue;
 import javax.jms.Session;
-import javax.jms.TextMessage;
 
 import org.kie.server.api.jms.JMSConstants;
 import org.kie.server.api.marshalling.Marshaller;
@@ -112,7 +111,7 @@ public class AsyncResponseHandler implements ResponseHandler {
             try {
                 ((KieServicesClientImpl) owner).setConversationId(message.getStringProperty(JMSConstants.CONVERSATION_ID_PROPERTY_NAME));
 
-                String responseStr = ((TextMessage) message).getText();
+                String responseStr = ResponseMessageReader.getContent(message);
                 logger.debug("Received response from server '{}'", responseStr);
 
                 ServiceResponsesList cmdResponse = marshaller.unmarshall(responseStr, ServiceResponsesList.class);
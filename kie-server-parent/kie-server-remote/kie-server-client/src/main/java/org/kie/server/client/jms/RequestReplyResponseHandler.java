@@ -23,7 +23,6 @@ import javax.jms.Message;
 import javax.jms.MessageConsumer;
 import javax.jms.Queue;
 import javax.jms.Session;
-import javax.jms.TextMessage;
 
 import org.kie.server.api.jms.JMSConstants;
 import org.kie.server.api.marshalling.Marshaller;
@@ -64,7 +63,7 @@ public class RequestReplyResponseHandler implements ResponseHandler {
 
             ((KieServicesClientImpl)owner).setConversationId(response.getStringProperty(JMSConstants.CONVERSATION_ID_PROPERTY_NAME));
 
-            String responseStr = ((TextMessage) response).getText();
+            String responseStr = ResponseMessageReader.getContent(response);
             logger.debug("Received response from server '{}'", responseStr);
             ServiceResponsesList cmdResponse = marshaller.unmarshall(responseStr, ServiceResponsesList.class);
             return cmdResponse;
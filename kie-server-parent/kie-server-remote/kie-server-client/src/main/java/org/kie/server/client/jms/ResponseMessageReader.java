@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.client.jms;
+
+import java.nio.charset.StandardCharsets;
+import javax.jms.BytesMessage;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.TextMessage;
+
+/**
+ * Reads the content of a response message, sent by the server either as a TextMessage or, by the batch consumer,
+ * as a BytesMessage holding the UTF-8 encoded response.
+ */
+public final class ResponseMessageReader {
+
+    private ResponseMessageReader() {
+    }
+
+    public static String getContent(Message message) throws JMSException {
+        if (message instanceof BytesMessage) {
+            BytesMessage bytesMessage = (BytesMessage) message;
+            byte[] content = new byte[(int) bytesMessage.getBodyLength()];
+            bytesMessage.readBytes(content);
+            return new String(content, StandardCharsets.UTF_8);
+        }
+        return ((TextMessage) message).getText();
+    }
+}
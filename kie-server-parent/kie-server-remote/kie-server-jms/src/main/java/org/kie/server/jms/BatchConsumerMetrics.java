@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.jms;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and queue latency figures of the {@link KieServerBatchConsumer}. Queue latency is the time a message
+ * spent on the request queue, measured from its JMS timestamp to the moment its batch was received.
+ */
+public class BatchConsumerMetrics {
+
+    private final long startTime = System.currentTimeMillis();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong rollbacks = new AtomicLong();
+    private final AtomicLong totalQueueLatency = new AtomicLong();
+    private final AtomicLong maxQueueLatency = new AtomicLong();
+    private final AtomicLong totalBatchDuration = new AtomicLong();
+
+    public void messageReceived(long jmsTimestamp, long receivedAt) {
+        if (jmsTimestamp > 0) {
+            long latency = Math.max(0, receivedAt - jmsTimestamp);
+            totalQueueLatency.addAndGet(latency);
+            maxQueueLatency.accumulateAndGet(latency, Math::max);
+        }
+    }
+
+    public void batchProcessed(int size, long durationMillis) {
+        batches.incrementAndGet();
+        messages.addAndGet(size);
+        totalBatchDuration.addAndGet(durationMillis);
+    }
+
+    public void messageFailed() {
+        failures.incrementAndGet();
+    }
+
+    public void batchRolledBack() {
+        rollbacks.incrementAndGet();
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    public long getMessages() {
+        return messages.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getRollbacks() {
+        return rollbacks.get();
+    }
+
+    public double getAverageBatchSize() {
+        long count = batches.get();
+        return count == 0 ? 0 : (double) messages.get() / count;
+    }
+
+    public double getAverageBatchDuration() {
+        long count = batches.get();
+        return count == 0 ? 0 : (double) totalBatchDuration.get() / count;
+    }
+
+    public double getAverageQueueLatency() {
+        long count = messages.get();
+        return count == 0 ? 0 : (double) totalQueueLatency.get() / count;
+    }
+
+    public long getMaxQueueLatency() {
+        return maxQueueLatency.get();
+    }
+
+    /**
+     * @return messages processed per second since the consumer started
+     */
+    public double getThroughput() {
+        long elapsed = System.currentTimeMillis() - startTime;
+        return elapsed <= 0 ? 0 : messages.get() * 1000d / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchConsumerMetrics{" +
+                "batches=" + getBatches() +
+                ", messages=" + getMessages() +
+                ", failures=" + getFailures() +
+                ", rollbacks=" + getRollbacks() +
+                ", averageBatchSize=" + getAverageBatchSize() +
+                ", averageBatchDuration=" + getAverageBatchDuration() +
+                ", averageQueueLatency=" + getAverageQueueLatency() +
+                ", maxQueueLatency=" + getMaxQueueLatency() +
+                ", throughput=" + getThroughput() +
+                '}';
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.jms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.TransactionManagement;
+import javax.ejb.TransactionManagementType;
+import javax.enterprise.concurrent.ManagedExecutors;
+import javax.enterprise.concurrent.ManagedTask;
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageProducer;
+import javax.jms.Queue;
+import javax.jms.Session;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.api.model.ServiceResponsesList;
+import org.kie.server.services.impl.KieServerLocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.kie.server.api.jms.JMSConstants.CONTAINER_ID_PROPERTY_NAME;
+
+/**
+ * Optional alternative to {@link KieServerMDB}, enabled with {@value KieServerConstants#CFG_KIE_SERVER_JMS_BATCH_ENABLED}.
+ * Drains up to the configured batch size of requests per local JMS transaction from its own queue, executes the command
+ * scripts of different containers concurrently (requests of the same container keep their order) and sends the replies
+ * as BytesMessages through a single producer, committing the received and the sent messages together.
+ * <p>
+ * Requests that fail, including the ones that cannot be read, are answered with a failure response instead of rolling
+ * back the batch, so the scripts that were already executed are not replayed on redelivery.
+ * <p>
+ * The consumer loop and the executions run on the container's managed executor.
+ */
+@Singleton(name = "KieServerBatchConsumer")
+@Startup
+@TransactionManagement(TransactionManagementType.BEAN)
+public class KieServerBatchConsumer implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieServerBatchConsumer.class);
+
+    // not the queue of KieServerMDB, the two consumers would compete for the same requests
+    private static final String DEFAULT_REQUEST_QUEUE_NAME = "queue/KIE.SERVER.REQUEST.BATCH";
+    private static final String DEFAULT_RESPONSE_QUEUE_NAME = "queue/KIE.SERVER.RESPONSE";
+    private static final String DEFAULT_CONNECTION_FACTORY = "java:/ConnectionFactory";
+
+    @Resource(lookup = "java:comp/DefaultManagedExecutorService")
+    private ExecutorService executor;
+
+    private String requestQueueName;
+    private String responseQueueName;
+    private String connectionFactoryName;
+    private int batchSize;
+    private int threads;
+    private long receiveTimeout;
+
+    private volatile boolean running;
+    private Future<?> consumerTask;
+    private KieServerRequestHandler requestHandler;
+    private final BatchConsumerMetrics metrics = new BatchConsumerMetrics();
+
+    public KieServerBatchConsumer() {
+    }
+
+    KieServerBatchConsumer(KieServerRequestHandler requestHandler, ExecutorService executor, int threads) {
+        this.requestHandler = requestHandler;
+        this.executor = executor;
+        this.threads = threads;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!Boolean.parseBoolean(System.getProperty(KieServerConstants.CFG_KIE_SERVER_JMS_BATCH_ENABLED, "false"))) {
+            logger.debug("KieServerBatchConsumer is disabled");
+            return;
+        }
+        requestQueueName = System.getProperty(KieServerConstants.CFG_KIE_SERVER_JMS_BATCH_QUEUE, DEFAULT_REQUEST_QUEUE_NAME);
+        responseQueueName = System.getProperty(KieServerConstants.CFG_KIE_SERVER_RESPONSE_QUEUE, DEFAULT_RESPONSE_QUEUE_NAME);
+        connectionFactoryName = System.getProperty(KieServerConstants.CFG_KIE_SERVER_JMS_BATCH_CONNECTION_FACTORY, DEFAULT_CONNECTION_FACTORY);
+        batchSize = Integer.parseInt(System.getProperty(KieServerConstants.CFG_KIE_SERVER_JMS_BATCH_SIZE, "100"));
+        receiveTimeout = Long.parseLong(System.getProperty(KieServerConstants.CFG_KIE_SERVER_JMS_BATCH_RECEIVE_TIMEOUT, "1000"));
+        threads = Integer.parseInt(System.getProperty(KieServerConstants.CFG_KIE_SERVER_JMS_BATCH_THREADS,
+                                                      String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        requestHandler = new KieServerRequestHandler(KieServerLocator.getInstance());
+        running = true;
+        // the loop never ends while the server runs, hint the container not to report it as hung
+        consumerTask = executor.submit(ManagedExecutors.managedTask(this, Collections.singletonMap(ManagedTask.LONGRUNNING_HINT, "true"), null));
+        logger.info("KieServerBatchConsumer started on {} with batch size {} and {} threads", requestQueueName, batchSize, threads);
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            consumerTask.get(receiveTimeout * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.debug("KieServerBatchConsumer: consumer did not stop cleanly", e);
+            consumerTask.cancel(true);
+        }
+        logger.info("KieServerBatchConsumer stopped, {}", metrics);
+    }
+
+    public BatchConsumerMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                consume();
+            } catch (Exception e) {
+                logger.error("KieServerBatchConsumer: error while consuming from {}, reconnecting", requestQueueName, e);
+                pause();
+            }
+        }
+    }
+
+    protected void consume() throws JMSException, NamingException {
+        InitialContext context = new InitialContext();
+        ConnectionFactory factory = (ConnectionFactory) context.lookup(connectionFactoryName);
+        Queue requestQueue = (Queue) context.lookup(requestQueueName);
+        Queue responseQueue = (Queue) context.lookup(responseQueueName);
+
+        Connection connection = factory.createConnection();
+        try {
+            Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+            MessageConsumer consumer = session.createConsumer(requestQueue);
+            // a single producer is reused for every response of every batch, the destination is given per message
+            MessageProducer producer = session.createProducer(null);
+            connection.start();
+
+            while (running) {
+                List<Message> batch = receiveBatch(consumer);
+                if (!batch.isEmpty()) {
+                    handleBatch(session, producer, responseQueue, batch);
+                }
+            }
+        } finally {
+            try {
+                connection.close();
+            } catch (JMSException jmse) {
+                logger.warn("KieServerBatchConsumer: error closing connection", jmse);
+            }
+        }
+    }
+
+    protected List<Message> receiveBatch(MessageConsumer consumer) throws JMSException {
+        List<Message> batch = new ArrayList<>();
+        Message message = consumer.receive(receiveTimeout);
+        long receivedAt = System.currentTimeMillis();
+        while (message != null) {
+            metrics.messageReceived(message.getJMSTimestamp(), receivedAt);
+            batch.add(message);
+            if (batch.size() >= batchSize) {
+                break;
+            }
+            message = consumer.receiveNoWait();
+        }
+        return batch;
+    }
+
+    /**
+     * Processes the batch and commits it, or rolls it back when the replies could not be sent.
+     */
+    protected void handleBatch(Session session, MessageProducer producer, Destination responseQueue, List<Message> batch) throws JMSException {
+        long start = System.currentTimeMillis();
+        try {
+            processBatch(session, producer, responseQueue, batch);
+            session.commit();
+            metrics.batchProcessed(batch.size(), System.currentTimeMillis() - start);
+            logger.debug("KieServerBatchConsumer: batch of {} messages processed, {}", batch.size(), metrics);
+        } catch (JMSException | RuntimeException e) {
+            logger.error("KieServerBatchConsumer: unable to process batch of {} messages, rolling back", batch.size(), e);
+            metrics.batchRolledBack();
+            session.rollback();
+        }
+    }
+
+    protected void processBatch(Session session, MessageProducer producer, Destination responseQueue, List<Message> batch) throws JMSException {
+        // requests targeting the same container are kept in order, different containers run concurrently
+        Map<String, List<Message>> perContainer = new LinkedHashMap<>();
+        for (Message message : batch) {
+            String containerId = requestHandler.getStringProperty(message, CONTAINER_ID_PROPERTY_NAME, "");
+            perContainer.computeIfAbsent(containerId, k -> new ArrayList<>()).add(message);
+        }
+
+        // at most the configured number of tasks, each executing the requests of its containers one after the other
+        List<List<Message>> tasks = new ArrayList<>();
+        int taskCount = Math.max(1, Math.min(threads, perContainer.size()));
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(new ArrayList<>());
+        }
+        int next = 0;
+        for (List<Message> messages : perContainer.values()) {
+            tasks.get(next++ % taskCount).addAll(messages);
+        }
+
+        List<Future<List<Outcome>>> futures = new ArrayList<>();
+        for (List<Message> messages : tasks) {
+            futures.add(executor.submit(() -> execute(messages)));
+        }
+
+        for (Future<List<Outcome>> future : futures) {
+            for (Outcome outcome : waitFor(future)) {
+                if (outcome.request.isReplyExpected()) {
+                    Message reply = requestHandler.marshallResponse(session, outcome.request, outcome.response, true);
+                    reply.setJMSCorrelationID(outcome.request.getMsgCorrId());
+                    Destination replyTo = outcome.request.getReplyTo();
+                    producer.send(replyTo != null ? replyTo : responseQueue, reply);
+                }
+            }
+        }
+    }
+
+    protected List<Outcome> execute(List<Message> messages) {
+        List<Outcome> outcomes = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            KieServerRequestHandler.Request request = null;
+            ServiceResponsesList response;
+            try {
+                requestHandler.login(message);
+                request = requestHandler.readRequest(message);
+                response = requestHandler.execute(request);
+            } catch (Exception e) {
+                logger.error("KieServerBatchConsumer: unable to process message {}", message, e);
+                metrics.messageFailed();
+                if (request == null) {
+                    // the message could not be read, it is still answered so that it is not silently dropped
+                    request = requestHandler.readFailedRequest(message);
+                }
+                List<ServiceResponse<? extends Object>> responses = new ArrayList<ServiceResponse<? extends Object>>();
+                responses.add(new ServiceResponse(ServiceResponse.ResponseType.FAILURE, e.getMessage()));
+                response = new ServiceResponsesList(responses);
+            } finally {
+                requestHandler.logout();
+            }
+            outcomes.add(new Outcome(request, response));
+        }
+        return outcomes;
+    }
+
+    private List<Outcome> waitFor(Future<List<Outcome>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JMSRuntimeException("Interrupted while waiting for batch execution", e);
+        } catch (ExecutionException e) {
+            throw new JMSRuntimeException("Unable to execute batch", e.getCause());
+        }
+    }
+
+    private void pause() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(receiveTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    protected static class Outcome {
+
+        private final KieServerRequestHandler.Request request;
+        private final ServiceResponsesList response;
+
+        Outcome(KieServerRequestHandler.Request request, ServiceResponsesList response) {
+            this.request = request;
+            this.response = response;
+        }
+    }
+}
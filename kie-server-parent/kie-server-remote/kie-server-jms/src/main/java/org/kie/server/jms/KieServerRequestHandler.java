@@ -0,0 +1,370 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.jms;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.jms.BytesMessage;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+
+import org.kie.server.api.ConversationId;
+import org.kie.server.api.KieServerEnvironment;
+import org.kie.server.api.commands.CommandScript;
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.api.model.ServiceResponsesList;
+import org.kie.server.services.api.KieContainerCommandService;
+import org.kie.server.services.api.KieContainerInstance;
+import org.kie.server.services.api.KieServerExtension;
+import org.kie.server.services.impl.KieServerImpl;
+import org.kie.server.services.impl.security.adapters.JMSSecurityAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.kie.server.api.jms.JMSConstants.*;
+
+/**
+ * Reads, executes and answers KIE Server requests received over JMS. Shared by the {@link KieServerMDB} that handles
+ * one message per delivery and the {@link KieServerBatchConsumer} that handles batches of messages.
+ */
+public class KieServerRequestHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieServerRequestHandler.class);
+
+    private static final String ID_NECESSARY = "This id is needed to be able to match a request to a response message.";
+
+    private final KieServerImpl kieServer;
+    private final Map<MarshallingFormat, Marshaller> marshallers;
+
+    public KieServerRequestHandler(KieServerImpl kieServer) {
+        this.kieServer = kieServer;
+
+        marshallers = new ConcurrentHashMap<MarshallingFormat, Marshaller>();
+        // the commands classloader -- not sure if there is a better way to get a reference to it
+        ClassLoader classLoader = CommandScript.class.getClassLoader();
+        marshallers.put(MarshallingFormat.XSTREAM, MarshallerFactory.getMarshaller(MarshallingFormat.XSTREAM, classLoader));
+        marshallers.put(MarshallingFormat.JAXB, MarshallerFactory.getMarshaller(MarshallingFormat.JAXB, classLoader));
+        marshallers.put(MarshallingFormat.JSON, MarshallerFactory.getMarshaller(MarshallingFormat.JSON, classLoader));
+    }
+
+    public void login(Message message) {
+        String username = null;
+        String password = null;
+        try {
+            username = message.getStringProperty(USER_PROPERTY_NAME);
+            password = message.getStringProperty(PASSWRD_PROPERTY_NAME);
+        } catch (JMSException jmse) {
+            logger.warn("Unable to retrieve user name and/or password, from message");
+        }
+        if (username != null && password != null) {
+            JMSSecurityAdapter.login(username, password);
+        } else {
+            logger.warn("Unable to login to JMSSecurityAdapter, user name and/or password missing");
+        }
+    }
+
+    public void logout() {
+        JMSSecurityAdapter.logout();
+    }
+
+    /**
+     * Extracts the routing and marshalling information of the message and unmarshalls its command script.
+     */
+    public Request readRequest(Message message) {
+        // 0. Get msg correlation id (for response)
+        String msgCorrId = null;
+        try {
+            msgCorrId = message.getJMSCorrelationID();
+        } catch (JMSException jmse) {
+            String errMsg = "Unable to retrieve JMS correlation id from message! " + ID_NECESSARY;
+            throw new JMSRuntimeException(errMsg, jmse);
+        }
+
+        Request request = new Request(msgCorrId);
+        request.replyTo = getReplyTo(message);
+        request.targetCapability = getStringProperty(message, TARGET_CAPABILITY_PROPERTY_NAME, "KieServer"); // for backward compatibility default to KieServer
+        request.containerId = getStringProperty(message, CONTAINER_ID_PROPERTY_NAME, null);
+        request.conversationId = getStringProperty(message, CONVERSATION_ID_PROPERTY_NAME, null);
+        request.interactionPattern = getIntProperty(message, INTERACTION_PATTERN_PROPERTY_NAME, REQUEST_REPLY_PATTERN);
+
+        // 1. get marshalling info
+        try {
+            request.classType = message.getStringProperty(CLASS_TYPE_PROPERTY_NAME);
+
+            if (!message.propertyExists(SERIALIZATION_FORMAT_PROPERTY_NAME)) {
+                request.format = MarshallingFormat.JAXB;
+            } else {
+
+                int intFormat = message.getIntProperty(SERIALIZATION_FORMAT_PROPERTY_NAME);
+                logger.debug("Serialization format (int) is {}", intFormat);
+                request.format = MarshallingFormat.fromId(intFormat);
+                logger.debug("Serialization format is {}", request.format);
+                if (request.format == null) {
+                    String errMsg = "Unsupported marshalling format '" + intFormat + "' from message " + msgCorrId + ".";
+                    throw new JMSRuntimeException(errMsg);
+                }
+            }
+        } catch (JMSException jmse) {
+            String errMsg = "Unable to retrieve property '" + SERIALIZATION_FORMAT_PROPERTY_NAME + "' from message " + msgCorrId + ".";
+            throw new JMSRuntimeException(errMsg, jmse);
+        }
+
+        // 2. get marshaller
+        request.marshaller = getMarshaller(request.containerId, request.format);
+        logger.debug("Selected marshaller is {}", request.marshaller);
+
+        // 3. deserialize request
+        request.script = unmarshallRequest(message, msgCorrId, request.marshaller);
+        return request;
+    }
+
+    /**
+     * Extracts what is needed to answer a message that could not be read with {@link #readRequest(Message)}: the
+     * failure response is marshalled with the default marshaller of the message's format, or JAXB when the format
+     * is unknown. Never throws, properties that cannot be read are left empty.
+     */
+    public Request readFailedRequest(Message message) {
+        String msgCorrId = null;
+        try {
+            msgCorrId = message.getJMSCorrelationID();
+        } catch (JMSException jmse) {
+            logger.debug("Unable to retrieve JMS correlation id from message {}", message, jmse);
+        }
+        Request request = new Request(msgCorrId);
+        request.replyTo = getReplyTo(message);
+        request.containerId = getStringProperty(message, CONTAINER_ID_PROPERTY_NAME, null);
+        request.conversationId = getStringProperty(message, CONVERSATION_ID_PROPERTY_NAME, null);
+        request.interactionPattern = getIntProperty(message, INTERACTION_PATTERN_PROPERTY_NAME, REQUEST_REPLY_PATTERN);
+        MarshallingFormat format = MarshallingFormat.fromId(getIntProperty(message, SERIALIZATION_FORMAT_PROPERTY_NAME, MarshallingFormat.JAXB.getId()));
+        request.format = format != null ? format : MarshallingFormat.JAXB;
+        request.marshaller = marshallers.get(request.format);
+        return request;
+    }
+
+    public ServiceResponsesList execute(Request request) {
+        KieContainerCommandService executor = null;
+        logger.debug("Target capability is {}", request.targetCapability);
+        for (KieServerExtension extension : kieServer.getServerExtensions()) {
+            KieContainerCommandService tmp = extension.getAppComponents(KieContainerCommandService.class);
+
+            if (tmp != null && extension.getImplementedCapability().equalsIgnoreCase(request.targetCapability)) {
+                executor = tmp;
+                logger.debug("Extension {} returned command executor {} with capability {}", extension, executor, extension.getImplementedCapability());
+                break;
+            }
+        }
+        if (executor == null) {
+            throw new IllegalStateException("No executor found for script execution");
+        }
+
+        // 4. process request
+        return executor.executeScript(request.script, request.format, request.classType);
+    }
+
+    /**
+     * Returns the conversation id of the request or builds one from the container the request was routed to.
+     */
+    public String resolveConversationId(Request request) {
+        String conversationId = request.conversationId;
+        if (request.containerId != null && (conversationId == null || conversationId.trim().isEmpty())) {
+            try {
+                KieContainerInstance containerInstance = kieServer.getServerRegistry().getContainer(request.containerId);
+                if (containerInstance != null) {
+                    ReleaseId releaseId = containerInstance.getResource().getResolvedReleaseId();
+                    if (releaseId == null) {
+                        releaseId = containerInstance.getResource().getReleaseId();
+                    }
+
+                    conversationId = ConversationId.from(KieServerEnvironment.getServerId(), request.containerId, releaseId).toString();
+                }
+            } catch (Exception e) {
+                logger.warn("Unable to build conversation id due to {}", e.getMessage(), e);
+            }
+        }
+        return conversationId;
+    }
+
+    /**
+     * Builds the response message, as a TextMessage or, when binary is set, as a BytesMessage holding the UTF-8
+     * encoded response, with its correlation and conversation ids.
+     */
+    public Message marshallResponse(Session session, Request request, ServiceResponsesList response, boolean binary) {
+        Message msg = null;
+        try {
+            String msgStr = request.marshaller.marshall(response);
+            if (binary) {
+                BytesMessage bytesMsg = session.createBytesMessage();
+                bytesMsg.writeBytes(msgStr.getBytes(StandardCharsets.UTF_8));
+                msg = bytesMsg;
+            } else {
+                msg = session.createTextMessage(msgStr);
+            }
+            msg.setIntProperty(SERIALIZATION_FORMAT_PROPERTY_NAME, request.format.getId());
+        } catch (JMSException jmse) {
+            String errMsg = "Unable to create response message or write to it [msg id: " + request.msgCorrId + "].";
+            throw new JMSRuntimeException(errMsg, jmse);
+        } catch (Exception e) {
+            String errMsg = "Unable to serialize " + response.getClass().getSimpleName() + " to a String.";
+            throw new JMSRuntimeException(errMsg, e);
+        }
+
+        String conversationId = resolveConversationId(request);
+        try {
+            if (conversationId != null) {
+                msg.setStringProperty(CONVERSATION_ID_PROPERTY_NAME, conversationId);
+            }
+        } catch (JMSException e) {
+            logger.debug("Unable to set conversation id on response message due to {}", e.getMessage());
+        }
+        return msg;
+    }
+
+    protected static CommandScript unmarshallRequest(Message message, String msgId, Marshaller serializationProvider) {
+        CommandScript cmdMsg = null;
+        try {
+            String msgStrContent = getContent(message);
+            logger.debug("About to unmarshal content '{}'", msgStrContent);
+            cmdMsg = serializationProvider.unmarshall(msgStrContent, CommandScript.class);
+        } catch (JMSException jmse) {
+            String errMsg = "Unable to read information from message " + msgId + ".";
+            throw new JMSRuntimeException(errMsg, jmse);
+        } catch (Exception e) {
+            String errMsg = "Unable to unmarshall request to " + CommandScript.class.getSimpleName() + " [msg id: " + msgId + "].";
+            throw new JMSRuntimeException(errMsg, e);
+        }
+        return cmdMsg;
+    }
+
+    protected static String getContent(Message message) throws JMSException {
+        if (message instanceof BytesMessage) {
+            BytesMessage bytesMessage = (BytesMessage) message;
+            byte[] content = new byte[(int) bytesMessage.getBodyLength()];
+            bytesMessage.readBytes(content);
+            return new String(content, StandardCharsets.UTF_8);
+        }
+        return ((TextMessage) message).getText();
+    }
+
+    protected Marshaller getMarshaller(String containerId, MarshallingFormat format) {
+        if (containerId == null || containerId.isEmpty()) {
+            return marshallers.get(format);
+        }
+
+        KieContainerInstance kieContainerInstance = kieServer.getServerRegistry().getContainer(containerId);
+        if (kieContainerInstance != null && kieContainerInstance.getKieContainer() != null) {
+            return kieContainerInstance.getMarshaller(format);
+        }
+
+        return marshallers.get(format);
+    }
+
+    protected Destination getReplyTo(Message message) {
+        try {
+            return message.getJMSReplyTo();
+        } catch (JMSException jmse) {
+            logger.debug("Unable to retrieve JMS reply to destination from message {}", message, jmse);
+            return null;
+        }
+    }
+
+    protected String getStringProperty(Message message, String name, String defaultValue) {
+        try {
+            if (message.propertyExists(name)) {
+                return message.getStringProperty(name);
+            }
+        } catch (JMSException jmse) {
+            String errMsg = "Unable to retrieve property '" + name + "' from message " + message + ".";
+            logger.debug(errMsg, jmse);
+        }
+
+        return defaultValue;
+    }
+
+    protected int getIntProperty(Message message, String name, int defaultValue) {
+        try {
+            if (message.propertyExists(name)) {
+                return message.getIntProperty(name);
+            }
+        } catch (JMSException jmse) {
+            String errMsg = "Unable to retrieve property '" + name + "' from message " + message + ".";
+            logger.debug(errMsg, jmse);
+        }
+
+        return defaultValue;
+    }
+
+    public static class Request {
+
+        private final String msgCorrId;
+        private Destination replyTo;
+        private String targetCapability;
+        private String containerId;
+        private String conversationId;
+        private int interactionPattern;
+        private MarshallingFormat format;
+        private String classType;
+        private Marshaller marshaller;
+        private CommandScript script;
+
+        Request(String msgCorrId) {
+            this.msgCorrId = msgCorrId;
+        }
+
+        public String getMsgCorrId() {
+            return msgCorrId;
+        }
+
+        /**
+         * @return the destination the message asked its response to be sent to, if any
+         */
+        public Destination getReplyTo() {
+            return replyTo;
+        }
+
+        public String getTargetCapability() {
+            return targetCapability;
+        }
+
+        public String getContainerId() {
+            return containerId;
+        }
+
+        public int getInteractionPattern() {
+            return interactionPattern;
+        }
+
+        public boolean isReplyExpected() {
+            return interactionPattern < UPPER_LIMIT_REPLY_INTERACTION_PATTERNS;
+        }
+
+        public MarshallingFormat getFormat() {
+            return format;
+        }
+
+        public CommandScript getScript() {
+            return script;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.server.jms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.jms.BytesMessage;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageProducer;
+import javax.jms.Queue;
+import javax.jms.Session;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.api.model.ServiceResponsesList;
+import org.kie.server.services.impl.KieServerImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.kie.server.api.jms.JMSConstants.CONTAINER_ID_PROPERTY_NAME;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class KieServerBatchConsumerTest {
+
+    private ExecutorService executor;
+    private KieServerRequestHandler requestHandler;
+    private KieServerBatchConsumer consumer;
+
+    private Session session;
+    private MessageProducer producer;
+    private Queue responseQueue;
+
+    @Before
+    public void setup() throws JMSException {
+        executor = Executors.newFixedThreadPool(2);
+        requestHandler = spy(new KieServerRequestHandler(mock(KieServerImpl.class)));
+        doNothing().when(requestHandler).login(any(Message.class));
+        doNothing().when(requestHandler).logout();
+        consumer = new KieServerBatchConsumer(requestHandler, executor, 2);
+
+        session = mock(Session.class);
+        producer = mock(MessageProducer.class);
+        responseQueue = mock(Queue.class);
+        when(session.createBytesMessage()).thenAnswer(invocation -> mock(BytesMessage.class));
+    }
+
+    @After
+    public void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBatchCommittedWithReplies() throws JMSException {
+        Message first = request("container1", "1");
+        Message second = request("container2", "2");
+        Message third = request("container1", "3");
+
+        consumer.handleBatch(session, producer, responseQueue, Arrays.asList(first, second, third));
+
+        verify(producer, times(3)).send(eq(responseQueue), any(Message.class));
+        verify(session).commit();
+        verify(session, never()).rollback();
+        assertEquals(1, consumer.getMetrics().getBatches());
+        assertEquals(0, consumer.getMetrics().getFailures());
+    }
+
+    @Test
+    public void testRequestsOfSameContainerExecutedInOrder() throws JMSException {
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        List<Message> batch = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            batch.add(request("container" + (i % 3), String.valueOf(i)));
+        }
+        doAnswer(invocation -> {
+            KieServerRequestHandler.Request request = (KieServerRequestHandler.Request) invocation.getArguments()[0];
+            executed.add(request.getMsgCorrId());
+            return new ServiceResponsesList();
+        }).when(requestHandler).execute(any(KieServerRequestHandler.Request.class));
+
+        consumer.handleBatch(session, producer, responseQueue, batch);
+
+        assertEquals(12, executed.size());
+        for (int container = 0; container < 3; container++) {
+            int previous = -1;
+            for (String id : executed) {
+                int index = Integer.parseInt(id);
+                if (index % 3 == container) {
+                    assertTrue(index > previous);
+                    previous = index;
+                }
+            }
+        }
+        verify(session).commit();
+    }
+
+    @Test
+    public void testUnreadableMessageAnsweredWithFailure() throws JMSException {
+        Queue replyTo = mock(Queue.class);
+        Message unreadable = mock(Message.class);
+        when(unreadable.getJMSCorrelationID()).thenReturn("42");
+        when(unreadable.getJMSReplyTo()).thenReturn(replyTo);
+        doThrow(new JMSRuntimeException("Unable to unmarshall request")).when(requestHandler).readRequest(unreadable);
+
+        consumer.handleBatch(session, producer, responseQueue, Arrays.asList(unreadable));
+
+        verify(producer).send(eq(replyTo), any(BytesMessage.class));
+        verify(producer, never()).send(eq(responseQueue), any(Message.class));
+        verify(session).commit();
+        assertEquals(1, consumer.getMetrics().getFailures());
+    }
+
+    @Test
+    public void testBatchRolledBackWhenReplyCannotBeSent() throws JMSException {
+        Message message = request("container1", "1");
+        doThrow(new JMSException("broker unavailable")).when(producer).send(any(Queue.class), any(Message.class));
+
+        consumer.handleBatch(session, producer, responseQueue, Arrays.asList(message));
+
+        verify(session).rollback();
+        verify(session, never()).commit();
+        assertEquals(1, consumer.getMetrics().getRollbacks());
+    }
+
+    private Message request(String containerId, String correlationId) throws JMSException {
+        Message message = mock(Message.class);
+        when(message.propertyExists(CONTAINER_ID_PROPERTY_NAME)).thenReturn(true);
+        when(message.getStringProperty(CONTAINER_ID_PROPERTY_NAME)).thenReturn(containerId);
+        KieServerRequestHandler.Request request = new KieServerRequestHandler.Request(correlationId);
+        doReturn(request).when(requestHandler).readRequest(message);
+        List<ServiceResponse<? extends Object>> responses = new ArrayList<ServiceResponse<? extends Object>>();
+        responses.add(new ServiceResponse(ServiceResponse.ResponseType.SUCCESS, "OK"));
+        doReturn(new ServiceResponsesList(responses)).when(requestHandler).execute(request);
+        doReturn(mock(Message.class)).when(requestHandler).marshallResponse(eq(session), eq(request), any(ServiceResponsesList.class), eq(true));
+        return message;
+    }
+}
@@ -16,8 +16,10 @@
 package org.kie.server.remote.rest.dmn;
 
 import static org.kie.server.api.rest.RestURI.CONTAINER_ID;
+import static org.kie.server.api.rest.RestURI.DMN_BATCH_URI;
 import static org.kie.server.remote.rest.common.util.RestUtils.buildConversationIdHeader;
 import static org.kie.server.remote.rest.common.util.RestUtils.createCorrectVariant;
+import static org.kie.server.remote.rest.common.util.RestUtils.createResponse;
 import static org.kie.server.remote.rest.common.util.RestUtils.getContentType;
 import static org.kie.server.remote.rest.common.util.RestUtils.getVariant;
 import static org.kie.server.remote.rest.common.util.RestUtils.internalServerError;
@@ -33,11 +35,14 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.Variant;
 
 import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.api.model.dmn.DMNContextKSList;
 import org.kie.server.api.model.dmn.DMNModelInfoList;
 import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.api.model.dmn.DMNResultKSList;
 import org.kie.server.api.rest.RestURI;
 import org.kie.server.remote.rest.common.Header;
 import org.kie.server.services.dmn.ModelEvaluatorServiceBase;
@@ -116,5 +121,52 @@ public class ModelEvaluatorResource {
         }
     }
 
+    @ApiOperation(value="Evaluates decisions of a single model for every context of the batch, results are returned in the order of given contexts",
+            response=ServiceResponse.class, code=200)
+    @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"), @ApiResponse(code = 404, message = "Container or model not found"),
+                            @ApiResponse(code = 400, message = "Malformed batch payload") })
+    @POST
+    @Path(DMN_BATCH_URI)
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response evaluateDecisionsBatch(@javax.ws.rs.core.Context HttpHeaders headers, 
+            @ApiParam(value = "Container id to be used to evaluate decisions on", required = true) @PathParam(CONTAINER_ID) String containerId, 
+            @ApiParam(value = "DMN contexts to be evaluated as DMNContextKSList type", required = true) String payload) {
+        LOG.debug( "About to evaluateDecisionsBatch() on container {}", containerId );
+        Variant v = getVariant( headers );
+        Header conversationIdHeader = buildConversationIdHeader(containerId, modelEvaluatorService.getKieServerRegistry(), headers);
+        try {
+            String contentType = getContentType( headers );
+
+            DMNContextKSList batch;
+            try {
+                batch = modelEvaluatorService.unmarshalBatch(containerId, payload, contentType);
+            } catch (IllegalArgumentException e) {
+                // container or its marshaller is not available
+                return batchFailure(containerId, e, headers, Response.Status.NOT_FOUND, conversationIdHeader);
+            } catch (Exception e) {
+                LOG.debug("Unable to unmarshal batch payload for container {}", containerId, e);
+                return batchFailure(containerId, e, headers, Response.Status.BAD_REQUEST, conversationIdHeader);
+            }
+            try {
+                modelEvaluatorService.validateBatch(containerId, batch);
+            } catch (Exception e) {
+                return batchFailure(containerId, e, headers, Response.Status.NOT_FOUND, conversationIdHeader);
+            }
+            // results are written out as contexts get evaluated so large batches are streamed back
+            StreamingOutput entity = output -> modelEvaluatorService.evaluateDecisionsBatch(containerId, batch, contentType, output);
+
+            return createResponse(entity, v, Response.Status.OK, conversationIdHeader);
+        }  catch (Exception e) {
+            LOG.error("Unexpected error evaluating batch. Message: '{}'", e.getMessage(), e);
+            return internalServerError(MessageFormat.format( "ERROR", e.getMessage()), v, conversationIdHeader);
+        }
+    }
+
+    private Response batchFailure(String containerId, Exception e, HttpHeaders headers, Response.Status status, Header conversationIdHeader) {
+        ServiceResponse<DMNResultKSList> result = new ServiceResponse<DMNResultKSList>(ServiceResponse.ResponseType.FAILURE,
+                                                                                       "Error from container '" + containerId + "'" + e.getMessage());
+        return createCorrectVariant(marshallerHelper, containerId, result, headers, status, conversationIdHeader);
+    }
 
 }
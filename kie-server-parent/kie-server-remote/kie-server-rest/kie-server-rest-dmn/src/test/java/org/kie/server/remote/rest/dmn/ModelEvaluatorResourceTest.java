@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.server.remote.rest.dmn;
+
+import java.util.Collections;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.Response;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.server.api.marshalling.MarshallingException;
+import org.kie.server.api.model.dmn.DMNContextKSList;
+import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.dmn.ModelEvaluatorServiceBase;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ModelEvaluatorResourceTest {
+
+    private static final String CONTAINER_ID = "container";
+    private static final String PAYLOAD = "{\"model-namespace\" : ";
+
+    @Mock
+    private HttpHeaders httpHeaders;
+
+    @Mock
+    private ModelEvaluatorServiceBase modelEvaluatorService;
+
+    @Mock
+    private KieServerRegistry registry;
+
+    private ModelEvaluatorResource resource;
+
+    @Before
+    public void init() {
+        when(httpHeaders.getRequestHeaders()).thenReturn(new MultivaluedHashMap<>());
+        when(httpHeaders.getRequestHeader(HttpHeaders.CONTENT_TYPE)).thenReturn(Collections.singletonList(MediaType.APPLICATION_JSON));
+        when(modelEvaluatorService.getKieServerRegistry()).thenReturn(registry);
+
+        resource = new ModelEvaluatorResource(modelEvaluatorService);
+    }
+
+    @Test
+    public void testMalformedBatchPayload() {
+        when(modelEvaluatorService.unmarshalBatch(CONTAINER_ID, PAYLOAD, MediaType.APPLICATION_JSON))
+                .thenThrow(new MarshallingException("Error unmarshalling input"));
+
+        Response response = resource.evaluateDecisionsBatch(httpHeaders, CONTAINER_ID, PAYLOAD);
+
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        verify(modelEvaluatorService, never()).validateBatch(anyString(), any(DMNContextKSList.class));
+    }
+
+    @Test
+    public void testBatchForUnknownContainer() {
+        when(modelEvaluatorService.unmarshalBatch(CONTAINER_ID, PAYLOAD, MediaType.APPLICATION_JSON))
+                .thenThrow(new IllegalArgumentException("No container found for id " + CONTAINER_ID));
+
+        Response response = resource.evaluateDecisionsBatch(httpHeaders, CONTAINER_ID, PAYLOAD);
+
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
+    }
+
+    @Test
+    public void testBatchForUnknownModel() {
+        DMNContextKSList batch = new DMNContextKSList("https://github.com/kiegroup/kie-dmn/unknown", "unknown", Collections.emptyList());
+        when(modelEvaluatorService.unmarshalBatch(CONTAINER_ID, PAYLOAD, MediaType.APPLICATION_JSON)).thenReturn(batch);
+        doThrow(new IllegalArgumentException("Model not found")).when(modelEvaluatorService).validateBatch(CONTAINER_ID, batch);
+
+        Response response = resource.evaluateDecisionsBatch(httpHeaders, CONTAINER_ID, PAYLOAD);
+
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
+    }
+}
@@ -18,9 +18,11 @@ package org.kie.server.remote.rest.jbpm;
 import static org.kie.server.api.rest.RestURI.CONTAINER_ID;
 import static org.kie.server.api.rest.RestURI.CREATE_QUERY_DEF_POST_URI;
 import static org.kie.server.api.rest.RestURI.DROP_QUERY_DEF_DELETE_URI;
+import static org.kie.server.api.rest.RestURI.EXPORT_QUERY_DEF_POST_URI;
 import static org.kie.server.api.rest.RestURI.QUERY_DEF_GET_URI;
 import static org.kie.server.api.rest.RestURI.QUERY_DEF_URI;
 import static org.kie.server.api.rest.RestURI.REPLACE_QUERY_DEF_PUT_URI;
+import static org.kie.server.api.rest.RestURI.RUN_CURSOR_QUERY_DEF_POST_URI;
 import static org.kie.server.api.rest.RestURI.RUN_FILTERED_QUERY_DEF_BY_CONTAINER_POST_URI;
 import static org.kie.server.api.rest.RestURI.RUN_FILTERED_QUERY_DEF_POST_URI;
 import static org.kie.server.api.rest.RestURI.RUN_QUERY_DEF_GET_URI;
@@ -63,18 +65,21 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.Variant;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.dashbuilder.dataset.exception.DataSetLookupException;
 import org.jbpm.services.api.query.QueryAlreadyRegisteredException;
 import org.jbpm.services.api.query.QueryNotFoundException;
+import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.model.definition.QueryDefinition;
 import org.kie.server.api.model.definition.QueryDefinitionList;
 import org.kie.server.common.rest.HttpStatusCodeException;
 import org.kie.server.remote.rest.common.Header;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.jbpm.QueryDataServiceBase;
+import org.kie.server.services.jbpm.QueryDataServiceBase.CursorResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -92,6 +97,9 @@ public class QueryDataResource {
 
     public static final Logger logger = LoggerFactory.getLogger( QueryDataResource.class );
 
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String CSV_MEDIA_TYPE = "text/csv";
+
     private QueryDataServiceBase queryDataServiceBase;
     private KieServerRegistry context;
 
@@ -489,4 +497,146 @@ public class QueryDataResource {
         }
     }
 
+    @ApiOperation(value="Returns a page of results of a specified custom query using keyset pagination. Results are ordered by the key column and the continuation token of the next page is returned in the X-KIE-ContinuationToken header, no header is returned for the last page.",
+            response=Object.class, code=200)
+    @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"),
+            @ApiResponse(code = 400, message = "Query parameters, filter spec or continuation token are invalid"),
+            @ApiResponse(code = 200, message = "Successfull response", examples=@Example(value= {
+                    @ExampleProperty(mediaType=JSON, value=GET_PROCESS_INSTANCES_RESPONSE_JSON)}))})
+    @POST
+    @Path(RUN_CURSOR_QUERY_DEF_POST_URI)
+    @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    public Response runQueryWithCursor( @Context HttpHeaders headers,
+            @ApiParam(value = "identifier of the query definition to be used for query", required = true, example = "customQuery") @PathParam("queryName") String queryName,
+            @ApiParam(value = "identifier of the query mapper to be used when transforming results", required = true) @QueryParam("mapper") String mapper,
+            @ApiParam(value = "optional column with unique values results are ordered and paged by, defaults to id column of process instance and task mappers", required = false) @QueryParam("keyColumn") String keyColumn,
+            @ApiParam(value = "optional continuation token returned with previous page, first page is returned when not given", required = false) @QueryParam("cursor") String cursor,
+            @ApiParam(value = "optional pagination - size of the result, defaults to 10", required = false) @QueryParam("pageSize") @DefaultValue("10") Integer pageSize,
+            @ApiParam(value = "optional query filter specification represented as QueryFilterSpec", required = false, examples=@Example(value= {
+                    @ExampleProperty(mediaType=JSON, value=QUERY_FILTER_SPEC_JSON),
+                    @ExampleProperty(mediaType=XML, value=QUERY_FILTER_SPEC_XML)})) String payload ) {
+
+        String type = getContentType( headers );
+        Header conversationIdHeader = buildConversationIdHeader( "",
+                                                                 context,
+                                                                 headers );
+        try {
+            CursorResult result = queryDataServiceBase.queryFilteredWithCursor( null,
+                                                                                queryName,
+                                                                                mapper,
+                                                                                keyColumn,
+                                                                                cursor,
+                                                                                pageSize,
+                                                                                payload,
+                                                                                type );
+            logger.debug( "Returning result of cursor query: {}",
+                          result.getResult() );
+            Header continuationHeader = result.getNextCursor() == null ? null : new Header( KieServerConstants.KIE_CONTINUATION_TOKEN_HEADER,
+                                                                                              result.getNextCursor() );
+
+            return createCorrectVariant( result.getResult(),
+                                         headers,
+                                         Response.Status.OK,
+                                         conversationIdHeader,
+                                         continuationHeader );
+        } catch ( Exception e ) {
+            return queryFailed( e,
+                                headers,
+                                conversationIdHeader );
+        }
+    }
+
+    @ApiOperation(value="Exports all results of a specified custom query as newline delimited JSON or CSV. Rows are streamed in batches as they are loaded, selected by keyset conditions on given key column - the key column is required, must hold unique values and defines the (ascending) order of exported rows.",
+            code=200)
+    @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"),
+            @ApiResponse(code = 400, message = "Unsupported format, missing key column or invalid filter spec"),
+            @ApiResponse(code = 404, message = "Query definition with given name not found")})
+    @POST
+    @Path(EXPORT_QUERY_DEF_POST_URI)
+    @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Produces({NDJSON_MEDIA_TYPE, CSV_MEDIA_TYPE})
+    public Response exportQuery( @Context HttpHeaders headers,
+            @ApiParam(value = "identifier of the query definition to be exported", required = true, example = "customQuery") @PathParam("queryName") String queryName,
+            @ApiParam(value = "optional format of exported rows - ndjson or csv, defaults to ndjson", required = false) @QueryParam("format") @DefaultValue(QueryDataServiceBase.EXPORT_FORMAT_NDJSON) String format,
+            @ApiParam(value = "column with unique values rows are ordered by and loaded in keyset batches by", required = true) @QueryParam("keyColumn") String keyColumn,
+            @ApiParam(value = "optional number of rows loaded at once, defaults to 1000", required = false) @QueryParam("batchSize") Integer batchSize,
+            @ApiParam(value = "optional query filter specification represented as QueryFilterSpec", required = false, examples=@Example(value= {
+                    @ExampleProperty(mediaType=JSON, value=QUERY_FILTER_SPEC_JSON),
+                    @ExampleProperty(mediaType=XML, value=QUERY_FILTER_SPEC_XML)})) String payload ) {
+
+        String type = getContentType( headers );
+        Header conversationIdHeader = buildConversationIdHeader( "",
+                                                                 context,
+                                                                 headers );
+        String mediaType;
+        if ( QueryDataServiceBase.EXPORT_FORMAT_CSV.equalsIgnoreCase( format ) ) {
+            mediaType = CSV_MEDIA_TYPE;
+        } else if ( QueryDataServiceBase.EXPORT_FORMAT_NDJSON.equalsIgnoreCase( format ) ) {
+            mediaType = NDJSON_MEDIA_TYPE;
+        } else {
+            return badRequest( MessageFormat.format( BAD_REQUEST,
+                                                     "Unsupported export format " + format ),
+                               getVariant( headers ),
+                               conversationIdHeader );
+        }
+        QueryDataServiceBase.QueryExport export;
+        try {
+            // fail before streaming starts when the query does not exist or the request is invalid
+            export = queryDataServiceBase.prepareExport( queryName,
+                                                         format,
+                                                         keyColumn,
+                                                         batchSize,
+                                                         payload,
+                                                         type );
+        } catch ( QueryNotFoundException e ) {
+            return notFound( MessageFormat.format( QUERY_NOT_FOUND,
+                                                   queryName ),
+                             getVariant( headers ),
+                             conversationIdHeader );
+        } catch ( IllegalArgumentException e ) {
+            return badRequest( MessageFormat.format( BAD_REQUEST,
+                                                     e.getMessage() ),
+                               getVariant( headers ),
+                               conversationIdHeader );
+        }
+
+        StreamingOutput entity = export::writeTo;
+        Response.ResponseBuilder builder = Response.ok( entity,
+                                                        mediaType );
+        if ( conversationIdHeader != null ) {
+            builder.header( conversationIdHeader.getName(),
+                            conversationIdHeader.getValue() );
+        }
+        return builder.build();
+    }
+
+    private Response queryFailed( Exception e,
+                                  HttpHeaders headers,
+                                  Header conversationIdHeader ) {
+        Throwable root = ExceptionUtils.getRootCause( e );
+        if ( root == null ) {
+            root = e;
+        }
+        if ( HttpStatusCodeException.BAD_REQUEST.contains( root.getClass() ) || e instanceof DataSetLookupException) {
+
+            logger.error( "{}",
+                          MessageFormat.format( BAD_REQUEST,
+                                                root.getMessage() ),
+                          e );
+
+            return badRequest( MessageFormat.format( BAD_REQUEST,
+                                                     root.getMessage() ),
+                               getVariant( headers ),
+                               conversationIdHeader );
+        } else {
+            logger.error( "Unexpected error",
+                          e );
+
+            return internalServerError( errorMessage(e),
+                                        getVariant( headers ),
+                                        conversationIdHeader );
+        }
+    }
+
 }
@@ -50,6 +50,7 @@ import org.kie.server.api.model.instance.TaskComment;
 import org.kie.server.api.model.instance.TaskCommentList;
 import org.kie.server.api.model.instance.TaskEventInstanceList;
 import org.kie.server.api.model.instance.TaskInstance;
+import org.kie.server.api.model.instance.TaskOperationResultList;
 import org.kie.server.remote.rest.common.Header;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.jbpm.RuntimeDataServiceBase;
@@ -58,6 +59,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.kie.server.api.rest.RestURI.CONTAINER_ID;
+import static org.kie.server.api.rest.RestURI.TASK_INSTANCES_BULK_POST_URI;
 import static org.kie.server.api.rest.RestURI.TASK_INSTANCE_ACTIVATE_PUT_URI;
 import static org.kie.server.api.rest.RestURI.TASK_INSTANCE_ATTACHMENTS_GET_URI;
 import static org.kie.server.api.rest.RestURI.TASK_INSTANCE_ATTACHMENT_ADD_POST_URI;
@@ -549,6 +551,31 @@ public class UserTaskResource {
         }
     }
 
+    @ApiOperation(value="Executes lifecycle operations (claim, start, complete, release, delegate, ...) on many task instances at once. Operations are grouped by the container their task belongs to and executed in batched transactions, an outcome is returned for every operation.",
+            response=TaskOperationResultList.class, code=200)
+    @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error")})
+    @POST
+    @Path(TASK_INSTANCES_BULK_POST_URI)
+    @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    public Response executeTaskOperations(@Context HttpHeaders headers,
+            @ApiParam(value = "container id or alias that task instances belong to", required = true, example = "evaluation_1.0.0-SNAPSHOT") @PathParam(CONTAINER_ID) String containerId,
+            @ApiParam(value = "optional user id to be used instead of authenticated user - only when bypass authenticated user is enabled", required = false) @QueryParam("user") String userId,
+            @ApiParam(value = "list of task operations with optional batch size", required = true) String payload) {
+
+        Variant v = getVariant(headers);
+        String type = getContentType(headers);
+        Header conversationIdHeader = buildConversationIdHeader(containerId, context, headers);
+        try {
+            String response = userTaskServiceBase.executeTaskOperations(containerId, userId, payload, type);
+
+            return createResponse(response, v, Response.Status.OK, conversationIdHeader);
+        } catch (Exception e) {
+            logger.error("Unexpected error during processing {}", e.getMessage(), e);
+            return internalServerError(errorMessage(e), v, conversationIdHeader);
+        }
+    }
+
     @ApiOperation(value="Updates the priority of a specified task instance.",
             response=Void.class, code=201)
     @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"), @ApiResponse(code = 404, message = "Task with given id not found") })
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.server.remote.rest.jbpm;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.jbpm.services.api.DefinitionService;
+import org.jbpm.services.api.DeploymentNotFoundException;
+import org.jbpm.services.api.ProcessService;
+import org.jbpm.services.api.RuntimeDataService;
+import org.jbpm.services.api.model.ProcessDefinition;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.model.instance.ProcessStartRequest;
+import org.kie.server.api.model.instance.ProcessStartRequestList;
+import org.kie.server.api.model.instance.ProcessStartResult;
+import org.kie.server.api.model.instance.ProcessStartResultList;
+import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.impl.marshal.MarshallerHelper;
+import org.kie.server.services.jbpm.ProcessServiceBase;
+import org.kie.server.services.jbpm.RuntimeDataServiceBase;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProcessResourceTest {
+
+    private static final String CONTAINER_ID = "container";
+    private static final String PAYLOAD = "payload";
+
+    private Marshaller marshaller = MarshallerFactory.getMarshaller(MarshallingFormat.JSON, this.getClass().getClassLoader());
+
+    @Mock
+    private HttpHeaders httpHeaders;
+
+    @Mock
+    private ProcessService processService;
+
+    @Mock
+    private DefinitionService definitionService;
+
+    @Mock
+    private RuntimeDataService runtimeDataService;
+
+    @Mock
+    private RuntimeDataServiceBase runtimeDataServiceBase;
+
+    @Mock
+    private KieServerRegistry context;
+
+    @Mock
+    private MarshallerHelper marshallerHelper;
+
+    private ProcessResource processResource;
+
+    @Before
+    public void init() {
+        when(httpHeaders.getRequestHeaders()).thenReturn(new MultivaluedHashMap<>());
+        when(httpHeaders.getRequestHeader(HttpHeaders.CONTENT_TYPE)).thenReturn(Collections.singletonList(MediaType.APPLICATION_JSON));
+        when(context.getContainerId(eq(CONTAINER_ID), any())).thenReturn(CONTAINER_ID);
+        when(marshallerHelper.marshal(eq(CONTAINER_ID), eq(MediaType.APPLICATION_JSON), any()))
+                .thenAnswer(invocation -> marshaller.marshall(invocation.getArguments()[2]));
+
+        ProcessServiceBase processServiceBase = new ProcessServiceBase(processService, definitionService, runtimeDataService, context);
+        processServiceBase.setMarshallerHelper(marshallerHelper);
+        processResource = new ProcessResource(processServiceBase, runtimeDataServiceBase, context);
+    }
+
+    @Test
+    public void testStartProcessesStreamsFailurePartway() throws Exception {
+        ProcessStartRequestList requests = new ProcessStartRequestList(new ProcessStartRequest[]{
+                new ProcessStartRequest("evaluation", Collections.emptyMap()),
+                new ProcessStartRequest("broken", Collections.emptyMap()),
+                new ProcessStartRequest("evaluation", Collections.emptyMap())});
+        requests.setChunkSize(1);
+        when(marshallerHelper.unmarshal(CONTAINER_ID, PAYLOAD, MediaType.APPLICATION_JSON, ProcessStartRequestList.class)).thenReturn(requests);
+        when(definitionService.getProcessDefinition(eq(CONTAINER_ID), anyString())).thenReturn(mock(ProcessDefinition.class));
+        when(processService.startProcess(eq(CONTAINER_ID), eq("evaluation"), anyMap())).thenReturn(1L, 2L);
+        when(processService.startProcess(eq(CONTAINER_ID), eq("broken"), anyMap())).thenThrow(new RuntimeException("broken process"));
+
+        Response response = processResource.startProcesses(httpHeaders, CONTAINER_ID, PAYLOAD);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(output);
+        ProcessStartResultList resultList = marshaller.unmarshall(new String(output.toByteArray(), StandardCharsets.UTF_8), ProcessStartResultList.class);
+
+        List<ProcessStartResult> results = resultList.getItems();
+        assertEquals(3, results.size());
+        assertEquals(Long.valueOf(1), results.get(0).getProcessInstanceId());
+        assertNull(results.get(0).getErrorMessage());
+        assertEquals(Integer.valueOf(1), results.get(1).getIndex());
+        assertNull(results.get(1).getProcessInstanceId());
+        assertEquals("broken process", results.get(1).getErrorMessage());
+        assertEquals(Long.valueOf(2), results.get(2).getProcessInstanceId());
+        assertNull(results.get(2).getErrorMessage());
+    }
+
+    @Test
+    public void testStartProcessesUnknownContainer() {
+        when(marshallerHelper.unmarshal(CONTAINER_ID, PAYLOAD, MediaType.APPLICATION_JSON, ProcessStartRequestList.class))
+                .thenThrow(new DeploymentNotFoundException("not found"));
+
+        Response response = processResource.startProcesses(httpHeaders, CONTAINER_ID, PAYLOAD);
+
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
+        verifyZeroInteractions(processService);
+    }
+}
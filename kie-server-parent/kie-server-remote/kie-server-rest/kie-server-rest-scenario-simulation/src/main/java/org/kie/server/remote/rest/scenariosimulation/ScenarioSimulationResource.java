@@ -19,6 +19,7 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -65,6 +66,7 @@ public class ScenarioSimulationResource {
     @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
     public Response executeSimulation(@Context HttpHeaders headers,
                                       @ApiParam(value = "Container id", required = true) @PathParam(CONTAINER_ID) String containerId,
+                                      @ApiParam(value = "optional number of threads scenarios are executed with, scenarios are executed serially when not given unless configured otherwise on the server", required = false) @QueryParam("parallelism") Integer parallelism,
                                       @ApiParam(value = "Test scenario file content to be executed", required = true) String rawContent) {
         KieContainer kieContainer = null;
         ScenarioSimulationModel model = null;
@@ -94,7 +96,7 @@ public class ScenarioSimulationResource {
 
         try {
             return createCorrectVariant(
-                    scenarioSimulationService.executeScenario(kieContainer, model),
+                    parallelism == null ? scenarioSimulationService.executeScenario(kieContainer, model) : scenarioSimulationService.executeScenario(kieContainer, model, parallelism),
                     headers,
                     Response.Status.OK,
                     conversationIdHeader);
@@ -69,6 +69,8 @@ import org.kie.server.router.handlers.QueriesHttpHandler;
 import org.kie.server.router.identity.IdentityService;
 import org.kie.server.router.proxy.KieServerProxyClient;
 import org.kie.server.router.repository.FileRepository;
+import org.kie.server.router.repository.ReplicatedConfigRepository;
+import org.kie.server.router.repository.UdpReplicationChannel;
 import org.kie.server.router.spi.ConfigRepository;
 import org.kie.server.router.utils.HttpUtils;
 import org.kie.server.router.utils.SSLContextBuilder;
@@ -121,7 +123,7 @@ public class KieServerRouter {
     private ServiceLoader<ConfigRepository> configRepositoryServiceLoader = ServiceLoader.load(ConfigRepository.class);
 
     private Undertow server;
-    private ConfigRepository repository = new FileRepository();
+    private ConfigRepository repository = createDefaultRepository();
 
     private ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
     private ScheduledFuture<?> controllerConnectionAttempts;
@@ -427,6 +429,17 @@ public class KieServerRouter {
         throw new IdentityServiceNotFound("Identity Provider " + identityServiceName + " not found !");
     }
 
+    private static ConfigRepository createDefaultRepository() {
+        if (Boolean.parseBoolean(System.getProperty(KieServerRouterConstants.CONFIG_REPLICATION_ENABLED, "false"))) {
+            UdpReplicationChannel channel = new UdpReplicationChannel(UdpReplicationChannel.parseBindAddress(System.getProperty(KieServerRouterConstants.CONFIG_REPLICATION_BIND_ADDRESS)),
+                                                                      Integer.parseInt(System.getProperty(KieServerRouterConstants.CONFIG_REPLICATION_PORT, "9100")),
+                                                                      UdpReplicationChannel.parsePeers(System.getProperty(KieServerRouterConstants.CONFIG_REPLICATION_PEERS)),
+                                                                      System.getProperty(KieServerRouterConstants.CONFIG_REPLICATION_SECRET));
+            return new ReplicatedConfigRepository(channel, new FileRepository());
+        }
+        return new FileRepository();
+    }
+
     private static boolean isManagementSecured() {
         return Boolean.parseBoolean(System.getProperty(KIE_ROUTER_MANAGEMENT_SECURED, "false"));
     }
@@ -38,6 +38,16 @@ public class KieServerRouterConstants {
     public static final String KIE_CONTROLLER_TOKEN = "org.kie.server.controller.token";
     public static final String CONFIG_FILE_WATCHER_ENABLED = "org.kie.server.router.config.watcher.enabled";
     public static final String CONFIG_FILE_WATCHER_INTERVAL = "org.kie.server.router.config.watcher.interval";
+    public static final String CONFIG_REPLICATION_ENABLED = "org.kie.server.router.config.replication.enabled";
+    public static final String CONFIG_REPLICATION_PORT = "org.kie.server.router.config.replication.port";
+    public static final String CONFIG_REPLICATION_PEERS = "org.kie.server.router.config.replication.peers";
+    public static final String CONFIG_REPLICATION_BIND_ADDRESS = "org.kie.server.router.config.replication.bind.address";
+    public static final String CONFIG_REPLICATION_SECRET = "org.kie.server.router.config.replication.secret";
+    public static final String CONFIG_REPLICATION_NODE_ID = "org.kie.server.router.config.replication.node.id";
+    public static final String CONFIG_REPLICATION_SYNC_INTERVAL = "org.kie.server.router.config.replication.sync.interval";
+    public static final String CONFIG_REPLICATION_JOIN_TIMEOUT = "org.kie.server.router.config.replication.join.timeout";
+    public static final String ROUTER_RESPONSE_CACHE_TTL = "org.kie.server.router.response.cache.ttl";
+    public static final String ROUTER_RESPONSE_CACHE_SIZE = "org.kie.server.router.response.cache.size";
     public static final String KIE_SERVER_CONTROLLER_ATTEMPT_INTERVAL = "org.kie.server.controller.retry.interval";
     public static final String KIE_SERVER_RECOVERY_ATTEMPT_LIMIT = "org.kie.server.recovery.retry.limit";
 
@@ -71,6 +71,21 @@ public abstract class AbstractAggregateHttpHandler implements HttpHandler {
             httpHandler.handleRequest(exchange);
             return;
         }
+        ResponseCache responseCache = adminHandler.getResponseCache();
+        boolean cacheable = responseCache.isEnabled() && isCacheable(exchange);
+        String cacheKey = null;
+        long cacheGeneration = 0;
+        if (cacheable) {
+            // key is calculated before paging parameters are altered below
+            cacheKey = ResponseCache.key(exchange);
+            ResponseCache.CachedResponse cached = responseCache.get(cacheKey);
+            if (cached != null) {
+                log.debugf("Serving '%s' from response cache", exchange.getRequestPath());
+                sendResponse(exchange, cached.getHeaders(), cached.getBody(), cached.getETag());
+                return;
+            }
+            cacheGeneration = responseCache.getGeneration();
+        }
         Map<String, Deque<String>> queryParams = exchange.getQueryParameters();
         // collect and alter paging
         Integer page = 0;
@@ -137,10 +152,6 @@ public abstract class AbstractAggregateHttpHandler implements HttpHandler {
             returnResponses = Collections.singletonList(returnResponses.get(0));
         }
 
-        responseHeaders.forEach((name, value) -> {
-            exchange.getResponseHeaders().putAll(HttpString.tryFromString(name), value);
-        });
-
         String response = null;
         if (supportAdvancedAggregate()) {
             response = responseAggregator.aggregate(returnResponses, sortBy, sortOder, page, pageSize);
@@ -148,8 +159,33 @@ public abstract class AbstractAggregateHttpHandler implements HttpHandler {
             response = responseAggregator.aggregate(returnResponses);
         }
 
+        if (cacheable) {
+            ResponseCache.CachedResponse cached = responseCache.put(cacheKey, cacheGeneration, responseHeaders, response);
+            sendResponse(exchange, cached.getHeaders(), cached.getBody(), cached.getETag());
+        } else {
+            sendResponse(exchange, responseHeaders, response, null);
+        }
+    }
 
+    /**
+     * Indicates if the aggregated response of the given GET request can be served from the response cache,
+     * by default responses are not cached.
+     */
+    protected boolean isCacheable(HttpServerExchange exchange) {
+        return false;
+    }
 
+    protected void sendResponse(HttpServerExchange exchange, Map<String, List<String>> responseHeaders, String response, String etag) throws Exception {
+        if (etag != null && ResponseCache.matches(exchange, etag)) {
+            ResponseCache.sendNotModified(exchange, etag);
+            return;
+        }
+        responseHeaders.forEach((name, value) -> {
+            exchange.getResponseHeaders().putAll(HttpString.tryFromString(name), value);
+        });
+        if (etag != null) {
+            exchange.getResponseHeaders().put(Headers.ETAG, etag);
+        }
         exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, response.getBytes("UTF-8").length);
         exchange.getResponseSender().send(response);
     }
@@ -61,6 +61,7 @@ public class AdminHttpHandler implements HttpHandler {
     
     private ConfigRepository repository = null;
     private ConfigurationMarshaller marshaller = new ConfigurationMarshaller();
+    private ResponseCache responseCache = new ResponseCache();
 
     private Set<String> controllerContainers = new HashSet<>();
 
@@ -94,6 +95,7 @@ public class AdminHttpHandler implements HttpHandler {
         this.configuration = configuration;
         this.repository = repository;
         this.executorService = executorService;
+        this.configuration.addListener(responseCache);
 
         this.aggregators.add(new JSONResponseAggregator());
         this.aggregators.add(new XstreamXMLResponseAggregator());
@@ -141,6 +143,8 @@ public class AdminHttpHandler implements HttpHandler {
                         
                         repository.persist(configuration);
                     }
+                    // container infos are not notified to listeners
+                    responseCache.invalidate();
     
                     updateControllerOnAdd(containerId, releaseId, alias, containerInfo);
     
@@ -159,6 +163,7 @@ public class AdminHttpHandler implements HttpHandler {
                         
                         repository.persist(configuration);
                     }
+                    responseCache.invalidate();
                     
                     updateControllerOnRemove(containerId);
                     
@@ -190,6 +195,11 @@ public class AdminHttpHandler implements HttpHandler {
     public Configuration getConfiguration() {
         return configuration;
     }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
     public void removeUnavailableServer(String url) {
         synchronized (configuration) {
             configuration.reloadFromRepository(repository);
@@ -218,10 +228,16 @@ public class AdminHttpHandler implements HttpHandler {
                         
                         synchronized (configuration) {
                             configuration.reloadFromRepository(repository);
+                            // with a replicated configuration another router may have added it back already
                             for (String containerId : fHost.getContainers()) {
-                                configuration.addContainerHost(containerId, fHost.getServerUrl());
+                                if (!configuration.getHostsPerContainer().getOrDefault(containerId, Collections.emptyList()).contains(fHost.getServerUrl())) {
+                                    configuration.addContainerHost(containerId, fHost.getServerUrl());
+                                }
+                            }
+                            if (fHost.getServerId() != null
+                                    && !configuration.getHostsPerServer().getOrDefault(fHost.getServerId(), Collections.emptyList()).contains(fHost.getServerUrl())) {
+                                configuration.addServerHost(fHost.getServerId(), fHost.getServerUrl());
                             }
-                            configuration.addServerHost(fHost.getServerId(), fHost.getServerUrl());
 
                             repository.persist(configuration);
                         }                        
@@ -16,6 +16,7 @@
 package org.kie.server.router.handlers;
 
 import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
 
 public class ContainersHttpHandler extends AbstractAggregateHttpHandler {
 
@@ -27,4 +28,9 @@ public class ContainersHttpHandler extends AbstractAggregateHttpHandler {
     protected boolean supportAdvancedAggregate() {
         return false;
     }
+
+    @Override
+    protected boolean isCacheable(HttpServerExchange exchange) {
+        return true;
+    }
 }
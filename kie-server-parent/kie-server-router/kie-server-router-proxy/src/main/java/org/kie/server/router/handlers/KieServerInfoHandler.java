@@ -80,6 +80,10 @@ public class KieServerInfoHandler implements HttpHandler {
                            "</capabilities>\n"+                           
                            "</result>\n"+
                            "</org.kie.server.api.model.ServiceResponse>"; 
+
+    private static final String JAXB_ETAG = ResponseCache.etag(JAXB_RESPONSE);
+    private static final String JSON_ETAG = ResponseCache.etag(JSON_RESPONSE);
+    private static final String XSTREAM_ETAG = ResponseCache.etag(XSTREAM_RESPONSE);
     
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
@@ -105,17 +109,26 @@ public class KieServerInfoHandler implements HttpHandler {
         }
         
         String response = JAXB_RESPONSE;
+        String etag = JAXB_ETAG;
         String contentTypeResponse = "application/xml";
         
         if (acceptRequest.toLowerCase().contains("json") || kieContentTypeRequest.toLowerCase().contains("json")) {
             response = JSON_RESPONSE;
+            etag = JSON_ETAG;
             contentTypeResponse = "application/json";
         } else if (kieContentTypeRequest.toLowerCase().contains("xstream")) {
             response = XSTREAM_RESPONSE;
+            etag = XSTREAM_ETAG;
             contentTypeResponse = "application/xml";
         }
+
+        if (ResponseCache.matches(exchange, etag)) {
+            ResponseCache.sendNotModified(exchange, etag);
+            return;
+        }
         
         exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, contentTypeResponse);
+        exchange.getResponseHeaders().put(Headers.ETAG, etag);
         exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, response.getBytes("UTF-8").length);
         exchange.getResponseSender().send(response);
 
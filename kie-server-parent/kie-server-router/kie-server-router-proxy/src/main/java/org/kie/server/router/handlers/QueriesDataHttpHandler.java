@@ -36,10 +36,34 @@ import org.kie.server.router.proxy.aggragate.ResponseAggregator;
 
 public class QueriesDataHttpHandler extends AbstractAggregateHttpHandler {
 
+    private static final String DEFINITIONS_PATH = "/queries/definitions";
+
     public QueriesDataHttpHandler(HttpHandler httpHandler, AdminHttpHandler adminHandler) {
         super(httpHandler, adminHandler);
     }
 
+    @Override
+    protected boolean isCacheable(HttpServerExchange exchange) {
+        return isDefinitionLookup(exchange.getRequestPath());
+    }
+
+    /**
+     * Query definitions only change when they are registered or removed through the router, which invalidates
+     * the cache, while query data (e.g. <code>/queries/definitions/{name}/data</code>) is live.
+     */
+    static boolean isDefinitionLookup(String requestPath) {
+        int index = requestPath.indexOf(DEFINITIONS_PATH);
+        if (index == -1) {
+            return false;
+        }
+        String definition = requestPath.substring(index + DEFINITIONS_PATH.length());
+        if (definition.endsWith("/")) {
+            definition = definition.substring(0, definition.length() - 1);
+        }
+        // either all definitions or a single one by name
+        return definition.isEmpty() || definition.lastIndexOf('/') == 0;
+    }
+
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
         if (exchange.getRequestMethod().equals(HttpString.tryFromString("OPTIONS"))) {
@@ -153,6 +177,7 @@ public class QueriesDataHttpHandler extends AbstractAggregateHttpHandler {
             })
                     .filter(msg -> msg != null)
                     .collect(Collectors.toList());
+            adminHandler.getResponseCache().invalidate();
 
             responseHeaders.forEach((name, value) -> {
                 exchange.getResponseHeaders().putAll(HttpString.tryFromString(name), value);
@@ -179,6 +204,7 @@ public class QueriesDataHttpHandler extends AbstractAggregateHttpHandler {
 
 
             });
+            adminHandler.getResponseCache().invalidate();
 
             responseHeaders.forEach((name, value) -> {
                 exchange.getResponseHeaders().putAll(HttpString.tryFromString(name), value);
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.handlers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+import org.jboss.logging.Logger;
+import org.kie.server.router.ConfigurationListener;
+import org.kie.server.router.KieServerRouterConstants;
+
+/**
+ * In memory cache for the aggregated responses of read mostly endpoints, e.g. containers or query definitions.
+ * Entries are invalidated as soon as the router configuration changes, and expire after the configured ttl
+ * as a safety net for changes that are not notified to the router.
+ */
+public class ResponseCache implements ConfigurationListener {
+
+    private static final Logger log = Logger.getLogger(ResponseCache.class);
+
+    private static final String KIE_CONTENT_TYPE = "X-KIE-ContentType";
+
+    private final long ttl;
+    private final int maxEntries;
+    private final Map<String, CachedResponse> entries;
+    private long generation = 0;
+
+    public ResponseCache() {
+        this(Long.parseLong(System.getProperty(KieServerRouterConstants.ROUTER_RESPONSE_CACHE_TTL, "30000")),
+             Integer.parseInt(System.getProperty(KieServerRouterConstants.ROUTER_RESPONSE_CACHE_SIZE, "500")));
+    }
+
+    public ResponseCache(long ttl, int maxEntries) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > ResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return ttl > 0 && maxEntries > 0;
+    }
+
+    public synchronized CachedResponse get(String key) {
+        CachedResponse response = entries.get(key);
+        if (response != null && response.getExpiresAt() < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return response;
+    }
+
+    /**
+     * Generation of the cache, it must be read before calculating a response that is stored with put.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Stores the response unless the cache was invalidated since the given generation was read, as the response
+     * might have been calculated with an outdated configuration. The response is returned in both cases.
+     */
+    public CachedResponse put(String key, long generation, Map<String, List<String>> headers, String body) {
+        CachedResponse response = new CachedResponse(new HashMap<>(headers), body, etag(body), System.currentTimeMillis() + ttl);
+        synchronized (this) {
+            if (generation == this.generation) {
+                entries.put(key, response);
+            }
+        }
+        return response;
+    }
+
+    public synchronized void invalidate() {
+        generation++;
+        if (!entries.isEmpty()) {
+            log.debugf("Invalidating %s cached responses", entries.size());
+            entries.clear();
+        }
+    }
+
+    @Override
+    public void onContainerAdded(String container, String serverUrl) {
+        invalidate();
+    }
+
+    @Override
+    public void onContainerRemoved(String container, String serverUrl) {
+        invalidate();
+    }
+
+    @Override
+    public void onServerAdded(String serverId, String serverUrl) {
+        invalidate();
+    }
+
+    @Override
+    public void onServerRemoved(String serverId, String serverUrl) {
+        invalidate();
+    }
+
+    @Override
+    public void onConfigurationReloaded() {
+        invalidate();
+    }
+
+    public static String key(HttpServerExchange exchange) {
+        return key(exchange.getRequestPath(),
+                   exchange.getQueryString(),
+                   headerValue(exchange, Headers.ACCEPT),
+                   headerValue(exchange, HttpString.tryFromString(KIE_CONTENT_TYPE)),
+                   headerValue(exchange, Headers.AUTHORIZATION));
+    }
+
+    /**
+     * The authorization is part of the key so that responses are only shared between requests using the same
+     * credentials, it's hashed together with the rest of the values and never kept in clear.
+     */
+    public static String key(String path, String query, String accept, String kieContentType, String authorization) {
+        return hash(String.join("\n", path, query, accept, kieContentType, authorization));
+    }
+
+    public static String etag(String body) {
+        return "\"" + hash(body) + "\"";
+    }
+
+    /**
+     * @param ifNoneMatch value of the If-None-Match request header, might be null.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String value : ifNoneMatch.split(",")) {
+            String candidate = value.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if ("*".equals(candidate) || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean matches(HttpServerExchange exchange, String etag) {
+        return matches(headerValue(exchange, Headers.IF_NONE_MATCH), etag);
+    }
+
+    public static void sendNotModified(HttpServerExchange exchange, String etag) {
+        exchange.setStatusCode(304);
+        exchange.getResponseHeaders().put(Headers.ETAG, etag);
+        exchange.endExchange();
+    }
+
+    private static String headerValue(HttpServerExchange exchange, HttpString name) {
+        HeaderValues values = exchange.getRequestHeaders().get(name);
+        if (values == null) {
+            return "";
+        }
+        return values.stream().collect(Collectors.joining(","));
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder result = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                result.append(String.format("%02x", hash[i]));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class CachedResponse {
+
+        private final Map<String, List<String>> headers;
+        private final String body;
+        private final String etag;
+        private final long expiresAt;
+
+        CachedResponse(Map<String, List<String>> headers, String body, String etag, long expiresAt) {
+            this.headers = Collections.unmodifiableMap(headers);
+            this.body = body;
+            this.etag = etag;
+            this.expiresAt = expiresAt;
+        }
+
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public String getETag() {
+            return etag;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
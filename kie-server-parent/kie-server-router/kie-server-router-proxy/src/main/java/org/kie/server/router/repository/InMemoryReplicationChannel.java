@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.repository;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.jboss.logging.Logger;
+import org.kie.server.router.spi.ReplicationChannel;
+
+/**
+ * Replication channel for routers running in the same JVM, members of the same group receive the messages
+ * broadcast by the others. Messages are delivered asynchronously and in order, by using one thread per member.
+ */
+public class InMemoryReplicationChannel implements ReplicationChannel {
+
+    private static final Logger log = Logger.getLogger(InMemoryReplicationChannel.class);
+
+    private static final Map<String, Set<InMemoryReplicationChannel>> groups = new ConcurrentHashMap<>();
+
+    private final String group;
+    private ExecutorService executor;
+    private Consumer<String> receiver;
+
+    public InMemoryReplicationChannel(String group) {
+        this.group = group;
+    }
+
+    @Override
+    public void open(Consumer<String> receiver) {
+        this.receiver = receiver;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "Kie Router In Memory Replication Thread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        groups.computeIfAbsent(group, k -> new CopyOnWriteArraySet<>()).add(this);
+    }
+
+    @Override
+    public void broadcast(String message) {
+        for (InMemoryReplicationChannel member : groups.getOrDefault(group, new CopyOnWriteArraySet<>())) {
+            if (member != this) {
+                member.deliver(message);
+            }
+        }
+    }
+
+    private void deliver(String message) {
+        executor.execute(() -> {
+            try {
+                receiver.accept(message);
+            } catch (Exception e) {
+                log.warn("Unexpected error while processing replication message", e);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        Set<InMemoryReplicationChannel> members = groups.get(group);
+        if (members != null) {
+            members.remove(this);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,460 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.logging.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.kie.server.router.Configuration;
+import org.kie.server.router.ContainerInfo;
+import org.kie.server.router.KieServerRouterConstants;
+import org.kie.server.router.spi.ConfigRepository;
+import org.kie.server.router.spi.ReplicationChannel;
+
+/**
+ * Config repository that replicates the configuration between any number of router instances.
+ * <p>
+ * Every server host, container host and container info registration is kept as a replicated register holding the
+ * number of times it's registered. A router changing a registration writes the number its own configuration has,
+ * with a version higher than any it has seen, and registers are merged by keeping the highest version, the router id
+ * breaking ties. Updates can then be delivered in any order or more than once and all routers still converge to the
+ * same configuration, and routers applying the same change on their own, like removing an unavailable server and
+ * adding it back once it's reachable again, end up with the registration counted once, as a single router would.
+ * Every change is broadcast to the peers as soon as it's persisted, and each router periodically re-sends the
+ * registers it knows to recover from lost messages.
+ * <p>
+ * When a delegate repository is given, the merged configuration is also stored on it, and it's used for restoring
+ * the configuration when no peer is available at start up.
+ */
+public class ReplicatedConfigRepository implements ConfigRepository {
+
+    private static final Logger log = Logger.getLogger(ReplicatedConfigRepository.class);
+
+    static final String SERVER_HOST = "s";
+    static final String CONTAINER_HOST = "c";
+    static final String CONTAINER_INFO = "i";
+
+    static final String UPDATE = "update";
+    static final String SYNC_REQUEST = "sync-request";
+
+    static final int MAX_ENTRIES_PER_MESSAGE = 100;
+
+    static final String NODE_ID_FILE = "kie-server-router-node.id";
+
+    private final String nodeId;
+    private final ReplicationChannel channel;
+    private final ConfigRepository delegate;
+    private final long syncInterval;
+    private final long joinTimeout;
+
+    // registration key -> last written count
+    private final Map<List<String>, Entry> registers = new LinkedHashMap<>();
+    // highest version seen, local writes are versioned above it
+    private long clock;
+    // counts returned by the last load, local changes are calculated against them
+    private Map<List<String>, Long> loadedCounts = new HashMap<>();
+
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final CountDownLatch joined = new CountDownLatch(1);
+    private volatile Configuration configuration;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicatedConfigRepository(ReplicationChannel channel, ConfigRepository delegate) {
+        this(channel,
+             delegate,
+             resolveNodeId(new File(System.getProperty(KieServerRouterConstants.ROUTER_REPOSITORY_DIR, "."))),
+             Long.parseLong(System.getProperty(KieServerRouterConstants.CONFIG_REPLICATION_SYNC_INTERVAL, "5000")),
+             Long.parseLong(System.getProperty(KieServerRouterConstants.CONFIG_REPLICATION_JOIN_TIMEOUT, "1000")));
+    }
+
+    public ReplicatedConfigRepository(ReplicationChannel channel, ConfigRepository delegate, long syncInterval, long joinTimeout) {
+        this(channel, delegate, UUID.randomUUID().toString(), syncInterval, joinTimeout);
+    }
+
+    /**
+     * @param nodeId id of this router, breaking ties between registers written with the same version, it must be
+     * unique among the routers and should stay the same across restarts.
+     */
+    public ReplicatedConfigRepository(ReplicationChannel channel, ConfigRepository delegate, String nodeId, long syncInterval, long joinTimeout) {
+        this.nodeId = nodeId;
+        this.channel = channel;
+        this.delegate = delegate;
+        this.syncInterval = syncInterval;
+        this.joinTimeout = joinTimeout;
+    }
+
+    @Override
+    public void persist(Configuration configuration) {
+        Map<List<String>, Long> target = countsOf(configuration);
+        List<Entry> changes;
+        synchronized (this) {
+            changes = applyLocalChanges(loadedCounts, target);
+            loadedCounts = target;
+        }
+        broadcast(changes);
+        storeOnDelegate();
+    }
+
+    @Override
+    public Configuration load() {
+        if (started.compareAndSet(false, true)) {
+            join();
+            synchronized (this) {
+                configuration = buildConfiguration();
+                loadedCounts = currentCounts();
+                return configuration;
+            }
+        }
+        synchronized (this) {
+            loadedCounts = currentCounts();
+            return buildConfiguration();
+        }
+    }
+
+    @Override
+    public void clean() {
+        List<Entry> changes;
+        synchronized (this) {
+            changes = applyLocalChanges(currentCounts(), new HashMap<>());
+            loadedCounts = new HashMap<>();
+        }
+        broadcast(changes);
+        if (delegate != null) {
+            delegate.clean();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        channel.close();
+        if (delegate != null) {
+            delegate.close();
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Returns the configured node id, or the one stored in the repository directory, creating it on first start.
+     */
+    static String resolveNodeId(File repositoryDir) {
+        String configured = System.getProperty(KieServerRouterConstants.CONFIG_REPLICATION_NODE_ID);
+        if (configured != null && !configured.trim().isEmpty()) {
+            return configured.trim();
+        }
+        File nodeIdFile = new File(repositoryDir, NODE_ID_FILE);
+        try {
+            if (nodeIdFile.exists()) {
+                String stored = new String(Files.readAllBytes(nodeIdFile.toPath()), StandardCharsets.UTF_8).trim();
+                if (!stored.isEmpty()) {
+                    return stored;
+                }
+            }
+            String nodeId = UUID.randomUUID().toString();
+            Files.write(nodeIdFile.toPath(), nodeId.getBytes(StandardCharsets.UTF_8));
+            return nodeId;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to store the replication node id in " + nodeIdFile, e);
+        }
+    }
+
+    private void join() {
+        channel.open(this::onMessage);
+        send(SYNC_REQUEST, new ArrayList<>());
+        try {
+            if (!joined.await(joinTimeout, TimeUnit.MILLISECONDS)) {
+                log.debugf("No replication peer answered in %s ms", joinTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (delegate != null) {
+            List<Entry> changes = null;
+            synchronized (this) {
+                if (registers.isEmpty()) {
+                    // no peer holds any configuration, restore the last one known by this router
+                    Configuration stored = delegate.load();
+                    changes = applyLocalChanges(new HashMap<>(), countsOf(stored));
+                }
+            }
+            if (changes != null) {
+                broadcast(changes);
+            }
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Kie Router Config Replication Thread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::broadcastOwnState, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+    }
+
+    void onMessage(String message) {
+        String type;
+        String sender;
+        List<Entry> entries = new ArrayList<>();
+        try {
+            JSONObject json = new JSONObject(message);
+            type = json.getString("type");
+            sender = json.getString("node");
+            JSONArray jsonEntries = json.getJSONArray("entries");
+            for (int i = 0; i < jsonEntries.length(); i++) {
+                entries.add(Entry.fromJSON(jsonEntries.getJSONObject(i)));
+            }
+        } catch (JSONException e) {
+            log.warn("Discarding malformed replication message", e);
+            return;
+        }
+        if (nodeId.equals(sender)) {
+            return;
+        }
+        if (SYNC_REQUEST.equals(type)) {
+            List<Entry> state;
+            synchronized (this) {
+                state = entries();
+            }
+            broadcast(state);
+            return;
+        }
+
+        boolean changed = false;
+        synchronized (this) {
+            for (Entry entry : entries) {
+                changed |= merge(entry);
+            }
+        }
+        if (!entries.isEmpty()) {
+            joined.countDown();
+        }
+        if (changed) {
+            Configuration live = configuration;
+            if (live != null) {
+                synchronized (live) {
+                    Configuration updated;
+                    synchronized (this) {
+                        updated = buildConfiguration();
+                    }
+                    live.reloadFrom(updated);
+                }
+            }
+            storeOnDelegate();
+        }
+    }
+
+    private void broadcastOwnState() {
+        try {
+            List<Entry> entries;
+            synchronized (this) {
+                entries = entries();
+            }
+            broadcast(entries);
+        } catch (Exception e) {
+            log.warn("Unexpected error while sending replication state", e);
+        }
+    }
+
+    private void broadcast(List<Entry> entries) {
+        for (int from = 0; from < entries.size(); from += MAX_ENTRIES_PER_MESSAGE) {
+            send(UPDATE, entries.subList(from, Math.min(from + MAX_ENTRIES_PER_MESSAGE, entries.size())));
+        }
+    }
+
+    private void send(String type, List<Entry> entries) {
+        try {
+            JSONArray array = new JSONArray();
+            for (Entry entry : entries) {
+                array.put(entry.toJSON());
+            }
+            JSONObject message = new JSONObject();
+            message.put("type", type);
+            message.put("node", nodeId);
+            message.put("entries", array);
+            channel.broadcast(message.toString());
+        } catch (Exception e) {
+            log.warn("Unable to send replication message", e);
+        }
+    }
+
+    private void storeOnDelegate() {
+        if (delegate != null) {
+            Configuration merged;
+            synchronized (this) {
+                merged = buildConfiguration();
+            }
+            delegate.persist(merged);
+        }
+    }
+
+    /**
+     * Writes with a new version the target counts that differ from the given base counts, and returns the entries
+     * that changed. The counts are the ones of the router's configuration, so a registration removed or added back by
+     * several routers at once is counted as if a single router did it.
+     */
+    private List<Entry> applyLocalChanges(Map<List<String>, Long> base, Map<List<String>, Long> target) {
+        Set<List<String>> keys = new HashSet<>(base.keySet());
+        keys.addAll(target.keySet());
+        List<Entry> changes = new ArrayList<>();
+        for (List<String> key : keys) {
+            long count = target.getOrDefault(key, 0L);
+            if (count != base.getOrDefault(key, 0L)) {
+                Entry current = registers.get(key);
+                if (current == null || current.count != count) {
+                    Entry written = new Entry(key, nodeId, ++clock, count);
+                    registers.put(key, written);
+                    changes.add(written);
+                }
+            }
+        }
+        return changes;
+    }
+
+    private boolean merge(Entry entry) {
+        clock = Math.max(clock, entry.version);
+        Entry current = registers.get(entry.key);
+        if (current != null && !entry.isNewerThan(current)) {
+            return false;
+        }
+        registers.put(entry.key, entry);
+        return current == null || current.count != entry.count;
+    }
+
+    private List<Entry> entries() {
+        return new ArrayList<>(registers.values());
+    }
+
+    private Map<List<String>, Long> currentCounts() {
+        Map<List<String>, Long> counts = new HashMap<>();
+        registers.forEach((key, entry) -> counts.put(key, entry.count));
+        return counts;
+    }
+
+    private Configuration buildConfiguration() {
+        Configuration result = new Configuration();
+        currentCounts().forEach((key, count) -> {
+            switch (key.get(0)) {
+                case SERVER_HOST:
+                    result.addEmptyServerHost(key.get(1));
+                    for (long i = 0; i < count; i++) {
+                        result.addServerHost(key.get(1), key.get(2));
+                    }
+                    break;
+                case CONTAINER_HOST:
+                    result.addEmptyContainerHost(key.get(1));
+                    for (long i = 0; i < count; i++) {
+                        result.addContainerHost(key.get(1), key.get(2));
+                    }
+                    break;
+                case CONTAINER_INFO:
+                    for (long i = 0; i < count; i++) {
+                        result.getContainerInfosPerContainer()
+                                .computeIfAbsent(key.get(1), k -> new ArrayList<>())
+                                .add(new ContainerInfo(key.get(2), key.get(3), key.get(4)));
+                    }
+                    break;
+                default:
+                    log.warnf("Unknown replicated configuration entry %s", key);
+            }
+        });
+        return result;
+    }
+
+    static Map<List<String>, Long> countsOf(Configuration configuration) {
+        Map<List<String>, Long> counts = new HashMap<>();
+        configuration.getHostsPerServer().forEach((serverId, urls) ->
+            urls.forEach(url -> counts.merge(Arrays.asList(SERVER_HOST, serverId, url), 1L, Long::sum)));
+        configuration.getHostsPerContainer().forEach((containerId, urls) ->
+            urls.forEach(url -> counts.merge(Arrays.asList(CONTAINER_HOST, containerId, url), 1L, Long::sum)));
+        configuration.getContainerInfosPerContainer().forEach((containerId, infos) ->
+            infos.forEach(info -> counts.merge(Arrays.asList(CONTAINER_INFO,
+                                                             containerId,
+                                                             nonNull(info.getContainerId()),
+                                                             nonNull(info.getAlias()),
+                                                             nonNull(info.getReleaseId())),
+                                               1L, Long::sum)));
+        return counts;
+    }
+
+    private static String nonNull(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * Count of a registration, as written by a given router with a given version.
+     */
+    private static class Entry {
+
+        private final List<String> key;
+        private final String node;
+        private final long version;
+        private final long count;
+
+        private Entry(List<String> key, String node, long version, long count) {
+            this.key = key;
+            this.node = node;
+            this.version = version;
+            this.count = count;
+        }
+
+        private boolean isNewerThan(Entry other) {
+            return version > other.version || (version == other.version && node.compareTo(other.node) > 0);
+        }
+
+        private JSONObject toJSON() throws JSONException {
+            JSONObject json = new JSONObject();
+            json.put("key", new JSONArray(key));
+            json.put("node", node);
+            json.put("version", version);
+            json.put("count", count);
+            return json;
+        }
+
+        private static Entry fromJSON(JSONObject json) throws JSONException {
+            JSONArray jsonKey = json.getJSONArray("key");
+            List<String> key = new ArrayList<>(jsonKey.length());
+            for (int i = 0; i < jsonKey.length(); i++) {
+                key.add(jsonKey.getString(i));
+            }
+            return new Entry(key, json.getString("node"), json.getLong("version"), json.getLong("count"));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.repository;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.jboss.logging.Logger;
+import org.kie.server.router.spi.ReplicationChannel;
+
+/**
+ * Lightweight replication channel that sends every message as an UDP datagram to each of the configured peers.
+ * <p>
+ * Every datagram is signed with an HMAC-SHA256 of the shared secret, and only datagrams sent by one of the
+ * configured peers and carrying a valid signature are passed to the receiver.
+ */
+public class UdpReplicationChannel implements ReplicationChannel {
+
+    private static final Logger log = Logger.getLogger(UdpReplicationChannel.class);
+
+    static final int MAX_DATAGRAM_SIZE = 65507;
+    static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+    static final int SIGNATURE_SIZE = 32;
+    static final int MAX_MESSAGE_SIZE = MAX_DATAGRAM_SIZE - SIGNATURE_SIZE;
+
+    private final InetAddress bindAddress;
+    private final int port;
+    private final List<InetSocketAddress> peers;
+    private final Set<InetSocketAddress> allowedSenders;
+    private final SecretKeySpec key;
+
+    private DatagramSocket socket;
+    private Thread receiverThread;
+
+    public UdpReplicationChannel(InetAddress bindAddress, int port, List<InetSocketAddress> peers, String secret) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("A shared secret is required to sign the replication messages");
+        }
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.peers = peers;
+        this.allowedSenders = new HashSet<>(peers);
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), SIGNATURE_ALGORITHM);
+    }
+
+    /**
+     * @param address host name or IP address the channel listens on, all interfaces when null or empty.
+     */
+    public static InetAddress parseBindAddress(String address) {
+        if (address == null || address.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(address.trim());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid replication bind address '" + address + "'", e);
+        }
+    }
+
+    /**
+     * @param peers comma separated list of host:port entries.
+     */
+    public static List<InetSocketAddress> parsePeers(String peers) {
+        List<InetSocketAddress> result = new ArrayList<>();
+        if (peers == null) {
+            return result;
+        }
+        for (String peer : peers.split(",")) {
+            String trimmed = peer.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int index = trimmed.lastIndexOf(':');
+            if (index <= 0) {
+                throw new IllegalArgumentException("Invalid replication peer '" + trimmed + "', expected format is host:port");
+            }
+            result.add(new InetSocketAddress(trimmed.substring(0, index), Integer.parseInt(trimmed.substring(index + 1))));
+        }
+        return result;
+    }
+
+    @Override
+    public void open(Consumer<String> receiver) {
+        try {
+            socket = new DatagramSocket(new InetSocketAddress(bindAddress, port));
+        } catch (SocketException e) {
+            throw new IllegalStateException("Unable to open replication channel on port " + port, e);
+        }
+        receiverThread = new Thread(() -> {
+            byte[] buffer = new byte[MAX_DATAGRAM_SIZE];
+            while (!socket.isClosed()) {
+                try {
+                    DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                    socket.receive(packet);
+                    String message = verify(packet);
+                    if (message != null) {
+                        receiver.accept(message);
+                    }
+                } catch (Exception e) {
+                    if (!socket.isClosed()) {
+                        log.warn("Unexpected error while receiving replication message", e);
+                    }
+                }
+            }
+        }, "Kie Router UDP Replication Thread");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+        log.infof("Replication channel listening on %s with peers %s", socket.getLocalSocketAddress(), peers);
+    }
+
+    @Override
+    public void broadcast(String message) {
+        byte[] payload = message.getBytes(StandardCharsets.UTF_8);
+        if (payload.length > MAX_MESSAGE_SIZE) {
+            log.warnf("Replication message of %s bytes exceeds the max datagram size and will be discarded", payload.length);
+            return;
+        }
+        byte[] data = Arrays.copyOf(sign(payload, 0, payload.length), SIGNATURE_SIZE + payload.length);
+        System.arraycopy(payload, 0, data, SIGNATURE_SIZE, payload.length);
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(data, data.length, peer));
+            } catch (Exception e) {
+                log.debugf("Unable to send replication message to %s, error %s", peer, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return the message carried by the packet, or null when it doesn't come from a peer or isn't correctly signed.
+     */
+    String verify(DatagramPacket packet) {
+        if (!allowedSenders.contains(packet.getSocketAddress())) {
+            log.debugf("Discarding replication message from unknown sender %s", packet.getSocketAddress());
+            return null;
+        }
+        if (packet.getLength() < SIGNATURE_SIZE) {
+            log.debugf("Discarding unsigned replication message from %s", packet.getSocketAddress());
+            return null;
+        }
+        int offset = packet.getOffset() + SIGNATURE_SIZE;
+        int length = packet.getLength() - SIGNATURE_SIZE;
+        byte[] signature = Arrays.copyOfRange(packet.getData(), packet.getOffset(), offset);
+        if (!MessageDigest.isEqual(signature, sign(packet.getData(), offset, length))) {
+            log.warnf("Discarding replication message with invalid signature from %s", packet.getSocketAddress());
+            return null;
+        }
+        return new String(packet.getData(), offset, length, StandardCharsets.UTF_8);
+    }
+
+    private byte[] sign(byte[] data, int offset, int length) {
+        try {
+            Mac mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+            mac.init(key);
+            mac.update(data, offset, length);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign replication message", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (socket != null) {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.spi;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport used by the replicated configuration repository to exchange configuration updates between the
+ * different router instances. Implementations are not required to guarantee delivery nor ordering, lost or
+ * reordered messages are fixed by the periodic re-synchronization done by the repository.
+ */
+public interface ReplicationChannel {
+
+    /**
+     * Joins the channel, every message broadcast by any other member is passed to the receiver.
+     */
+    void open(Consumer<String> receiver);
+
+    /**
+     * Sends the message to all the other members of the channel.
+     */
+    void broadcast(String message);
+
+    default void close() {
+
+    }
+}
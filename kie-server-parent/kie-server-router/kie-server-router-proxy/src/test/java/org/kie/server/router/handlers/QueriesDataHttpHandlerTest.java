@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.handlers;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class QueriesDataHttpHandlerTest {
+
+    @Test
+    public void testDefinitionLookupsAreCacheable() {
+        assertTrue(QueriesDataHttpHandler.isDefinitionLookup("/queries/definitions"));
+        assertTrue(QueriesDataHttpHandler.isDefinitionLookup("/queries/definitions/"));
+        assertTrue(QueriesDataHttpHandler.isDefinitionLookup("/queries/definitions/allProcessInstances"));
+        assertTrue(QueriesDataHttpHandler.isDefinitionLookup("/kie-server/services/rest/server/queries/definitions/allProcessInstances"));
+    }
+
+    @Test
+    public void testQueryDataIsNotCacheable() {
+        assertFalse(QueriesDataHttpHandler.isDefinitionLookup("/queries/definitions/allProcessInstances/data"));
+        assertFalse(QueriesDataHttpHandler.isDefinitionLookup("/queries/definitions/allProcessInstances/data/"));
+        assertFalse(QueriesDataHttpHandler.isDefinitionLookup("/queries/definitions/allProcessInstances/filtered-data"));
+        assertFalse(QueriesDataHttpHandler.isDefinitionLookup("/queries/definitions/allProcessInstances/filtered-data/container1"));
+        assertFalse(QueriesDataHttpHandler.isDefinitionLookup("/containers/container1/processes"));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.kie.server.router.Configuration;
+
+public class ResponseCacheTest {
+
+    private static final Map<String, List<String>> HEADERS = Collections.singletonMap("Content-Type", Arrays.asList("application/json"));
+
+    @Test
+    public void testCacheResponse() {
+        ResponseCache cache = new ResponseCache(10000, 10);
+        String key = ResponseCache.key("/containers", "", "application/json", "", "");
+
+        assertNull(cache.get(key));
+        cache.put(key, cache.getGeneration(), HEADERS, "{}");
+
+        ResponseCache.CachedResponse cached = cache.get(key);
+        assertNotNull(cached);
+        assertEquals("{}", cached.getBody());
+        assertEquals(HEADERS, cached.getHeaders());
+        assertEquals(ResponseCache.etag("{}"), cached.getETag());
+    }
+
+    @Test
+    public void testKeyDependsOnHeaders() {
+        String key = ResponseCache.key("/containers", "", "application/json", "", "");
+
+        assertEquals(key, ResponseCache.key("/containers", "", "application/json", "", ""));
+        assertNotEquals(key, ResponseCache.key("/containers", "", "application/xml", "", ""));
+        assertNotEquals(key, ResponseCache.key("/containers", "", "application/json", "xstream", ""));
+        assertNotEquals(key, ResponseCache.key("/containers", "", "application/json", "", "Basic dXNlcjp1c2Vy"));
+        assertNotEquals(key, ResponseCache.key("/containers", "page=1", "application/json", "", ""));
+    }
+
+    @Test
+    public void testInvalidateOnConfigurationChange() {
+        ResponseCache cache = new ResponseCache(10000, 10);
+        Configuration configuration = new Configuration();
+        configuration.addListener(cache);
+
+        String key = ResponseCache.key("/containers", "", "application/json", "", "");
+        cache.put(key, cache.getGeneration(), HEADERS, "{}");
+
+        configuration.addContainerHost("container1", "http://localhost:8080/server");
+        assertNull(cache.get(key));
+
+        cache.put(key, cache.getGeneration(), HEADERS, "{}");
+        configuration.removeContainerHost("container1", "http://localhost:8080/server");
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    public void testResponseCalculatedBeforeInvalidationIsNotStored() {
+        ResponseCache cache = new ResponseCache(10000, 10);
+        String key = ResponseCache.key("/containers", "", "application/json", "", "");
+
+        long generation = cache.getGeneration();
+        cache.invalidate();
+        ResponseCache.CachedResponse response = cache.put(key, generation, HEADERS, "{}");
+
+        assertEquals("{}", response.getBody());
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    public void testExpiredAndEvictedEntries() throws Exception {
+        ResponseCache cache = new ResponseCache(1, 2);
+        cache.put("a", cache.getGeneration(), HEADERS, "a");
+        Thread.sleep(10);
+        assertNull(cache.get("a"));
+
+        cache = new ResponseCache(10000, 2);
+        cache.put("a", cache.getGeneration(), HEADERS, "a");
+        cache.put("b", cache.getGeneration(), HEADERS, "b");
+        cache.get("a");
+        cache.put("c", cache.getGeneration(), HEADERS, "c");
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    public void testDisabled() {
+        assertTrue(new ResponseCache(10000, 10).isEnabled());
+        assertFalse(new ResponseCache(0, 10).isEnabled());
+        assertFalse(new ResponseCache(10000, 0).isEnabled());
+    }
+
+    @Test
+    public void testIfNoneMatch() {
+        String etag = ResponseCache.etag("{}");
+
+        assertTrue(ResponseCache.matches(etag, etag));
+        assertTrue(ResponseCache.matches("W/" + etag, etag));
+        assertTrue(ResponseCache.matches("\"other\", " + etag, etag));
+        assertTrue(ResponseCache.matches("*", etag));
+        assertFalse(ResponseCache.matches("\"other\"", etag));
+        assertFalse(ResponseCache.matches((String) null, etag));
+    }
+}
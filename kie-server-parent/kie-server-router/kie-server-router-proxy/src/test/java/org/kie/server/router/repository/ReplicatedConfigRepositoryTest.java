@@ -0,0 +1,321 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.router.Configuration;
+import org.kie.server.router.ConfigurationListener;
+import org.kie.server.router.ContainerInfo;
+import org.kie.server.router.KieServerRouterConstants;
+
+public class ReplicatedConfigRepositoryTest {
+
+    private static final String SERVER_URL_1 = "http://localhost:8080/server";
+    private static final String SERVER_URL_2 = "http://localhost:8180/server";
+
+    private String group;
+    private List<ReplicatedConfigRepository> repositories = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        group = UUID.randomUUID().toString();
+    }
+
+    @After
+    public void cleanup() {
+        repositories.forEach(ReplicatedConfigRepository::close);
+    }
+
+    @Test
+    public void testReplicateToAllRouters() throws Exception {
+        ReplicatedConfigRepository repo1 = newRepository(null);
+        ReplicatedConfigRepository repo2 = newRepository(null);
+        ReplicatedConfigRepository repo3 = newRepository(null);
+
+        Configuration config1 = repo1.load();
+        Configuration config2 = repo2.load();
+        Configuration config3 = repo3.load();
+
+        List<String> addedContainers = new ArrayList<>();
+        config2.addListener(new ConfigurationListener() {
+            @Override
+            public void onContainerAdded(String container, String serverUrl) {
+                addedContainers.add(container);
+            }
+        });
+
+        addContainer(repo1, config1, "test1.0", "test", "server1", SERVER_URL_1);
+
+        for (Configuration config : Arrays.asList(config2, config3)) {
+            awaitUntil(() -> config.getHostsPerContainer().containsKey("test1.0"));
+            assertEquals(Arrays.asList(SERVER_URL_1), config.getHostsPerContainer().get("test1.0"));
+            assertEquals(Arrays.asList(SERVER_URL_1), config.getHostsPerContainer().get("test"));
+            assertEquals(Arrays.asList(SERVER_URL_1), config.getHostsPerServer().get("server1"));
+            assertEquals(new ContainerInfo("test1.0", "test", "org.kie:test:1.0"), config.getContainerInfosPerContainer().get("test").get(0));
+        }
+        assertTrue(addedContainers.contains("test1.0"));
+        assertTrue(addedContainers.contains("test"));
+
+        removeContainer(repo3, config3, "test1.0", "test", "server1", SERVER_URL_1);
+
+        for (Configuration config : Arrays.asList(config1, config2)) {
+            awaitUntil(() -> config.getHostsPerContainer().get("test1.0").isEmpty());
+            assertEquals(0, config.getHostsPerContainer().get("test").size());
+            assertEquals(0, config.getHostsPerServer().get("server1").size());
+        }
+    }
+
+    @Test
+    public void testConcurrentChangesConverge() throws Exception {
+        ReplicatedConfigRepository repo1 = newRepository(null);
+        ReplicatedConfigRepository repo2 = newRepository(null);
+
+        Configuration config1 = repo1.load();
+        Configuration config2 = repo2.load();
+
+        addContainer(repo1, config1, "container1", "container1", "server1", SERVER_URL_1);
+        addContainer(repo2, config2, "container2", "container2", "server2", SERVER_URL_2);
+        addContainer(repo2, config2, "container1", "container1", "server2", SERVER_URL_2);
+
+        for (Configuration config : Arrays.asList(config1, config2)) {
+            awaitUntil(() -> config.getHostsPerContainer().containsKey("container2")
+                    && config.getHostsPerContainer().get("container1").size() == 4);
+            assertEquals(2, config.getHostsPerContainer().get("container2").size());
+            assertEquals(1, config.getHostsPerServer().get("server1").size());
+            assertEquals(2, config.getHostsPerServer().get("server2").size());
+        }
+
+        // the host registered by the second router is removed on the first one
+        removeContainer(repo1, config1, "container1", "container1", "server2", SERVER_URL_2);
+
+        for (Configuration config : Arrays.asList(config1, config2)) {
+            awaitUntil(() -> config.getHostsPerContainer().get("container1").size() == 2);
+            assertEquals(Arrays.asList(SERVER_URL_1, SERVER_URL_1), config.getHostsPerContainer().get("container1"));
+            assertEquals(1, config.getHostsPerServer().get("server2").size());
+        }
+    }
+
+    @Test
+    public void testLateRouterReceivesState() throws Exception {
+        ReplicatedConfigRepository repo1 = newRepository(null);
+        Configuration config1 = repo1.load();
+        addContainer(repo1, config1, "test1.0", "test", "server1", SERVER_URL_1);
+
+        ReplicatedConfigRepository repo2 = newRepository(null);
+        Configuration config2 = repo2.load();
+
+        awaitUntil(() -> config2.getHostsPerContainer().containsKey("test1.0"));
+        assertEquals(Arrays.asList(SERVER_URL_1), config2.getHostsPerContainer().get("test1.0"));
+        assertEquals(2, config2.getContainerInfosPerContainer().size());
+    }
+
+    @Test
+    public void testRestoreFromDelegateWhenNoPeers() throws Exception {
+        File repositoryDirectory = new File("target" + File.separator + UUID.randomUUID().toString());
+        repositoryDirectory.mkdirs();
+
+        Configuration stored = new Configuration();
+        stored.addContainerHost("container1", SERVER_URL_1);
+        stored.addServerHost("server1", SERVER_URL_1);
+        new FileRepository(repositoryDirectory).persist(stored);
+
+        ReplicatedConfigRepository repo1 = newRepository(new FileRepository(repositoryDirectory));
+        Configuration config1 = repo1.load();
+        assertEquals(Arrays.asList(SERVER_URL_1), config1.getHostsPerContainer().get("container1"));
+
+        // a router joining later gets the restored configuration from its peer
+        ReplicatedConfigRepository repo2 = newRepository(null);
+        Configuration config2 = repo2.load();
+        awaitUntil(() -> config2.getHostsPerServer().containsKey("server1"));
+        assertEquals(Arrays.asList(SERVER_URL_1), config2.getHostsPerServer().get("server1"));
+    }
+
+    @Test
+    public void testNodeIdIsKeptAcrossRestarts() throws Exception {
+        File repositoryDirectory = new File("target" + File.separator + UUID.randomUUID().toString());
+        repositoryDirectory.mkdirs();
+
+        String nodeId = ReplicatedConfigRepository.resolveNodeId(repositoryDirectory);
+        assertEquals(nodeId, ReplicatedConfigRepository.resolveNodeId(repositoryDirectory));
+
+        System.setProperty(KieServerRouterConstants.CONFIG_REPLICATION_NODE_ID, "router-1");
+        try {
+            assertEquals("router-1", ReplicatedConfigRepository.resolveNodeId(repositoryDirectory));
+        } finally {
+            System.clearProperty(KieServerRouterConstants.CONFIG_REPLICATION_NODE_ID);
+        }
+    }
+
+    @Test
+    public void testRestartedRouterIsNotCountedTwice() throws Exception {
+        ReplicatedConfigRepository repo1 = newRepository(null, "router-1");
+        ReplicatedConfigRepository repo2 = newRepository(null, "router-2");
+        Configuration config1 = repo1.load();
+        Configuration config2 = repo2.load();
+        addContainer(repo1, config1, "test1.0", "test", "server1", SERVER_URL_1);
+        awaitUntil(() -> config2.getHostsPerContainer().containsKey("test1.0"));
+        repositories.remove(repo1);
+        repo1.close();
+
+        // router-1 restarts without hearing from its peer and restores its registration from the local file
+        File repositoryDirectory = new File("target" + File.separator + UUID.randomUUID().toString());
+        repositoryDirectory.mkdirs();
+        Configuration stored = new Configuration();
+        stored.addContainerHost("test1.0", SERVER_URL_1);
+        new FileRepository(repositoryDirectory).persist(stored);
+
+        ReplicatedConfigRepository restarted = new ReplicatedConfigRepository(new DeafReplicationChannel(group), new FileRepository(repositoryDirectory), "router-1", 100, 200);
+        repositories.add(restarted);
+        assertEquals(Arrays.asList(SERVER_URL_1), restarted.load().getHostsPerContainer().get("test1.0"));
+
+        // the restored counters are the ones the peer already holds for router-1, so nothing is added twice
+        Thread.sleep(300);
+        assertEquals(Arrays.asList(SERVER_URL_1), config2.getHostsPerContainer().get("test1.0"));
+    }
+
+    @Test
+    public void testServerRemovedByAllRoutersIsAddedBackOnce() throws Exception {
+        ReplicatedConfigRepository repo1 = newRepository(null);
+        ReplicatedConfigRepository repo2 = newRepository(null);
+        ReplicatedConfigRepository repo3 = newRepository(null);
+        List<ReplicatedConfigRepository> repos = Arrays.asList(repo1, repo2, repo3);
+        List<Configuration> configs = Arrays.asList(repo1.load(), repo2.load(), repo3.load());
+
+        addContainer(repo1, configs.get(0), "test1.0", "test", "server1", SERVER_URL_1);
+        for (Configuration config : configs) {
+            awaitUntil(() -> Arrays.asList(SERVER_URL_1).equals(config.getHostsPerServer().get("server1")));
+        }
+
+        // every router finds the server unavailable before hearing about the others, as the AdminHttpHandler does
+        inAllRouters(repos, configs, configuration -> configuration.removeUnavailableServer(SERVER_URL_1 + "/containers"));
+        for (Configuration config : configs) {
+            awaitUntil(() -> config.getHostsPerServer().get("server1").isEmpty());
+            assertTrue(config.getHostsPerContainer().get("test1.0").isEmpty());
+        }
+
+        // the server registers again on one of the routers
+        addContainer(repo2, configs.get(1), "test1.0", "test", "server1", SERVER_URL_1);
+        for (Configuration config : configs) {
+            awaitUntil(() -> Arrays.asList(SERVER_URL_1).equals(config.getHostsPerServer().get("server1")));
+            assertEquals(Arrays.asList(SERVER_URL_1), config.getHostsPerContainer().get("test1.0"));
+        }
+
+        inAllRouters(repos, configs, configuration -> configuration.removeUnavailableServer(SERVER_URL_1 + "/containers"));
+        // every router adding it back at the same time once it's reachable again still registers it once
+        inAllRouters(repos, configs, configuration -> {
+            configuration.addContainerHost("test1.0", SERVER_URL_1);
+            configuration.addContainerHost("test", SERVER_URL_1);
+            configuration.addServerHost("server1", SERVER_URL_1);
+        });
+        Thread.sleep(300);
+        for (Configuration config : configs) {
+            awaitUntil(() -> Arrays.asList(SERVER_URL_1).equals(config.getHostsPerServer().get("server1")));
+            assertEquals(Arrays.asList(SERVER_URL_1), config.getHostsPerContainer().get("test1.0"));
+            assertEquals(Arrays.asList(SERVER_URL_1), config.getHostsPerContainer().get("test"));
+        }
+    }
+
+    // applies the same change on all routers at once, the replicated updates are only applied once all are persisted
+    private void inAllRouters(List<ReplicatedConfigRepository> repos, List<Configuration> configs, Consumer<Configuration> change) {
+        synchronized (configs.get(0)) {
+            synchronized (configs.get(1)) {
+                synchronized (configs.get(2)) {
+                    for (int i = 0; i < repos.size(); i++) {
+                        configs.get(i).reloadFromRepository(repos.get(i));
+                    }
+                    for (int i = 0; i < repos.size(); i++) {
+                        change.accept(configs.get(i));
+                        repos.get(i).persist(configs.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    private ReplicatedConfigRepository newRepository(FileRepository delegate, String nodeId) {
+        ReplicatedConfigRepository repository = new ReplicatedConfigRepository(new InMemoryReplicationChannel(group), delegate, nodeId, 100, 500);
+        repositories.add(repository);
+        return repository;
+    }
+
+    private ReplicatedConfigRepository newRepository(FileRepository delegate) {
+        ReplicatedConfigRepository repository = new ReplicatedConfigRepository(new InMemoryReplicationChannel(group), delegate, 100, 500);
+        repositories.add(repository);
+        return repository;
+    }
+
+    // same sequence of operations as the AdminHttpHandler
+    private void addContainer(ReplicatedConfigRepository repository, Configuration configuration, String containerId, String alias, String serverId, String serverUrl) {
+        synchronized (configuration) {
+            configuration.reloadFromRepository(repository);
+            configuration.addContainerHost(containerId, serverUrl);
+            configuration.addContainerHost(alias, serverUrl);
+            configuration.addServerHost(serverId, serverUrl);
+            configuration.addContainerInfo(new ContainerInfo(containerId, alias, "org.kie:" + alias + ":1.0"));
+            repository.persist(configuration);
+        }
+    }
+
+    private void removeContainer(ReplicatedConfigRepository repository, Configuration configuration, String containerId, String alias, String serverId, String serverUrl) {
+        synchronized (configuration) {
+            configuration.reloadFromRepository(repository);
+            configuration.removeContainerHost(containerId, serverUrl);
+            configuration.removeContainerHost(alias, serverUrl);
+            configuration.removeServerHost(serverId, serverUrl);
+            configuration.removeContainerInfo(new ContainerInfo(containerId, alias, "org.kie:" + alias + ":1.0"));
+            repository.persist(configuration);
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Configuration was not replicated in time");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * Channel that sends to its group but never receives, like a router whose peers don't answer.
+     */
+    private static class DeafReplicationChannel extends InMemoryReplicationChannel {
+
+        DeafReplicationChannel(String group) {
+            super(group);
+        }
+
+        @Override
+        public void open(Consumer<String> receiver) {
+            super.open(message -> {
+            });
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.router.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class UdpReplicationChannelTest {
+
+    private static final String SECRET = "shared-secret";
+
+    private List<UdpReplicationChannel> channels = new ArrayList<>();
+
+    @After
+    public void cleanup() {
+        channels.forEach(UdpReplicationChannel::close);
+    }
+
+    @Test
+    public void testOnlySignedMessagesFromPeersAreReceived() throws Exception {
+        InetAddress localhost = InetAddress.getLoopbackAddress();
+        InetSocketAddress peer = new InetSocketAddress(localhost, freePort());
+        InetSocketAddress receiver = new InetSocketAddress(localhost, freePort());
+        InetSocketAddress wrongSecret = new InetSocketAddress(localhost, freePort());
+        InetSocketAddress unknown = new InetSocketAddress(localhost, freePort());
+
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        open(receiver, Arrays.asList(peer, wrongSecret), SECRET, received);
+        UdpReplicationChannel fromPeer = open(peer, Arrays.asList(receiver), SECRET, null);
+        UdpReplicationChannel fromWrongSecret = open(wrongSecret, Arrays.asList(receiver), "another-secret", null);
+        UdpReplicationChannel fromUnknown = open(unknown, Arrays.asList(receiver), SECRET, null);
+
+        fromWrongSecret.broadcast("wrong secret");
+        fromUnknown.broadcast("unknown sender");
+        fromPeer.broadcast("from peer");
+
+        assertEquals("from peer", received.poll(5, TimeUnit.SECONDS));
+        assertNull(received.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSecretIsRequired() {
+        new UdpReplicationChannel(null, 9100, new ArrayList<>(), null);
+    }
+
+    @Test
+    public void testParseBindAddress() {
+        assertNull(UdpReplicationChannel.parseBindAddress(null));
+        assertNull(UdpReplicationChannel.parseBindAddress(" "));
+        assertTrue(UdpReplicationChannel.parseBindAddress("127.0.0.1").isLoopbackAddress());
+    }
+
+    private UdpReplicationChannel open(InetSocketAddress address, List<InetSocketAddress> peers, String secret, BlockingQueue<String> received) {
+        UdpReplicationChannel channel = new UdpReplicationChannel(address.getAddress(), address.getPort(), peers, secret);
+        channels.add(channel);
+        channel.open(message -> {
+            if (received != null) {
+                received.add(message);
+            }
+        });
+        return channel;
+    }
+
+    private static int freePort() throws Exception {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
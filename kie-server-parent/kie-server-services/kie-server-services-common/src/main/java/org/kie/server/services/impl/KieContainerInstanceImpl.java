@@ -40,7 +40,7 @@ import org.kie.server.services.api.KieContainerInstance;
 public class KieContainerInstanceImpl implements KieContainerInstance {
 
     private KieContainerResource               resource;
-    private InternalKieContainer               kieContainer;
+    private volatile InternalKieContainer      kieContainer;
     private InternalKieScanner                 scanner;
     private transient Map<MarshallingFormat, Marshaller> marshallers;
 
@@ -49,6 +49,7 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
     private transient Set<Class<?>> extraClasses = new HashSet<Class<?>>();
     
     private transient KieServerScannerEventListener scannerListener;
+    private transient KieServerScannerService scannerService;
 
     public KieContainerInstanceImpl(String containerId, KieContainerStatus status) {
         this(containerId, status, null);
@@ -69,6 +70,7 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
         this.serviceContainer = new ConcurrentHashMap<String, Object>();
         updateReleaseId();
         this.scannerListener = new KieServerScannerEventListener(kieServer, this);
+        this.scannerService = kieServer != null ? kieServer.getScannerService() : null;
     }
 
     /**
@@ -113,6 +115,23 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
         updateReleaseId();
     }
 
+    /**
+     * Replaces the underlying kie container with the given (already built) one. Marshallers and extra classes
+     * bound to the previous container's class loader are discarded so they get recreated on demand.
+     * Requests that already obtained the previous container keep using it until they complete.
+     *
+     * @param kieContainer new kie container to serve requests with
+     * @return previous kie container, the caller is responsible for disposing it
+     */
+    public synchronized InternalKieContainer swapKieContainer(InternalKieContainer kieContainer) {
+        InternalKieContainer previous = this.kieContainer;
+        clearExtraClasses();
+        this.kieContainer = kieContainer;
+        updateReleaseId();
+        disposeMarshallers();
+        return previous;
+    }
+
     public KieContainerStatus getStatus() {
         return resource.getStatus();
     }
@@ -147,7 +166,12 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
         if (this.scanner == null) {
             throw new IllegalStateException("Can not start non-existing (null) scanner!");
         }
-        this.scanner.start(pollingInterval);
+        if (scannerService != null) {
+            // polled by the server level scanning service instead of the scanner's own timer
+            scannerService.register(this, pollingInterval);
+        } else {
+            this.scanner.start(pollingInterval);
+        }
         this.scanner.addListener(scannerListener);
         this.getResource().setScanner(new KieScannerResource(KieScannerStatus.STARTED, pollingInterval));
     }
@@ -163,15 +187,28 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
         if (this.scanner == null) {
             throw new IllegalStateException("Can not stop non-existing (null) scanner!");
         }
-        this.scanner.stop();  
+        if (scannerService == null || !scannerService.unregister(this)) {
+            this.scanner.stop();
+        }
         this.scanner.removeListener(scannerListener);
         this.getResource().getScanner().setStatus(KieScannerStatus.STOPPED);
     }
 
+    public KieScannerStatus getScannerStatus() {
+        KieScannerStatus status = mapScannerStatus(scanner.getStatus());
+        if (KieScannerStatus.STOPPED.equals(status) && scannerService != null && scannerService.isRegistered(this)) {
+            return KieScannerStatus.STARTED;
+        }
+        return status;
+    }
+
     public void disposeScanner() {
         if (this.scanner == null) {
             throw new IllegalStateException("Can not dispose non-existing (null) scanner!");
         }
+        if (scannerService != null) {
+            scannerService.unregister(this);
+        }
         this.scanner.shutdown();
         this.scanner = null;
         this.getResource().setScanner(new KieScannerResource(KieScannerStatus.DISPOSED));
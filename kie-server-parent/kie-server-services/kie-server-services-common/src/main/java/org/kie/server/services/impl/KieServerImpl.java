@@ -29,6 +29,9 @@ import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
@@ -36,11 +39,16 @@ import javax.naming.InitialContext;
 
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.appformer.maven.support.DependencyFilter;
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.compiler.kie.builder.impl.KieContainerImpl;
+import org.drools.compiler.kie.builder.impl.KieModuleKieProject;
 import org.drools.core.impl.InternalKieContainer;
+import org.kie.api.KieBase;
 import org.kie.api.KieServices;
 import org.kie.api.builder.KieScanner.Status;
 import org.kie.api.builder.Message.Level;
 import org.kie.api.builder.Results;
+import org.kie.api.conf.MBeansOption;
 import org.kie.scanner.KieModuleMetaData;
 import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.KieServerEnvironment;
@@ -108,6 +116,14 @@ public class KieServerImpl implements KieServer {
 
     private KieServerMode mode;
 
+    private boolean swapOnUpdate = Boolean.parseBoolean(System.getProperty(KieServerConstants.KIE_SERVER_CONTAINER_UPDATE_SWAP, "false"));
+    private long updateDrainTimeout = Long.parseLong(System.getProperty(KieServerConstants.KIE_SERVER_CONTAINER_UPDATE_DRAIN_TIMEOUT, "30000"));
+    // kie containers replaced by a release id update, kept alive until in-flight requests had time to complete
+    private Map<String, List<InternalKieContainer>> drainingContainers = new ConcurrentHashMap<String, List<InternalKieContainer>>();
+    private ScheduledExecutorService drainExecutor;
+
+    private KieServerScannerService scannerService;
+
     public KieServerImpl() {
         this(new KieServerStateFileRepository());
     }
@@ -129,6 +145,22 @@ public class KieServerImpl implements KieServer {
             mode = KieServerMode.DEVELOPMENT;
             logger.warn("Unable to parse value of " + KieServerConstants.KIE_SERVER_MODE + " = " + modeParam + "; supported values are 'DEVELOPMENT' or 'PRODUCTION'. Falling back to 'DEVELOPMENT' mode.");
         }
+
+        if (swapOnUpdate) {
+            drainExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "KieServer-ContainerDrain");
+                thread.setDaemon(true);
+                return thread;
+            });
+            logger.info("Container release id updates will build a new kie container and swap it, drain timeout {} ms", updateDrainTimeout);
+        }
+
+        if (Boolean.parseBoolean(System.getProperty(KieServerConstants.KIE_SERVER_SCANNER_SHARED, "false"))) {
+            int poolSize = Integer.parseInt(System.getProperty(KieServerConstants.KIE_SERVER_SCANNER_POOL_SIZE, "2"));
+            long metadataCacheTtl = Long.parseLong(System.getProperty(KieServerConstants.KIE_SERVER_SCANNER_METADATA_CACHE_TTL, "5000"));
+            scannerService = new KieServerScannerService(poolSize, metadataCacheTtl);
+            logger.info("Container scanners will be polled by shared scanning service with {} thread(s)", poolSize);
+        }
     }
     
     public void init() {
@@ -216,6 +248,22 @@ public class KieServerImpl implements KieServer {
                 logger.error("Error when destroying server extension of type {}", extension, e);
             }
         }
+        if (drainExecutor != null) {
+            drainExecutor.shutdownNow();
+        }
+        if (scannerService != null) {
+            scannerService.shutdown();
+        }
+        for (String containerId : new ArrayList<String>(drainingContainers.keySet())) {
+            disposeDrainingContainers(containerId);
+        }
+        if (repository != null) {
+            try {
+                repository.close();
+            } catch (Exception e) {
+                logger.error("Error when closing server state repository {}", repository, e);
+            }
+        }
         eventSupport.fireAfterServerStopped(this);
     }
 
@@ -223,6 +271,10 @@ public class KieServerImpl implements KieServer {
         return this.context.getServerExtensions();
     }
 
+    public KieServerScannerService getScannerService() {
+        return scannerService;
+    }
+
     protected KieServerInfo getInfoInternal() {
         Version version = KieServerEnvironment.getVersion();
         String serverId = KieServerEnvironment.getServerId();
@@ -582,6 +634,7 @@ public class KieServerImpl implements KieServer {
                         kci.setKieContainer(null); // helps reduce concurrent access issues
                         // this may fail, but we already removed the container from the registry
                         kieContainer.dispose();
+                        disposeDrainingContainers(containerId);
                         ks.getRepository().removeKieModule(releaseId);
                         logger.info("Container {} (for release id {}) successfully stopped", containerId, kci.getResource().getReleaseId());
 
@@ -820,7 +873,7 @@ public class KieServerImpl implements KieServer {
     }
 
     private KieScannerStatus mapScannerStatus(KieContainerInstanceImpl kieContainerInstance) {
-        return KieContainerInstanceImpl.mapScannerStatus(kieContainerInstance.getScanner().getStatus());
+        return kieContainerInstance.getScannerStatus();
     }
 
     private ServiceResponse<KieScannerResource> createScanner(String id, KieContainerInstanceImpl kci) {
@@ -899,7 +952,11 @@ public class KieServerImpl implements KieServer {
                 prepareUpdateExtensions(kci, releaseId, messages, resetBeforeUpdate);
 
                 ReleaseId originalReleaseId = kci.getResource().getReleaseId();
-                Message updateMessage = updateKieContainerToVersion(kci, releaseId);
+                // containers with a scanner are updated in place as the scanner is bound to the kie container, so are
+                // containers with MBeans as the drained container would unregister the MBeans of its successor
+                boolean swap = swapOnUpdate && kci.getScanner() == null && !isMBeansEnabled();
+                InternalKieContainer originalContainer = kci.getKieContainer();
+                Message updateMessage = swap ? swapKieContainerToVersion(kci, releaseId) : updateKieContainerToVersion(kci, releaseId);
                 if (updateMessage.getSeverity().equals(Severity.WARN)) {
                     messages.add(updateMessage);
                     return new ServiceResponse<ReleaseId>(ServiceResponse.ResponseType.FAILURE, "Error updating release id on container " + containerId + " to " + releaseId, kci.getResource().getReleaseId());
@@ -910,10 +967,15 @@ public class KieServerImpl implements KieServer {
                 if (messages.stream().anyMatch(m -> m.getSeverity().equals(Severity.ERROR))) {
                     logger.warn("Update of container {} (for release id {}) failed, putting it back to original release id {}", containerId, releaseId, originalReleaseId);
 
-                    updateMessage = updateKieContainerToVersion(kci, originalReleaseId);
-                    if (updateMessage.getSeverity().equals(Severity.WARN)) {
-                        messages.add(updateMessage);
-                        return new ServiceResponse<ReleaseId>(ServiceResponse.ResponseType.FAILURE, "Error reverting release id update on container " + containerId + " to original release id " + originalReleaseId, kci.getResource().getReleaseId());
+                    if (swap) {
+                        // the original container was never touched, so just put it back
+                        kci.swapKieContainer(originalContainer).dispose();
+                    } else {
+                        updateMessage = updateKieContainerToVersion(kci, originalReleaseId);
+                        if (updateMessage.getSeverity().equals(Severity.WARN)) {
+                            messages.add(updateMessage);
+                            return new ServiceResponse<ReleaseId>(ServiceResponse.ResponseType.FAILURE, "Error reverting release id update on container " + containerId + " to original release id " + originalReleaseId, kci.getResource().getReleaseId());
+                        }
                     }
                     updateExtensions(kci, originalReleaseId, messages, resetBeforeUpdate);
 
@@ -935,6 +997,9 @@ public class KieServerImpl implements KieServer {
                 });
 
                 logger.info("Container {} successfully updated to release id {}", containerId, releaseId);
+                if (swap) {
+                    disposeAfterDrain(containerId, originalContainer);
+                }
                 ks.getRepository().removeKieModule(originalReleaseId);
 
                 messages.add(new Message(Severity.INFO, "Release id successfully updated for container " + containerId));
@@ -974,6 +1039,86 @@ public class KieServerImpl implements KieServer {
         return response;
     }
 
+    /*
+     * Builds the new kie container next to the running one, which keeps serving requests until the new one is
+     * swapped in. Extensions are updated right after the swap (see updateContainerReleaseId) as they build their
+     * state from the container instance's kie container, so for that short window requests are already served by the
+     * new kie container while extension state (e.g. jBPM deployment) still belongs to the previous version. This is
+     * the same window an in place update has between updating the kie container and its extensions.
+     */
+    private Message swapKieContainerToVersion(KieContainerInstanceImpl kci, ReleaseId releaseId) {
+        String containerId = kci.getContainerId();
+        InternalKieContainer kieContainer = null;
+        try {
+            // the running kie container keeps its id registered with KieServices until it is disposed after drain, so
+            // a failed build or a rollback of the swap leaves it exactly as it was
+            kieContainer = newUnregisteredKieContainer(containerId, releaseId);
+            warmUpKieContainer(kieContainer);
+        } catch (Exception e) {
+            if (kieContainer != null) {
+                kieContainer.dispose();
+            }
+            logger.error("Error building kie container for container " + containerId + " in version " + releaseId, e);
+            Message response = new Message(Severity.WARN, "Error updating releaseId for container " + containerId + " to version " + releaseId);
+            response.addMessage(e.getMessage());
+            return response;
+        }
+
+        kci.swapKieContainer(kieContainer);
+        logger.debug("Container {} swapped to kie container with release id {}", containerId, releaseId);
+        return new Message(Severity.INFO, "Kie container updated successfully to version " + releaseId);
+    }
+
+    /*
+     * Same as ks.newKieContainer(containerId, releaseId) but without registering the kie container with KieServices,
+     * which accepts just one kie container per id and has no way to register the running one again.
+     */
+    private InternalKieContainer newUnregisteredKieContainer(String containerId, ReleaseId releaseId) {
+        InternalKieModule kieModule = (InternalKieModule) ks.getRepository().getKieModule(releaseId);
+        if (kieModule == null) {
+            throw new RuntimeException("Cannot find KieModule: " + releaseId);
+        }
+        return new KieContainerImpl(containerId, new KieModuleKieProject(kieModule), ks.getRepository(), releaseId);
+    }
+
+    private boolean isMBeansEnabled() {
+        return MBeansOption.isEnabled(System.getProperty(MBeansOption.PROPERTY_NAME, MBeansOption.DISABLED.toString()));
+    }
+
+    private void warmUpKieContainer(InternalKieContainer kieContainer) {
+        // creating a session per kie base builds the rete network and compiles the rules ahead of the first request
+        for (String kieBaseName : kieContainer.getKieBaseNames()) {
+            KieBase kieBase = kieContainer.getKieBase(kieBaseName);
+            kieBase.newKieSession().dispose();
+        }
+    }
+
+    private void disposeAfterDrain(String containerId, InternalKieContainer kieContainer) {
+        drainingContainers.computeIfAbsent(containerId, id -> new CopyOnWriteArrayList<InternalKieContainer>()).add(kieContainer);
+        drainExecutor.schedule(() -> {
+            List<InternalKieContainer> draining = drainingContainers.get(containerId);
+            if (draining != null && draining.remove(kieContainer)) {
+                disposeQuietly(containerId, kieContainer);
+            }
+        }, updateDrainTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    private void disposeDrainingContainers(String containerId) {
+        List<InternalKieContainer> draining = drainingContainers.remove(containerId);
+        if (draining != null) {
+            draining.forEach(kieContainer -> disposeQuietly(containerId, kieContainer));
+        }
+    }
+
+    private void disposeQuietly(String containerId, InternalKieContainer kieContainer) {
+        try {
+            kieContainer.dispose();
+            logger.debug("Previous kie container of container {} (for release id {}) disposed", containerId, kieContainer.getReleaseId());
+        } catch (Exception e) {
+            logger.warn("Error disposing previous kie container of container {}", containerId, e);
+        }
+    }
+
     private void prepareUpdateExtensions(KieContainerInstanceImpl kci, ReleaseId releaseId, List<Message> messages, boolean resetBeforeUpdate) {
         Map<String, Object> parameters = getReleaseUpdateParameters(releaseId, messages, resetBeforeUpdate);
 
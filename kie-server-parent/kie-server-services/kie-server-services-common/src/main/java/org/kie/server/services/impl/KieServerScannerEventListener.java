@@ -18,6 +18,7 @@ package org.kie.server.services.impl;
 import java.util.List;
 import java.util.Map;
 
+import org.kie.api.builder.KieScanner.Status;
 import org.kie.api.builder.Message.Level;
 import org.kie.api.builder.ReleaseId;
 import org.kie.api.event.kiescanner.KieScannerEventListener;
@@ -34,6 +35,7 @@ public class KieServerScannerEventListener implements KieScannerEventListener {
     
     private KieServerImpl kieServer;
     private KieContainerInstanceImpl kieContainerInstance;
+    private volatile long scanStartedAt = -1;
 
     public KieServerScannerEventListener(KieServerImpl kieServer, KieContainerInstanceImpl kieContainerInstance) {
         super();
@@ -43,7 +45,12 @@ public class KieServerScannerEventListener implements KieScannerEventListener {
 
     @Override
     public void onKieScannerStatusChangeEvent(KieScannerStatusChangeEvent statusChange) {
-        
+        if (statusChange.getStatus() == Status.SCANNING) {
+            scanStartedAt = System.currentTimeMillis();
+        } else if (scanStartedAt >= 0) {
+            logger.debug("Scan of container {} completed in {} ms", kieContainerInstance.getContainerId(), System.currentTimeMillis() - scanStartedAt);
+            scanStartedAt = -1;
+        }
     }
 
     @Override
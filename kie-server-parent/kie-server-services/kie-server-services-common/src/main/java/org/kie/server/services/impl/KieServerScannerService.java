@@ -0,0 +1,214 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.server.services.impl;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.kie.api.builder.ReleaseId;
+import org.kie.scanner.KieMavenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Server level scanning service that replaces the per container scanner timers. All started scanners are polled
+ * from a single bounded scheduler, containers that share a release id are checked together and the maven metadata
+ * of a release id is resolved at most once per cache period. Scanners are only asked to scan when the resolved
+ * artifact changed since their own last scan, newly registered scanners are scanned on the first check of their group.
+ */
+public class KieServerScannerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieServerScannerService.class);
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Function<ReleaseId, String> metadataResolver;
+    private final long metadataCacheTtl;
+
+    private final Map<ReleaseId, ScanGroup> groups = new HashMap<>();
+    private final Map<KieContainerInstanceImpl, ReleaseId> registrations = new HashMap<>();
+    private final Map<ReleaseId, CachedMetadata> metadataCache = new ConcurrentHashMap<>();
+
+    public KieServerScannerService(int poolSize, long metadataCacheTtl) {
+        this(poolSize, metadataCacheTtl, KieServerScannerService::resolveMavenMetadata);
+    }
+
+    public KieServerScannerService(int poolSize, long metadataCacheTtl, Function<ReleaseId, String> metadataResolver) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.scheduler = new ScheduledThreadPoolExecutor(poolSize, r -> {
+            Thread thread = new Thread(r, "KieServer-Scanner-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        this.metadataCacheTtl = metadataCacheTtl;
+        this.metadataResolver = metadataResolver;
+    }
+
+    public synchronized void register(KieContainerInstanceImpl kci, long pollingInterval) {
+        unregister(kci);
+
+        ReleaseId releaseId = kci.getKieContainer().getContainerReleaseId();
+        ScanGroup group = groups.computeIfAbsent(releaseId, ScanGroup::new);
+        group.members.put(kci, new Member(pollingInterval));
+        registrations.put(kci, releaseId);
+        reschedule(group);
+        logger.debug("Container {} registered for scanning of release id {} every {} ms", kci.getContainerId(), releaseId, pollingInterval);
+    }
+
+    public synchronized boolean unregister(KieContainerInstanceImpl kci) {
+        ReleaseId releaseId = registrations.remove(kci);
+        if (releaseId == null) {
+            return false;
+        }
+        ScanGroup group = groups.get(releaseId);
+        group.members.remove(kci);
+        if (group.members.isEmpty()) {
+            group.future.cancel(false);
+            groups.remove(releaseId);
+        } else {
+            reschedule(group);
+        }
+        logger.debug("Container {} unregistered from scanning of release id {}", kci.getContainerId(), releaseId);
+        return true;
+    }
+
+    public synchronized boolean isRegistered(KieContainerInstanceImpl kci) {
+        return registrations.containsKey(kci);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+        synchronized (this) {
+            groups.clear();
+            registrations.clear();
+        }
+        metadataCache.clear();
+    }
+
+    private void reschedule(ScanGroup group) {
+        // the group is polled as often as its most demanding member asks for
+        long interval = group.members.values().stream().mapToLong(member -> member.interval).min().getAsLong();
+        if (group.future != null) {
+            if (group.interval == interval) {
+                return;
+            }
+            group.future.cancel(false);
+        }
+        group.interval = interval;
+        group.future = scheduler.scheduleWithFixedDelay(() -> check(group), interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void check(ScanGroup group) {
+        long start = System.currentTimeMillis();
+        String metadata = null;
+        try {
+            metadata = getMetadata(group.releaseId);
+        } catch (Exception e) {
+            logger.warn("Unable to resolve maven metadata for release id {}, scanning without it", group.releaseId, e);
+        }
+        int scanned = 0;
+        for (Map.Entry<KieContainerInstanceImpl, Member> entry : group.members.entrySet()) {
+            KieContainerInstanceImpl kci = entry.getKey();
+            Member member = entry.getValue();
+            // members that joined or restarted after the last change have not seen the current metadata yet
+            if (metadata != null && metadata.equals(member.scannedMetadata)) {
+                continue;
+            }
+            scanned++;
+            try {
+                kci.getScanner().scanNow();
+                member.scannedMetadata = metadata;
+            } catch (Exception e) {
+                logger.warn("Error scanning container {} for release id {}", kci.getContainerId(), group.releaseId, e);
+            }
+        }
+        if (scanned == 0) {
+            logger.trace("No changes found for release id {} in {} ms", group.releaseId, System.currentTimeMillis() - start);
+        } else {
+            logger.debug("Scanned {} container(s) for release id {} in {} ms", scanned, group.releaseId, System.currentTimeMillis() - start);
+        }
+    }
+
+    private String getMetadata(ReleaseId releaseId) {
+        long now = System.currentTimeMillis();
+        CachedMetadata cached = metadataCache.get(releaseId);
+        if (cached != null && now - cached.fetchedAt < metadataCacheTtl) {
+            return cached.metadata;
+        }
+        String metadata = metadataResolver.apply(releaseId);
+        metadataCache.put(releaseId, new CachedMetadata(metadata, now));
+        return metadata;
+    }
+
+    /**
+     * Resolves the artifact of the given release id the same way the kie scanner does and returns the resolved
+     * version together with the file's timestamp and size, which changes whenever a new artifact gets deployed.
+     */
+    static String resolveMavenMetadata(ReleaseId releaseId) {
+        Artifact artifact = KieMavenRepository.getKieMavenRepository().resolveArtifact(releaseId);
+        if (artifact == null) {
+            return null;
+        }
+        File file = artifact.getFile();
+        if (file == null) {
+            return artifact.getVersion();
+        }
+        return artifact.getVersion() + ":" + file.lastModified() + ":" + file.length();
+    }
+
+    static class ScanGroup {
+
+        private final ReleaseId releaseId;
+        private final Map<KieContainerInstanceImpl, Member> members = new ConcurrentHashMap<>();
+        private long interval;
+        private ScheduledFuture<?> future;
+
+        ScanGroup(ReleaseId releaseId) {
+            this.releaseId = releaseId;
+        }
+    }
+
+    private static class Member {
+
+        private final long interval;
+        private volatile String scannedMetadata;
+
+        Member(long interval) {
+            this.interval = interval;
+        }
+    }
+
+    private static class CachedMetadata {
+
+        private final String metadata;
+        private final long fetchedAt;
+
+        CachedMetadata(String metadata, long fetchedAt) {
+            this.metadata = metadata;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
@@ -20,4 +20,11 @@ public interface KieServerStateRepository {
     void store(String serverId, KieServerState kieServerState);
 
     KieServerState load(String serverId);
+
+    /**
+     * Releases the resources held by the repository, persisting any state not yet written out.
+     * Invoked when the server is destroyed.
+     */
+    default void close() {
+    }
 }
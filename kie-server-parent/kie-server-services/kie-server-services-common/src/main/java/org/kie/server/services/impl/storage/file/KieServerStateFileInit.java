@@ -78,8 +78,10 @@ public class KieServerStateFileInit {
             logger.info("Initialized with '{}' kie server repository", serverRepoType);
         }
         
-        if (KIE_SERVER_STATE_REPO_TYPE_DEFAULT.equals(serverRepoType) &&
-                serverStateFile.exists()) {
+        // with the journal enabled the state may only exist in the journal, so ask the repository
+        boolean stateExists = repository instanceof KieServerStateFileRepository ?
+                ((KieServerStateFileRepository) repository).exists(serverId) : serverStateFile.exists();
+        if (KIE_SERVER_STATE_REPO_TYPE_DEFAULT.equals(serverRepoType) && stateExists) {
                 throw new IllegalStateException(String.format(
                         "%s already exists. %s should only be used for pre-bootstrapping creation of server state file.",
                         serverStateFile,
@@ -117,7 +119,12 @@ public class KieServerStateFileInit {
         }
         serverState.setContainers(containers);
 
-        repository.store(serverId, serverState);
+        try {
+            repository.store(serverId, serverState);
+        } finally {
+            // the process exits right after, so anything written behind must be persisted now
+            repository.close();
+        }
         return serverStateFile;
     }
 }
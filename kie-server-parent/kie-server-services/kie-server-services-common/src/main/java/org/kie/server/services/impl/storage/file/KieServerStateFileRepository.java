@@ -29,6 +29,7 @@ import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieServerConfig;
 import org.kie.server.api.model.KieServerConfigItem;
+import org.kie.server.common.storage.JournaledFileStore;
 import org.kie.server.services.impl.storage.KieServerState;
 import org.kie.server.services.impl.storage.KieServerStateRepository;
 import org.kie.server.services.impl.storage.KieServerStateRepositoryUtils;
@@ -36,14 +37,24 @@ import org.kie.soup.xstream.XStreamUtils;
 
 public class KieServerStateFileRepository implements KieServerStateRepository {
 
+    private static final String JOURNAL_NAME = "kie-server-states";
+
     private final File repositoryDir;
 
     private XStream xs;
 
     private Map<String, KieServerState> knownStates = new ConcurrentHashMap<String, KieServerState>();
 
+    // when enabled, states are written behind to a journal instead of rewriting <serverId>.xml on every store
+    private JournaledFileStore journal;
+
     public KieServerStateFileRepository(File repositoryDir) {
         this.repositoryDir = repositoryDir;
+        if (Boolean.parseBoolean(System.getProperty(KieServerConstants.KIE_SERVER_STATE_REPO_JOURNAL, "false"))) {
+            this.journal = new JournaledFileStore(new File(repositoryDir, JOURNAL_NAME).toPath(),
+                                                  Long.parseLong(System.getProperty(KieServerConstants.CFG_STORAGE_JOURNAL_FLUSH_INTERVAL, "500")),
+                                                  Integer.parseInt(System.getProperty(KieServerConstants.CFG_STORAGE_JOURNAL_COMPACTION_THRESHOLD, "1000")));
+        }
         xs = XStreamUtils.createTrustingXStream(new PureJavaReflectionProvider());
         String[] voidDeny = {"void.class", "Void.class"};
         xs.denyTypes(voidDeny);
@@ -57,6 +68,11 @@ public class KieServerStateFileRepository implements KieServerStateRepository {
     }
 
     public synchronized void store(String serverId, KieServerState kieServerState) {
+        if (journal != null) {
+            journal.put(serverId, xs.toXML(kieServerState));
+            knownStates.put(serverId, kieServerState);
+            return;
+        }
         FileOutputStream fos = null;
         try {
             fos = new FileOutputStream(new File(repositoryDir, serverId + ".xml"));
@@ -85,9 +101,11 @@ public class KieServerStateFileRepository implements KieServerStateRepository {
         synchronized (knownStates) {
             File serverStateFile = new File(repositoryDir, serverId + ".xml");
             KieServerState kieServerState = new KieServerState();
+            // states not journaled yet are still read from their xml file
+            String journaledState = journal != null ? journal.get(serverId) : null;
 
-            if (serverStateFile.exists()) {
-                kieServerState = (KieServerState) xs.fromXML(serverStateFile);
+            if (journaledState != null || serverStateFile.exists()) {
+                kieServerState = (KieServerState) (journaledState != null ? xs.fromXML(journaledState) : xs.fromXML(serverStateFile));
                 // override controllers if given as system property
                 String defaultController = System.getProperty(KieServerConstants.KIE_SERVER_CONTROLLER);
                 if (defaultController != null && !defaultController.trim().isEmpty()) {
@@ -111,7 +129,35 @@ public class KieServerStateFileRepository implements KieServerStateRepository {
         }
     }
 
+    /**
+     * Checks whether a state was stored for the given server, either journaled or as its xml file
+     */
+    public boolean exists(String serverId) {
+        return knownStates.containsKey(serverId)
+                || (journal != null && journal.contains(serverId))
+                || new File(repositoryDir, serverId + ".xml").exists();
+    }
+
     public void clearCache() {
         this.knownStates.clear();
     }
+
+    /**
+     * Persists the states written behind to the journal, if any
+     */
+    public void flush() throws IOException {
+        if (journal != null) {
+            journal.flush();
+        }
+    }
+
+    /**
+     * Persists the states written behind to the journal, if any, and stops its background flusher
+     */
+    @Override
+    public void close() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
 }
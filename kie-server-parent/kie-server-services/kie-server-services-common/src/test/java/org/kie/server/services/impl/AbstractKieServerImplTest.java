@@ -28,6 +28,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.commons.io.FileUtils;
 import org.assertj.core.api.Assertions;
 import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.core.impl.InternalKieContainer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -76,8 +77,10 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -534,6 +537,135 @@ public abstract class AbstractKieServerImplTest {
         kieServer.disposeContainer(containerId);
     }
 
+    @Test
+    public void testUpdateContainerWithSwap() {
+        KieServerExtension extension = mock(KieServerExtension.class);
+        when(extension.isUpdateContainerAllowed(any(), any(), any())).thenReturn(true);
+        List<InternalKieContainer> containersSeenByExtension = new ArrayList<>();
+        // extensions are updated once the new kie container is swapped in, requests are served by it from then on
+        doAnswer(invocation -> {
+            containersSeenByExtension.add(((KieContainerInstanceImpl) invocation.getArguments()[1]).getKieContainer());
+            return null;
+        }).when(extension).updateContainer(any(), any(), any());
+        extensions.add(extension);
+
+        String containerId = "container-to-swap";
+
+        startSwappingKieServer();
+        try {
+            startContainerWithoutScanner(containerId);
+            KieContainerInstanceImpl kci = kieServer.getServerRegistry().getContainer(containerId);
+            InternalKieContainer originalContainer = kci.getKieContainer();
+
+            ServiceResponse<ReleaseId> updateResponse = kieServer.updateContainerReleaseId(containerId, new ReleaseId(releaseId), true);
+            Assertions.assertThat(updateResponse.getType()).isEqualTo(ServiceResponse.ResponseType.SUCCESS);
+            Assertions.assertThat(kci.getKieContainer()).isNotSameAs(originalContainer);
+            Assertions.assertThat(kci.getResource().getReleaseId()).isEqualTo(new ReleaseId(releaseId));
+            // swapped kie container keeps the container id, same as the one created with the container
+            Assertions.assertThat(kci.getKieContainer().getContainerId()).isEqualTo(containerId);
+
+            verify(extension).updateContainer(any(), any(), any());
+            Assertions.assertThat(containersSeenByExtension).containsExactly(kci.getKieContainer());
+
+            kieServer.disposeContainer(containerId);
+        } finally {
+            System.clearProperty(KieServerConstants.KIE_SERVER_CONTAINER_UPDATE_SWAP);
+        }
+    }
+
+    @Test
+    public void testUpdateContainerWithSwapRollback() {
+        KieServerExtension extension = mock(KieServerExtension.class);
+        when(extension.isUpdateContainerAllowed(any(), any(), any())).thenReturn(true);
+        // fail the first update only, the rollback to the original release id succeeds
+        doAnswer(invocation -> {
+            Map<String, Object> parameters = (Map<String, Object>) invocation.getArguments()[2];
+            List<Message> messages = (List<Message>) parameters.get(KieServerConstants.KIE_SERVER_PARAM_MESSAGES);
+            if (messages.stream().noneMatch(m -> m.getSeverity() == Severity.ERROR)) {
+                messages.add(new Message(Severity.ERROR, "update failed"));
+            }
+            return null;
+        }).when(extension).updateContainer(any(), any(), any());
+        extensions.add(extension);
+
+        String containerId = "container-to-swap";
+
+        startSwappingKieServer();
+        try {
+            startContainerWithoutScanner(containerId);
+            KieContainerInstanceImpl kci = kieServer.getServerRegistry().getContainer(containerId);
+            InternalKieContainer originalContainer = kci.getKieContainer();
+
+            ServiceResponse<ReleaseId> updateResponse = kieServer.updateContainerReleaseId(containerId, new ReleaseId(releaseId), true);
+            Assertions.assertThat(updateResponse.getType()).isEqualTo(ServiceResponse.ResponseType.FAILURE);
+            Assertions.assertThat(kci.getKieContainer()).isSameAs(originalContainer);
+            assertContainerIdRegistered(containerId);
+
+            kieServer.disposeContainer(containerId);
+        } finally {
+            System.clearProperty(KieServerConstants.KIE_SERVER_CONTAINER_UPDATE_SWAP);
+        }
+    }
+
+    @Test
+    public void testUpdateContainerWithSwapFailure() {
+        KieServerExtension extension = mock(KieServerExtension.class);
+        when(extension.isUpdateContainerAllowed(any(), any(), any())).thenReturn(true);
+        extensions.add(extension);
+
+        String containerId = "container-to-swap";
+
+        startSwappingKieServer();
+        try {
+            startContainerWithoutScanner(containerId);
+            KieContainerInstanceImpl kci = kieServer.getServerRegistry().getContainer(containerId);
+            InternalKieContainer originalContainer = kci.getKieContainer();
+
+            // the new kie container can't be built as there is no such kjar
+            ReleaseId missingReleaseId = new ReleaseId(releaseId.getGroupId(), "missing-" + containerId, releaseId.getVersion());
+            ServiceResponse<ReleaseId> updateResponse = kieServer.updateContainerReleaseId(containerId, missingReleaseId, true);
+            Assertions.assertThat(updateResponse.getType()).isEqualTo(ServiceResponse.ResponseType.FAILURE);
+            Assertions.assertThat(kci.getKieContainer()).isSameAs(originalContainer);
+            Assertions.assertThat(kci.getResource().getReleaseId()).isEqualTo(new ReleaseId(releaseId));
+            assertContainerIdRegistered(containerId);
+            verify(extension, never()).updateContainer(any(), any(), any());
+
+            kieServer.disposeContainer(containerId);
+        } finally {
+            System.clearProperty(KieServerConstants.KIE_SERVER_CONTAINER_UPDATE_SWAP);
+        }
+    }
+
+    private void assertContainerIdRegistered(String containerId) {
+        // KieServices refuses to build a second kie container with an id that is still registered
+        try {
+            KieServices.Factory.get().newKieContainer(containerId, releaseId).dispose();
+            fail("Container id " + containerId + " is no longer registered with KieServices");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    protected void startSwappingKieServer() {
+        System.setProperty(KieServerConstants.KIE_SERVER_CONTAINER_UPDATE_SWAP, "true");
+        kieServer.destroy();
+        kieServer = new KieServerImpl(new KieServerStateFileRepository(REPOSITORY_DIR)) {
+            @Override
+            public List<KieServerExtension> getServerExtensions() {
+                return extensions;
+            }
+        };
+        kieServer.init();
+    }
+
+    protected void startContainerWithoutScanner(String containerId) {
+        createEmptyKjar(containerId, getVersion(mode));
+
+        KieContainerResource kieContainerResource = new KieContainerResource(containerId, new ReleaseId(this.releaseId));
+        ServiceResponse<KieContainerResource> createResponse = kieServer.createContainer(containerId, kieContainerResource);
+        Assertions.assertThat(createResponse.getType()).isEqualTo(ServiceResponse.ResponseType.SUCCESS);
+    }
+
     protected void startContainerToUpdate(String containerId, String version) {
         createEmptyKjar(containerId, version);
 
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.server.services.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.drools.compiler.kie.builder.impl.InternalKieScanner;
+import org.drools.core.impl.InternalKieContainer;
+import org.junit.After;
+import org.junit.Test;
+import org.kie.api.KieServices;
+import org.kie.api.builder.ReleaseId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class KieServerScannerServiceTest {
+
+    private static final ReleaseId RELEASE_ID = KieServices.Factory.get().newReleaseId("org.kie.server.test", "scanned", "1.0.0-SNAPSHOT");
+    private static final ReleaseId OTHER_RELEASE_ID = KieServices.Factory.get().newReleaseId("org.kie.server.test", "other", "1.0.0-SNAPSHOT");
+
+    private KieServerScannerService scannerService;
+
+    @After
+    public void cleanUp() {
+        if (scannerService != null) {
+            scannerService.shutdown();
+        }
+    }
+
+    @Test
+    public void testScanOnlyWhenMetadataChanged() throws Exception {
+        AtomicReference<String> metadata = new AtomicReference<>("1");
+        scannerService = new KieServerScannerService(1, 0, releaseId -> metadata.get());
+
+        KieContainerInstanceImpl container = mockContainer(RELEASE_ID);
+        scannerService.register(container, 20);
+        assertTrue(scannerService.isRegistered(container));
+
+        // first check always scans, following ones only when the artifact changed
+        verify(container.getScanner(), timeout(2000).times(1)).scanNow();
+        Thread.sleep(200);
+        verify(container.getScanner(), times(1)).scanNow();
+
+        metadata.set("2");
+        verify(container.getScanner(), timeout(2000).times(2)).scanNow();
+    }
+
+    @Test
+    public void testContainersSharingReleaseIdResolveMetadataOnce() {
+        Map<ReleaseId, AtomicInteger> resolved = new ConcurrentHashMap<>();
+        scannerService = new KieServerScannerService(1, Long.MAX_VALUE, releaseId -> {
+            resolved.computeIfAbsent(releaseId, id -> new AtomicInteger()).incrementAndGet();
+            return "1";
+        });
+
+        KieContainerInstanceImpl first = mockContainer(RELEASE_ID);
+        KieContainerInstanceImpl second = mockContainer(RELEASE_ID);
+        KieContainerInstanceImpl other = mockContainer(OTHER_RELEASE_ID);
+        scannerService.register(first, 20);
+        scannerService.register(second, 50);
+        scannerService.register(other, 20);
+
+        verify(first.getScanner(), timeout(2000).times(1)).scanNow();
+        verify(second.getScanner(), timeout(2000).times(1)).scanNow();
+        verify(other.getScanner(), timeout(2000).times(1)).scanNow();
+
+        assertEquals(1, resolved.get(RELEASE_ID).get());
+        assertEquals(1, resolved.get(OTHER_RELEASE_ID).get());
+    }
+
+    @Test
+    public void testContainerRegisteredAfterGroupCheckIsScanned() throws Exception {
+        scannerService = new KieServerScannerService(1, Long.MAX_VALUE, releaseId -> "1");
+
+        KieContainerInstanceImpl first = mockContainer(RELEASE_ID);
+        scannerService.register(first, 20);
+        verify(first.getScanner(), timeout(2000).times(1)).scanNow();
+
+        // joins the group once it already scanned the current artifact
+        KieContainerInstanceImpl second = mockContainer(RELEASE_ID);
+        scannerService.register(second, 20);
+        verify(second.getScanner(), timeout(2000).times(1)).scanNow();
+
+        // restarted scanner is scanned again even though the artifact did not change
+        scannerService.register(first, 20);
+        verify(first.getScanner(), timeout(2000).times(2)).scanNow();
+
+        Thread.sleep(200);
+        verify(first.getScanner(), times(2)).scanNow();
+        verify(second.getScanner(), times(1)).scanNow();
+    }
+
+    @Test
+    public void testUnregisteredContainerIsNotScanned() throws Exception {
+        AtomicReference<String> metadata = new AtomicReference<>("1");
+        scannerService = new KieServerScannerService(1, 0, releaseId -> metadata.get());
+
+        KieContainerInstanceImpl container = mockContainer(RELEASE_ID);
+        scannerService.register(container, 20);
+        verify(container.getScanner(), timeout(2000).times(1)).scanNow();
+
+        assertTrue(scannerService.unregister(container));
+        assertFalse(scannerService.isRegistered(container));
+        assertFalse(scannerService.unregister(container));
+
+        metadata.set("2");
+        Thread.sleep(200);
+        verify(container.getScanner(), times(1)).scanNow();
+    }
+
+    private KieContainerInstanceImpl mockContainer(ReleaseId releaseId) {
+        InternalKieContainer kieContainer = mock(InternalKieContainer.class);
+        when(kieContainer.getContainerReleaseId()).thenReturn(releaseId);
+        InternalKieScanner scanner = mock(InternalKieScanner.class);
+
+        KieContainerInstanceImpl container = mock(KieContainerInstanceImpl.class);
+        when(container.getKieContainer()).thenReturn(kieContainer);
+        when(container.getScanner()).thenReturn(scanner);
+        when(container.getContainerId()).thenReturn(releaseId.getArtifactId());
+        return container;
+    }
+}
@@ -17,9 +17,12 @@ package org.kie.server.services.impl.storage.file;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.kie.server.api.KieServerConstants.KIE_SERVER_CONTAINER_DEPLOYMENT;
 import static org.kie.server.api.KieServerConstants.KIE_SERVER_ID;
 import static org.kie.server.api.KieServerConstants.KIE_SERVER_STATE_REPO;
+import static org.kie.server.api.KieServerConstants.KIE_SERVER_STATE_REPO_JOURNAL;
 import static org.kie.server.api.model.KieContainerStatus.STARTED;
 
 import java.io.File;
@@ -27,7 +30,9 @@ import java.util.Iterator;
 
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.kie.api.KieServices;
 import org.kie.api.builder.ReleaseId;
 import org.kie.server.api.model.KieContainerResource;
@@ -71,6 +76,9 @@ public class KieServerStateFileInitTest {
         return KieServices.Factory.get().newReleaseId(gav[0], gav[1], gav[2]);
     }
 
+    @Rule
+    public TemporaryFolder journalFolder = new TemporaryFolder();
+
     private String origServerRepo = null;
     private String origServerId = null;
     private String origServerContainerDeployment = null;
@@ -128,6 +136,56 @@ public class KieServerStateFileInitTest {
         assertFalse(containers.hasNext());
     }
 
+    @Test
+    public void testInitWithJournal() throws Exception {
+        System.setProperty(KIE_SERVER_STATE_REPO_JOURNAL, "true");
+        System.setProperty(KIE_SERVER_STATE_REPO, journalFolder.getRoot().getCanonicalPath());
+
+        File serverStateFile = KieServerStateFileInit.init();
+        // the state is only journaled, the xml file is never written
+        assertFalse(serverStateFile.exists());
+
+        KieServerStateFileRepository repository = new KieServerStateFileRepository(journalFolder.getRoot());
+        try {
+            assertTrue(repository.exists(getServerId(serverStateFile)));
+            KieServerState serverState = repository.load(getServerId(serverStateFile));
+            assertEquals(4, serverState.getContainers().size());
+            assertEquals(serverContainerDeployment, serverState.getConfiguration().getConfigItem(KIE_SERVER_CONTAINER_DEPLOYMENT).getValue());
+        } finally {
+            repository.close();
+        }
+
+        try {
+            KieServerStateFileInit.init();
+            fail("Init must not clobber a journaled server state");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testJournaledStateSurvivesClose() throws Exception {
+        System.setProperty(KIE_SERVER_STATE_REPO_JOURNAL, "true");
+        String serverId = getServerId(tempServerStateFile);
+
+        KieServerStateFileRepository repository = new KieServerStateFileRepository(journalFolder.getRoot());
+        assertFalse(repository.exists(serverId));
+        KieServerState serverState = repository.load(serverId);
+        serverState.getContainers().add(new KieContainerResource(example, new org.kie.server.api.model.ReleaseId(gav7.toExternalForm()), STARTED));
+        repository.store(serverId, serverState);
+        repository.close();
+
+        KieServerStateFileRepository reloaded = new KieServerStateFileRepository(journalFolder.getRoot());
+        try {
+            assertTrue(reloaded.exists(serverId));
+            KieContainerResource container = reloaded.load(serverId).getContainers().iterator().next();
+            assertEquals(example, container.getContainerId());
+            assertEquals(gav7.toExternalForm(), container.getReleaseId().toExternalForm());
+        } finally {
+            reloaded.close();
+        }
+    }
+
     private String getServerRepo(File serverStateFile) throws Exception {
         return serverStateFile.getParentFile().getCanonicalPath();
     }
@@ -153,6 +211,7 @@ public class KieServerStateFileInitTest {
         } else {
             System.clearProperty(KIE_SERVER_CONTAINER_DEPLOYMENT);
         }
+        System.clearProperty(KIE_SERVER_STATE_REPO_JOURNAL);
         tempServerStateFile.delete();
     }
 
@@ -15,13 +15,30 @@
 
 package org.kie.server.services.dmn;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import javax.naming.InitialContext;
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
 
+import org.kie.api.KieBase;
 import org.kie.api.runtime.KieRuntimeFactory;
+import org.kie.dmn.api.core.DMNMessage.Severity;
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.dmn.api.core.DMNRuntime;
 import org.kie.dmn.api.core.ast.DecisionNode;
@@ -34,16 +51,21 @@ import org.kie.dmn.core.internal.utils.DMNEvaluationUtils;
 import org.kie.dmn.core.internal.utils.DMNEvaluationUtils.DMNEvaluationResult;
 import org.kie.dmn.model.api.InputData;
 import org.kie.dmn.model.api.ItemDefinition;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.dmn.DMNContextKS;
+import org.kie.server.api.model.dmn.DMNContextKSList;
 import org.kie.server.api.model.dmn.DMNDecisionInfo;
 import org.kie.server.api.model.dmn.DMNDecisionServiceInfo;
 import org.kie.server.api.model.dmn.DMNInputDataInfo;
 import org.kie.server.api.model.dmn.DMNItemDefinitionInfo;
+import org.kie.server.api.model.dmn.DMNMessageKS;
 import org.kie.server.api.model.dmn.DMNModelInfo;
 import org.kie.server.api.model.dmn.DMNModelInfoList;
 import org.kie.server.api.model.dmn.DMNQNameInfo;
 import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.api.model.dmn.DMNResultKSList;
 import org.kie.server.api.model.dmn.DMNUnaryTestsInfo;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.KieContainerInstanceImpl;
@@ -54,13 +76,30 @@ import org.kie.server.services.prometheus.PrometheusMetricsDMNListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
 public class ModelEvaluatorServiceBase {
 
     private static final Logger LOG = LoggerFactory.getLogger( ModelEvaluatorServiceBase.class );
 
+    private static final int BATCH_PARALLELISM = Integer.parseInt(System.getProperty(KieServerConstants.CFG_DMN_BATCH_PARALLELISM,
+                                                                                     String.valueOf(Runtime.getRuntime().availableProcessors())));
+    // how many evaluations are in flight per thread, bounds memory held by results waiting to be written out in order
+    private static final int BATCH_WINDOW_PER_THREAD = 16;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private KieServerRegistry context;
     private MarshallerHelper marshallerHelper;
 
+    // DMN runtime per container with listeners already attached, replaced when the container's kie base changes
+    private Map<String, ContainerDMNRuntime> runtimes = new ConcurrentHashMap<>();
+    private volatile ExecutorService batchExecutor;
+    // managed executor service belongs to the application server, so it is never shut down here
+    private volatile boolean managedBatchExecutor;
+
     public ModelEvaluatorServiceBase(KieServerRegistry context) {
         this.context = context;
         this.marshallerHelper = new MarshallerHelper(context);
@@ -156,23 +195,7 @@ public class ModelEvaluatorServiceBase {
     public ServiceResponse<DMNResultKS> evaluateDecisions(String containerId, String contextPayload, String marshallingType) {
         try {
             KieContainerInstanceImpl kContainer = context.getContainer(containerId, ContainerLocatorProvider.get().getLocator());
-            DMNRuntime dmnRuntime = KieRuntimeFactory.of(kContainer.getKieContainer().getKieBase()).get(DMNRuntime.class);
-
-            PrometheusKieServerExtension extension = (PrometheusKieServerExtension)context.getServerExtension(PrometheusKieServerExtension.EXTENSION_NAME);
-            if (extension != null) {
-                //default handler
-                PrometheusMetricsDMNListener listener = new PrometheusMetricsDMNListener(PrometheusKieServerExtension.getMetrics(), kContainer);
-                dmnRuntime.addListener(listener);
-
-                //custom handler
-                List<DMNRuntimeEventListener> listeners = extension.getDMNRuntimeListeners(kContainer);
-                listeners.forEach(l -> {
-                    if (!dmnRuntime.getListeners().contains(l)) {
-                        dmnRuntime.addListener(l);
-                    }
-                });
-
-            }
+            DMNRuntime dmnRuntime = getDMNRuntime(kContainer);
 
             LOG.debug("Will deserialize payload: {}", contextPayload);
             DMNContextKS evalCtx = marshallerHelper.unmarshal(containerId, contextPayload, marshallingType, DMNContextKS.class);
@@ -204,8 +227,248 @@ public class ModelEvaluatorServiceBase {
         }
     }
 
+    public ServiceResponse<DMNResultKSList> evaluateDecisionsBatch(String containerId, String contextPayload, String marshallingType) {
+        try {
+            DMNContextKSList batch = unmarshalBatch(containerId, contextPayload, marshallingType);
+            List<DMNResultKS> results = new ArrayList<>();
+            evaluateDecisionsBatch(containerId, batch, results::add);
+
+            return new ServiceResponse<DMNResultKSList>(
+                    ServiceResponse.ResponseType.SUCCESS,
+                    "OK from container '" + containerId + "'",
+                    new DMNResultKSList( results ) );
+        } catch ( Exception e ) {
+            LOG.error( "Error from container '" + containerId + "'", e );
+            return new ServiceResponse<DMNResultKSList>(
+                    ServiceResponse.ResponseType.FAILURE,
+                    "Error from container '" + containerId + "'" + e.getMessage(),
+                    null );
+        }
+    }
+
+    public DMNContextKSList unmarshalBatch(String containerId, String contextPayload, String marshallingType) {
+        LOG.debug("Will deserialize batch payload: {}", contextPayload);
+        DMNContextKSList batch = marshallerHelper.unmarshal(containerId, contextPayload, marshallingType, DMNContextKSList.class);
+        if (batch == null) {
+            batch = new DMNContextKSList();
+        }
+        return batch;
+    }
+
+    /**
+     * Evaluates all contexts of the batch and writes the service response to the output stream. JSON responses
+     * are written result by result as evaluations complete so large batches are not kept in memory, other formats
+     * are marshalled as a whole once all contexts are evaluated.
+     */
+    public void evaluateDecisionsBatch(String containerId, DMNContextKSList batch, String marshallingType, OutputStream output) throws IOException {
+        String resolvedContainerId = context.getContainerId(containerId, ContainerLocatorProvider.get().getLocator());
+        String message = "OK from container '" + containerId + "'";
+        if (MarshallingFormat.JSON != MarshallerHelper.getFormat(marshallingType)) {
+            List<DMNResultKS> results = new ArrayList<>();
+            evaluateDecisionsBatch(containerId, batch, results::add);
+            ServiceResponse<DMNResultKSList> response = new ServiceResponse<DMNResultKSList>(ServiceResponse.ResponseType.SUCCESS,
+                                                                                             message,
+                                                                                             new DMNResultKSList(results));
+            output.write(marshallerHelper.marshal(resolvedContainerId, marshallingType, response).getBytes(StandardCharsets.UTF_8));
+            output.flush();
+            return;
+        }
+
+        // same structure as the marshalled ServiceResponse<DMNResultKSList>, results are marshalled one by one into it
+        JsonGenerator generator = JSON_FACTORY.createGenerator(output, JsonEncoding.UTF8);
+        generator.writeStartObject();
+        generator.writeStringField("type", ServiceResponse.ResponseType.SUCCESS.name());
+        generator.writeStringField("msg", message);
+        generator.writeObjectFieldStart("result");
+        generator.writeObjectFieldStart(DMNResultKSList.LIST_ELEMENT);
+        generator.writeArrayFieldStart(DMNResultKSList.RESULTS_ELEMENT);
+        try {
+            evaluateDecisionsBatch(containerId, batch, result -> {
+                try {
+                    generator.writeRawValue(marshallerHelper.marshal(resolvedContainerId, marshallingType, result));
+                    generator.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    /**
+     * Evaluates every context of the batch against the same model. DMN runtime and its listeners are resolved
+     * once for the whole batch and contexts are evaluated in parallel, results are handed to the consumer in the
+     * same order as the contexts were given. Failure of single evaluation is reported as error message of its result
+     * and does not stop the batch.
+     */
+    public void evaluateDecisionsBatch(String containerId, DMNContextKSList batch, Consumer<DMNResultKS> resultConsumer) {
+        KieContainerInstanceImpl kContainer = context.getContainer(containerId, ContainerLocatorProvider.get().getLocator());
+        DMNRuntime dmnRuntime = validateBatch(kContainer, batch);
+        ClassLoader classLoader = kContainer.getKieContainer().getClassLoader();
+        List<DMNContextKS> contexts = batch.getContexts();
+        LOG.debug("About to evaluate batch of {} contexts on container {}", contexts.size(), containerId);
+
+        int window = Math.max(1, BATCH_PARALLELISM * BATCH_WINDOW_PER_THREAD);
+        for (int start = 0; start < contexts.size(); start += window) {
+            int end = Math.min(start + window, contexts.size());
+            List<CompletableFuture<DMNResultKS>> evaluations = new ArrayList<>(end - start);
+            for (DMNContextKS evalCtx : contexts.subList(start, end)) {
+                evaluations.add(CompletableFuture.supplyAsync(() -> evaluate(dmnRuntime, classLoader, batch, evalCtx), getBatchExecutor()));
+            }
+            for (CompletableFuture<DMNResultKS> evaluation : evaluations) {
+                resultConsumer.accept(evaluation.join());
+            }
+        }
+    }
+
+    /**
+     * Makes sure the batch can be evaluated on given container, so callers streaming results can fail
+     * before anything is written out.
+     */
+    public void validateBatch(String containerId, DMNContextKSList batch) {
+        validateBatch(context.getContainer(containerId, ContainerLocatorProvider.get().getLocator()), batch);
+    }
+
+    protected DMNRuntime validateBatch(KieContainerInstanceImpl kContainer, DMNContextKSList batch) {
+        if (kContainer == null) {
+            throw new IllegalArgumentException("Container not found");
+        }
+        DMNRuntime dmnRuntime = getDMNRuntime(kContainer);
+        if (batch.getNamespace() != null && batch.getModelName() != null && dmnRuntime.getModel(batch.getNamespace(), batch.getModelName()) == null) {
+            throw new IllegalArgumentException("Model " + batch.getNamespace() + " : " + batch.getModelName() + " not found in container '" + kContainer.getContainerId() + "'");
+        }
+        return dmnRuntime;
+    }
+
+    protected DMNResultKS evaluate(DMNRuntime dmnRuntime, ClassLoader classLoader, DMNContextKSList batch, DMNContextKS evalCtx) {
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoader);
+        try {
+            DMNEvaluationResult evaluationResult = DMNEvaluationUtils.evaluate(dmnRuntime,
+                                                                               batch.getNamespace(),
+                                                                               batch.getModelName(),
+                                                                               evalCtx.getDmnContext(),
+                                                                               batch.getDecisionNames(),
+                                                                               batch.getDecisionIds(),
+                                                                               batch.getDecisionServiceName());
+
+            return new DMNResultKS(evaluationResult.model.getNamespace(),
+                                   evaluationResult.model.getName(),
+                                   batch.getDecisionNames(),
+                                   evaluationResult.result);
+        } catch (Exception e) {
+            LOG.debug("Evaluation of batch context failed", e);
+            DMNResultKS res = new DMNResultKS();
+            res.setNamespace(batch.getNamespace());
+            res.setModelName(batch.getModelName());
+            res.setDecisionNames(batch.getDecisionNames());
+            res.setMessages(Collections.singletonList(DMNMessageKS.of(Severity.ERROR, e.getMessage())));
+            return res;
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    /*
+     * DMN runtime is created once per container's kie base and listeners are attached to it only at that time
+     */
+    protected DMNRuntime getDMNRuntime(KieContainerInstanceImpl kContainer) {
+        KieBase kieBase = kContainer.getKieContainer().getKieBase();
+        ContainerDMNRuntime containerRuntime = runtimes.get(kContainer.getContainerId());
+        if (containerRuntime != null && containerRuntime.kieBase == kieBase) {
+            return containerRuntime.dmnRuntime;
+        }
+        DMNRuntime dmnRuntime = KieRuntimeFactory.of(kieBase).get(DMNRuntime.class);
+
+        PrometheusKieServerExtension extension = (PrometheusKieServerExtension)context.getServerExtension(PrometheusKieServerExtension.EXTENSION_NAME);
+        if (extension != null) {
+            //default handler
+            PrometheusMetricsDMNListener listener = new PrometheusMetricsDMNListener(PrometheusKieServerExtension.getMetrics(), kContainer);
+            dmnRuntime.addListener(listener);
+
+            //custom handler
+            List<DMNRuntimeEventListener> listeners = extension.getDMNRuntimeListeners(kContainer);
+            listeners.forEach(l -> {
+                if (!dmnRuntime.getListeners().contains(l)) {
+                    dmnRuntime.addListener(l);
+                }
+            });
+
+        }
+        runtimes.put(kContainer.getContainerId(), new ContainerDMNRuntime(kieBase, dmnRuntime));
+        return dmnRuntime;
+    }
+
+    public void disposeContainer(String containerId) {
+        runtimes.remove(containerId);
+    }
+
+    public void shutdown() {
+        runtimes.clear();
+        ExecutorService executor = batchExecutor;
+        batchExecutor = null;
+        if (executor != null && !managedBatchExecutor) {
+            executor.shutdownNow();
+            LOG.debug("DMN batch executor service stopped");
+        }
+    }
+
+    protected ExecutorService getBatchExecutor() {
+        ExecutorService executor = batchExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = batchExecutor;
+                if (executor == null) {
+                    executor = createBatchExecutor();
+                    batchExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /*
+     * Uses the application server's managed executor service when there is one, evaluations in flight are bounded
+     * by the batch window either way. Otherwise a pool of daemon threads is created and shut down with the extension.
+     */
+    protected ExecutorService createBatchExecutor() {
+        try {
+            ExecutorService executor = InitialContext.doLookup("java:comp/DefaultManagedExecutorService");
+            LOG.debug("JEE version of executor service found for DMN batches");
+            managedBatchExecutor = true;
+            return executor;
+        } catch (Exception e) {
+            LOG.debug("Cannot find managed executor service for DMN batches using standard one instead", e);
+        }
+        managedBatchExecutor = false;
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = r -> {
+            Thread thread = new Thread(r, "KieServer-DMNBatch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(Math.max(1, BATCH_PARALLELISM), threadFactory);
+    }
+
     public KieServerRegistry getKieServerRegistry() {
         return this.context;
     }
 
+    private static class ContainerDMNRuntime {
+
+        private final KieBase kieBase;
+        private final DMNRuntime dmnRuntime;
+
+        private ContainerDMNRuntime(KieBase kieBase, DMNRuntime dmnRuntime) {
+            this.kieBase = kieBase;
+            this.dmnRuntime = dmnRuntime;
+        }
+    }
+
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.server.services.dmn;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.dmn.api.core.DMNMessage.Severity;
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.api.model.dmn.DMNContextKSList;
+import org.kie.server.api.model.dmn.DMNMessageKS;
+import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.api.model.dmn.DMNResultKSList;
+import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.impl.KieContainerInstanceImpl;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ModelEvaluatorServiceBaseTest {
+
+    // quotes need to be escaped in the streamed message
+    private static final String CONTAINER_ID = "batch \"container\"";
+
+    private Marshaller marshaller = MarshallerFactory.getMarshaller(MarshallingFormat.JSON, this.getClass().getClassLoader());
+
+    @Mock
+    private KieServerRegistry registry;
+
+    @Mock
+    private KieContainerInstanceImpl containerInstance;
+
+    private List<DMNResultKS> results;
+
+    private ModelEvaluatorServiceBase modelEvaluatorService;
+
+    @Before
+    public void init() {
+        when(registry.getContainerId(eq(CONTAINER_ID), any())).thenReturn(CONTAINER_ID);
+        when(registry.getContainer(eq(CONTAINER_ID), any())).thenReturn(containerInstance);
+        when(containerInstance.getMarshaller(MarshallingFormat.JSON)).thenReturn(marshaller);
+
+        DMNResultKS evaluated = new DMNResultKS();
+        evaluated.setNamespace("https://github.com/kiegroup/kie-dmn/input-data-string");
+        evaluated.setModelName("input-data-string");
+        evaluated.setDmnContext(Collections.singletonMap("Greeting Message", "Hello John"));
+        DMNResultKS failed = new DMNResultKS();
+        failed.setNamespace("https://github.com/kiegroup/kie-dmn/input-data-string");
+        failed.setModelName("input-data-string");
+        failed.setMessages(Collections.singletonList(DMNMessageKS.of(Severity.ERROR, "evaluation failed")));
+        results = Arrays.asList(evaluated, failed);
+
+        modelEvaluatorService = new ModelEvaluatorServiceBase(registry) {
+            @Override
+            public void evaluateDecisionsBatch(String containerId, DMNContextKSList batch, Consumer<DMNResultKS> resultConsumer) {
+                results.forEach(resultConsumer);
+            }
+        };
+    }
+
+    @Test
+    public void testStreamedBatchResponseMatchesMarshalledResponse() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        modelEvaluatorService.evaluateDecisionsBatch(CONTAINER_ID, new DMNContextKSList(), "application/json", output);
+        String streamed = new String(output.toByteArray(), StandardCharsets.UTF_8);
+
+        ServiceResponse<DMNResultKSList> expected = new ServiceResponse<>(ServiceResponse.ResponseType.SUCCESS,
+                                                                          "OK from container '" + CONTAINER_ID + "'",
+                                                                          new DMNResultKSList(results));
+        ObjectMapper objectMapper = new ObjectMapper();
+        assertEquals(objectMapper.readTree(marshaller.marshall(expected)), objectMapper.readTree(streamed));
+
+        ServiceResponse<DMNResultKSList> response = marshaller.unmarshall(streamed, ServiceResponse.class);
+        assertEquals(ServiceResponse.ResponseType.SUCCESS, response.getType());
+        assertEquals("OK from container '" + CONTAINER_ID + "'", response.getMsg());
+        assertEquals(2, response.getResult().getResults().size());
+        assertEquals("Hello John", response.getResult().getResults().get(0).getContext().get("Greeting Message"));
+        assertEquals("evaluation failed", response.getResult().getResults().get(1).getMessages().get(0).getMessage());
+    }
+
+    @Test
+    public void testStreamedEmptyBatchResponseMatchesMarshalledResponse() throws Exception {
+        results = Collections.emptyList();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        modelEvaluatorService.evaluateDecisionsBatch(CONTAINER_ID, new DMNContextKSList(), "application/json", output);
+
+        ServiceResponse<DMNResultKSList> expected = new ServiceResponse<>(ServiceResponse.ResponseType.SUCCESS,
+                                                                          "OK from container '" + CONTAINER_ID + "'",
+                                                                          new DMNResultKSList(results));
+        ObjectMapper objectMapper = new ObjectMapper();
+        assertEquals(objectMapper.readTree(marshaller.marshall(expected)),
+                     objectMapper.readTree(new String(output.toByteArray(), StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testBatchExecutorIsShutDownWithService() {
+        // no managed executor service outside of an application server, the service owns its pool
+        ExecutorService executor = modelEvaluatorService.getBatchExecutor();
+        assertSame(executor, modelEvaluatorService.getBatchExecutor());
+
+        modelEvaluatorService.shutdown();
+        assertTrue(executor.isShutdown());
+        assertNotSame(executor, modelEvaluatorService.getBatchExecutor());
+        modelEvaluatorService.shutdown();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.jbpm.ui;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+/**
+ * Per container cache of parsed form definitions and of rendered forms that do not depend
+ * on runtime data. All entries of given container are dropped on {@link #evict(String)} which is
+ * invoked whenever container is disposed or updated.
+ */
+public class FormCache {
+
+    private Map<String, Map<String, JsonNode>> parsedForms = new ConcurrentHashMap<>();
+    private Map<String, Map<String, String>> renderedForms = new ConcurrentHashMap<>();
+
+    /**
+     * Returns parsed form stored under given key, parsing it on first access.
+     * Absent forms are remembered as well so they are not looked up again.
+     */
+    public JsonNode getParsedForm(String containerId, String formKey, Function<String, JsonNode> parser) {
+        Map<String, JsonNode> forms = parsedForms.computeIfAbsent(containerId, id -> new ConcurrentHashMap<>());
+        JsonNode form = forms.get(formKey);
+        if (form == null) {
+            form = parser.apply(formKey);
+            if (form == null) {
+                form = MissingNode.getInstance();
+            }
+            JsonNode existing = forms.putIfAbsent(formKey, form);
+            if (existing != null) {
+                form = existing;
+            }
+        }
+        return form.isMissingNode() ? null : form;
+    }
+
+    public void putParsedForm(String containerId, String formKey, JsonNode form) {
+        parsedForms.computeIfAbsent(containerId, id -> new ConcurrentHashMap<>()).put(formKey, form);
+    }
+
+    /**
+     * Returns rendered form stored under given key, rendering it on first access.
+     * Rendering happens outside of any lock so concurrent first requests might render the same form
+     * more than once, though only single result is kept.
+     */
+    public String getRenderedForm(String containerId, String renderKey, Supplier<String> renderer) {
+        Map<String, String> forms = renderedForms.computeIfAbsent(containerId, id -> new ConcurrentHashMap<>());
+        String output = forms.get(renderKey);
+        if (output == null) {
+            output = renderer.get();
+            String existing = forms.putIfAbsent(renderKey, output);
+            if (existing != null) {
+                output = existing;
+            }
+        }
+        return output;
+    }
+
+    public void evict(String containerId) {
+        parsedForms.remove(containerId);
+        renderedForms.remove(containerId);
+    }
+}
@@ -24,7 +24,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.ServiceLoader;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.jbpm.casemgmt.api.CaseDefinitionNotFoundException;
@@ -52,10 +51,13 @@ import org.kie.server.services.jbpm.ui.form.render.model.LayoutColumn;
 import org.kie.server.services.jbpm.ui.form.render.model.LayoutItem;
 import org.kie.server.services.jbpm.ui.form.render.model.LayoutRow;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 public class FormRendererBase {
     
     private static final String SUPPORTED_FORM_SUFFIX = "-taskform.frm";
     private static final String ENDPOINT = "/files";
+    private static final String FORM_ID_PREFIX = "id:";
     
     private static final ServiceLoader<FormRenderer> formRenderers = ServiceLoader.load(FormRenderer.class);
 
@@ -69,7 +71,7 @@ public class FormRendererBase {
     private Map<String, FormRenderer> renderers = new HashMap<>() ;
     private FormReader formReader = new FormReader();
     
-    private Map<String, Map<String, String>> indexedForms = new ConcurrentHashMap<>();
+    private FormCache formCache = new FormCache();
             
     
     public FormRendererBase(DefinitionService definitionService, UserTaskService userTaskService, FormManagerService formManagerService, CaseRuntimeDataService caseRuntimeDataService, KieServerRegistry registry) {
@@ -97,20 +99,16 @@ public class FormRendererBase {
                                             .filter( entry -> entry.getKey().endsWith( ".frm" ) )
                                             .map( entry -> entry.getValue() )
                                             .collect(Collectors.toList());
-            if (!supportedFormsOnly.isEmpty()) {
-                Map<String, String> formsByDeployment = new HashMap<>();
-                indexedForms.put(containerId, formsByDeployment);
-                
-                for (String formContent : supportedFormsOnly) {
-                    String formId = formReader.readFromString(formContent).getId();
-                    formsByDeployment.put(formId, formContent);
-                }
+            for (String formContent : supportedFormsOnly) {
+                JsonNode formTree = formReader.readTree(formContent);
+                String formId = formReader.readFromTree(formTree).getId();
+                formCache.putParsedForm(containerId, FORM_ID_PREFIX + formId, formTree);
             }
         }
     }
     
     public void dropDeploymentForms(String containerId) {
-        indexedForms.remove(containerId);
+        formCache.evict(containerId);
     }
 
     public String getProcessRenderedForm(String renderer, String containerId, String processId) {
@@ -121,26 +119,23 @@ public class FormRendererBase {
             throw new ProcessDefinitionNotFoundException("Process definition " + resolvedContainerId + " : " + processId + " not found");
         }
         
-        String formStructure = formManagerService.getFormByKey(resolvedContainerId, processId + SUPPORTED_FORM_SUFFIX);   
-        
-        FormInstance form = formReader.readFromString(formStructure);
-        
-        if (form == null) {
-            // generate default form as there is none existing
-            
-            form = generateDefaultProcessForm(processDesc);
-        }
-        
-        form.setNestedFormsLookup(formId -> {
-            Map<String, String> forms = indexedForms.get(resolvedContainerId);
-            String formStructureNested = forms.get(formId);
-            return formReader.readFromString(formStructureNested);
-        });
         FormRenderer formRenderer = renderers.get(renderer);
         if (formRenderer == null) {
             throw new IllegalArgumentException("Form renderer with name " + renderer + " not found");
         }
-        String output = formRenderer.renderProcess(resolvedContainerId, processDesc, form);
+        // process forms do not depend on any runtime data so complete output is kept until container changes
+        String output = formCache.getRenderedForm(resolvedContainerId, "process:" + processId + ":" + renderer, () -> {
+            FormInstance form = readForm(resolvedContainerId, processId + SUPPORTED_FORM_SUFFIX);
+            
+            if (form == null) {
+                // generate default form as there is none existing
+                
+                form = generateDefaultProcessForm(processDesc);
+            }
+            
+            form.setNestedFormsLookup(formId -> readNestedForm(resolvedContainerId, formId));
+            return formRenderer.renderProcess(resolvedContainerId, processDesc, form);
+        });
         
         return output;
     }
@@ -154,20 +149,14 @@ public class FormRendererBase {
         }
         String name = getTaskFormName(task);
 
-        String formStructure = formManagerService.getFormByKey(resolvedContainerId, name);
-
-        FormInstance form = formReader.readFromString(formStructure);
+        FormInstance form = readForm(resolvedContainerId, name);
         if (form == null) {
             // generate default form as there is none existing
             Map<String, String> inputs = definitionService.getTaskInputMappings(resolvedContainerId, task.getTaskData().getProcessId(), task.getName());
             Map<String, String> outputs = definitionService.getTaskOutputMappings(resolvedContainerId, task.getTaskData().getProcessId(), task.getName());
             form = generateDefaultTaskForm(task, inputs, outputs);
         }
-        form.setNestedFormsLookup(formId -> {
-            Map<String, String> forms = indexedForms.get(resolvedContainerId);
-            String formStructureNested = forms.get(formId);
-            return formReader.readFromString(formStructureNested);
-        });
+        form.setNestedFormsLookup(formId -> readNestedForm(resolvedContainerId, formId));
         
         Map<String, Object> inputData = userTaskService.getTaskInputContentByTaskId(resolvedContainerId, taskId);        
         Map<String, Object> outputData = userTaskService.getTaskOutputContentByTaskId(resolvedContainerId, taskId);        
@@ -192,22 +181,17 @@ public class FormRendererBase {
             throw new CaseDefinitionNotFoundException("Case definition " + resolvedContainerId + " : " + caseDefinitionId + " not found");
         }
         
-        String formStructure = formManagerService.getFormByKey(resolvedContainerId, caseDefinitionId + SUPPORTED_FORM_SUFFIX);
-        
-        
-        FormInstance form = formReader.readFromString(formStructure);
-        if (form != null) {
-            form.setNestedFormsLookup(formId -> {
-                Map<String, String> forms = indexedForms.get(resolvedContainerId);
-                String formStructureNested = forms.get(formId);
-                return formReader.readFromString(formStructureNested);
-            });
-        }
         FormRenderer formRenderer = renderers.get(renderer);
         if (formRenderer == null) {
             throw new IllegalArgumentException("Form renderer with name " + renderer + " not found");
         }
-        String output = formRenderer.renderCase(resolvedContainerId, caseDefinition, form);
+        String output = formCache.getRenderedForm(resolvedContainerId, "case:" + caseDefinitionId + ":" + renderer, () -> {
+            FormInstance form = readForm(resolvedContainerId, caseDefinitionId + SUPPORTED_FORM_SUFFIX);
+            if (form != null) {
+                form.setNestedFormsLookup(formId -> readNestedForm(resolvedContainerId, formId));
+            }
+            return formRenderer.renderCase(resolvedContainerId, caseDefinition, form);
+        });
         
         return output;
     }
@@ -216,6 +200,23 @@ public class FormRendererBase {
         return this.getClass().getResourceAsStream("/form-templates-providers" + resourcePath);
     }
     
+    /*
+     * Forms are parsed only once per container, though each call gets its own copy of the form
+     * as rendering fills in layout of the form instance it is given.
+     */
+    protected FormInstance readForm(String containerId, String formName) {
+        if (formName == null) {
+            return null;
+        }
+        JsonNode formTree = formCache.getParsedForm(containerId, formName,
+                                                    key -> formReader.readTree(formManagerService.getFormByKey(containerId, key)));
+        return formReader.readFromTree(formTree);
+    }
+    
+    protected FormInstance readNestedForm(String containerId, String formId) {
+        return formReader.readFromTree(formCache.getParsedForm(containerId, FORM_ID_PREFIX + formId, key -> null));
+    }
+    
     protected String getTaskFormName(Task task) {
         String formName = ((InternalTask ) task).getFormName();
         if (formName != null && !formName.equals("")) {
@@ -208,6 +208,12 @@ public class FormServiceBase {
         throw new IllegalStateException("No form for task with id " + taskId + " found");
     }
 
+    public void disposeContainer(String containerId) {
+        for (UIFormProvider provider : providers) {
+            provider.disposeContainer(containerId);
+        }
+    }
+
     protected List<UIFormProvider> collectFormProviders(FormManagerService formManagerService) {
         List<UIFormProvider> uiFormProviders = new ArrayList<UIFormProvider>();
 
@@ -205,6 +205,7 @@ public class JBPMUIKieServerExtension implements KieServerExtension {
 
         imageReferences.remove(id);
         formRendererBase.dropDeploymentForms(id);
+        formServiceBase.disposeContainer(id);
     }
 
     @Override
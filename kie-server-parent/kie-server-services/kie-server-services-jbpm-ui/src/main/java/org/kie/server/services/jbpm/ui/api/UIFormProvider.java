@@ -63,4 +63,11 @@ public interface UIFormProvider {
      * @return type of the content
      */
     String getType();
+
+    /**
+     * Invoked when the container is disposed (or updated) so providers can drop anything cached for its forms
+     * @param containerId
+     */
+    default void disposeContainer(String containerId) {
+    }
 }
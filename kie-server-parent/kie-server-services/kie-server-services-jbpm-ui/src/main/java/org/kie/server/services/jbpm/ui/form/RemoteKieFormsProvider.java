@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.google.gson.Gson;
@@ -50,6 +51,12 @@ public class RemoteKieFormsProvider extends AbstractFormProvider implements UIFo
 
     protected Gson gson = new Gson();
 
+    /*
+     * rendering contexts per deployment and form, valid as long as form manager service returns equal form content,
+     * dropped together with the deployment's container so nested forms changed by an update are picked up too
+     */
+    private Map<String, Map<String, RenderingContext>> renderingContexts = new ConcurrentHashMap<>();
+
     @Override
     public int getPriority() {
         return 0;
@@ -87,11 +94,26 @@ public class RemoteKieFormsProvider extends AbstractFormProvider implements UIFo
         String formContent = formManagerService.getFormByKey( deploymentId, formName);
 
         if ( !StringUtils.isEmpty( formContent ) ) {
-            return generateRenderingContextString( formContent, formManagerService.getAllFormsByDeployment( deploymentId ) );
+            Map<String, RenderingContext> deploymentContexts = renderingContexts.computeIfAbsent( deploymentId, id -> new ConcurrentHashMap<>() );
+            RenderingContext context = deploymentContexts.get( formName );
+            if ( context == null || !context.formContent.equals( formContent ) ) {
+                context = new RenderingContext( formContent, generateRenderingContextString( formContent, formManagerService.getAllFormsByDeployment( deploymentId ) ) );
+                deploymentContexts.put( formName, context );
+            }
+            return context.content;
+        }
+        Map<String, RenderingContext> deploymentContexts = renderingContexts.get( deploymentId );
+        if ( deploymentContexts != null ) {
+            deploymentContexts.remove( formName );
         }
         return null;
     }
 
+    @Override
+    public void disposeContainer( String containerId ) {
+        renderingContexts.remove( containerId );
+    }
+
     protected String generateRenderingContextString( String formContent, Map<String, String> availableForms ) {
         Map<String, Object> contextForms = new HashMap<>();
 
@@ -155,4 +177,15 @@ public class RemoteKieFormsProvider extends AbstractFormProvider implements UIFo
     protected String getFormExtension() {
         return ".frm";
     }
+
+    private static class RenderingContext {
+
+        private final String formContent;
+        private final String content;
+
+        private RenderingContext( String formContent, String content ) {
+            this.formContent = formContent;
+            this.content = content;
+        }
+    }
 }
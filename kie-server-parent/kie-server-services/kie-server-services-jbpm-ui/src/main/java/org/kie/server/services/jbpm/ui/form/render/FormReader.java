@@ -26,6 +26,7 @@ import org.kie.server.services.jbpm.ui.form.render.model.LayoutRow;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class FormReader {
@@ -60,6 +61,41 @@ public class FormReader {
         }
     }
     
+    /**
+     * Parses given form structure into a tree that can be kept around and turned into
+     * <code>FormInstance</code> (see {@link #readFromTree(JsonNode)}) without parsing the text again.
+     * @param formStructure form definition as json string
+     * @return parsed tree or null when form structure is null
+     */
+    public JsonNode readTree(String formStructure) {
+        if (formStructure == null) {
+            return null;
+        }
+        try {
+            return this.mapper.readTree(formStructure);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+    
+    /**
+     * Builds new <code>FormInstance</code> out of already parsed tree. Each invocation returns
+     * a separate instance as rendering modifies the form's layout.
+     * @param formTree parsed form definition
+     * @return form instance or null when there is no tree given
+     */
+    public FormInstance readFromTree(JsonNode formTree) {
+        if (formTree == null || formTree.isMissingNode()) {
+            return null;
+        }
+        try {
+            FormInstance formInstance = this.mapper.treeToValue(formTree, FormInstance.class);
+            return flatColumnData(formInstance);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+    
     public Map<String, Object> extractValues(Object data) {
         if (data == null) {
             return Collections.emptyMap();
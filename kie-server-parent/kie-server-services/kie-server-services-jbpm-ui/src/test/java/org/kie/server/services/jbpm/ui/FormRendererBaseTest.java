@@ -114,4 +114,33 @@ public class FormRendererBaseTest {
         // it has start process button
         assertThat(result).contains("<button type=\"button\" class=\"btn btn-primary\" onclick=\"startProcess(this);\">Submit</button>");
     }
+    
+    @Test
+    public void testProcessFormCachedUntilDeploymentFormsDropped() {
+        DefinitionService definitionService = mock(DefinitionService.class);
+        UserTaskService userTaskService = mock(UserTaskService.class);
+        FormManagerService formManagerService = mock(FormManagerService.class);
+        CaseRuntimeDataService caseRuntimeDataService = mock(CaseRuntimeDataService.class);
+        KieServerRegistry registry = mock(KieServerRegistry.class);
+        
+        ProcessDefinition processDefinition = mock(ProcessDefinition.class);
+        when(processDefinition.getId()).thenReturn("testprocess");
+        when(processDefinition.getName()).thenReturn("Test Process");
+        
+        FormRendererBase rendererBase = new FormRendererBase(definitionService, userTaskService, formManagerService, caseRuntimeDataService, registry);
+        
+        when(registry.getContainerId(any(), any())).thenReturn("test");
+        when(definitionService.getProcessDefinition(eq("test"), eq("test-process"))).thenReturn(processDefinition);
+        
+        String result = rendererBase.getProcessRenderedForm("patternfly", "test", "test-process");
+        String cached = rendererBase.getProcessRenderedForm("patternfly", "test", "test-process");
+        assertThat(cached).isSameAs(result);
+        verify(formManagerService, times(1)).getFormByKey("test", "test-process-taskform.frm");
+        
+        rendererBase.dropDeploymentForms("test");
+        
+        String rendered = rendererBase.getProcessRenderedForm("patternfly", "test", "test-process");
+        assertThat(rendered).isNotSameAs(result).contains("<h3 class=\"panel-title\">Default form - Test Process</h3>");
+        verify(formManagerService, times(2)).getFormByKey("test", "test-process-taskform.frm");
+    }
 }
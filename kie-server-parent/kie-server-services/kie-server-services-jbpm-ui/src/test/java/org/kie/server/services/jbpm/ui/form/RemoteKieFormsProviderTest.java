@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.server.services.jbpm.ui.form;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jbpm.kie.services.impl.FormManagerService;
+import org.jbpm.kie.services.impl.FormManagerServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RemoteKieFormsProviderTest {
+
+    private static final String CONTAINER_ID = "forms-container";
+    private static final String FORM_NAME = "hiring-taskform.frm";
+    private static final String FORM_CONTENT = "{\"id\":\"hiring\",\"fields\":[]}";
+
+    private FormManagerService formManagerService;
+    private AtomicInteger generated;
+    private RemoteKieFormsProvider provider;
+
+    @Before
+    public void setup() {
+        formManagerService = new FormManagerServiceImpl();
+        generated = new AtomicInteger();
+        provider = new RemoteKieFormsProvider() {
+            @Override
+            protected String generateRenderingContextString(String formContent, Map<String, String> availableForms) {
+                generated.incrementAndGet();
+                return "context of " + formContent;
+            }
+        };
+        provider.configure(formManagerService);
+    }
+
+    @Test
+    public void testRenderingContextIsReusedForEqualFormContent() {
+        formManagerService.registerForm(CONTAINER_ID, FORM_NAME, FORM_CONTENT);
+        assertEquals("context of " + FORM_CONTENT, provider.render(FORM_NAME, CONTAINER_ID));
+        assertEquals("context of " + FORM_CONTENT, provider.render(FORM_NAME, CONTAINER_ID));
+        assertEquals(1, generated.get());
+
+        // equal content registered again as another instance is still the same form
+        formManagerService.registerForm(CONTAINER_ID, FORM_NAME, new String(FORM_CONTENT));
+        provider.render(FORM_NAME, CONTAINER_ID);
+        assertEquals(1, generated.get());
+
+        String changedContent = "{\"id\":\"hiring\",\"fields\":[{}]}";
+        formManagerService.registerForm(CONTAINER_ID, FORM_NAME, changedContent);
+        assertEquals("context of " + changedContent, provider.render(FORM_NAME, CONTAINER_ID));
+        assertEquals(2, generated.get());
+    }
+
+    @Test
+    public void testRenderingContextsAreDroppedWithContainer() {
+        formManagerService.registerForm(CONTAINER_ID, FORM_NAME, FORM_CONTENT);
+        provider.render(FORM_NAME, CONTAINER_ID);
+        assertEquals(1, generated.get());
+
+        provider.disposeContainer(CONTAINER_ID);
+        provider.render(FORM_NAME, CONTAINER_ID);
+        assertEquals(2, generated.get());
+    }
+}
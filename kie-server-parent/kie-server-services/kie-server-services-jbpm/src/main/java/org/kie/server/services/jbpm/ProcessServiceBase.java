@@ -15,14 +15,27 @@
 
 package org.kie.server.services.jbpm;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
+import org.drools.persistence.api.TransactionManager;
+import org.drools.persistence.api.TransactionManagerFactory;
 import org.jbpm.services.api.DefinitionService;
 import org.jbpm.services.api.DeploymentNotFoundException;
+import org.jbpm.services.api.ProcessDefinitionNotFoundException;
 import org.jbpm.services.api.ProcessService;
 import org.jbpm.services.api.RuntimeDataService;
 import org.jbpm.services.api.model.ProcessInstanceDesc;
@@ -31,8 +44,14 @@ import org.kie.api.runtime.process.WorkItem;
 import org.kie.internal.KieInternalServices;
 import org.kie.internal.process.CorrelationKey;
 import org.kie.internal.process.CorrelationKeyFactory;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.definition.ProcessStartSpec;
 import org.kie.server.api.model.instance.ProcessInstanceList;
+import org.kie.server.api.model.instance.ProcessStartRequest;
+import org.kie.server.api.model.instance.ProcessStartRequestList;
+import org.kie.server.api.model.instance.ProcessStartResult;
+import org.kie.server.api.model.instance.ProcessStartResultList;
 import org.kie.server.api.model.instance.WorkItemInstance;
 import org.kie.server.api.model.instance.WorkItemInstanceList;
 import org.kie.server.services.api.KieServerRegistry;
@@ -50,6 +69,8 @@ public class ProcessServiceBase {
 
     public static final Logger logger = LoggerFactory.getLogger(ProcessServiceBase.class);
 
+    private static final int DEFAULT_BULK_START_CHUNK_SIZE = 100;
+
     private ProcessService processService;
     private DefinitionService definitionService;
     private RuntimeDataService runtimeDataService;
@@ -153,6 +174,167 @@ public class ProcessServiceBase {
     }
 
 
+    public String startProcesses(String containerId, String payload, String marshallingType) {
+        ProcessStartRequestList requests = unmarshalStartProcessesRequest(containerId, payload, marshallingType);
+        List<ProcessStartResult> results = new ArrayList<>();
+        startProcesses(containerId, requests, results::add);
+
+        return marshallerHelper.marshal(containerId, marshallingType, new ProcessStartResultList(results));
+    }
+
+    /**
+     * Starts all given requests and writes results to the output stream as soon as their chunk is
+     * committed. JSON responses are written item by item so large bulk requests do not keep all
+     * results in memory, other formats are marshalled as a whole once all chunks are done.
+     */
+    public void startProcesses(String containerId, ProcessStartRequestList requests, String marshallingType, OutputStream output) throws IOException {
+        String resolvedContainerId = context.getContainerId(containerId, ContainerLocatorProvider.get().getLocator());
+        if (MarshallingFormat.JSON != MarshallerHelper.getFormat(marshallingType)) {
+            List<ProcessStartResult> results = new ArrayList<>();
+            startProcesses(resolvedContainerId, requests, results::add);
+            output.write(marshallerHelper.marshal(resolvedContainerId, marshallingType, new ProcessStartResultList(results)).getBytes(StandardCharsets.UTF_8));
+            output.flush();
+            return;
+        }
+
+        Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        writer.write("{\"" + ProcessStartResultList.RESULTS_ELEMENT + "\":[");
+        AtomicInteger written = new AtomicInteger();
+        try {
+            startProcesses(resolvedContainerId, requests, result -> {
+                try {
+                    if (written.getAndIncrement() > 0) {
+                        writer.write(",");
+                    }
+                    writer.write(marshalResult(resolvedContainerId, marshallingType, result));
+                    writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.write("]}");
+        writer.flush();
+    }
+
+    /*
+     * status and headers are already sent once results are streamed, so a result that cannot be
+     * marshalled is reported as failed instead of breaking the document
+     */
+    protected String marshalResult(String containerId, String marshallingType, ProcessStartResult result) {
+        try {
+            return marshallerHelper.marshal(containerId, marshallingType, result);
+        } catch (RuntimeException e) {
+            logger.warn("Unable to marshal result of bulk start request {} for process {}", result.getIndex(), result.getProcessId(), e);
+            return marshallerHelper.marshal(containerId, marshallingType,
+                                            new ProcessStartResult(result.getIndex(), result.getProcessId(), result.getCorrelationKey(), null, errorMessage(e)));
+        }
+    }
+
+    public ProcessStartRequestList unmarshalStartProcessesRequest(String containerId, String payload, String marshallingType) {
+        containerId = context.getContainerId(containerId, ContainerLocatorProvider.get().getLocator());
+        logger.debug("About to unmarshal bulk start requests from payload: '{}'", payload);
+        ProcessStartRequestList requests = marshallerHelper.unmarshal(containerId, payload, marshallingType, ProcessStartRequestList.class);
+        if (requests == null) {
+            requests = new ProcessStartRequestList(new ProcessStartRequest[0]);
+        }
+        return requests;
+    }
+
+    /**
+     * Starts process instances for all given requests. Requests are started in chunks, each chunk
+     * within a single transaction, so that a large number of instances does not pay for one
+     * transaction per instance. When any request of a chunk fails, the chunk is rolled back and
+     * its requests are started again one by one, so every request gets its own outcome.
+     * Results are handed to the consumer once the chunk they belong to is committed.
+     */
+    public void startProcesses(String containerId, ProcessStartRequestList requests, Consumer<ProcessStartResult> resultConsumer) {
+        containerId = context.getContainerId(containerId, ContainerLocatorProvider.get().getLocator());
+        List<ProcessStartRequest> items = requests.getItems();
+        int chunkSize = requests.getChunkSize() != null && requests.getChunkSize() > 0 ?
+                requests.getChunkSize() : Integer.getInteger(KieServerConstants.CFG_BULK_PROCESS_START_CHUNK_SIZE, DEFAULT_BULK_START_CHUNK_SIZE);
+
+        logger.debug("Starting {} process instances on container {} in chunks of {}", items.size(), containerId, chunkSize);
+        Set<String> validProcessIds = new HashSet<>();
+        for (int start = 0; start < items.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, items.size());
+            List<ProcessStartResult> results;
+            try {
+                results = startProcessesChunk(containerId, items, start, end, validProcessIds);
+            } catch (RuntimeException e) {
+                // e.g. no transaction could be started or rolled back, every request of the chunk failed
+                logger.warn("Bulk start of requests {} to {} failed", start, end - 1, e);
+                results = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    ProcessStartRequest request = items.get(i);
+                    results.add(new ProcessStartResult(i, request.getProcessId(), request.getCorrelationKey(), null, errorMessage(e)));
+                }
+            }
+            results.forEach(resultConsumer);
+        }
+    }
+
+    protected List<ProcessStartResult> startProcessesChunk(String containerId, List<ProcessStartRequest> items, int start, int end, Set<String> validProcessIds) {
+        List<ProcessStartResult> results = new ArrayList<>(end - start);
+        if (end - start > 1) {
+            TransactionManager txm = newTransactionManager();
+            boolean txOwner = txm.begin();
+            try {
+                for (int i = start; i < end; i++) {
+                    results.add(startProcess(containerId, i, items.get(i), validProcessIds, true));
+                }
+                txm.commit(txOwner);
+                return results;
+            } catch (Exception e) {
+                logger.debug("Bulk start of requests {} to {} failed, starting them one by one", start, end - 1, e);
+                txm.rollback(txOwner);
+                results.clear();
+            }
+        }
+        for (int i = start; i < end; i++) {
+            results.add(startProcess(containerId, i, items.get(i), validProcessIds, false));
+        }
+        return results;
+    }
+
+    protected ProcessStartResult startProcess(String containerId, int index, ProcessStartRequest request, Set<String> validProcessIds, boolean propagateErrors) {
+        String processId = request.getProcessId();
+        String correlationKey = request.getCorrelationKey();
+        try {
+            if (!validProcessIds.contains(processId)) {
+                // check validity of process id once per bulk request
+                if (definitionService.getProcessDefinition(containerId, processId) == null) {
+                    throw new ProcessDefinitionNotFoundException("No process definition " + processId + " found in container " + containerId);
+                }
+                validProcessIds.add(processId);
+            }
+            Long processInstanceId;
+            if (correlationKey != null && !correlationKey.isEmpty()) {
+                CorrelationKey actualCorrelationKey = correlationKeyFactory.newCorrelationKey(Arrays.asList(correlationKey.split(":")));
+                processInstanceId = processService.startProcess(containerId, processId, actualCorrelationKey, request.getVariables());
+            } else {
+                processInstanceId = processService.startProcess(containerId, processId, request.getVariables());
+            }
+            return new ProcessStartResult(index, processId, correlationKey, processInstanceId, null);
+        } catch (RuntimeException e) {
+            if (propagateErrors) {
+                throw e;
+            }
+            logger.debug("Bulk start of request {} for process {} failed", index, processId, e);
+            return new ProcessStartResult(index, processId, correlationKey, null, errorMessage(e));
+        }
+    }
+
+    protected TransactionManager newTransactionManager() {
+        return TransactionManagerFactory.get().newTransactionManager();
+    }
+
+    private static String errorMessage(Exception e) {
+        return e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+    }
+
     public Object abortProcessInstance(String containerId, Number processInstanceId) {
         try {
             containerId = context.getContainerId(containerId, new ByProcessInstanceIdContainerLocator(processInstanceId.longValue()));
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.jbpm;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque continuation token used by keyset pagination of custom queries. It carries the column
+ * results are ordered by and the key of the last returned row, next page then starts right after
+ * that key instead of skipping all preceding rows.
+ */
+public final class QueryCursor {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    private final String keyColumn;
+    private final Object lastKey;
+
+    public QueryCursor(String keyColumn, Object lastKey) {
+        if (keyColumn == null || keyColumn.isEmpty()) {
+            throw new IllegalArgumentException("Key column is required for cursor based pagination");
+        }
+        this.keyColumn = keyColumn;
+        this.lastKey = lastKey;
+    }
+
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+
+    public Object getLastKey() {
+        return lastKey;
+    }
+
+    public String encode() {
+        String type;
+        String value;
+        if (lastKey instanceof Date) {
+            type = "D";
+            value = String.valueOf(((Date) lastKey).getTime());
+        } else if (lastKey instanceof Long) {
+            type = "L";
+            value = lastKey.toString();
+        } else if (lastKey instanceof Integer || lastKey instanceof Short || lastKey instanceof Byte) {
+            type = "I";
+            value = lastKey.toString();
+        } else if (lastKey instanceof Double || lastKey instanceof Float) {
+            type = "F";
+            value = lastKey.toString();
+        } else if (lastKey instanceof BigInteger) {
+            type = "B";
+            value = lastKey.toString();
+        } else if (lastKey instanceof Number) {
+            // BigDecimal and any other number type keep their full precision
+            type = "N";
+            value = new BigDecimal(lastKey.toString()).toPlainString();
+        } else {
+            type = "S";
+            value = String.valueOf(lastKey);
+        }
+        String token = VERSION + SEPARATOR + keyColumn + SEPARATOR + type + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static QueryCursor decode(String cursor) {
+        String token;
+        try {
+            token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid query cursor '" + cursor + "'", e);
+        }
+        String[] parts = token.split("\\" + SEPARATOR, 4);
+        if (parts.length != 4 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid query cursor '" + cursor + "'");
+        }
+        Object lastKey;
+        try {
+            switch (parts[2]) {
+                case "D":
+                    lastKey = new Date(Long.parseLong(parts[3]));
+                    break;
+                case "L":
+                    lastKey = Long.valueOf(parts[3]);
+                    break;
+                case "I":
+                    lastKey = Integer.valueOf(parts[3]);
+                    break;
+                case "F":
+                    lastKey = Double.valueOf(parts[3]);
+                    break;
+                case "B":
+                    lastKey = new BigInteger(parts[3]);
+                    break;
+                case "N":
+                    lastKey = new BigDecimal(parts[3]);
+                    break;
+                case "S":
+                    lastKey = parts[3];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid query cursor '" + cursor + "'");
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid query cursor '" + cursor + "'", e);
+        }
+        return new QueryCursor(parts[1], lastKey);
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCursor{" +
+                "keyColumn='" + keyColumn + '\'' +
+                ", lastKey=" + lastKey +
+                '}';
+    }
+}
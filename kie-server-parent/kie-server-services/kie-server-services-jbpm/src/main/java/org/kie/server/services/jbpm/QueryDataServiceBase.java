@@ -15,9 +15,18 @@
 
 package org.kie.server.services.jbpm;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -40,6 +49,7 @@ import org.kie.api.runtime.query.QueryContext;
 import org.kie.api.task.model.TaskSummary;
 import org.kie.internal.runtime.error.ExecutionError;
 import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.definition.QueryDefinition;
 import org.kie.server.api.model.definition.QueryDefinitionList;
 import org.kie.server.api.model.definition.QueryFilterSpec;
@@ -64,6 +74,13 @@ public class QueryDataServiceBase {
 
     public static final Logger logger = LoggerFactory.getLogger(QueryDataServiceBase.class);
 
+    public static final String EXPORT_FORMAT_NDJSON = "ndjson";
+    public static final String EXPORT_FORMAT_CSV = "csv";
+
+    private static final String RAW_LIST_MAPPER = "RawList";
+    private static final int DEFAULT_EXPORT_BATCH_SIZE = 1000;
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 10;
+
     private QueryService queryService;
     private MarshallerHelper marshallerHelper;
     private KieServerRegistry context;
@@ -147,35 +164,11 @@ public class QueryDataServiceBase {
     }
 
     public Object queryFiltered(String containerId, String queryName, String mapper, Integer page, Integer pageSize, String payload, String marshallingType) {
-        QueryParam[] params = new QueryParam[0];
-        Map<String, String> columnMapping = null;
-
         QueryContext queryContext = buildQueryContext(page, pageSize);
-        QueryFilterSpec filterSpec = new QueryFilterSpec();
+        QueryFilterSpec filterSpec = unmarshalFilterSpec(containerId, payload, marshallingType);
+        QueryParam[] params = toQueryParams(filterSpec).toArray(new QueryParam[0]);
 
-        if (payload != null && !payload.isEmpty()) {
-            logger.debug("About to unmarshal queryDefinition from payload: '{}'", payload);
-            if(containerId != null) {
-                filterSpec = marshallerHelper.unmarshal(containerId, payload, marshallingType, QueryFilterSpec.class);
-            } else {
-                filterSpec = marshallerHelper.unmarshal(payload, marshallingType, QueryFilterSpec.class);
-            }
-
-            // build parameters for filtering the query
-            if (filterSpec.getParameters() != null) {
-                params = new QueryParam[filterSpec.getParameters().length];
-                int index = 0;
-                for (org.kie.server.api.model.definition.QueryParam param : filterSpec.getParameters()) {
-                    List<?> values = toJbpmQueryParam(param.getValue());
-                    params[index] = new QueryParam(param.getColumn(), param.getOperator(), values);
-                    index++;
-                }
-            }
-
-            columnMapping = filterSpec.getColumnMapping();
-        }
-
-        QueryResultMapper<?> resultMapper = QueryMapperRegistry.get().mapperFor(mapper, columnMapping);
+        QueryResultMapper<?> resultMapper = QueryMapperRegistry.get().mapperFor(mapper, filterSpec.getColumnMapping());
 
         if (filterSpec.getOrderByClause() != null) {
             queryContext = new AdvancedQueryContext(queryContext, filterSpec.getOrderByClause());
@@ -191,6 +184,265 @@ public class QueryDataServiceBase {
         return transform(result, resultMapper);
     }
 
+    /**
+     * Keyset paginated variant of {@link #queryFiltered(String, String, String, Integer, Integer, String, String)}.
+     * Results are always ordered ascending by the key column and the next page is selected with a
+     * condition on the last returned key, so the cost of a page does not grow with its position.
+     * Returned cursor is null when there are no more results.
+     */
+    public CursorResult queryFilteredWithCursor(String containerId, String queryName, String mapper, String keyColumn, String cursor, Integer pageSize, String payload, String marshallingType) {
+        int size = pageSize == null || pageSize <= 0 ? DEFAULT_CURSOR_PAGE_SIZE : pageSize;
+        QueryFilterSpec filterSpec = unmarshalFilterSpec(containerId, payload, marshallingType);
+        List<QueryParam> params = toQueryParams(filterSpec);
+        QueryResultMapper<?> resultMapper = QueryMapperRegistry.get().mapperFor(mapper, filterSpec.getColumnMapping());
+
+        QueryCursor current = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            current = QueryCursor.decode(cursor);
+            keyColumn = current.getKeyColumn();
+        } else if (keyColumn == null || keyColumn.isEmpty()) {
+            keyColumn = defaultKeyColumn(resultMapper.getType());
+        }
+        checkKeyColumn(resultMapper.getType(), queryName, keyColumn);
+        checkOrderedByKey(filterSpec, keyColumn);
+        if (current != null) {
+            params.add(new QueryParam(keyColumn, "GREATER_THAN", Collections.singletonList(current.getLastKey())));
+        }
+        QueryContext queryContext = new QueryContext(0, size, keyColumn, true);
+
+        logger.debug("About to perform query '{}' after {} with page size {}", queryName, current, size);
+        Object result = queryService.query(queryName, resultMapper, queryContext, params.toArray(new QueryParam[params.size()]));
+
+        String nextCursor = null;
+        if (result instanceof List && !((List<?>) result).isEmpty() && ((List<?>) result).size() >= size) {
+            List<?> rows = (List<?>) result;
+            Object lastKey = extractKey(rows.get(rows.size() - 1), queryName, keyColumn);
+            nextCursor = new QueryCursor(keyColumn, lastKey).encode();
+        }
+
+        return new CursorResult(transform(result, resultMapper), nextCursor);
+    }
+
+    /**
+     * Writes all rows of given query to the output stream, see {@link #prepareExport(String, String, String, Integer, String, String)}.
+     */
+    public void exportQuery(String queryName, String format, String keyColumn, Integer batchSize, String payload, String marshallingType, OutputStream output) throws IOException {
+        prepareExport(queryName, format, keyColumn, batchSize, payload, marshallingType).writeTo(output);
+    }
+
+    /**
+     * Validates the export of all rows of given query as either newline delimited JSON objects or CSV (with header
+     * line), so that invalid requests fail before anything is written. Rows are fetched in batches and written as
+     * soon as each batch is loaded, so the complete result is never held in memory. Batches are selected with keyset
+     * conditions on the key column, which is therefore required and must hold unique values - rows sharing a key
+     * value with the last row of a batch would be skipped. Rows are exported in ascending order of the key column.
+     */
+    public QueryExport prepareExport(String queryName, String format, String keyColumn, Integer batchSize, String payload, String marshallingType) {
+        boolean csv = EXPORT_FORMAT_CSV.equalsIgnoreCase(format);
+        if (!csv && !EXPORT_FORMAT_NDJSON.equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported export format '" + format + "', supported are " + EXPORT_FORMAT_NDJSON + " and " + EXPORT_FORMAT_CSV);
+        }
+        int size = batchSize == null || batchSize <= 0 ? DEFAULT_EXPORT_BATCH_SIZE : batchSize;
+
+        QueryFilterSpec filterSpec = unmarshalFilterSpec(null, payload, marshallingType);
+        List<String> columns = new ArrayList<>(queryService.getQuery(queryName).getColumns().keySet());
+        if (keyColumn == null || keyColumn.isEmpty()) {
+            throw new IllegalArgumentException("Key column with unique values is required for export of query '" + queryName + "'");
+        }
+        int keyIndex = columnIndex(columns, keyColumn);
+        checkOrderedByKey(filterSpec, keyColumn);
+        return new QueryExport(queryName, csv, keyColumn, keyIndex, size, filterSpec, columns);
+    }
+
+    /**
+     * Export of query rows validated by {@link #prepareExport(String, String, String, Integer, String, String)}.
+     */
+    public class QueryExport {
+
+        private final String queryName;
+        private final boolean csv;
+        private final String keyColumn;
+        private final int keyIndex;
+        private final int size;
+        private final QueryFilterSpec filterSpec;
+        private final List<String> columns;
+
+        private QueryExport(String queryName, boolean csv, String keyColumn, int keyIndex, int size, QueryFilterSpec filterSpec, List<String> columns) {
+            this.queryName = queryName;
+            this.csv = csv;
+            this.keyColumn = keyColumn;
+            this.keyIndex = keyIndex;
+            this.size = size;
+            this.filterSpec = filterSpec;
+            this.columns = columns;
+        }
+
+        public void writeTo(OutputStream output) throws IOException {
+            List<QueryParam> filterParams = toQueryParams(filterSpec);
+            QueryResultMapper<?> resultMapper = QueryMapperRegistry.get().mapperFor(RAW_LIST_MAPPER, null);
+
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            if (csv) {
+                writeCsvRow(writer, columns);
+            }
+
+            Object lastKey = null;
+            long total = 0;
+            while (true) {
+                List<QueryParam> params = new ArrayList<>(filterParams);
+                if (lastKey != null) {
+                    params.add(new QueryParam(keyColumn, "GREATER_THAN", Collections.singletonList(lastKey)));
+                }
+                QueryContext queryContext = new QueryContext(0, size, keyColumn, true);
+
+                @SuppressWarnings("unchecked")
+                List<List<Object>> rows = (List<List<Object>>) queryService.query(queryName, resultMapper, queryContext, params.toArray(new QueryParam[params.size()]));
+                for (List<Object> row : rows) {
+                    if (csv) {
+                        writeCsvRow(writer, row);
+                    } else {
+                        writeJsonRow(writer, columns, row);
+                    }
+                }
+                writer.flush();
+                total += rows.size();
+
+                if (rows.size() < size) {
+                    break;
+                }
+                lastKey = rows.get(rows.size() - 1).get(keyIndex);
+            }
+            logger.debug("Exported {} rows of query '{}' as {}", total, queryName, csv ? EXPORT_FORMAT_CSV : EXPORT_FORMAT_NDJSON);
+        }
+    }
+
+    protected QueryFilterSpec unmarshalFilterSpec(String containerId, String payload, String marshallingType) {
+        if (payload == null || payload.isEmpty()) {
+            return new QueryFilterSpec();
+        }
+        logger.debug("About to unmarshal queryDefinition from payload: '{}'", payload);
+        if(containerId != null) {
+            return marshallerHelper.unmarshal(containerId, payload, marshallingType, QueryFilterSpec.class);
+        }
+        return marshallerHelper.unmarshal(payload, marshallingType, QueryFilterSpec.class);
+    }
+
+    protected List<QueryParam> toQueryParams(QueryFilterSpec filterSpec) {
+        List<QueryParam> params = new ArrayList<>();
+        // build parameters for filtering the query
+        if (filterSpec.getParameters() != null) {
+            for (org.kie.server.api.model.definition.QueryParam param : filterSpec.getParameters()) {
+                List<?> values = toJbpmQueryParam(param.getValue());
+                params.add(new QueryParam(param.getColumn(), param.getOperator(), values));
+            }
+        }
+        return params;
+    }
+
+    protected String defaultKeyColumn(Class<?> mapperType) {
+        String keyColumn = typedKeyColumn(mapperType);
+        if (keyColumn == null) {
+            throw new IllegalArgumentException("Key column is required for cursor based pagination of " + mapperType.getName() + " results");
+        }
+        return keyColumn;
+    }
+
+    /**
+     * Typed results only expose their id, so they can only be paged by their id column; raw results can be paged
+     * by any of the query columns.
+     */
+    protected void checkKeyColumn(Class<?> mapperType, String queryName, String keyColumn) {
+        if (List.class.isAssignableFrom(mapperType)) {
+            columnIndex(new ArrayList<>(queryService.getQuery(queryName).getColumns().keySet()), keyColumn);
+            return;
+        }
+        String typedKeyColumn = typedKeyColumn(mapperType);
+        if (typedKeyColumn == null) {
+            throw new IllegalArgumentException("Cursor based pagination is not supported for results of type " + mapperType.getName());
+        }
+        if (!typedKeyColumn.equalsIgnoreCase(keyColumn)) {
+            throw new IllegalArgumentException("Results of type " + mapperType.getName() + " can only be paged by key column " + typedKeyColumn +
+                                                       ", use the " + RAW_LIST_MAPPER + " mapper to page by " + keyColumn);
+        }
+    }
+
+    /**
+     * Pages selected by key are always ordered ascending by the key column, any other order would skip rows.
+     */
+    protected void checkOrderedByKey(QueryFilterSpec filterSpec, String keyColumn) {
+        boolean orderedByKey = filterSpec.getOrderByClause() == null
+                && (filterSpec.getOrderBy() == null || (filterSpec.getOrderBy().equalsIgnoreCase(keyColumn) && filterSpec.isAscending()));
+        if (!orderedByKey) {
+            throw new IllegalArgumentException("Results selected by key are ordered ascending by key column " + keyColumn +
+                                                       ", order of the query filter spec is not supported");
+        }
+    }
+
+    protected Object extractKey(Object row, String queryName, String keyColumn) {
+        if (row instanceof ProcessInstanceDesc) {
+            return ((ProcessInstanceDesc) row).getId();
+        } else if (row instanceof UserTaskInstanceDesc) {
+            return ((UserTaskInstanceDesc) row).getTaskId();
+        } else if (row instanceof TaskSummary) {
+            return ((TaskSummary) row).getId();
+        } else if (row instanceof ExecutionError) {
+            return ((ExecutionError) row).getErrorId();
+        } else if (row instanceof List) {
+            List<String> columns = new ArrayList<>(queryService.getQuery(queryName).getColumns().keySet());
+            return ((List<?>) row).get(columnIndex(columns, keyColumn));
+        }
+        throw new IllegalArgumentException("Cursor based pagination is not supported for results of type " + row.getClass().getName());
+    }
+
+    private String typedKeyColumn(Class<?> mapperType) {
+        if (ProcessInstanceDesc.class.isAssignableFrom(mapperType)) {
+            return "PROCESSINSTANCEID";
+        } else if (UserTaskInstanceDesc.class.isAssignableFrom(mapperType) || TaskSummary.class.isAssignableFrom(mapperType)) {
+            return "TASKID";
+        } else if (ExecutionError.class.isAssignableFrom(mapperType)) {
+            return "ERROR_ID";
+        }
+        return null;
+    }
+
+    private int columnIndex(List<String> columns, String column) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Column '" + column + "' not found in query columns " + columns);
+    }
+
+    private void writeJsonRow(Writer writer, List<String> columns, List<Object> row) throws IOException {
+        Map<String, Object> item = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size() && i < row.size(); i++) {
+            item.put(columns.get(i), row.get(i));
+        }
+        // line breaks within values are escaped by the marshaller so only formatting ones are removed
+        String json = marshallerHelper.marshal(MarshallingFormat.JSON.getType(), item);
+        writer.write(json.replace("\r", "").replace("\n", ""));
+        writer.write('\n');
+    }
+
+    private void writeCsvRow(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            String text = value instanceof Date ? ((Date) value).toInstant().toString() : value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                text = "\"" + text.replace("\"", "\"\"") + "\"";
+            }
+            writer.write(text);
+        }
+        writer.write("\r\n");
+    }
+
     private List<Object> toJbpmQueryParam(List<?> parameters) {
         if (parameters == null) {
             return null;
@@ -262,6 +514,28 @@ public class QueryDataServiceBase {
      * helper methods
      */
 
+    /**
+     * Page of query results together with the cursor of the page that follows it.
+     */
+    public static class CursorResult {
+
+        private final Object result;
+        private final String nextCursor;
+
+        public CursorResult(Object result, String nextCursor) {
+            this.result = result;
+            this.nextCursor = nextCursor;
+        }
+
+        public Object getResult() {
+            return result;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+
     @SuppressWarnings({"rawtypes", "unchecked"})
     protected Object transform(Object result, QueryResultMapper resultMapper) {
         Object actualResult = null;
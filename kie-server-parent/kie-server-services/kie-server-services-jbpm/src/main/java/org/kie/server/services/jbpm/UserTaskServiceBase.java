@@ -16,10 +16,15 @@
 package org.kie.server.services.jbpm;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.drools.persistence.api.TransactionManager;
+import org.drools.persistence.api.TransactionManagerFactory;
 import org.jbpm.kie.services.impl.model.UserTaskInstanceDesc;
 import org.jbpm.services.api.TaskNotFoundException;
 import org.jbpm.services.api.UserTaskService;
@@ -37,7 +42,12 @@ import org.kie.server.api.model.instance.TaskAttachmentList;
 import org.kie.server.api.model.instance.TaskComment;
 import org.kie.server.api.model.instance.TaskCommentList;
 import org.kie.server.api.model.instance.TaskInstance;
+import org.kie.server.api.model.instance.TaskOperation;
+import org.kie.server.api.model.instance.TaskOperationList;
+import org.kie.server.api.model.instance.TaskOperationResult;
+import org.kie.server.api.model.instance.TaskOperationResultList;
 import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.impl.locator.ContainerLocatorProvider;
 import org.kie.server.services.impl.marshal.MarshallerHelper;
 import org.kie.server.services.jbpm.locator.ByTaskIdContainerLocator;
 import org.slf4j.Logger;
@@ -57,6 +67,8 @@ public class UserTaskServiceBase {
 
     private boolean bypassAuthUser = false;
 
+    private static final int DEFAULT_BULK_BATCH_SIZE = 50;
+
     public UserTaskServiceBase(UserTaskService userTaskService, KieServerRegistry context) {
         this.userTaskService = userTaskService;
         this.context = context;
@@ -516,6 +528,150 @@ public class UserTaskServiceBase {
 
     }
     
+    public String executeTaskOperations(String containerId, String userId, String payload, String marshallerType) {
+        // payload is unmarshalled with the container the alias points to, tasks are then resolved one by one
+        String marshallingContainerId = context.getContainerId(containerId, ContainerLocatorProvider.get().getLocator());
+        logger.debug("About to unmarshal bulk task operations from payload: '{}'", payload);
+        TaskOperationList operations = marshallerHelper.unmarshal(marshallingContainerId, payload, marshallerType, TaskOperationList.class);
+
+        List<TaskOperationResult> results = executeTaskOperations(containerId, userId, operations);
+        return marshallerHelper.marshal(marshallingContainerId, marshallerType, new TaskOperationResultList(results));
+    }
+
+    /**
+     * Executes all given task operations and returns their outcomes in the order they were given.
+     * Operations are grouped by the container their task belongs to and executed in batches,
+     * each batch within single transaction. When any operation of a batch fails, the batch is rolled
+     * back and its operations are executed again one by one so that each of them reports its own outcome.
+     */
+    public List<TaskOperationResult> executeTaskOperations(String containerId, String userId, TaskOperationList operations) {
+        final String user = getUser(userId);
+        List<TaskOperation> items = operations == null ? Collections.emptyList() : operations.getItems();
+        int batchSize = operations != null && operations.getBatchSize() != null && operations.getBatchSize() > 0 ?
+                operations.getBatchSize() : Integer.getInteger(KieServerConstants.CFG_BULK_TASK_OPERATION_BATCH_SIZE, DEFAULT_BULK_BATCH_SIZE);
+
+        TaskOperationResult[] results = new TaskOperationResult[items.size()];
+        Map<String, List<Integer>> byContainer = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            TaskOperation operation = items.get(i);
+            try {
+                if (operation.getTaskId() == null) {
+                    throw new IllegalArgumentException("Task id is required for " + operation.getOperation() + " operation");
+                }
+                String taskContainerId = context.getContainerId(containerId, new ByTaskIdContainerLocator(operation.getTaskId()));
+                byContainer.computeIfAbsent(taskContainerId, c -> new ArrayList<>()).add(i);
+            } catch (RuntimeException e) {
+                results[i] = failedResult(i, operation, containerId, e);
+            }
+        }
+
+        logger.debug("Executing {} task operations as user '{}' in {} container(s) with batch size {}", items.size(), user, byContainer.size(), batchSize);
+        for (Map.Entry<String, List<Integer>> entry : byContainer.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            for (int start = 0; start < indexes.size(); start += batchSize) {
+                executeTaskOperationsBatch(entry.getKey(), user, items, indexes.subList(start, Math.min(start + batchSize, indexes.size())), results);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    protected void executeTaskOperationsBatch(String containerId, String userId, List<TaskOperation> items, List<Integer> indexes, TaskOperationResult[] results) {
+        if (indexes.size() > 1) {
+            TransactionManager txm = newTransactionManager();
+            boolean txOwner;
+            try {
+                txOwner = txm.begin();
+            } catch (RuntimeException e) {
+                logger.debug("Unable to begin transaction for batch of {} task operations in container {}", indexes.size(), containerId, e);
+                for (Integer index : indexes) {
+                    results[index] = failedResult(index, items.get(index), containerId, e);
+                }
+                return;
+            }
+            try {
+                for (Integer index : indexes) {
+                    executeTaskOperation(containerId, userId, items.get(index));
+                }
+                txm.commit(txOwner);
+                for (Integer index : indexes) {
+                    results[index] = new TaskOperationResult(index, items.get(index).getTaskId(), items.get(index).getOperation(), containerId, true, null);
+                }
+                return;
+            } catch (Exception e) {
+                logger.debug("Batch of {} task operations in container {} failed, executing them one by one", indexes.size(), containerId, e);
+                txm.rollback(txOwner);
+            }
+        }
+        for (Integer index : indexes) {
+            TaskOperation operation = items.get(index);
+            try {
+                executeTaskOperation(containerId, userId, operation);
+                results[index] = new TaskOperationResult(index, operation.getTaskId(), operation.getOperation(), containerId, true, null);
+            } catch (RuntimeException e) {
+                logger.debug("Task operation {} failed", operation, e);
+                results[index] = failedResult(index, operation, containerId, e);
+            }
+        }
+    }
+
+    protected void executeTaskOperation(String containerId, String userId, TaskOperation operation) {
+        Long taskId = operation.getTaskId();
+        String name = operation.getOperation() == null ? "" : operation.getOperation().toLowerCase();
+        logger.debug("About to {} task with id '{}' as user '{}'", name, taskId, userId);
+        switch (name) {
+            case TaskOperation.ACTIVATE:
+                userTaskService.activate(containerId, taskId, userId);
+                break;
+            case TaskOperation.CLAIM:
+                userTaskService.claim(containerId, taskId, userId);
+                break;
+            case TaskOperation.START:
+                userTaskService.start(containerId, taskId, userId);
+                break;
+            case TaskOperation.STOP:
+                userTaskService.stop(containerId, taskId, userId);
+                break;
+            case TaskOperation.COMPLETE:
+                userTaskService.complete(containerId, taskId, userId, operation.getData());
+                break;
+            case TaskOperation.DELEGATE:
+                userTaskService.delegate(containerId, taskId, userId, operation.getTargetUser());
+                break;
+            case TaskOperation.EXIT:
+                userTaskService.exit(containerId, taskId, userId);
+                break;
+            case TaskOperation.FAIL:
+                userTaskService.fail(containerId, taskId, userId, operation.getData());
+                break;
+            case TaskOperation.FORWARD:
+                userTaskService.forward(containerId, taskId, userId, operation.getTargetUser());
+                break;
+            case TaskOperation.RELEASE:
+                userTaskService.release(containerId, taskId, userId);
+                break;
+            case TaskOperation.RESUME:
+                userTaskService.resume(containerId, taskId, userId);
+                break;
+            case TaskOperation.SKIP:
+                userTaskService.skip(containerId, taskId, userId);
+                break;
+            case TaskOperation.SUSPEND:
+                userTaskService.suspend(containerId, taskId, userId);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported task operation '" + operation.getOperation() + "'");
+        }
+    }
+
+    protected TransactionManager newTransactionManager() {
+        return TransactionManagerFactory.get().newTransactionManager();
+    }
+
+    private TaskOperationResult failedResult(int index, TaskOperation operation, String containerId, Exception e) {
+        String message = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+        return new TaskOperationResult(index, operation.getTaskId(), operation.getOperation(), containerId, false, message);
+    }
+
     private String getOrgEntityIfNotNull(OrganizationalEntity organizationalEntity) {
         if (organizationalEntity == null) {
             return "";
@@ -15,19 +15,29 @@
 
 package org.kie.server.services.jbpm;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
+import org.drools.persistence.api.TransactionManager;
 import org.jbpm.kie.services.impl.model.ProcessInstanceDesc;
 import org.jbpm.kie.services.impl.model.UserTaskInstanceDesc;
 import org.jbpm.services.api.DefinitionService;
 import org.jbpm.services.api.ProcessService;
 import org.jbpm.services.api.RuntimeDataService;
+import org.jbpm.services.api.model.ProcessDefinition;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.server.api.model.instance.ProcessStartRequest;
+import org.kie.server.api.model.instance.ProcessStartRequestList;
+import org.kie.server.api.model.instance.ProcessStartResult;
+import org.kie.server.api.model.instance.ProcessStartResultList;
 import org.kie.server.api.model.instance.TaskSummary;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.marshal.MarshallerHelper;
@@ -38,11 +48,15 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ProcessServiceBaseTest {
 
+    private static final String CONTAINER_ID = "container";
+    private static final Long PROCESS_INSTANCE_ID = 1L;
+
     @Mock
     private ProcessService processServiceMock;
 
@@ -58,6 +72,9 @@ public class ProcessServiceBaseTest {
     @Mock
     private RuntimeDataService runtimeDataServiceMock;
 
+    @Mock
+    private TransactionManager transactionManagerMock;
+
     ProcessServiceBase processServiceBase;
 
     @Before
@@ -65,7 +82,12 @@ public class ProcessServiceBaseTest {
         processServiceBase = new ProcessServiceBase(processServiceMock,
                                                     definitionServiceMock,
                                                     runtimeDataServiceMock,
-                                                    contextMock);
+                                                    contextMock) {
+            @Override
+            protected TransactionManager newTransactionManager() {
+                return transactionManagerMock;
+            }
+        };
         processServiceBase.setMarshallerHelper(marshallerHelperMock);
 
     }
@@ -122,6 +144,104 @@ public class ProcessServiceBaseTest {
 
     }
 
+    @Test
+    public void testStartProcessesReportsFailurePartway() {
+        mockBulkStart();
+
+        List<ProcessStartResult> results = new ArrayList<>();
+        processServiceBase.startProcesses(CONTAINER_ID, bulkStartRequests(1, "ok", "broken", "ok"), results::add);
+
+        assertEquals(3, results.size());
+        assertStarted(results.get(0), 0);
+        assertFailed(results.get(1), 1, "broken process");
+        assertStarted(results.get(2), 2);
+        verify(processServiceMock, times(2)).startProcess(eq(CONTAINER_ID), eq("ok"), anyMap());
+        verifyZeroInteractions(transactionManagerMock);
+    }
+
+    @Test
+    public void testStartProcessesRetriesFailedChunkOneByOne() {
+        mockBulkStart();
+        when(transactionManagerMock.begin()).thenReturn(true);
+
+        List<ProcessStartResult> results = new ArrayList<>();
+        processServiceBase.startProcesses(CONTAINER_ID, bulkStartRequests(3, "ok", "broken", "ok", "ok"), results::add);
+
+        assertEquals(4, results.size());
+        assertStarted(results.get(0), 0);
+        assertFailed(results.get(1), 1, "broken process");
+        assertStarted(results.get(2), 2);
+        assertStarted(results.get(3), 3);
+        // first chunk is rolled back once the second request fails and then started one by one
+        verify(transactionManagerMock).rollback(true);
+        verify(transactionManagerMock, never()).commit(anyBoolean());
+        verify(processServiceMock, times(4)).startProcess(eq(CONTAINER_ID), eq("ok"), anyMap());
+    }
+
+    @Test
+    public void testStartProcessesReportsFailedChunk() {
+        mockBulkStart();
+        when(transactionManagerMock.begin()).thenThrow(new IllegalStateException("no transaction"));
+
+        List<ProcessStartResult> results = new ArrayList<>();
+        processServiceBase.startProcesses(CONTAINER_ID, bulkStartRequests(2, "ok", "ok", "ok"), results::add);
+
+        assertEquals(3, results.size());
+        assertFailed(results.get(0), 0, "no transaction");
+        assertFailed(results.get(1), 1, "no transaction");
+        assertStarted(results.get(2), 2);
+    }
+
+    @Test
+    public void testStartProcessesStreamStaysWellFormedOnFailures() throws Exception {
+        mockBulkStart();
+        when(transactionManagerMock.begin()).thenThrow(new IllegalStateException("no transaction"));
+        when(marshallerHelperMock.marshal(eq(CONTAINER_ID), eq("application/json"), any(ProcessStartResult.class))).thenAnswer(invocation -> {
+            ProcessStartResult result = (ProcessStartResult) invocation.getArguments()[2];
+            if (result.getIndex() == 2 && result.getErrorMessage() == null) {
+                throw new IllegalArgumentException("not marshallable");
+            }
+            return "{\"index\":" + result.getIndex() + ",\"error\":\"" + result.getErrorMessage() + "\"}";
+        });
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        processServiceBase.startProcesses(CONTAINER_ID, bulkStartRequests(2, "ok", "ok", "ok"), "application/json", output);
+
+        assertEquals("{\"" + ProcessStartResultList.RESULTS_ELEMENT + "\":["
+                             + "{\"index\":0,\"error\":\"no transaction\"},"
+                             + "{\"index\":1,\"error\":\"no transaction\"},"
+                             + "{\"index\":2,\"error\":\"not marshallable\"}"
+                             + "]}",
+                     new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private void mockBulkStart() {
+        when(contextMock.getContainerId(eq(CONTAINER_ID), any())).thenReturn(CONTAINER_ID);
+        when(definitionServiceMock.getProcessDefinition(eq(CONTAINER_ID), anyString())).thenReturn(mock(ProcessDefinition.class));
+        when(processServiceMock.startProcess(eq(CONTAINER_ID), eq("ok"), anyMap())).thenReturn(PROCESS_INSTANCE_ID);
+        when(processServiceMock.startProcess(eq(CONTAINER_ID), eq("broken"), anyMap())).thenThrow(new RuntimeException("broken process"));
+    }
+
+    private ProcessStartRequestList bulkStartRequests(int chunkSize, String... processIds) {
+        ProcessStartRequestList requests = new ProcessStartRequestList(Arrays.stream(processIds)
+                                                                              .map(processId -> new ProcessStartRequest(processId, Collections.emptyMap()))
+                                                                              .toArray(ProcessStartRequest[]::new));
+        requests.setChunkSize(chunkSize);
+        return requests;
+    }
+
+    private void assertStarted(ProcessStartResult result, int index) {
+        assertEquals(Integer.valueOf(index), result.getIndex());
+        assertEquals(PROCESS_INSTANCE_ID, result.getProcessInstanceId());
+        assertNull(result.getErrorMessage());
+    }
+
+    private void assertFailed(ProcessStartResult result, int index, String errorMessage) {
+        assertEquals(Integer.valueOf(index), result.getIndex());
+        assertNull(result.getProcessInstanceId());
+        assertEquals(errorMessage, result.getErrorMessage());
+    }
+
     private void verifyProcessInstanceHasActiveTasks( ProcessInstanceDesc pid, org.kie.server.api.model.instance.ProcessInstance pi){
         assertNotNull(pid);
         assertNotNull(pi);
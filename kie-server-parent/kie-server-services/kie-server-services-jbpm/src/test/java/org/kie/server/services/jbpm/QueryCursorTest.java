@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.jbpm;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class QueryCursorTest {
+
+    @Test
+    public void testEncodeAndDecodeNumericKey() {
+        String token = new QueryCursor("PROCESSINSTANCEID", 42).encode();
+        assertFalse(token.contains("PROCESSINSTANCEID"));
+
+        QueryCursor cursor = QueryCursor.decode(token);
+        assertEquals("PROCESSINSTANCEID", cursor.getKeyColumn());
+        assertEquals(42, cursor.getLastKey());
+        assertEquals(42L, QueryCursor.decode(new QueryCursor("PROCESSINSTANCEID", 42L).encode()).getLastKey());
+    }
+
+    @Test
+    public void testEncodeAndDecodeDecimalKeys() {
+        BigDecimal amount = new BigDecimal("12345678901234567890.125");
+        assertEquals(amount, QueryCursor.decode(new QueryCursor("AMOUNT", amount).encode()).getLastKey());
+        assertEquals(2.5d, QueryCursor.decode(new QueryCursor("RATE", 2.5d).encode()).getLastKey());
+        BigInteger big = new BigInteger("123456789012345678901234567890");
+        assertEquals(big, QueryCursor.decode(new QueryCursor("ID", big).encode()).getLastKey());
+    }
+
+    @Test
+    public void testEncodeAndDecodeDateAndStringKeys() {
+        Date date = new Date(1577836800000L);
+        assertEquals(date, QueryCursor.decode(new QueryCursor("START_DATE", date).encode()).getLastKey());
+        assertEquals("a|b", QueryCursor.decode(new QueryCursor("NAME", "a|b").encode()).getLastKey());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeInvalidCursor() {
+        QueryCursor.decode("not-a-cursor");
+    }
+}
@@ -17,18 +17,30 @@
 package org.kie.server.services.jbpm;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.jbpm.services.api.model.UserTaskInstanceWithPotOwnerDesc;
 import org.jbpm.services.api.query.QueryMapperRegistry;
 import org.jbpm.services.api.query.QueryResultMapper;
 import org.jbpm.services.api.query.QueryService;
+import org.jbpm.services.api.query.model.QueryDefinition;
+import org.jbpm.services.api.query.model.QueryParam;
 import org.junit.Test;
+import org.kie.api.runtime.query.QueryContext;
 import org.kie.server.api.KieServerEnvironment;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.KieServerRegistryImpl;
@@ -68,4 +80,131 @@ public class QueryDataServiceBaseTest {
         assertNotNull(resultQueryBase);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testExportByKeyColumnInBatches() throws Exception {
+        List<QueryContext> contexts = new ArrayList<>();
+        List<Object> lastKeys = new ArrayList<>();
+        QueryService queryService = mockRawQuery(5, contexts, lastKeys);
+        QueryDataServiceBase queryServiceBase = new QueryDataServiceBase(queryService, new KieServerRegistryImpl());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        queryServiceBase.exportQuery("rows", QueryDataServiceBase.EXPORT_FORMAT_CSV, "ID", 2, null, "application/json", output);
+
+        String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(Arrays.asList("NAME,ID", "row-1,1", "row-2,2", "row-3,3", "row-4,4", "row-5,5"), Arrays.asList(lines));
+        // batches are selected by the value of the key column, not by the first column
+        assertEquals(Arrays.asList(null, 2L, 4L), lastKeys);
+        for (QueryContext context : contexts) {
+            assertEquals("ID", context.getOrderBy());
+            assertTrue(context.isAscending());
+            assertEquals(0, context.getOffset().intValue());
+        }
+    }
+
+    @Test
+    public void testExportAsNdjson() throws Exception {
+        List<QueryContext> contexts = new ArrayList<>();
+        List<Object> lastKeys = new ArrayList<>();
+        QueryService queryService = mockRawQuery(3, contexts, lastKeys);
+        QueryDataServiceBase queryServiceBase = new QueryDataServiceBase(queryService, new KieServerRegistryImpl());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        queryServiceBase.exportQuery("rows", QueryDataServiceBase.EXPORT_FORMAT_NDJSON, "ID", 2, null, "application/json", output);
+
+        String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"NAME\"") && lines[0].contains("\"row-1\""));
+        assertTrue(lines[2].contains("\"row-3\""));
+        assertEquals(2, contexts.size());
+        assertEquals(Arrays.asList(null, 2L), lastKeys);
+    }
+
+    @Test
+    public void testExportRejectsInvalidRequestsBeforeWriting() {
+        QueryService queryService = mockRawQuery(3, new ArrayList<>(), new ArrayList<>());
+        QueryDataServiceBase queryServiceBase = new QueryDataServiceBase(queryService, new KieServerRegistryImpl());
+
+        assertInvalid(() -> queryServiceBase.prepareExport("rows", "xml", null, null, null, "application/json"));
+        assertInvalid(() -> queryServiceBase.prepareExport("rows", QueryDataServiceBase.EXPORT_FORMAT_CSV, "UNKNOWN", null, null, "application/json"));
+        // keyset batches are always ordered by key, another order would skip rows
+        assertInvalid(() -> queryServiceBase.prepareExport("rows", QueryDataServiceBase.EXPORT_FORMAT_CSV, "ID", null,
+                                                           "{\"order-by\":\"NAME\",\"order-asc\":true}", "application/json"));
+        // offset batches get slower with every batch, a key column is required
+        assertInvalid(() -> queryServiceBase.prepareExport("rows", QueryDataServiceBase.EXPORT_FORMAT_CSV, null, null, null, "application/json"));
+        assertInvalid(() -> queryServiceBase.prepareExport("rows", QueryDataServiceBase.EXPORT_FORMAT_CSV, "", null, null, "application/json"));
+        assertNotNull(queryServiceBase.prepareExport("rows", QueryDataServiceBase.EXPORT_FORMAT_CSV, "ID", null,
+                                                     "{\"order-by\":\"ID\",\"order-asc\":true}", "application/json"));
+    }
+
+    @Test
+    public void testCursorByCustomKeyColumn() {
+        List<QueryContext> contexts = new ArrayList<>();
+        List<Object> lastKeys = new ArrayList<>();
+        QueryService queryService = mockRawQuery(15, contexts, lastKeys);
+        QueryDataServiceBase queryServiceBase = new QueryDataServiceBase(queryService, new KieServerRegistryImpl());
+
+        // page size defaults when not given
+        QueryDataServiceBase.CursorResult first = queryServiceBase.queryFilteredWithCursor(null, "rows", "RawList", "ID", null, null, null, "application/json");
+        assertNotNull(first.getNextCursor());
+        assertEquals(10, contexts.get(0).getCount().intValue());
+
+        QueryDataServiceBase.CursorResult second = queryServiceBase.queryFilteredWithCursor(null, "rows", "RawList", null, first.getNextCursor(), null, null, "application/json");
+        assertNull(second.getNextCursor());
+        assertEquals(Arrays.asList(null, 10L), lastKeys);
+    }
+
+    @Test
+    public void testCursorRejectsKeyColumnNotExposedByMapper() {
+        QueryService queryService = mockRawQuery(15, new ArrayList<>(), new ArrayList<>());
+        QueryDataServiceBase queryServiceBase = new QueryDataServiceBase(queryService, new KieServerRegistryImpl());
+
+        assertInvalid(() -> queryServiceBase.queryFilteredWithCursor(null, "rows", "ProcessInstances", "ID", null, 10, null, "application/json"));
+        assertInvalid(() -> queryServiceBase.queryFilteredWithCursor(null, "rows", "RawList", "ID", null, 10,
+                                                                     "{\"order-by\":\"ID\",\"order-asc\":false}", "application/json"));
+    }
+
+    private static void assertInvalid(Runnable call) {
+        try {
+            call.run();
+            fail("Request should have been rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Query with columns NAME and ID returning the given number of rows, ordered by ID, honoring the offset and
+     * count of the query context and a GREATER_THAN condition on ID.
+     */
+    @SuppressWarnings("unchecked")
+    private static QueryService mockRawQuery(int rows, List<QueryContext> contexts, List<Object> lastKeys) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put("NAME", "LABEL");
+        columns.put("ID", "NUMBER");
+        QueryDefinition definition = Mockito.mock(QueryDefinition.class);
+        when(definition.getColumns()).thenReturn(columns);
+
+        QueryService queryService = Mockito.mock(QueryService.class);
+        when(queryService.getQuery("rows")).thenReturn(definition);
+        when(queryService.query(eq("rows"), any(QueryResultMapper.class), any(QueryContext.class), (QueryParam[]) anyVararg())).thenAnswer(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            QueryContext context = (QueryContext) arguments[2];
+            contexts.add(context);
+            Long lastKey = null;
+            for (int i = 3; i < arguments.length; i++) {
+                QueryParam param = (QueryParam) arguments[i];
+                if ("ID".equals(param.getColumn()) && "GREATER_THAN".equals(param.getOperator())) {
+                    lastKey = (Long) param.getValue().get(0);
+                }
+            }
+            lastKeys.add(lastKey);
+            List<List<Object>> result = new ArrayList<>();
+            long from = lastKey != null ? lastKey + 1 : context.getOffset() + 1;
+            for (long id = from; id <= rows && result.size() < context.getCount(); id++) {
+                result.add(Arrays.asList("row-" + id, id));
+            }
+            return result;
+        });
+        return queryService;
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.jbpm;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.drools.persistence.api.TransactionManager;
+import org.jbpm.services.api.TaskNotFoundException;
+import org.jbpm.services.api.UserTaskService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.internal.identity.IdentityProvider;
+import org.kie.server.api.model.KieServerConfig;
+import org.kie.server.api.model.instance.TaskOperation;
+import org.kie.server.api.model.instance.TaskOperationList;
+import org.kie.server.api.model.instance.TaskOperationResult;
+import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.jbpm.locator.ByTaskIdContainerLocator;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UserTaskServiceBaseTest {
+
+    private static final String ALIAS = "alias";
+    private static final String USER = "john";
+
+    @Mock
+    private UserTaskService userTaskServiceMock;
+
+    @Mock
+    private KieServerRegistry contextMock;
+
+    @Mock
+    private IdentityProvider identityProviderMock;
+
+    @Mock
+    private KieServerConfig configMock;
+
+    @Mock
+    private TransactionManager transactionManagerMock;
+
+    private UserTaskServiceBase userTaskServiceBase;
+
+    @Before
+    public void setup() {
+        when(contextMock.getIdentityProvider()).thenReturn(identityProviderMock);
+        when(contextMock.getConfig()).thenReturn(configMock);
+        when(configMock.getConfigItemValue(anyString(), anyString())).thenReturn("false");
+        when(identityProviderMock.getName()).thenReturn(USER);
+
+        userTaskServiceBase = new UserTaskServiceBase(userTaskServiceMock, contextMock) {
+            @Override
+            protected TransactionManager newTransactionManager() {
+                return transactionManagerMock;
+            }
+        };
+    }
+
+    @Test
+    public void testExecuteTaskOperationsGroupedByContainer() {
+        when(contextMock.getContainerId(eq(ALIAS), any(ByTaskIdContainerLocator.class))).thenReturn("c1", "c2", "c1");
+
+        TaskOperationList operations = new TaskOperationList(Arrays.asList(TaskOperation.claim(1L),
+                                                                           TaskOperation.start(2L),
+                                                                           TaskOperation.complete(3L, Collections.singletonMap("approved", true))));
+        // single operation batches do not need a transaction of their own
+        operations.setBatchSize(1);
+
+        List<TaskOperationResult> results = userTaskServiceBase.executeTaskOperations(ALIAS, null, operations);
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex().intValue());
+            assertTrue(results.get(i).isSuccess());
+        }
+        assertEquals("c1", results.get(0).getContainerId());
+        assertEquals("c2", results.get(1).getContainerId());
+        assertEquals("c1", results.get(2).getContainerId());
+
+        // operations of one container are executed together, in the order they were given
+        InOrder inOrder = inOrder(userTaskServiceMock);
+        inOrder.verify(userTaskServiceMock).claim("c1", 1L, USER);
+        inOrder.verify(userTaskServiceMock).complete("c1", 3L, USER, Collections.singletonMap("approved", true));
+        inOrder.verify(userTaskServiceMock).start("c2", 2L, USER);
+    }
+
+    @Test
+    public void testExecuteTaskOperationsReportsFailuresPerItem() {
+        when(contextMock.getContainerId(eq(ALIAS), any(ByTaskIdContainerLocator.class))).thenReturn("c1");
+        doThrow(new TaskNotFoundException("Task 2 not found")).when(userTaskServiceMock).release("c1", 2L, USER);
+
+        TaskOperationList operations = new TaskOperationList(Arrays.asList(TaskOperation.delegate(1L, "mary"),
+                                                                           TaskOperation.release(2L),
+                                                                           new TaskOperation(3L, "unknown"),
+                                                                           new TaskOperation(null, TaskOperation.CLAIM)));
+        operations.setBatchSize(1);
+
+        List<TaskOperationResult> results = userTaskServiceBase.executeTaskOperations(ALIAS, null, operations);
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertNull(results.get(0).getErrorMessage());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Task 2 not found", results.get(1).getErrorMessage());
+        assertFalse(results.get(2).isSuccess());
+        assertEquals("Unsupported task operation 'unknown'", results.get(2).getErrorMessage());
+        assertFalse(results.get(3).isSuccess());
+
+        verify(userTaskServiceMock).delegate("c1", 1L, USER, "mary");
+        verifyZeroInteractions(transactionManagerMock);
+    }
+
+    @Test
+    public void testExecuteTaskOperationsInBatches() {
+        when(contextMock.getContainerId(eq(ALIAS), any(ByTaskIdContainerLocator.class))).thenReturn("c1");
+        when(transactionManagerMock.begin()).thenReturn(true);
+
+        TaskOperationList operations = new TaskOperationList(Arrays.asList(TaskOperation.claim(1L),
+                                                                           TaskOperation.claim(2L),
+                                                                           TaskOperation.claim(3L),
+                                                                           TaskOperation.claim(4L),
+                                                                           TaskOperation.claim(5L)));
+        operations.setBatchSize(2);
+
+        List<TaskOperationResult> results = userTaskServiceBase.executeTaskOperations(ALIAS, null, operations);
+
+        assertEquals(5, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex().intValue());
+            assertEquals(i + 1, results.get(i).getTaskId().longValue());
+            assertTrue(results.get(i).isSuccess());
+        }
+        // batches [1, 2] and [3, 4] run in a transaction each, the remaining single operation does not need one
+        InOrder inOrder = inOrder(transactionManagerMock, userTaskServiceMock);
+        inOrder.verify(transactionManagerMock).begin();
+        inOrder.verify(userTaskServiceMock).claim("c1", 1L, USER);
+        inOrder.verify(userTaskServiceMock).claim("c1", 2L, USER);
+        inOrder.verify(transactionManagerMock).commit(true);
+        inOrder.verify(transactionManagerMock).begin();
+        inOrder.verify(userTaskServiceMock).claim("c1", 3L, USER);
+        inOrder.verify(userTaskServiceMock).claim("c1", 4L, USER);
+        inOrder.verify(transactionManagerMock).commit(true);
+        inOrder.verify(userTaskServiceMock).claim("c1", 5L, USER);
+        inOrder.verifyNoMoreInteractions();
+        verify(transactionManagerMock, never()).rollback(anyBoolean());
+    }
+
+    @Test
+    public void testExecuteTaskOperationsRetriesFailedBatchOneByOne() {
+        when(contextMock.getContainerId(eq(ALIAS), any(ByTaskIdContainerLocator.class))).thenReturn("c1");
+        when(transactionManagerMock.begin()).thenReturn(true);
+        doThrow(new TaskNotFoundException("Task 4 not found")).when(userTaskServiceMock).start("c1", 4L, USER);
+
+        TaskOperationList operations = new TaskOperationList(Arrays.asList(TaskOperation.start(1L),
+                                                                           TaskOperation.start(2L),
+                                                                           TaskOperation.start(3L),
+                                                                           TaskOperation.start(4L),
+                                                                           TaskOperation.start(5L)));
+        operations.setBatchSize(3);
+
+        List<TaskOperationResult> results = userTaskServiceBase.executeTaskOperations(ALIAS, null, operations);
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        assertTrue(results.get(2).isSuccess());
+        assertFalse(results.get(3).isSuccess());
+        assertEquals("Task 4 not found", results.get(3).getErrorMessage());
+        assertEquals(3, results.get(3).getIndex().intValue());
+        assertTrue(results.get(4).isSuccess());
+
+        // first batch is committed, second one is rolled back when task 4 fails and then executed one by one
+        InOrder inOrder = inOrder(transactionManagerMock, userTaskServiceMock);
+        inOrder.verify(transactionManagerMock).begin();
+        inOrder.verify(userTaskServiceMock).start("c1", 1L, USER);
+        inOrder.verify(userTaskServiceMock).start("c1", 2L, USER);
+        inOrder.verify(userTaskServiceMock).start("c1", 3L, USER);
+        inOrder.verify(transactionManagerMock).commit(true);
+        inOrder.verify(transactionManagerMock).begin();
+        inOrder.verify(userTaskServiceMock).start("c1", 4L, USER);
+        inOrder.verify(transactionManagerMock).rollback(true);
+        inOrder.verify(userTaskServiceMock).start("c1", 4L, USER);
+        inOrder.verify(userTaskServiceMock).start("c1", 5L, USER);
+        inOrder.verifyNoMoreInteractions();
+        verify(userTaskServiceMock, times(1)).start("c1", 1L, USER);
+        verify(userTaskServiceMock, times(1)).start("c1", 5L, USER);
+    }
+
+    @Test
+    public void testExecuteTaskOperationsRetriesBatchFailingOnCommit() {
+        when(contextMock.getContainerId(eq(ALIAS), any(ByTaskIdContainerLocator.class))).thenReturn("c1");
+        when(transactionManagerMock.begin()).thenReturn(true);
+        doThrow(new IllegalStateException("commit failed")).when(transactionManagerMock).commit(true);
+
+        TaskOperationList operations = new TaskOperationList(Arrays.asList(new TaskOperation(1L, TaskOperation.SKIP),
+                                                                           new TaskOperation(2L, TaskOperation.SKIP)));
+        operations.setBatchSize(2);
+
+        List<TaskOperationResult> results = userTaskServiceBase.executeTaskOperations(ALIAS, null, operations);
+
+        // nothing was committed, so each operation is executed again on its own
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        verify(transactionManagerMock).rollback(true);
+        verify(userTaskServiceMock, times(2)).skip("c1", 1L, USER);
+        verify(userTaskServiceMock, times(2)).skip("c1", 2L, USER);
+    }
+
+    @Test
+    public void testExecuteTaskOperationsReportsBatchWhenTransactionCannotBegin() {
+        when(contextMock.getContainerId(eq(ALIAS), any(ByTaskIdContainerLocator.class))).thenReturn("c1", "c1", "c2");
+        when(transactionManagerMock.begin()).thenThrow(new IllegalStateException("no transaction"));
+
+        TaskOperationList operations = new TaskOperationList(Arrays.asList(TaskOperation.release(1L),
+                                                                           TaskOperation.release(2L),
+                                                                           TaskOperation.release(3L)));
+        operations.setBatchSize(2);
+
+        List<TaskOperationResult> results = userTaskServiceBase.executeTaskOperations(ALIAS, null, operations);
+
+        assertEquals(3, results.size());
+        assertFalse(results.get(0).isSuccess());
+        assertEquals("no transaction", results.get(0).getErrorMessage());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("no transaction", results.get(1).getErrorMessage());
+        // other containers are still processed
+        assertTrue(results.get(2).isSuccess());
+        assertEquals("c2", results.get(2).getContainerId());
+        verify(userTaskServiceMock, never()).release("c1", 1L, USER);
+        verify(userTaskServiceMock, never()).release("c1", 2L, USER);
+        verify(userTaskServiceMock).release("c2", 3L, USER);
+    }
+}
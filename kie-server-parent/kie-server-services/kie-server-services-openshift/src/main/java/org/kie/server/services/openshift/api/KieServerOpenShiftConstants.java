@@ -25,6 +25,8 @@ public class KieServerOpenShiftConstants {
     public static final String CFG_MAP_LABEL_SERVER_STATE_VALUE_USED = "USED";
     public static final String CFG_MAP_LABEL_APP_NAME_KEY = "application";
     public static final String CFG_MAP_NAME_SYNTHETIC_NAME = "kieserver";
+    public static final String CFG_MAP_CACHE_ENABLED = "org.kie.server.services.openshift.configmap.cache.enabled";
+    public static final String CFG_MAP_UPDATE_RETRIES = "org.kie.server.services.openshift.configmap.update.retries";
     public static final String ENV_HOSTNAME = "HOSTNAME";
     public static final String KIE_SERVER_SERVICES_OPENSHIFT_SERVICE_NAME = "org.kie.server.services.openshift.service.name";
     public static final String ROLLOUT_REQUIRED = "services.server.kie.org/openshift-startup-strategy.rolloutRequired";
@@ -37,6 +37,7 @@ import org.kie.server.services.impl.KieServerImpl;
 import org.kie.server.services.impl.storage.KieServerState;
 import org.kie.server.services.openshift.api.KieServerOpenShift;
 import org.kie.server.services.openshift.impl.storage.cloud.CloudClientFactory;
+import org.kie.server.services.openshift.impl.storage.cloud.KieServerStateConfigMapCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -65,59 +66,84 @@ public class OpenShiftStartupStrategy implements StartupStrategy {
         public void run() {
             try (OpenShiftClient client = clouldClientHelper.get()) {
                 logger.info("Watching ConfigMap in namespace: [{}]", client.getNamespace());
-                try (Watch watchable = client.configMaps().withLabel(CFG_MAP_LABEL_SERVER_ID_KEY, kieServerId)
-                                             .watch(new Watcher<ConfigMap>() {
-                    @Override
-                    public void eventReceived(Action action, ConfigMap kieServerState) {
-                        logger.debug("Event - Action: {}, {} on ConfigMap ",
-                                    action, kieServerState.getMetadata().getLabels()
-                                                          .getOrDefault(CFG_MAP_LABEL_SERVER_ID_KEY, UNKNOWN));
-                        
-                        getKieServerDC(client, kieServerId).ifPresent(dc -> { 
-                            if (action.equals(Action.MODIFIED) && isRolloutRequired(client, kieServerId, isDCStable(dc))) {
-                                String dcName = dc.getMetadata().getName();
-                                client.deploymentConfigs().withName(dcName).deployLatest();
-                                logger.info("Triggering rollout for DeploymentConfig: {}", dcName);
-                            } else {
-                                logger.debug("Event - Ignored");
-                            }
-                        });
+                Watcher<ConfigMap> watcher = createWatcher(client);
+                KieServerStateConfigMapCache cache = KieServerStateConfigMapCache.isEnabled() ?
+                        KieServerStateConfigMapCache.getInstance(new CloudClientFactory() {}) : null;
+
+                if (cache != null && cache.sync()) {
+                    // Share the ConfigMap cache watch instead of opening a dedicated one
+                    cache.addListener(watcher);
+                    logger.info("Watcher registered to shared ConfigMap cache");
+                    try {
+                        awaitShutdown();
+                    } finally {
+                        cache.removeListener(watcher);
                     }
+                } else {
+                    try (Watch watchable = client.configMaps().withLabel(CFG_MAP_LABEL_SERVER_ID_KEY, kieServerId)
+                                                 .watch(watcher)) {
+                        logger.info("Watcher created");
+                        awaitShutdown();
+                    }
+                }
+            } catch (KubernetesClientException kce) {
+                logger.error("WatchRunner thread failed", kce);
+            }
+        }
 
-                    @Override
-                    public void onClose(KubernetesClientException cause) {
-                        logger.info("Watcher closed.");
-                        if (cause != null) {
-                            logger.info(cause.getMessage());
-                        }
+        private Watcher<ConfigMap> createWatcher(OpenShiftClient client) {
+            return new Watcher<ConfigMap>() {
+                @Override
+                public void eventReceived(Action action, ConfigMap kieServerState) {
+                    String serverId = kieServerState.getMetadata().getLabels()
+                                                    .getOrDefault(CFG_MAP_LABEL_SERVER_ID_KEY, UNKNOWN);
+                    if (!kieServerId.equals(serverId)) {
+                        return;
                     }
-                })) {
-                    logger.info("Watcher created");
-
-                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-                        synchronized (this) {
-                            isWatchRunning = false;
-                            notifyAll();
-                            logger.info("ShutdownHook sent notifyAll");
+                    logger.debug("Event - Action: {}, {} on ConfigMap ", action, serverId);
+
+                    getKieServerDC(client, kieServerId).ifPresent(dc -> { 
+                        if (action.equals(Action.MODIFIED) && isRolloutRequired(client, kieServerId, isDCStable(dc))) {
+                            String dcName = dc.getMetadata().getName();
+                            client.deploymentConfigs().withName(dcName).deployLatest();
+                            logger.info("Triggering rollout for DeploymentConfig: {}", dcName);
+                        } else {
+                            logger.debug("Event - Ignored");
                         }
-                    }));
-
-                    synchronized (this) {
-                        while (isWatchRunning && !Thread.currentThread().isInterrupted()) {
-                            logger.info("WatchRunner thread run");
-                            try {
-                                wait();
-                            } catch (InterruptedException e) {
-                                Thread.currentThread().interrupt();
-                                logger.error("WatchRunner thread being interrupted", e);
-                            }
-                            logger.info("WatchRunner thread being notified");
-                        }
-                        logger.info("WatchRunner thread exits");
+                    });
+                }
+
+                @Override
+                public void onClose(KubernetesClientException cause) {
+                    logger.info("Watcher closed.");
+                    if (cause != null) {
+                        logger.info(cause.getMessage());
                     }
                 }
-            } catch (KubernetesClientException kce) {
-                logger.error("WatchRunner thread failed", kce);
+            };
+        }
+
+        private void awaitShutdown() {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                synchronized (this) {
+                    isWatchRunning = false;
+                    notifyAll();
+                    logger.info("ShutdownHook sent notifyAll");
+                }
+            }));
+
+            synchronized (this) {
+                while (isWatchRunning && !Thread.currentThread().isInterrupted()) {
+                    logger.info("WatchRunner thread run");
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        logger.error("WatchRunner thread being interrupted", e);
+                    }
+                    logger.info("WatchRunner thread being notified");
+                }
+                logger.info("WatchRunner thread exits");
             }
         }
 
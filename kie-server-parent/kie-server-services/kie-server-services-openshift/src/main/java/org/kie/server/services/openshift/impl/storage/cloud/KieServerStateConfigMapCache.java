@@ -0,0 +1,334 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.openshift.impl.storage.cloud;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ConfigMapList;
+import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.LabelSelectorRequirement;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.openshift.client.OpenShiftClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_CACHE_ENABLED;
+import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_LABEL_SERVER_ID_KEY;
+
+/**
+ * Watch backed, process wide cache of the KieServerState ConfigMaps in the current namespace.
+ * The cache lists all ConfigMaps labeled with a kie server id once, then keeps itself up to date
+ * from a single watch started at the listed resourceVersion, so that repository reads no longer
+ * hit the API server. Events are only applied when they carry a newer resourceVersion than the
+ * cached copy, which keeps the cache consistent with the repository's own writes.
+ * When the watch is closed by the server the cache is marked as not synced and re-listed in the
+ * background; callers are expected to fall back to direct reads while it is not synced.
+ */
+public class KieServerStateConfigMapCache implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieServerStateConfigMapCache.class);
+
+    private static final long MAX_RESYNC_BACKOFF = 30000L;
+
+    private static volatile KieServerStateConfigMapCache instance;
+
+    private final Supplier<OpenShiftClient> clientSupplier;
+    private final Map<String, ConfigMap> configMaps = new ConcurrentHashMap<>();
+    private final List<Watcher<ConfigMap>> listeners = new CopyOnWriteArrayList<>();
+
+    private OpenShiftClient client;
+    private Watch watch;
+    private volatile boolean synced;
+    private volatile boolean closed;
+
+    public KieServerStateConfigMapCache(Supplier<OpenShiftClient> clientSupplier) {
+        this.clientSupplier = clientSupplier;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(CFG_MAP_CACHE_ENABLED, "false"));
+    }
+
+    /**
+     * Returns the cache shared by all repositories and startup strategies of this process,
+     * creating it from the given factory on first use.
+     */
+    public static KieServerStateConfigMapCache getInstance(CloudClientFactory factory) {
+        KieServerStateConfigMapCache cache = instance;
+        if (cache == null) {
+            synchronized (KieServerStateConfigMapCache.class) {
+                cache = instance;
+                if (cache == null) {
+                    cache = new KieServerStateConfigMapCache(factory::createOpenShiftClient);
+                    instance = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Lists the ConfigMaps and (re)starts the watch if the cache is not synced.
+     * @return true if the cache is synced after the call.
+     */
+    public synchronized boolean sync() {
+        if (synced || closed) {
+            return synced;
+        }
+        try {
+            if (client == null) {
+                client = clientSupplier.get();
+            }
+            closeWatch();
+            ConfigMapList list = client.configMaps().withLabel(CFG_MAP_LABEL_SERVER_ID_KEY).list();
+            configMaps.clear();
+            list.getItems().forEach(this::apply);
+
+            String resourceVersion = list.getMetadata() == null ? null : list.getMetadata().getResourceVersion();
+            Watcher<ConfigMap> watcher = new CacheWatcher();
+            if (resourceVersion != null && !resourceVersion.isEmpty()) {
+                watch = client.configMaps().withLabel(CFG_MAP_LABEL_SERVER_ID_KEY)
+                              .withResourceVersion(resourceVersion).watch(watcher);
+            } else {
+                watch = client.configMaps().withLabel(CFG_MAP_LABEL_SERVER_ID_KEY).watch(watcher);
+            }
+            synced = true;
+            logger.info("KieServerState ConfigMap cache synced with {} ConfigMap(s) at resourceVersion [{}]",
+                        configMaps.size(), resourceVersion);
+        } catch (KubernetesClientException kce) {
+            logger.warn("KieServerState ConfigMap cache sync failed, falling back to direct reads", kce);
+            synced = false;
+        }
+        return synced;
+    }
+
+    public boolean isSynced() {
+        return synced;
+    }
+
+    /**
+     * Returns a copy of the cached ConfigMap for the given kie server id, so callers are free
+     * to modify it before writing it back.
+     */
+    public Optional<ConfigMap> get(String serverId) {
+        List<ConfigMap> found = list(cm -> serverId.equals(getServerId(cm)));
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        if (found.size() == 1) {
+            return Optional.of(new ConfigMapBuilder(found.get(0)).build());
+        }
+        throw new IllegalStateException("Ambiguous KIE server id: [" + serverId +
+                                        "]; more than one KIE server ConfigMaps exists.");
+    }
+
+    public List<ConfigMap> list(Predicate<ConfigMap> filter) {
+        return configMaps.values().stream().filter(filter).collect(Collectors.toList());
+    }
+
+    public List<ConfigMap> list(LabelSelector selector) {
+        return list(cm -> matches(cm, selector));
+    }
+
+    /**
+     * Applies the given ConfigMap, as returned by the API server, to the cache unless the cache
+     * already holds a newer revision of it.
+     */
+    public void update(ConfigMap cm) {
+        if (cm != null && cm.getMetadata() != null && getServerId(cm) != null) {
+            apply(cm);
+        }
+    }
+
+    public void remove(String serverId) {
+        configMaps.values().removeIf(cm -> serverId.equals(getServerId(cm)));
+    }
+
+    public void addListener(Watcher<ConfigMap> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Watcher<ConfigMap> listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        synced = false;
+        closeWatch();
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+        configMaps.clear();
+    }
+
+    void onEvent(Watcher.Action action, ConfigMap cm) {
+        String name = cm.getMetadata().getName();
+        if (action == Watcher.Action.DELETED) {
+            configMaps.remove(name);
+        } else if (action == Watcher.Action.ADDED || action == Watcher.Action.MODIFIED) {
+            if (!apply(cm)) {
+                logger.debug("Ignored stale {} event for ConfigMap [{}]", action, name);
+                return;
+            }
+        }
+        for (Watcher<ConfigMap> listener : listeners) {
+            try {
+                listener.eventReceived(action, cm);
+            } catch (RuntimeException e) {
+                logger.error("ConfigMap cache listener failed on {} event", action, e);
+            }
+        }
+    }
+
+    void onClose(KubernetesClientException cause) {
+        synced = false;
+        if (cause != null && !closed) {
+            logger.warn("KieServerState ConfigMap cache watch closed, re-syncing: {}", cause.getMessage());
+            Thread resync = new Thread(this::resync, "kie-server-state-cm-cache-resync");
+            resync.setDaemon(true);
+            resync.start();
+        }
+        for (Watcher<ConfigMap> listener : listeners) {
+            listener.onClose(cause);
+        }
+    }
+
+    private void resync() {
+        long backoff = 1000L;
+        while (!closed && !sync()) {
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = Math.min(backoff * 2, MAX_RESYNC_BACKOFF);
+        }
+    }
+
+    private boolean apply(ConfigMap cm) {
+        boolean[] applied = {false};
+        configMaps.compute(cm.getMetadata().getName(), (name, current) -> {
+            if (current == null || isNewer(cm, current)) {
+                applied[0] = true;
+                return cm;
+            }
+            return current;
+        });
+        return applied[0];
+    }
+
+    private void closeWatch() {
+        if (watch != null) {
+            try {
+                watch.close();
+            } catch (RuntimeException e) {
+                logger.debug("Closing ConfigMap watch failed", e);
+            }
+            watch = null;
+        }
+    }
+
+    static boolean isNewer(ConfigMap candidate, ConfigMap current) {
+        String candidateVersion = candidate.getMetadata().getResourceVersion();
+        String currentVersion = current.getMetadata().getResourceVersion();
+        if (candidateVersion == null || currentVersion == null) {
+            return true;
+        }
+        try {
+            return Long.parseLong(candidateVersion) > Long.parseLong(currentVersion);
+        } catch (NumberFormatException e) {
+            // resourceVersion is opaque by contract, assume the latest delivered revision wins
+            return !candidateVersion.equals(currentVersion);
+        }
+    }
+
+    static boolean matches(ConfigMap cm, LabelSelector selector) {
+        Map<String, String> labels = cm.getMetadata().getLabels();
+        if (selector == null) {
+            return true;
+        }
+        if (selector.getMatchLabels() != null) {
+            for (Map.Entry<String, String> label : selector.getMatchLabels().entrySet()) {
+                if (labels == null || !label.getValue().equals(labels.get(label.getKey()))) {
+                    return false;
+                }
+            }
+        }
+        if (selector.getMatchExpressions() != null) {
+            for (LabelSelectorRequirement req : selector.getMatchExpressions()) {
+                String value = labels == null ? null : labels.get(req.getKey());
+                switch (req.getOperator()) {
+                    case "In":
+                        if (value == null || !req.getValues().contains(value)) {
+                            return false;
+                        }
+                        break;
+                    case "NotIn":
+                        if (value != null && req.getValues().contains(value)) {
+                            return false;
+                        }
+                        break;
+                    case "Exists":
+                        if (value == null) {
+                            return false;
+                        }
+                        break;
+                    case "DoesNotExist":
+                        if (value != null) {
+                            return false;
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unsupported label selector operator: " + req.getOperator());
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String getServerId(ConfigMap cm) {
+        Map<String, String> labels = cm.getMetadata().getLabels();
+        return labels == null ? null : labels.get(CFG_MAP_LABEL_SERVER_ID_KEY);
+    }
+
+    private class CacheWatcher implements Watcher<ConfigMap> {
+
+        @Override
+        public void eventReceived(Action action, ConfigMap cm) {
+            onEvent(action, cm);
+        }
+
+        @Override
+        public void onClose(KubernetesClientException cause) {
+            KieServerStateConfigMapCache.this.onClose(cause);
+        }
+    }
+}
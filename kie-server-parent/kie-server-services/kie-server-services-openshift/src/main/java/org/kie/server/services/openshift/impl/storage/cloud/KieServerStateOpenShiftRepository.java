@@ -15,6 +15,7 @@
 
 package org.kie.server.services.openshift.impl.storage.cloud;
 
+import java.net.HttpURLConnection;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -36,6 +37,7 @@ import io.fabric8.kubernetes.api.model.LabelSelectorRequirementBuilder;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.openshift.api.model.DeploymentConfig;
 import io.fabric8.openshift.client.OpenShiftClient;
 import org.kie.server.api.model.KieContainerResource;
@@ -55,6 +57,7 @@ import static org.kie.server.api.KieServerConstants.KIE_SERVER_STATE_IMMUTABLE;
 import static org.kie.server.api.KieServerConstants.KIE_SERVER_STATE_IMMUTABLE_INIT;
 import static org.kie.server.controller.api.KieServerControllerConstants.KIE_CONTROLLER_OPENSHIFT_GLOBAL_DISCOVERY_ENABLED;
 import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_DATA_KEY;
+import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_UPDATE_RETRIES;
 import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_LABEL_APP_NAME_KEY;
 import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_LABEL_SERVER_ID_KEY;
 import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_LABEL_SERVER_STATE_KEY;
@@ -86,10 +89,7 @@ public class KieServerStateOpenShiftRepository extends KieServerStateCloudReposi
 
     public List<String> retrieveAllKieServerIds() {
         return processKieServerStateByOpenShift(client ->
-            client.configMaps().withLabelSelector(getKieServerCMLabelSelector(client))
-                         .list()
-                         .getItems()
-                         .stream()
+            listKieServerCMs(client).stream()
                          .map(cfg -> cfg.getMetadata().getLabels().get(CFG_MAP_LABEL_SERVER_ID_KEY))
                          .collect(Collectors.toList())
         );
@@ -97,10 +97,7 @@ public class KieServerStateOpenShiftRepository extends KieServerStateCloudReposi
 
     public List<KieServerState> retrieveAllKieServerStates() {
         return processKieServerStateByOpenShift(client ->
-            client.configMaps().withLabelSelector(getKieServerCMLabelSelector(client))
-                         .list()
-                         .getItems()
-                         .stream()
+            listKieServerCMs(client).stream()
                          .map(this::getKieServerState)
                          .collect(Collectors.toList())
         );
@@ -117,6 +114,7 @@ public class KieServerStateOpenShiftRepository extends KieServerStateCloudReposi
                 return true;
             } else {
                 client.configMaps().withLabel(CFG_MAP_LABEL_SERVER_ID_KEY, id).delete();
+                Optional.ofNullable(getConfigMapCache()).ifPresent(cache -> cache.remove(id));
                 return false;
             }
         });
@@ -135,8 +133,6 @@ public class KieServerStateOpenShiftRepository extends KieServerStateCloudReposi
         }
 
         processKieServerStateByOpenShift(client -> {
-            Optional<ConfigMap> cmOpt = getKieServerCM(client, serverId);
-
             if (Boolean.parseBoolean(kieServerState.getConfiguration()
                                                    .getConfigItemValue(KIE_SERVER_STATE_IMMUTABLE, Boolean.FALSE.toString()))) {
                 if (Boolean.parseBoolean(System.getProperty(KIE_SERVER_STATE_IMMUTABLE_INIT, Boolean.FALSE.toString()))) {
@@ -146,8 +142,23 @@ public class KieServerStateOpenShiftRepository extends KieServerStateCloudReposi
                     logger.debug("Overwrite immutable KieServer[id:{}] state is not allowed.", serverId);
                 }
             } else {
-                ConfigMap cm = cmOpt.orElseThrow(() -> 
-                    new IllegalStateException("KieServerState ConfigMap must exist before update."));
+                updateKieServerStateCM(client, serverId, kieServerState);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Updates the existing KieServerState ConfigMap. When the ConfigMap cache is enabled the update
+     * is conditional on the resourceVersion that was read, and a conflicting concurrent update makes
+     * it re-read the ConfigMap and re-evaluate the update a bounded number of times.
+     */
+    private void updateKieServerStateCM(OpenShiftClient client, String serverId, KieServerState kieServerState) {
+        int retries = Integer.getInteger(CFG_MAP_UPDATE_RETRIES, 3);
+        for (int attempt = 0;; attempt++) {
+            ConfigMap cm = getKieServerCM(client, serverId).orElseThrow(() ->
+                new IllegalStateException("KieServerState ConfigMap must exist before update."));
+            try {
                 if (isServerStateUpdateAllowed(client, serverId, cm, kieServerState)) {
                     ObjectMeta md = cm.getMetadata();
                     Map<String, String> ann = md.getAnnotations() == null ? new ConcurrentHashMap<>() : md.getAnnotations();
@@ -158,9 +169,42 @@ public class KieServerStateOpenShiftRepository extends KieServerStateCloudReposi
                     cm.setData(Collections.singletonMap(CFG_MAP_DATA_KEY, xs.toXML(kieServerState)));
                     createOrReplaceCM(client, cm);
                 }
+                return;
+            } catch (KubernetesClientException kce) {
+                if (kce.getCode() != HttpURLConnection.HTTP_CONFLICT || attempt >= retries) {
+                    throw kce;
+                }
+                logger.debug("KieServerState ConfigMap for KieServer [{}] changed concurrently, retrying update.", serverId);
+                KieServerStateConfigMapCache cache = getConfigMapCache();
+                if (cache != null) {
+                    cache.update(client.configMaps().withName(cm.getMetadata().getName()).get());
+                }
             }
+        }
+    }
+
+    /**
+     * Looks up the KieServerState ConfigMap from the shared ConfigMap cache when it is enabled and
+     * synced, from the API server otherwise.
+     */
+    @Override
+    public Optional<ConfigMap> getKieServerCM(OpenShiftClient client, String serverId) {
+        KieServerStateConfigMapCache cache = getConfigMapCache();
+        if (cache != null) {
+            return cache.get(serverId);
+        }
+        return KieServerOpenShift.super.getKieServerCM(client, serverId);
+    }
+
+    /**
+     * @return the shared ConfigMap cache if it is enabled and synced, null otherwise.
+     */
+    public KieServerStateConfigMapCache getConfigMapCache() {
+        if (!KieServerStateConfigMapCache.isEnabled()) {
             return null;
-        });
+        }
+        KieServerStateConfigMapCache cache = KieServerStateConfigMapCache.getInstance(this);
+        return cache.sync() ? cache : null;
     }
     
     @Override
@@ -337,7 +381,24 @@ public class KieServerStateOpenShiftRepository extends KieServerStateCloudReposi
     }
     
     public ConfigMap createOrReplaceCM(OpenShiftClient client, ConfigMap cm) {
-        return client.configMaps().createOrReplace(cm);
+        KieServerStateConfigMapCache cache = getConfigMapCache();
+        if (cache == null) {
+            return client.configMaps().createOrReplace(cm);
+        }
+        String resourceVersion = cm.getMetadata().getResourceVersion();
+        ConfigMap updated = resourceVersion == null ?
+                client.configMaps().createOrReplace(cm) :
+                client.configMaps().withName(cm.getMetadata().getName()).lockResourceVersion(resourceVersion).replace(cm);
+        cache.update(updated);
+        return updated;
+    }
+
+    private List<ConfigMap> listKieServerCMs(OpenShiftClient client) {
+        KieServerStateConfigMapCache cache = getConfigMapCache();
+        if (cache != null) {
+            return cache.list(getKieServerCMLabelSelector(client));
+        }
+        return client.configMaps().withLabelSelector(getKieServerCMLabelSelector(client)).list().getItems();
     }
     
     private KieServerState getKieServerState(ConfigMap cm) {
@@ -360,8 +421,7 @@ public class KieServerStateOpenShiftRepository extends KieServerStateCloudReposi
 
     private String getKieServerCMSyntheticName(OpenShiftClient client) {
         String appName = getAppNameFromPod(client).orElse(UNKNOWN);
-        int index = client.configMaps().withLabelSelector(getKieServerCMLabelSelector(client))
-                          .list().getItems().size() + 1;
+        int index = listKieServerCMs(client).size() + 1;
         return new StringBuilder(appName).append("-").append(CFG_MAP_NAME_SYNTHETIC_NAME).append("-").append(index).toString();
     }
 
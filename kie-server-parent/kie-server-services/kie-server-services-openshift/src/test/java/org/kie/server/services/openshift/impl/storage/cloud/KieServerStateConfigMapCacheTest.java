@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.services.openshift.impl.storage.cloud;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.LabelSelectorBuilder;
+import io.fabric8.kubernetes.api.model.LabelSelectorRequirementBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_DATA_KEY;
+import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_LABEL_APP_NAME_KEY;
+import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_LABEL_SERVER_ID_KEY;
+import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_LABEL_SERVER_STATE_KEY;
+import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_LABEL_SERVER_STATE_VALUE_DETACHED;
+import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_LABEL_SERVER_STATE_VALUE_USED;
+
+public class KieServerStateConfigMapCacheTest {
+
+    private KieServerStateConfigMapCache cache;
+    private List<Action> events;
+
+    @Before
+    public void setup() {
+        cache = new KieServerStateConfigMapCache(() -> {
+            throw new KubernetesClientException("No API server in unit test");
+        });
+        events = new ArrayList<>();
+        cache.addListener(new Watcher<ConfigMap>() {
+            @Override
+            public void eventReceived(Action action, ConfigMap resource) {
+                events.add(action);
+            }
+
+            @Override
+            public void onClose(KubernetesClientException cause) {
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    public void testSyncFailureFallsBack() {
+        assertFalse(cache.sync());
+        assertFalse(cache.isSynced());
+    }
+
+    @Test
+    public void testEventsUpdateCache() {
+        cache.onEvent(Action.ADDED, configMap("cm1", "server1", "app", CFG_MAP_LABEL_SERVER_STATE_VALUE_USED, "1", "a"));
+        assertEquals("a", cache.get("server1").get().getData().get(CFG_MAP_DATA_KEY));
+
+        cache.onEvent(Action.MODIFIED, configMap("cm1", "server1", "app", CFG_MAP_LABEL_SERVER_STATE_VALUE_USED, "2", "b"));
+        assertEquals("b", cache.get("server1").get().getData().get(CFG_MAP_DATA_KEY));
+
+        cache.onEvent(Action.DELETED, configMap("cm1", "server1", "app", CFG_MAP_LABEL_SERVER_STATE_VALUE_USED, "3", "b"));
+        assertFalse(cache.get("server1").isPresent());
+
+        assertEquals(3, events.size());
+    }
+
+    @Test
+    public void testStaleEventIgnored() {
+        cache.update(configMap("cm1", "server1", "app", CFG_MAP_LABEL_SERVER_STATE_VALUE_USED, "5", "own-write"));
+        cache.onEvent(Action.MODIFIED, configMap("cm1", "server1", "app", CFG_MAP_LABEL_SERVER_STATE_VALUE_USED, "4", "old"));
+
+        assertEquals("own-write", cache.get("server1").get().getData().get(CFG_MAP_DATA_KEY));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testGetReturnsCopy() {
+        cache.update(configMap("cm1", "server1", "app", CFG_MAP_LABEL_SERVER_STATE_VALUE_USED, "1", "a"));
+
+        ConfigMap cm = cache.get("server1").get();
+        cm.getMetadata().getLabels().put("modified", "true");
+        cm.getData().put(CFG_MAP_DATA_KEY, "changed");
+
+        ConfigMap cached = cache.get("server1").get();
+        assertNotSame(cm, cached);
+        assertFalse(cached.getMetadata().getLabels().containsKey("modified"));
+        assertEquals("a", cached.getData().get(CFG_MAP_DATA_KEY));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAmbiguousServerId() {
+        cache.update(configMap("cm1", "server1", "app", CFG_MAP_LABEL_SERVER_STATE_VALUE_USED, "1", "a"));
+        cache.update(configMap("cm2", "server1", "app", CFG_MAP_LABEL_SERVER_STATE_VALUE_USED, "1", "a"));
+        cache.get("server1");
+    }
+
+    @Test
+    public void testListWithLabelSelector() {
+        cache.update(configMap("cm1", "server1", "app1", CFG_MAP_LABEL_SERVER_STATE_VALUE_USED, "1", "a"));
+        cache.update(configMap("cm2", "server2", "app1", CFG_MAP_LABEL_SERVER_STATE_VALUE_DETACHED, "2", "b"));
+        cache.update(configMap("cm3", "server3", "app2", CFG_MAP_LABEL_SERVER_STATE_VALUE_USED, "3", "c"));
+
+        LabelSelector selector = new LabelSelectorBuilder()
+                .withMatchExpressions(new LabelSelectorRequirementBuilder()
+                                              .withKey(CFG_MAP_LABEL_SERVER_STATE_KEY)
+                                              .withOperator("In")
+                                              .withValues(CFG_MAP_LABEL_SERVER_STATE_VALUE_USED)
+                                              .build())
+                .build();
+        assertEquals(2, cache.list(selector).size());
+
+        selector.getMatchExpressions().add(new LabelSelectorRequirementBuilder()
+                                                   .withKey(CFG_MAP_LABEL_APP_NAME_KEY)
+                                                   .withOperator("In")
+                                                   .withValues("app1")
+                                                   .build());
+        List<ConfigMap> found = cache.list(selector);
+        assertEquals(1, found.size());
+        assertEquals("cm1", found.get(0).getMetadata().getName());
+    }
+
+    private static ConfigMap configMap(String name, String serverId, String appName, String state,
+                                       String resourceVersion, String data) {
+        return new ConfigMapBuilder()
+                .withNewMetadata()
+                  .withName(name)
+                  .withResourceVersion(resourceVersion)
+                  .addToLabels(CFG_MAP_LABEL_SERVER_ID_KEY, serverId)
+                  .addToLabels(CFG_MAP_LABEL_APP_NAME_KEY, appName)
+                  .addToLabels(CFG_MAP_LABEL_SERVER_STATE_KEY, state)
+                .endMetadata()
+                .addToData(CFG_MAP_DATA_KEY, data)
+                .build();
+    }
+}
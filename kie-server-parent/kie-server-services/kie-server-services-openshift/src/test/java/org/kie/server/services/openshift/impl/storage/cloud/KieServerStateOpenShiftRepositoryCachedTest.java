@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.openshift.impl.storage.cloud;
+
+import java.net.HttpURLConnection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.Status;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.client.OpenShiftClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.services.impl.storage.KieServerState;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_DATA_KEY;
+import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_LABEL_APP_NAME_KEY;
+import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_LABEL_SERVER_ID_KEY;
+import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_LABEL_SERVER_STATE_KEY;
+import static org.kie.server.services.openshift.api.KieServerOpenShiftConstants.CFG_MAP_LABEL_SERVER_STATE_VALUE_USED;
+
+public class KieServerStateOpenShiftRepositoryCachedTest extends KieServerStateOpenShiftRepositoryTest {
+
+    private KieServerStateConfigMapCache cache;
+    private KieServerStateOpenShiftRepository cachedRepo;
+    private AtomicInteger conflicts = new AtomicInteger();
+    private AtomicInteger updates = new AtomicInteger();
+
+    @Before
+    public void setupCache() {
+        // the repository closes its client after every operation, so the cache gets its own
+        cache = new KieServerStateConfigMapCache(() -> server.createOpenShiftClient());
+
+        cachedRepo = new KieServerStateOpenShiftRepository() {
+
+            @Override
+            public OpenShiftClient createOpenShiftClient() {
+                return client;
+            }
+
+            @Override
+            public KubernetesClient createKubernetesClient() {
+                return client;
+            }
+
+            @Override
+            public boolean isKieServerReady() {
+                return true;
+            }
+
+            @Override
+            public boolean isDCStable(DeploymentConfig dc) {
+                return true;
+            }
+
+            @Override
+            public Optional<String> getAppNameFromPod(OpenShiftClient client) {
+                return Optional.of(TEST_APP_NAME);
+            }
+
+            @Override
+            public KieServerStateConfigMapCache getConfigMapCache() {
+                return cache.sync() ? cache : null;
+            }
+
+            @Override
+            public ConfigMap createOrReplaceCM(OpenShiftClient client, ConfigMap cm) {
+                updates.incrementAndGet();
+                if (conflicts.getAndDecrement() > 0) {
+                    // what a replace locked on an outdated resourceVersion gets from the API server
+                    throw new KubernetesClientException("Operation cannot be fulfilled, the object has been modified",
+                                                        HttpURLConnection.HTTP_CONFLICT, new Status());
+                }
+                // Issue workaround: MockKubenetes Server ignores update
+                client.configMaps().inNamespace(testNamespace).delete(cm);
+                ConfigMap updated = client.configMaps().inNamespace(testNamespace).createOrReplace(cm);
+                cache.update(updated);
+                return updated;
+            }
+        };
+    }
+
+    @After
+    public void tearDownCache() {
+        cache.close();
+    }
+
+    @Test
+    public void testSyncListsConfigMapsAndFollowsWatch() throws InterruptedException {
+        assertTrue(cache.sync());
+        assertTrue(cache.isSynced());
+        assertTrue(cache.get(TEST_KIE_SERVER_ID).isPresent());
+        assertFalse(cache.get("watched-kieserver").isPresent());
+
+        client.configMaps().inNamespace(testNamespace).createOrReplace(new ConfigMapBuilder()
+                .withNewMetadata()
+                  .withName("watched-kieserver-0")
+                  .addToLabels(CFG_MAP_LABEL_SERVER_ID_KEY, "watched-kieserver")
+                  .addToLabels(CFG_MAP_LABEL_APP_NAME_KEY, TEST_APP_NAME)
+                  .addToLabels(CFG_MAP_LABEL_SERVER_STATE_KEY, CFG_MAP_LABEL_SERVER_STATE_VALUE_USED)
+                .endMetadata()
+                .addToData(CFG_MAP_DATA_KEY, "watched")
+                .build());
+
+        awaitUntil(() -> cache.get("watched-kieserver").isPresent());
+        assertEquals("watched", cache.get("watched-kieserver").get().getData().get(CFG_MAP_DATA_KEY));
+        assertTrue(cachedRepo.exists("watched-kieserver"));
+    }
+
+    @Test
+    public void testRepositoryReadsThroughCache() {
+        assertTrue(cache.sync());
+        KieServerState state = cachedRepo.load(TEST_KIE_SERVER_ID);
+        assertEquals(2, state.getContainers().size());
+
+        // a revision only the cache knows about, the API server still holds the seeded one
+        state.setContainers(Collections.emptySet());
+        ConfigMap cached = cache.get(TEST_KIE_SERVER_ID).get();
+        cached.getMetadata().setResourceVersion(String.valueOf(Long.MAX_VALUE));
+        cached.setData(Collections.singletonMap(CFG_MAP_DATA_KEY, xs.toXML(state)));
+        cache.update(cached);
+
+        assertTrue(cachedRepo.load(TEST_KIE_SERVER_ID).getContainers().isEmpty());
+        assertEquals(2, repo.load(TEST_KIE_SERVER_ID).getContainers().size());
+    }
+
+    @Test
+    public void testConflictingUpdateIsRetried() {
+        KieServerState state = cachedRepo.load(TEST_KIE_SERVER_ID);
+        state.getContainers().remove(state.getContainers().iterator().next());
+        conflicts.set(1);
+
+        cachedRepo.store(TEST_KIE_SERVER_ID, state);
+
+        assertEquals(2, updates.get());
+        assertEquals(1, cachedRepo.load(TEST_KIE_SERVER_ID).getContainers().size());
+        assertEquals(1, repo.load(TEST_KIE_SERVER_ID).getContainers().size());
+    }
+
+    @Test
+    public void testConflictingUpdateGivesUpAfterRetries() {
+        KieServerState state = cachedRepo.load(TEST_KIE_SERVER_ID);
+        state.getContainers().remove(state.getContainers().iterator().next());
+        conflicts.set(Integer.MAX_VALUE);
+
+        cachedRepo.store(TEST_KIE_SERVER_ID, state);
+
+        // the first attempt plus the default 3 retries
+        assertEquals(4, updates.get());
+        assertEquals(2, repo.load(TEST_KIE_SERVER_ID).getContainers().size());
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("ConfigMap cache was not updated in time");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
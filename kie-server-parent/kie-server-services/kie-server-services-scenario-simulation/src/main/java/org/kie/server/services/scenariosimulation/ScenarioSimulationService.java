@@ -15,46 +15,95 @@
 
 package org.kie.server.services.scenariosimulation;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.drools.scenariosimulation.api.model.ScenarioSimulationModel;
 import org.drools.scenariosimulation.api.model.Settings;
 import org.drools.scenariosimulation.backend.runner.AbstractScenarioRunner;
 import org.drools.scenariosimulation.backend.runner.model.ScenarioRunnerDTO;
 import org.drools.scenariosimulation.backend.util.ScenarioSimulationXMLPersistence;
+import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
 import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
 import org.kie.api.runtime.KieContainer;
+import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.model.KieServiceResponse;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.scenariosimulation.ScenarioSimulationFailure;
 import org.kie.server.api.model.scenariosimulation.ScenarioSimulationResult;
+import org.kie.server.api.model.scenariosimulation.ScenarioSimulationTiming;
 import org.kie.server.services.api.ContainerLocator;
 import org.kie.server.services.api.KieContainerInstance;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.locator.ContainerLocatorProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ScenarioSimulationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioSimulationService.class);
+
+    private static final int DEFAULT_PARALLELISM = Integer.parseInt(System.getProperty(KieServerConstants.CFG_SCENARIO_SIMULATION_PARALLELISM, "1"));
+    // upper bound of threads used by all parallel executions together, requested parallelism is capped by it
+    private static final int MAX_PARALLELISM = Integer.parseInt(System.getProperty(KieServerConstants.CFG_SCENARIO_SIMULATION_MAX_PARALLELISM,
+                                                                                   String.valueOf(Runtime.getRuntime().availableProcessors())));
+
     private KieServerRegistry kieServerRegistry;
+    private volatile ExecutorService executor;
 
     public ScenarioSimulationService(KieServerRegistry kieServerRegistry) {
         this.kieServerRegistry = kieServerRegistry;
     }
 
     public ServiceResponse<ScenarioSimulationResult> executeScenario(KieContainer kieContainer, ScenarioSimulationModel scenarioSimulationModel) {
+        return executeScenario(kieContainer, scenarioSimulationModel, DEFAULT_PARALLELISM);
+    }
 
-        AbstractScenarioRunner runner = newRunner(kieContainer, scenarioSimulationModel);
+    /**
+     * Executes given test scenario. When parallelism is greater than one, scenarios are split into that many
+     * shards and each shard is run by its own runner on a separate thread - every scenario gets its own
+     * KieSession from the same KieContainer so shards do not share any state. Results of all shards are merged
+     * into a single result that lists failures and timings in the order scenarios are defined.
+     * Parallelism is capped by the server's maximal parallelism and shards run on a thread pool shared by all requests.
+     */
+    public ServiceResponse<ScenarioSimulationResult> executeScenario(KieContainer kieContainer, ScenarioSimulationModel scenarioSimulationModel, int parallelism) {
 
-        JUnitCore jUnitCore = new JUnitCore();
+        parallelism = Math.min(parallelism, MAX_PARALLELISM);
+        ScenarioSimulationResult result;
+        if (parallelism <= 1) {
+            AbstractScenarioRunner runner = newRunner(kieContainer, scenarioSimulationModel);
+            TimingListener timingListener = new TimingListener();
 
-        Result result = jUnitCore.run(runner);
+            JUnitCore jUnitCore = new JUnitCore();
+            jUnitCore.addListener(timingListener);
 
-        if (result.wasSuccessful()) {
-            return new ServiceResponse<>(KieServiceResponse.ResponseType.SUCCESS, "Test Scenario successfully executed", convertResult(result));
+            Result runResult = jUnitCore.run(runner);
+            result = convertResult(runResult);
+            result.setTimings(timingListener.getTimings(runner.getDescription().getChildren()));
         } else {
-            return new ServiceResponse<>(KieServiceResponse.ResponseType.FAILURE, "Test Scenario execution failed", convertResult(result));
+            result = executeInParallel(kieContainer, scenarioSimulationModel, parallelism);
+        }
+
+        if (result.getFailures().isEmpty()) {
+            return new ServiceResponse<>(KieServiceResponse.ResponseType.SUCCESS, "Test Scenario successfully executed", result);
+        } else {
+            return new ServiceResponse<>(KieServiceResponse.ResponseType.FAILURE, "Test Scenario execution failed", result);
         }
     }
 
@@ -62,6 +111,14 @@ public class ScenarioSimulationService {
         return kieServerRegistry;
     }
 
+    public void shutdown() {
+        ExecutorService current = executor;
+        if (current != null) {
+            current.shutdownNow();
+            executor = null;
+        }
+    }
+
     public ScenarioSimulationModel parseModel(String rawContent) throws Exception {
         return ScenarioSimulationXMLPersistence.getInstance().unmarshal(rawContent);
     }
@@ -81,6 +138,93 @@ public class ScenarioSimulationService {
                 .create(kieContainer, scenarioRunnerDTO);
     }
 
+    protected ScenarioSimulationResult executeInParallel(KieContainer kieContainer, ScenarioSimulationModel scenarioSimulationModel, int parallelism) {
+        List<Description> scenarios = newRunner(kieContainer, scenarioSimulationModel).getDescription().getChildren();
+        int shards = Math.min(parallelism, Math.max(1, scenarios.size()));
+        logger.debug("Executing {} scenarios in {} shards", scenarios.size(), shards);
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        TimingListener timingListener = new TimingListener();
+        ExecutorService shardExecutor = getExecutor();
+        List<Future<Result>> shardResults = new ArrayList<>();
+        long start = System.currentTimeMillis();
+        try {
+            for (int shard = 0; shard < shards; shard++) {
+                int shardIndex = shard;
+                shardResults.add(shardExecutor.submit(() -> {
+                    Thread thread = Thread.currentThread();
+                    ClassLoader previous = thread.getContextClassLoader();
+                    thread.setContextClassLoader(classLoader);
+                    try {
+                        AbstractScenarioRunner runner = newRunner(kieContainer, scenarioSimulationModel);
+                        try {
+                            runner.filter(new ShardFilter(shardIndex, shards));
+                        } catch (NoTestsRemainException e) {
+                            return new Result();
+                        }
+                        JUnitCore jUnitCore = new JUnitCore();
+                        jUnitCore.addListener(timingListener);
+                        return jUnitCore.run(runner);
+                    } finally {
+                        // pooled threads are shared across containers
+                        thread.setContextClassLoader(previous);
+                    }
+                }));
+            }
+
+            ScenarioSimulationResult result = new ScenarioSimulationResult();
+            List<Failure> failures = new ArrayList<>();
+            for (Future<Result> shardResult : shardResults) {
+                Result runResult = shardResult.get();
+                result.setRunCount(result.getRunCount() + runResult.getRunCount());
+                result.setIgnoreCount(result.getIgnoreCount() + runResult.getIgnoreCount());
+                failures.addAll(runResult.getFailures());
+            }
+            result.setRunTime(System.currentTimeMillis() - start);
+
+            // report failures in the order scenarios are defined, not in the order shards completed
+            Map<Description, Integer> positions = new HashMap<>();
+            for (int i = 0; i < scenarios.size(); i++) {
+                positions.putIfAbsent(scenarios.get(i), i);
+            }
+            failures.sort((f1, f2) -> Integer.compare(positions.getOrDefault(f1.getDescription(), Integer.MAX_VALUE),
+                                                      positions.getOrDefault(f2.getDescription(), Integer.MAX_VALUE)));
+            for (Failure failure : failures) {
+                result.getFailures().add(convertFailure(failure));
+            }
+            result.setTimings(timingListener.getTimings(scenarios));
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Test Scenario execution was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Test Scenario execution failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            // shards of failed or interrupted executions must not keep the shared threads busy
+            shardResults.forEach(shardResult -> shardResult.cancel(true));
+        }
+    }
+
+    protected ExecutorService getExecutor() {
+        ExecutorService current = executor;
+        if (current == null) {
+            synchronized (this) {
+                current = executor;
+                if (current == null) {
+                    AtomicInteger threadCounter = new AtomicInteger();
+                    ThreadFactory threadFactory = r -> {
+                        Thread thread = new Thread(r, "KieServer-ScenarioSimulation-" + threadCounter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    };
+                    current = Executors.newFixedThreadPool(Math.max(1, MAX_PARALLELISM), threadFactory);
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
     protected ScenarioSimulationResult convertResult(Result result) {
         ScenarioSimulationResult scenarioSimulationResult = new ScenarioSimulationResult();
         scenarioSimulationResult.setRunCount(result.getRunCount());
@@ -98,4 +242,69 @@ public class ScenarioSimulationService {
         scenarioSimulationFailure.setDescription(failure.getDescription().getDisplayName());
         return scenarioSimulationFailure;
     }
+
+    /*
+     * Keeps every n-th scenario, runner asks the filter about its scenarios always in the same order
+     * so shards built from the same model never overlap.
+     */
+    private static class ShardFilter extends Filter {
+
+        private final int shardIndex;
+        private final int shards;
+        private int position = 0;
+
+        private ShardFilter(int shardIndex, int shards) {
+            this.shardIndex = shardIndex;
+            this.shards = shards;
+        }
+
+        @Override
+        public boolean shouldRun(Description description) {
+            if (!description.isTest()) {
+                return true;
+            }
+            return position++ % shards == shardIndex;
+        }
+
+        @Override
+        public String describe() {
+            return "shard " + (shardIndex + 1) + " of " + shards;
+        }
+    }
+
+    private static class TimingListener extends RunListener {
+
+        private final Map<Description, Long> started = new ConcurrentHashMap<>();
+        private final Map<Description, Long> runTimes = new ConcurrentHashMap<>();
+
+        @Override
+        public void testStarted(Description description) {
+            started.put(description, System.nanoTime());
+        }
+
+        @Override
+        public void testFinished(Description description) {
+            Long start = started.remove(description);
+            if (start != null) {
+                runTimes.put(description, (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+
+        List<ScenarioSimulationTiming> getTimings(List<Description> scenarios) {
+            if (runTimes.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<ScenarioSimulationTiming> timings = new ArrayList<>();
+            for (Description scenario : scenarios) {
+                Long runTime = runTimes.get(scenario);
+                if (runTime != null) {
+                    ScenarioSimulationTiming timing = new ScenarioSimulationTiming();
+                    timing.setDescription(scenario.getDisplayName());
+                    timing.setRunTime(runTime);
+                    timings.add(timing);
+                }
+            }
+            return timings;
+        }
+    }
 }
@@ -19,6 +19,8 @@ package org.kie.server.services.taskassigning.core.model;
 import java.util.Map;
 import java.util.Set;
 
+import org.kie.server.services.taskassigning.core.model.solver.IndexDictionary;
+
 public class ImmutableTask extends Task {
 
     private ImmutableTask() {
@@ -77,6 +79,11 @@ public class ImmutableTask extends Task {
         throwImmutableException("labelValues");
     }
 
+    @Override
+    public void encode(IndexDictionary dictionary) {
+        //this task is shared by all the solutions, it's never encoded with the dictionary of a particular one.
+    }
+
     private void throwImmutableException(String filedName) {
         throw new UnsupportedOperationException("Task: " + getName() + " don't accept modifications of field: " + filedName);
     }
@@ -18,6 +18,8 @@ package org.kie.server.services.taskassigning.core.model;
 
 import java.util.Set;
 
+import org.kie.server.services.taskassigning.core.model.solver.IndexDictionary;
+
 public class ImmutableUser extends User {
 
     private ImmutableUser() {
@@ -48,6 +50,11 @@ public class ImmutableUser extends User {
         throwImmutableException();
     }
 
+    @Override
+    public void encode(IndexDictionary dictionary) {
+        //this user is shared by all the solutions, it's never encoded with the dictionary of a particular one.
+    }
+
     private void throwImmutableException() {
         throw new UnsupportedOperationException("PLANNING_USER: " + getEntityId() + " object can not be modified.");
     }
@@ -22,6 +22,8 @@ import java.util.Map;
 import java.util.Set;
 
 import com.thoughtworks.xstream.annotations.XStreamAlias;
+import org.kie.server.services.taskassigning.core.model.solver.EncodedTask;
+import org.kie.server.services.taskassigning.core.model.solver.IndexDictionary;
 import org.kie.server.services.taskassigning.core.model.solver.StartAndEndTimeUpdatingVariableListener;
 import org.kie.server.services.taskassigning.core.model.solver.TaskDifficultyComparator;
 import org.optaplanner.core.api.domain.entity.PlanningEntity;
@@ -111,6 +113,11 @@ public class Task extends TaskOrUser {
     private Set<OrganizationalEntity> potentialOwners = new HashSet<>();
     private Map<String, Set<Object>> labelValues = new HashMap<>();
 
+    /**
+     * Bit set representation of the potential owners and label values, null until the task is encoded.
+     */
+    private transient EncodedTask encodedTask;
+
     /**
      * Planning variable: changes during planning, between score calculations.
      */
@@ -269,6 +276,7 @@ public class Task extends TaskOrUser {
 
     public void setPotentialOwners(Set<OrganizationalEntity> potentialOwners) {
         this.potentialOwners = potentialOwners;
+        reEncode();
     }
 
     public Map<String, Set<Object>> getLabelValues() {
@@ -281,6 +289,30 @@ public class Task extends TaskOrUser {
 
     public void setLabelValues(String labelName, Set<Object> values) {
         labelValues.put(labelName, values);
+        reEncode();
+    }
+
+    /**
+     * Encodes the potential owners and label values of this task as bit sets for a faster score calculation. Once a
+     * task is encoded the potentialOwners and labelValues must only be modified by using the corresponding setters,
+     * that keeps the encoding in sync.
+     * @param dictionary the dictionary of the solution this task belongs to.
+     */
+    public void encode(IndexDictionary dictionary) {
+        encodedTask = EncodedTask.of(this, dictionary);
+    }
+
+    /**
+     * @return the bit set representation of this task, or null if the task wasn't encoded.
+     */
+    public EncodedTask getEncodedTask() {
+        return encodedTask;
+    }
+
+    private void reEncode() {
+        if (encodedTask != null) {
+            encode(encodedTask.getDictionary());
+        }
     }
 
     public TaskOrUser getPreviousTaskOrUser() {
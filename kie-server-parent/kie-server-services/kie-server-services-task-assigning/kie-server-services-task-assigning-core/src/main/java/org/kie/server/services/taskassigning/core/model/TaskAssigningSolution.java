@@ -20,6 +20,8 @@ import java.util.List;
 
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamConverter;
+import com.thoughtworks.xstream.annotations.XStreamOmitField;
+import org.kie.server.services.taskassigning.core.model.solver.IndexDictionary;
 import org.optaplanner.core.api.domain.solution.PlanningEntityCollectionProperty;
 import org.optaplanner.core.api.domain.solution.PlanningScore;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
@@ -44,6 +46,13 @@ public class TaskAssigningSolution extends AbstractPersistable {
     @PlanningScore(bendableHardLevelsSize = 2, bendableSoftLevelsSize = 6)
     private BendableLongScore score;
 
+    /**
+     * Dictionary the tasks and users of this solution are encoded with, null if they weren't encoded. The solution
+     * clones share it, so the entities added by the problem fact changes are encoded against the same indexes.
+     */
+    @XStreamOmitField
+    private IndexDictionary indexDictionary;
+
     public TaskAssigningSolution() {
     }
 
@@ -76,4 +85,12 @@ public class TaskAssigningSolution extends AbstractPersistable {
     public void setScore(BendableLongScore score) {
         this.score = score;
     }
+
+    public IndexDictionary getIndexDictionary() {
+        return indexDictionary;
+    }
+
+    public void setIndexDictionary(IndexDictionary indexDictionary) {
+        this.indexDictionary = indexDictionary;
+    }
 }
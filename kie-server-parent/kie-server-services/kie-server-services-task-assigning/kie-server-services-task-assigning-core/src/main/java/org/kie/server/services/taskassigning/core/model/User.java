@@ -22,6 +22,8 @@ import java.util.Map;
 import java.util.Set;
 
 import com.thoughtworks.xstream.annotations.XStreamAlias;
+import org.kie.server.services.taskassigning.core.model.solver.EncodedUser;
+import org.kie.server.services.taskassigning.core.model.solver.IndexDictionary;
 
 @XStreamAlias("TaUser")
 public class User extends TaskOrUser implements OrganizationalEntity {
@@ -32,6 +34,11 @@ public class User extends TaskOrUser implements OrganizationalEntity {
     private Map<String, Set<Object>> labelValues = new HashMap<>();
     private Map<String, Object> attributes;
 
+    /**
+     * Bit set representation of the entityId, groups and label values, null until the user is encoded.
+     */
+    private transient EncodedUser encodedUser;
+
     public User() {
     }
 
@@ -53,6 +60,7 @@ public class User extends TaskOrUser implements OrganizationalEntity {
 
     public void setEntityId(String entityId) {
         this.entityId = entityId;
+        reEncode();
     }
 
     public Set<Group> getGroups() {
@@ -61,6 +69,7 @@ public class User extends TaskOrUser implements OrganizationalEntity {
 
     public void setGroups(Set<Group> groups) {
         this.groups = groups;
+        reEncode();
     }
 
     public Set<Object> getLabelValues(String labelName) {
@@ -69,6 +78,7 @@ public class User extends TaskOrUser implements OrganizationalEntity {
 
     public void setLabelValues(String labelName, Set<Object> values) {
         labelValues.put(labelName, values);
+        reEncode();
     }
 
     public Map<String, Set<Object>> getAllLabelValues() {
@@ -77,6 +87,30 @@ public class User extends TaskOrUser implements OrganizationalEntity {
 
     public void setAllLabelValues(Map<String, Set<Object>> labelValues) {
         this.labelValues = labelValues;
+        reEncode();
+    }
+
+    /**
+     * Encodes the entityId, groups and label values of this user as bit sets for a faster score calculation. Once a
+     * user is encoded the groups and labelValues must only be modified by using the corresponding setters, that keeps
+     * the encoding in sync.
+     * @param dictionary the dictionary of the solution this user belongs to.
+     */
+    public void encode(IndexDictionary dictionary) {
+        encodedUser = EncodedUser.of(this, dictionary);
+    }
+
+    /**
+     * @return the bit set representation of this user, or null if the user wasn't encoded.
+     */
+    public EncodedUser getEncodedUser() {
+        return encodedUser;
+    }
+
+    private void reEncode() {
+        if (encodedUser != null) {
+            encode(encodedUser.getDictionary());
+        }
     }
 
     public Map<String, Object> getAttributes() {
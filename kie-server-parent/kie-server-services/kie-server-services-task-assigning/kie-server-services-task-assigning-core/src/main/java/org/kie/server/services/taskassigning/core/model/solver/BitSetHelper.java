@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.taskassigning.core.model.solver;
+
+import java.util.Collection;
+import java.util.function.ToIntFunction;
+
+/**
+ * Helper methods for working with bit sets encoded as long[] words, in the same layout as java.util.BitSet. The
+ * operations are allocation free, and arrays of different lengths are compared as if the shorter one was padded
+ * with zeros.
+ */
+public class BitSetHelper {
+
+    public static final long[] EMPTY = new long[0];
+
+    private BitSetHelper() {
+    }
+
+    /**
+     * Builds the bit set for a collection of values.
+     * @param values the values to encode, null is considered as the empty collection.
+     * @param indexFunction the function that gives the bit index for each value, values with a negative index are
+     * skipped.
+     * @return a bit set with the bits for the indexes of the given values.
+     */
+    public static <T> long[] encode(Collection<T> values, ToIntFunction<T> indexFunction) {
+        if (values == null || values.isEmpty()) {
+            return EMPTY;
+        }
+        long[] words = EMPTY;
+        for (T value : values) {
+            final int index = indexFunction.applyAsInt(value);
+            if (index < 0) {
+                continue;
+            }
+            final int word = index >> 6;
+            if (word >= words.length) {
+                final long[] newWords = new long[word + 1];
+                System.arraycopy(words, 0, newWords, 0, words.length);
+                words = newWords;
+            }
+            words[word] |= 1L << index;
+        }
+        return words;
+    }
+
+    /**
+     * @return true if the bit with the given index is set, false in any other case.
+     */
+    public static boolean get(long[] words, int index) {
+        final int word = index >> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return true if all the bits set in values are also set in container, false in any other case.
+     */
+    public static boolean containsAll(long[] container, long[] values) {
+        for (int i = 0; i < values.length; i++) {
+            final long containerWord = i < container.length ? container[i] : 0L;
+            if ((values[i] & ~containerWord) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if at least one bit is set in both bit sets, false in any other case.
+     */
+    public static boolean intersects(long[] words1, long[] words2) {
+        final int length = Math.min(words1.length, words2.length);
+        for (int i = 0; i < length; i++) {
+            if ((words1[i] & words2[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of bits that are set in both bit sets.
+     */
+    public static int countCommon(long[] words1, long[] words2) {
+        final int length = Math.min(words1.length, words2.length);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            count += Long.bitCount(words1[i] & words2[i]);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.taskassigning.core.model.solver;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.kie.server.services.taskassigning.core.model.OrganizationalEntity;
+import org.kie.server.services.taskassigning.core.model.Task;
+
+import static org.kie.server.services.taskassigning.core.model.solver.BitSetHelper.EMPTY;
+import static org.kie.server.services.taskassigning.core.model.solver.BitSetHelper.encode;
+
+/**
+ * Bit set representation of the task potential owners and label values used by the {@link TaskHelper} for the
+ * score calculation. Instances are immutable, a new one is created each time the task is encoded.
+ */
+public final class EncodedTask {
+
+    private final IndexDictionary dictionary;
+    private final long[] potentialUsers;
+    private final long[] potentialGroups;
+    private final Map<String, long[]> labelValues;
+
+    private EncodedTask(IndexDictionary dictionary, long[] potentialUsers, long[] potentialGroups, Map<String, long[]> labelValues) {
+        this.dictionary = dictionary;
+        this.potentialUsers = potentialUsers;
+        this.potentialGroups = potentialGroups;
+        this.labelValues = labelValues;
+    }
+
+    public static EncodedTask of(Task task, IndexDictionary dictionary) {
+        final Set<OrganizationalEntity> potentialOwners = task.getPotentialOwners();
+        long[] potentialUsers = EMPTY;
+        long[] potentialGroups = EMPTY;
+        if (potentialOwners != null) {
+            potentialUsers = encode(potentialOwners, entity -> entity.isUser() ? dictionary.userIndex(entity.getEntityId()) : -1);
+            potentialGroups = encode(potentialOwners, entity -> !entity.isUser() ? dictionary.groupIndex(entity.getEntityId()) : -1);
+        }
+        final Map<String, long[]> labelValues = new HashMap<>();
+        if (task.getLabelValues() != null) {
+            task.getLabelValues().forEach((labelName, values) ->
+                                                  labelValues.put(labelName, encode(values, value -> dictionary.labelValueIndex(labelName, value))));
+        }
+        return new EncodedTask(dictionary, potentialUsers, potentialGroups, labelValues);
+    }
+
+    /**
+     * @return the dictionary the indexes of this encoding belong to.
+     */
+    public IndexDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public long[] getPotentialUsers() {
+        return potentialUsers;
+    }
+
+    public long[] getPotentialGroups() {
+        return potentialGroups;
+    }
+
+    /**
+     * @return the bit set with the task values for the label labelName, never null.
+     */
+    public long[] getLabelValues(String labelName) {
+        return labelValues.getOrDefault(labelName, EMPTY);
+    }
+}
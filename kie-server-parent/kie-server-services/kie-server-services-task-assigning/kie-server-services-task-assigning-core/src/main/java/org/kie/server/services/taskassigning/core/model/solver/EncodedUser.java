@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.taskassigning.core.model.solver;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.kie.server.services.taskassigning.core.model.Group;
+import org.kie.server.services.taskassigning.core.model.User;
+
+import static org.kie.server.services.taskassigning.core.model.solver.BitSetHelper.EMPTY;
+import static org.kie.server.services.taskassigning.core.model.solver.BitSetHelper.encode;
+
+/**
+ * Bit set representation of the user id, groups and label values used by the {@link TaskHelper} for the score
+ * calculation. Instances are immutable, a new one is created each time the user is encoded.
+ */
+public final class EncodedUser {
+
+    private final IndexDictionary dictionary;
+    private final int userIndex;
+    private final long[] groups;
+    private final Map<String, long[]> labelValues;
+
+    private EncodedUser(IndexDictionary dictionary, int userIndex, long[] groups, Map<String, long[]> labelValues) {
+        this.dictionary = dictionary;
+        this.userIndex = userIndex;
+        this.groups = groups;
+        this.labelValues = labelValues;
+    }
+
+    public static EncodedUser of(User user, IndexDictionary dictionary) {
+        final int userIndex = dictionary.userIndex(user.getEntityId());
+        final long[] groups = encode(user.getGroups(), (Group group) -> dictionary.groupIndex(group.getEntityId()));
+        final Map<String, long[]> labelValues = new HashMap<>();
+        if (user.getAllLabelValues() != null) {
+            user.getAllLabelValues().forEach((labelName, values) ->
+                                                     labelValues.put(labelName, encode(values, value -> dictionary.labelValueIndex(labelName, value))));
+        }
+        return new EncodedUser(dictionary, userIndex, groups, labelValues);
+    }
+
+    /**
+     * @return the dictionary the indexes of this encoding belong to.
+     */
+    public IndexDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public int getUserIndex() {
+        return userIndex;
+    }
+
+    public long[] getGroups() {
+        return groups;
+    }
+
+    /**
+     * @return the bit set with the user values for the label labelName, never null.
+     */
+    public long[] getLabelValues(String labelName) {
+        return labelValues.getOrDefault(labelName, EMPTY);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.taskassigning.core.model.solver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Interns the label values, user ids and group ids into dense integer indexes so that tasks and users can keep them
+ * as bit sets, see {@link EncodedTask} and {@link EncodedUser}. Each solution has its own dictionary, see
+ * {@link org.kie.server.services.taskassigning.core.model.TaskAssigningSolution#getIndexDictionary()}, so it only
+ * holds the entries of the tasks and users encoded for that solution and is released together with it. Label values
+ * are interned per label name, so each label has its own dense index space.
+ */
+public class IndexDictionary {
+
+    /**
+     * ConcurrentHashMap don't accept null keys, but a null value in a set is still a value.
+     */
+    private static final Object NULL_KEY = new Object();
+
+    private final Index users = new Index();
+    private final Index groups = new Index();
+    private final Map<String, Index> labelValues = new ConcurrentHashMap<>();
+
+    public int userIndex(String userId) {
+        return users.indexOf(userId);
+    }
+
+    public int groupIndex(String groupId) {
+        return groups.indexOf(groupId);
+    }
+
+    public int labelValueIndex(String labelName, Object value) {
+        return labelValues.computeIfAbsent(labelName, key -> new Index()).indexOf(value);
+    }
+
+    private static class Index {
+
+        private final Map<Object, Integer> indexes = new ConcurrentHashMap<>();
+        private final AtomicInteger nextIndex = new AtomicInteger();
+
+        private int indexOf(Object value) {
+            final Object key = value != null ? value : NULL_KEY;
+            final Integer index = indexes.get(key);
+            return index != null ? index : indexes.computeIfAbsent(key, k -> nextIndex.getAndIncrement());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.taskassigning.core.model.solver;
+
+import org.kie.server.services.taskassigning.core.model.DefaultLabels;
+import org.kie.server.services.taskassigning.core.model.Task;
+import org.kie.server.services.taskassigning.core.model.TaskAssigningSolution;
+import org.kie.server.services.taskassigning.core.model.User;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.buildin.bendablelong.BendableLongScore;
+import org.optaplanner.core.impl.score.director.incremental.IncrementalScoreCalculator;
+
+import static org.kie.server.services.taskassigning.core.model.ModelConstants.IS_PLANNING_USER;
+import static org.kie.server.services.taskassigning.core.model.solver.condition.TaskAssigningConditions.userMeetsPotentialOwnerOrPlanningUserCondition;
+import static org.kie.server.services.taskassigning.core.model.solver.condition.TaskAssigningConditions.userMeetsRequiredSkillsOrPlanningUserCondition;
+
+/**
+ * Incremental implementation of the constraints defined in taskAssigningScoreRules.drl, with the same hard and soft
+ * levels. Every constraint is calculated on a per task basis, so the score contribution of a task is retracted before
+ * any of its variables changes and added back after the change. Problem fact changes are handled by the score director
+ * by resetting the working solution.
+ */
+public class TaskAssigningIncrementalScoreCalculator implements IncrementalScoreCalculator<TaskAssigningSolution> {
+
+    static final int HARD_LEVELS_SIZE = 2;
+    static final int SOFT_LEVELS_SIZE = 6;
+
+    private static final String AFFINITIES = DefaultLabels.AFFINITIES.name();
+
+    private long[] hardScores = new long[HARD_LEVELS_SIZE];
+    private long[] softScores = new long[SOFT_LEVELS_SIZE];
+
+    @Override
+    public void resetWorkingSolution(TaskAssigningSolution solution) {
+        hardScores = new long[HARD_LEVELS_SIZE];
+        softScores = new long[SOFT_LEVELS_SIZE];
+        if (solution.getTaskList() != null) {
+            solution.getTaskList().forEach(task -> apply(task, 1));
+        }
+    }
+
+    @Override
+    public void beforeEntityAdded(Object entity) {
+        // no-op
+    }
+
+    @Override
+    public void afterEntityAdded(Object entity) {
+        if (entity instanceof Task) {
+            apply((Task) entity, 1);
+        }
+    }
+
+    @Override
+    public void beforeVariableChanged(Object entity, String variableName) {
+        if (entity instanceof Task) {
+            apply((Task) entity, -1);
+        }
+    }
+
+    @Override
+    public void afterVariableChanged(Object entity, String variableName) {
+        if (entity instanceof Task) {
+            apply((Task) entity, 1);
+        }
+    }
+
+    @Override
+    public void beforeEntityRemoved(Object entity) {
+        if (entity instanceof Task) {
+            apply((Task) entity, -1);
+        }
+    }
+
+    @Override
+    public void afterEntityRemoved(Object entity) {
+        // no-op
+    }
+
+    @Override
+    public Score calculateScore() {
+        return BendableLongScore.of(hardScores.clone(), softScores.clone());
+    }
+
+    /**
+     * Adds (sign = 1) or retracts (sign = -1) the score contribution of a task.
+     */
+    private void apply(Task task, int sign) {
+        final User user = task.getUser();
+        if (user == null) {
+            return;
+        }
+        // "Required Potential Owner"
+        if (!userMeetsPotentialOwnerOrPlanningUserCondition(task, user)) {
+            hardScores[0] -= sign;
+        }
+        // "Required Skills"
+        if (!userMeetsRequiredSkillsOrPlanningUserCondition(task, user)) {
+            hardScores[1] -= sign;
+        }
+        // "PlanningUser assignment"
+        if (IS_PLANNING_USER.test(user.getEntityId())) {
+            softScores[0] -= sign;
+        }
+        // the end time is not yet calculated while the shadow variables of a just assigned task are being updated.
+        final int endTime = task.getEndTimeInMinutes() != null ? task.getEndTimeInMinutes() : 0;
+        final int priority = task.getPriority();
+        // "High level priority", "Medium level priority" and "Low level priority"
+        if (PriorityHelper.isHighLevel(priority)) {
+            softScores[1] += sign * (long) PriorityHelper.calculateWeightedPenalty(priority, endTime);
+        } else if (PriorityHelper.isMediumLevel(priority)) {
+            softScores[4] += sign * (long) PriorityHelper.calculateWeightedPenalty(priority, endTime);
+        } else if (PriorityHelper.isLowLevel(priority)) {
+            softScores[5] += sign * (long) PriorityHelper.calculateWeightedPenalty(priority, endTime);
+        }
+        // "Desired Affinities"
+        if (user.isEnabled()) {
+            softScores[2] += sign * (long) TaskHelper.countMatchingLabels(task, user, AFFINITIES);
+        }
+        // "Minimize makespan (starting with the latest ending user first)"
+        if (task.getNextTask() == null) {
+            softScores[3] -= sign * (long) (endTime * endTime);
+        }
+    }
+}
@@ -28,6 +28,11 @@ import org.kie.server.services.taskassigning.core.model.Task;
 import org.kie.server.services.taskassigning.core.model.TaskOrUser;
 import org.kie.server.services.taskassigning.core.model.User;
 
+/**
+ * Helper methods used by the score calculation. When both the task and the user were encoded, see
+ * {@link Task#encode(IndexDictionary)} and {@link User#encode(IndexDictionary)}, the potential owner and label calculations are resolved by
+ * operating on their bit sets instead of iterating over the original collections.
+ */
 public class TaskHelper {
 
     private TaskHelper() {
@@ -38,6 +43,13 @@ public class TaskHelper {
      * assigned to the given task, false in any other case.
      */
     public static boolean isPotentialOwner(Task task, User user) {
+        final EncodedTask encodedTask = task.getEncodedTask();
+        final EncodedUser encodedUser = user.getEncodedUser();
+        if (encodedTask != null && encodedUser != null) {
+            return BitSetHelper.get(encodedTask.getPotentialUsers(), encodedUser.getUserIndex()) ||
+                    BitSetHelper.intersects(encodedTask.getPotentialGroups(), encodedUser.getGroups());
+        }
+
         //user appears directly in the list of potential owners.
         final boolean directlyAssigned = task.getPotentialOwners().stream()
                 .filter(OrganizationalEntity::isUser)
@@ -63,6 +75,12 @@ public class TaskHelper {
      * false in any other case.
      */
     public static boolean hasAllLabels(Task task, User user, String labelName) {
+        final EncodedTask encodedTask = task.getEncodedTask();
+        final EncodedUser encodedUser = user.getEncodedUser();
+        if (encodedTask != null && encodedUser != null) {
+            return BitSetHelper.containsAll(encodedUser.getLabelValues(labelName), encodedTask.getLabelValues(labelName));
+        }
+
         final Set<Object> taskLabelValues = task.getLabelValues(labelName);
         if (taskLabelValues == null || taskLabelValues.isEmpty()) {
             return true;
@@ -82,6 +100,12 @@ public class TaskHelper {
      * user.getLabelValues("labelName") sets.
      */
     public static int countMatchingLabels(Task task, User user, String labelName) {
+        final EncodedTask encodedTask = task.getEncodedTask();
+        final EncodedUser encodedUser = user.getEncodedUser();
+        if (encodedTask != null && encodedUser != null) {
+            return BitSetHelper.countCommon(encodedUser.getLabelValues(labelName), encodedTask.getLabelValues(labelName));
+        }
+
         final Set<Object> taskLabelValues = task.getLabelValues(labelName);
         if (taskLabelValues == null || taskLabelValues.isEmpty()) {
             return 0;
@@ -22,6 +22,8 @@ import org.kie.server.services.taskassigning.core.model.TaskAssigningSolution;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 import org.optaplanner.core.impl.solver.ProblemFactChange;
 
+import static org.kie.server.services.taskassigning.core.model.solver.realtime.ProblemFactChangeUtil.encode;
+
 /**
  * Adds a Task to the working solution. If a task with the given identifier already exists an exception is thrown.
  */
@@ -44,6 +46,7 @@ public class AddTaskProblemFactChange implements ProblemFactChange<TaskAssigning
         if (workingTask != null) {
             throw new TaskAssigningRuntimeException(String.format("A task with the given identifier id: %s already exists", task.getId()));
         }
+        encode(task, solution);
         scoreDirector.beforeEntityAdded(task);
         // Planning entity lists are already cloned by the SolutionCloner, no need to clone.
         solution.getTaskList().add(task);
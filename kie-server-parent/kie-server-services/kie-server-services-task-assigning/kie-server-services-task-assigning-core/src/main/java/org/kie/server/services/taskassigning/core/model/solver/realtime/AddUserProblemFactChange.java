@@ -24,6 +24,8 @@ import org.kie.server.services.taskassigning.core.model.User;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 import org.optaplanner.core.impl.solver.ProblemFactChange;
 
+import static org.kie.server.services.taskassigning.core.model.solver.realtime.ProblemFactChangeUtil.encode;
+
 public class AddUserProblemFactChange implements ProblemFactChange<TaskAssigningSolution> {
 
     private User user;
@@ -45,6 +47,7 @@ public class AddUserProblemFactChange implements ProblemFactChange<TaskAssigning
         }
         // Shallow clone the user list so only workingSolution is affected, not bestSolution
         workingSolution.setUserList(new ArrayList<>(workingSolution.getUserList()));
+        encode(user, workingSolution);
         // Add the problem fact itself
         scoreDirector.beforeProblemFactAdded(user);
         workingSolution.getUserList().add(user);
@@ -27,6 +27,7 @@ import org.optaplanner.core.impl.score.director.ScoreDirector;
 import org.optaplanner.core.impl.solver.ProblemFactChange;
 
 import static org.kie.server.services.taskassigning.core.model.Task.PREVIOUS_TASK_OR_USER;
+import static org.kie.server.services.taskassigning.core.model.solver.realtime.ProblemFactChangeUtil.encode;
 
 /**
  * Implements the "direct" assignment of an existing Task to a User.
@@ -77,6 +78,7 @@ public class AssignTaskProblemFactChange implements ProblemFactChange<TaskAssign
             } else {
                 // Shallow clone the user list so only workingSolution is affected, not bestSolution
                 solution.setUserList(new ArrayList<>(solution.getUserList()));
+                encode(user, solution);
                 // Add the problem fact itself
                 scoreDirector.beforeProblemFactAdded(user);
                 solution.getUserList().add(user);
@@ -101,6 +103,7 @@ public class AssignTaskProblemFactChange implements ProblemFactChange<TaskAssign
             task.setNextTask(null);
             task.setStartTimeInMinutes(null);
             task.setEndTime(null);
+            encode(task, solution);
             workingTask = task;
             isNew = true;
         }
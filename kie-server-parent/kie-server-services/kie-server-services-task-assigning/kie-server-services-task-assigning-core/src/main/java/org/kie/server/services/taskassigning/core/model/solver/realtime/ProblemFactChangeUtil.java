@@ -21,6 +21,7 @@ import java.util.List;
 import org.kie.server.services.taskassigning.core.model.Task;
 import org.kie.server.services.taskassigning.core.model.TaskAssigningSolution;
 import org.kie.server.services.taskassigning.core.model.User;
+import org.kie.server.services.taskassigning.core.model.solver.IndexDictionary;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 import static org.kie.server.services.taskassigning.core.model.Task.PREVIOUS_TASK_OR_USER;
@@ -53,6 +54,32 @@ public class ProblemFactChangeUtil {
         releaseTasks(workingUser, false, scoreDirector);
     }
 
+    /**
+     * Encodes a task that is about to be added to the working solution with the dictionary of that solution. Nothing
+     * is done if the solution wasn't encoded.
+     * @param task the task to encode.
+     * @param workingSolution the solution currently managed by the scoreDirector.
+     */
+    public static void encode(Task task, TaskAssigningSolution workingSolution) {
+        final IndexDictionary dictionary = workingSolution.getIndexDictionary();
+        if (dictionary != null) {
+            task.encode(dictionary);
+        }
+    }
+
+    /**
+     * Encodes a user that is about to be added to the working solution with the dictionary of that solution. Nothing
+     * is done if the solution wasn't encoded.
+     * @param user the user to encode.
+     * @param workingSolution the solution currently managed by the scoreDirector.
+     */
+    public static void encode(User user, TaskAssigningSolution workingSolution) {
+        final IndexDictionary dictionary = workingSolution.getIndexDictionary();
+        if (dictionary != null) {
+            user.encode(dictionary);
+        }
+    }
+
     /**
      * Release the tasks associated previously associated by OptaPlanner to a user.
      * note: Optimizes the generated graph e.g. User <-> T1 <-> T2 <-> T3 <-> T4 navigation and structure changing
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.taskassigning.core.benchmark;
+
+import java.io.File;
+
+import org.kie.server.services.taskassigning.core.persistence.TaskAssigningGenerator;
+import org.optaplanner.benchmark.api.PlannerBenchmarkFactory;
+import org.optaplanner.examples.common.app.LoggingMain;
+
+/**
+ * Compares the DRL and the incremental score calculation on generated data sets of realistic size. The data sets are
+ * generated in the first execution, and the benchmark report is written to target/benchmark/report.
+ * <p>
+ * Must be executed from the kie-server-services-task-assigning-core directory, e.g. with:
+ * <p>
+ * mvn test-compile exec:java -Dexec.mainClass=org.kie.server.services.taskassigning.core.benchmark.TaskAssigningBenchmarkApp -Dexec.classpathScope=test
+ */
+public class TaskAssigningBenchmarkApp extends LoggingMain {
+
+    static final String BENCHMARK_CONFIG = "org/kie/server/services/taskassigning/core/benchmark/taskAssigningBenchmarkConfig.xml";
+
+    static final String DATA_DIR = "target/benchmark/data/unsolved";
+
+    public static void main(String[] args) {
+        TaskAssigningGenerator.writeBenchmarkSolutions(new File(DATA_DIR));
+        PlannerBenchmarkFactory.createFromXmlResource(BENCHMARK_CONFIG)
+                .buildPlannerBenchmark()
+                .benchmark();
+    }
+}
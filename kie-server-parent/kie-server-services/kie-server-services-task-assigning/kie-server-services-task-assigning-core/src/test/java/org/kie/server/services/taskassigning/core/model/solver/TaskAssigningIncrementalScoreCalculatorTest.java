@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.taskassigning.core.model.solver;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.kie.server.services.taskassigning.core.AbstractTaskAssigningCoreTest;
+import org.kie.server.services.taskassigning.core.model.DefaultLabels;
+import org.kie.server.services.taskassigning.core.model.TaskAssigningSolution;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicType;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.score.director.ScoreDirectorFactoryConfig;
+import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.server.services.taskassigning.core.TestDataSet.SET_OF_24TASKS_8USERS_SOLUTION;
+import static org.kie.server.services.taskassigning.core.TestDataSet.SET_OF_50TASKS_5USERS_SOLUTION;
+import static org.kie.server.services.taskassigning.core.model.ModelConstants.PLANNING_USER;
+
+/**
+ * Runs the solver with the incremental score calculator in FULL_ASSERT mode using the DRL score rules as the assertion
+ * score director, so any difference between both calculations, or any corruption of the incremental score, fails
+ * the test.
+ */
+public class TaskAssigningIncrementalScoreCalculatorTest extends AbstractTaskAssigningCoreTest {
+
+    private static final long TEST_TIMEOUT = 60000;
+
+    private static final int LABEL_VALUES_SIZE = 6;
+
+    @Test(timeout = TEST_TIMEOUT)
+    public void sameScoreAsDrl24Tasks8Users() throws Exception {
+        assertSameScoreAsDrl(SET_OF_24TASKS_8USERS_SOLUTION.resource(), 100, false);
+    }
+
+    @Test(timeout = TEST_TIMEOUT)
+    public void sameScoreAsDrl50Tasks5UsersWithLabels() throws Exception {
+        assertSameScoreAsDrl(SET_OF_50TASKS_5USERS_SOLUTION.resource(), 100, true);
+    }
+
+    @Test(timeout = TEST_TIMEOUT)
+    public void sameScoreAsDrl50Tasks5UsersWithEncodedLabels() throws Exception {
+        TaskAssigningSolution solution = readSolution(SET_OF_50TASKS_5USERS_SOLUTION.resource(), true);
+        IndexDictionary dictionary = new IndexDictionary();
+        solution.getUserList().forEach(user -> user.encode(dictionary));
+        solution.getTaskList().forEach(task -> task.encode(dictionary));
+        solution.setIndexDictionary(dictionary);
+        assertSameScoreAsDrl(solution, 100);
+    }
+
+    private void assertSameScoreAsDrl(String resource, int stepCountLimit, boolean withLabels) throws Exception {
+        assertSameScoreAsDrl(readSolution(resource, withLabels), stepCountLimit);
+    }
+
+    private void assertSameScoreAsDrl(TaskAssigningSolution solution, int stepCountLimit) {
+        SolverConfig config = createBaseConfig();
+        ScoreDirectorFactoryConfig scoreDirectorFactoryConfig = new ScoreDirectorFactoryConfig();
+        scoreDirectorFactoryConfig.setIncrementalScoreCalculatorClass(TaskAssigningIncrementalScoreCalculator.class);
+        scoreDirectorFactoryConfig.setAssertionScoreDirectorFactory(config.getScoreDirectorFactoryConfig());
+        config.setScoreDirectorFactoryConfig(scoreDirectorFactoryConfig);
+        config.setEnvironmentMode(EnvironmentMode.FULL_ASSERT);
+
+        ConstructionHeuristicPhaseConfig constructionHeuristicPhaseConfig = new ConstructionHeuristicPhaseConfig();
+        constructionHeuristicPhaseConfig.setConstructionHeuristicType(ConstructionHeuristicType.FIRST_FIT);
+        LocalSearchPhaseConfig localSearchPhaseConfig = new LocalSearchPhaseConfig();
+        localSearchPhaseConfig.setTerminationConfig(new TerminationConfig().withStepCountLimit(stepCountLimit));
+        config.setPhaseConfigList(Arrays.asList(constructionHeuristicPhaseConfig, localSearchPhaseConfig));
+
+        TaskAssigningSolution result = SolverFactory.<TaskAssigningSolution>create(config).buildSolver().solve(solution);
+        assertThat(result.getScore()).isNotNull();
+        assertThat(result.getScore().isSolutionInitialized()).isTrue();
+    }
+
+    private TaskAssigningSolution readSolution(String resource, boolean withLabels) throws Exception {
+        TaskAssigningSolution solution = readTaskAssigningSolution(resource);
+        solution.getUserList().add(PLANNING_USER);
+        if (withLabels) {
+            Random random = new Random(1);
+            solution.getUserList().stream()
+                    .filter(user -> user != PLANNING_USER)
+                    .forEach(user -> {
+                        user.setLabelValues(DefaultLabels.SKILLS.name(), randomLabelValues(random, "skill", 4));
+                        user.setLabelValues(DefaultLabels.AFFINITIES.name(), randomLabelValues(random, "affinity", 3));
+                    });
+            solution.getTaskList().forEach(task -> {
+                task.setLabelValues(DefaultLabels.SKILLS.name(), randomLabelValues(random, "skill", 1));
+                task.setLabelValues(DefaultLabels.AFFINITIES.name(), randomLabelValues(random, "affinity", 2));
+            });
+        }
+        return solution;
+    }
+
+    private static Set<Object> randomLabelValues(Random random, String prefix, int size) {
+        Set<Object> values = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            values.add(prefix + random.nextInt(LABEL_VALUES_SIZE));
+        }
+        return values;
+    }
+}
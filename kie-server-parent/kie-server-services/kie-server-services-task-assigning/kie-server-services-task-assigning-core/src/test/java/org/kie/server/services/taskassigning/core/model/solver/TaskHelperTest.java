@@ -50,6 +50,7 @@ public class TaskHelperTest {
     private List<User> availableUsers;
     private List<Group> availableGroups;
     private Task task;
+    private IndexDictionary dictionary;
 
     @Parameterized.Parameter
     public String taskLabelName;
@@ -92,6 +93,7 @@ public class TaskHelperTest {
         List<OrganizationalEntity> potentialOwners = new ArrayList<>(availableUsers);
         potentialOwners.addAll(availableGroups);
         task = buildTask(potentialOwners);
+        dictionary = new IndexDictionary();
     }
 
     @Test
@@ -157,6 +159,50 @@ public class TaskHelperTest {
         assertThat(isPotentialOwner(task, user)).isFalse();
     }
 
+    @Test
+    public void isPotentialOwnerEncodedDirectAssignment() {
+        task.encode(dictionary);
+        for (User user : availableUsers) {
+            user.encode(dictionary);
+            assertThat(isPotentialOwner(task, user)).isTrue();
+        }
+        User notAssigned = new User(SIZE, "User" + SIZE);
+        notAssigned.encode(dictionary);
+        assertThat(isPotentialOwner(task, notAssigned)).isFalse();
+    }
+
+    @Test
+    public void isPotentialOwnerEncodedInDirectAssignment() {
+        Task task = new Task();
+        task.setPotentialOwners(new HashSet<>(availableGroups));
+        task.encode(dictionary);
+        User user = availableUsers.get(0);
+        user.encode(dictionary);
+        assertThat(isPotentialOwner(task, user)).isFalse();
+        for (Group group : availableGroups) {
+            user.setGroups(new HashSet<>(Collections.singletonList(group)));
+            assertThat(isPotentialOwner(task, user)).isTrue();
+        }
+        user.setGroups(new HashSet<>());
+        assertThat(isPotentialOwner(task, user)).isFalse();
+    }
+
+    @Test
+    public void isPotentialOwnerEncodedWithSeparateDictionaries() {
+        IndexDictionary otherDictionary = new IndexDictionary();
+        otherDictionary.userIndex("OtherUser");
+        otherDictionary.groupIndex("OtherGroup");
+        User user = availableUsers.get(0);
+        user.encode(otherDictionary);
+        task.encode(dictionary);
+        assertThat(user.getEncodedUser().getUserIndex()).isEqualTo(1);
+        assertThat(dictionary.userIndex(user.getEntityId())).isEqualTo(0);
+
+        user.encode(dictionary);
+        assertThat(user.getEncodedUser().getUserIndex()).isEqualTo(0);
+        assertThat(isPotentialOwner(task, user)).isTrue();
+    }
+
     @Test
     public void hasAllLabels() {
         Task task = mockTask(taskLabelName, taskLabelValues);
@@ -171,6 +217,24 @@ public class TaskHelperTest {
         assertThat(TaskHelper.countMatchingLabels(task, user, taskLabelName)).isEqualTo(matchingLabelsResult);
     }
 
+    @Test
+    public void hasAllLabelsEncoded() {
+        Task task = mockTask(taskLabelName, taskLabelValues);
+        User user = mockUser(userLabelName, userLabelValues);
+        task.encode(dictionary);
+        user.encode(dictionary);
+        assertThat(TaskHelper.hasAllLabels(task, user, taskLabelName)).isEqualTo(hasAllLabelsResult);
+    }
+
+    @Test
+    public void matchingLabelsEncoded() {
+        Task task = mockTask(taskLabelName, taskLabelValues);
+        User user = mockUser(userLabelName, userLabelValues);
+        task.encode(dictionary);
+        user.encode(dictionary);
+        assertThat(TaskHelper.countMatchingLabels(task, user, taskLabelName)).isEqualTo(matchingLabelsResult);
+    }
+
     @Test
     public void extractTasks() {
         TaskOrUser taskOrUser = buildTaskOrUser();
@@ -25,6 +25,7 @@ import org.junit.runner.RunWith;
 import org.kie.server.services.taskassigning.core.model.Task;
 import org.kie.server.services.taskassigning.core.model.TaskAssigningSolution;
 import org.kie.server.services.taskassigning.core.model.User;
+import org.kie.server.services.taskassigning.core.model.solver.IndexDictionary;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
@@ -76,6 +77,42 @@ public class ProblemFactChangeUtilTest {
         userTasks.stream().filter(task -> !task.isPinned()).forEach(task -> assertTaskWasReleased(task, scoreDirector));
     }
 
+    @Test
+    public void encodeTaskWithSolutionDictionary() {
+        TaskAssigningSolution solution = new TaskAssigningSolution();
+        IndexDictionary dictionary = new IndexDictionary();
+        solution.setIndexDictionary(dictionary);
+        Task task = new Task(TASK_ID1, null, 1);
+        ProblemFactChangeUtil.encode(task, solution);
+        assertThat(task.getEncodedTask()).isNotNull();
+        assertThat(task.getEncodedTask().getDictionary()).isSameAs(dictionary);
+    }
+
+    @Test
+    public void encodeTaskWithoutSolutionDictionary() {
+        Task task = new Task(TASK_ID1, null, 1);
+        ProblemFactChangeUtil.encode(task, new TaskAssigningSolution());
+        assertThat(task.getEncodedTask()).isNull();
+    }
+
+    @Test
+    public void encodeUserWithSolutionDictionary() {
+        TaskAssigningSolution solution = new TaskAssigningSolution();
+        IndexDictionary dictionary = new IndexDictionary();
+        solution.setIndexDictionary(dictionary);
+        User newUser = new User(USER_ID.hashCode(), USER_ID);
+        ProblemFactChangeUtil.encode(newUser, solution);
+        assertThat(newUser.getEncodedUser()).isNotNull();
+        assertThat(newUser.getEncodedUser().getDictionary()).isSameAs(dictionary);
+    }
+
+    @Test
+    public void encodeUserWithoutSolutionDictionary() {
+        User newUser = new User(USER_ID.hashCode(), USER_ID);
+        ProblemFactChangeUtil.encode(newUser, new TaskAssigningSolution());
+        assertThat(newUser.getEncodedUser()).isNull();
+    }
+
     public static void assertTaskWasReleased(Task task, ScoreDirector<TaskAssigningSolution> scoreDirector) {
         verify(scoreDirector).beforeProblemPropertyChanged(task);
         assertThat(task.isPinned()).as("Invalid pinned status for task: %s", task.getInputData()).isFalse();
@@ -19,11 +19,13 @@ package org.kie.server.services.taskassigning.core.persistence;
 import java.io.File;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
 
+import org.kie.server.services.taskassigning.core.model.DefaultLabels;
 import org.kie.server.services.taskassigning.core.model.Group;
 import org.kie.server.services.taskassigning.core.model.OrganizationalEntity;
 import org.kie.server.services.taskassigning.core.model.Task;
@@ -37,6 +39,7 @@ import org.optaplanner.examples.common.persistence.generator.StringDataGenerator
 import org.optaplanner.persistence.common.api.domain.solution.SolutionFileIO;
 import org.optaplanner.persistence.xstream.impl.domain.solution.XStreamSolutionFileIO;
 
+import static org.kie.server.services.taskassigning.core.model.ModelConstants.PLANNING_USER;
 import static org.optaplanner.examples.common.app.CommonApp.DATA_DIR_SYSTEM_PROPERTY;
 
 /**
@@ -47,6 +50,9 @@ import static org.optaplanner.examples.common.app.CommonApp.DATA_DIR_SYSTEM_PROP
  * test/resources/data/unsolved/50tasks-5users.xml
  * test/resources/data/unsolved/100tasks-5users.xml
  * test/resources/data/unsolved/500tasks-20users.xml
+ * <p>
+ * The larger data sets used by the TaskAssigningBenchmarkApp are generated with {@link #writeBenchmarkSolutions(File)}
+ * instead, and are not stored in the repository. Those data sets also include skills and affinities.
  */
 public class TaskAssigningGenerator extends LoggingMain {
 
@@ -60,14 +66,49 @@ public class TaskAssigningGenerator extends LoggingMain {
     private static final int USER_GROUP_SET_SIZE_MINIMUM = 0;
     private static final int USER_GROUP_SET_MAXIMUM = 3;
 
+    private static final int SKILLS_SIZE = 100;
+    private static final int USER_SKILLS_SET_SIZE = 8;
+    private static final int TASK_SKILLS_SET_MAXIMUM = 3;
+    private static final int AFFINITIES_SIZE = 40;
+    private static final int USER_AFFINITIES_SET_SIZE = 5;
+    private static final int TASK_AFFINITIES_SET_MAXIMUM = 3;
+
+    /**
+     * {taskListSize, userListSize} for each benchmark data set.
+     */
+    private static final int[][] BENCHMARK_DATA_SETS = {
+            {2000, 100},
+            {10000, 500},
+            {20000, 1000}
+    };
+
     public static void main(String[] args) {
-        TaskAssigningGenerator generator = new TaskAssigningGenerator();
+        System.setProperty(DATA_DIR_SYSTEM_PROPERTY, "kie-server-services-task-assigning-core/src/test/resources");
+        TaskAssigningGenerator generator = new TaskAssigningGenerator(new File(CommonApp.determineDataDir("data"), "unsolved"), false);
         generator.writeTaskAssigningSolution(24, 8);
         generator.writeTaskAssigningSolution(50, 5);
         generator.writeTaskAssigningSolution(100, 5);
         generator.writeTaskAssigningSolution(500, 20);
     }
 
+    /**
+     * Writes the benchmark data sets that doesn't exist yet in the outputDir.
+     * @param outputDir the directory for writing the data sets.
+     * @return the list of data set files.
+     */
+    public static List<File> writeBenchmarkSolutions(File outputDir) {
+        List<File> result = new ArrayList<>();
+        TaskAssigningGenerator generator = new TaskAssigningGenerator(outputDir, true);
+        for (int[] dataSet : BENCHMARK_DATA_SETS) {
+            File file = new File(outputDir, generator.determineFileName(dataSet[0], dataSet[1]) + ".xml");
+            if (!file.exists()) {
+                generator.writeTaskAssigningSolution(dataSet[0], dataSet[1]);
+            }
+            result.add(file);
+        }
+        return result;
+    }
+
     private static final StringDataGenerator groupNameGenerator = new StringDataGenerator()
             .addPart(true, 0,
                      "HR",
@@ -85,18 +126,26 @@ public class TaskAssigningGenerator extends LoggingMain {
 
     private final SolutionFileIO<TaskAssigningSolution> solutionFileIO;
     private final File outputDir;
+    /**
+     * Benchmark data sets have enabled users with skills and affinities, tasks with skills and affinities, and include
+     * the planning user like the solutions created by the SolutionBuilder.
+     */
+    private final boolean benchmark;
 
     private Random random = new Random(37);
+    // labels has its own random for not altering the already generated data sets.
+    private Random labelsRandom = new Random(41);
 
-    private TaskAssigningGenerator() {
-        System.setProperty(DATA_DIR_SYSTEM_PROPERTY, "kie-server-services-task-assigning-core/src/test/resources");
+    private TaskAssigningGenerator(File outputDir, boolean benchmark) {
         solutionFileIO = new XStreamSolutionFileIO<>(TaskAssigningSolution.class);
-        outputDir = new File(CommonApp.determineDataDir("data"), "unsolved");
+        this.outputDir = outputDir;
+        this.benchmark = benchmark;
     }
 
     private void writeTaskAssigningSolution(int taskListSize, int userListSize) {
         String fileName = determineFileName(taskListSize, userListSize);
         File outputFile = new File(outputDir, fileName + ".xml");
+        outputFile.getParentFile().mkdirs();
         TaskAssigningSolution solution = createTaskAssigningSolution(fileName, taskListSize, USER_GROUP_SIZE, userListSize);
         solutionFileIO.write(solution, outputFile);
         logger.info("Saved: {}", outputFile);
@@ -159,9 +208,17 @@ public class TaskAssigningGenerator extends LoggingMain {
                 groupListIndex = (groupListIndex + 1) % groupList.size();
             }
             user.setGroups(groupSet);
+            if (benchmark) {
+                user.setEnabled(true);
+                user.setLabelValues(DefaultLabels.SKILLS.name(), createLabelValues("Skill", USER_SKILLS_SET_SIZE, SKILLS_SIZE));
+                user.setLabelValues(DefaultLabels.AFFINITIES.name(), createLabelValues("Affinity", USER_AFFINITIES_SET_SIZE, AFFINITIES_SIZE));
+            }
             logger.trace("Created user with entityId ({}).", userName);
             userList.add(user);
         }
+        if (benchmark) {
+            userList.add(new User(PLANNING_USER.getId(), PLANNING_USER.getEntityId(), true));
+        }
         solution.setUserList(userList);
     }
 
@@ -198,8 +255,20 @@ public class TaskAssigningGenerator extends LoggingMain {
             }
 
             task.setPotentialOwners(potentialOwners);
+            if (benchmark) {
+                task.setLabelValues(DefaultLabels.SKILLS.name(), createLabelValues("Skill", labelsRandom.nextInt(TASK_SKILLS_SET_MAXIMUM + 1), SKILLS_SIZE));
+                task.setLabelValues(DefaultLabels.AFFINITIES.name(), createLabelValues("Affinity", labelsRandom.nextInt(TASK_AFFINITIES_SET_MAXIMUM + 1), AFFINITIES_SIZE));
+            }
             taskList.add(task);
         }
         solution.setTaskList(taskList);
     }
+
+    private Set<Object> createLabelValues(String prefix, int setSize, int valuesSize) {
+        Set<Object> values = new HashSet<>();
+        for (int i = 0; i < setSize; i++) {
+            values.add(prefix + labelsRandom.nextInt(valuesSize));
+        }
+        return values;
+    }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.taskassigning.core.persistence;
+
+import java.io.File;
+
+import org.kie.server.services.taskassigning.core.model.TaskAssigningSolution;
+import org.kie.server.services.taskassigning.core.model.solver.IndexDictionary;
+import org.optaplanner.persistence.xstream.impl.domain.solution.XStreamSolutionFileIO;
+
+/**
+ * SolutionFileIO with a no-arg constructor as required by the benchmark configuration. The read solutions are encoded
+ * the same way as the SolutionBuilder does for the solutions used in the kie-server.
+ */
+public class TaskAssigningSolutionFileIO extends XStreamSolutionFileIO<TaskAssigningSolution> {
+
+    public TaskAssigningSolutionFileIO() {
+        super(TaskAssigningSolution.class);
+    }
+
+    @Override
+    public TaskAssigningSolution read(File inputSolutionFile) {
+        TaskAssigningSolution solution = super.read(inputSolutionFile);
+        IndexDictionary dictionary = new IndexDictionary();
+        solution.getUserList().forEach(user -> user.encode(dictionary));
+        solution.getTaskList().forEach(task -> task.encode(dictionary));
+        solution.setIndexDictionary(dictionary);
+        return solution;
+    }
+}
@@ -30,6 +30,7 @@ import org.kie.server.services.taskassigning.core.model.Task;
 import org.kie.server.services.taskassigning.core.model.TaskAssigningSolution;
 import org.kie.server.services.taskassigning.core.model.TaskOrUser;
 import org.kie.server.services.taskassigning.core.model.User;
+import org.kie.server.services.taskassigning.core.model.solver.IndexDictionary;
 import org.kie.server.services.taskassigning.planning.util.IndexedElement;
 import org.kie.server.services.taskassigning.planning.util.UserUtil;
 
@@ -136,7 +137,15 @@ public class SolutionBuilder {
         //Add the DUMMY_TASK to avoid running into scenarios where the solution remains with no tasks.
         tasks.add(DUMMY_TASK);
         final List<User> users = new ArrayList<>(usersById.values());
-        return new TaskAssigningSolution(-1, users, tasks);
+        // label values, groups and user ids are interned into bit sets before the solver starts since the potential
+        // owner and label checks are evaluated for every move. The dictionary lives with the solution, the problem
+        // fact changes encode the tasks and users added later with the same dictionary.
+        final IndexDictionary dictionary = new IndexDictionary();
+        users.forEach(user -> user.encode(dictionary));
+        tasks.forEach(task -> task.encode(dictionary));
+        final TaskAssigningSolution solution = new TaskAssigningSolution(-1, users, tasks);
+        solution.setIndexDictionary(dictionary);
+        return solution;
     }
 
     /**
@@ -22,8 +22,10 @@ import org.kie.server.api.model.KieContainerStatus;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.KieContainerInstanceImpl;
 import org.kie.server.services.taskassigning.core.model.TaskAssigningSolution;
+import org.kie.server.services.taskassigning.core.model.solver.TaskAssigningIncrementalScoreCalculator;
 import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.score.director.ScoreDirectorFactoryConfig;
 import org.optaplanner.core.config.solver.SolverConfig;
 
 import static org.apache.commons.lang3.StringUtils.isEmpty;
@@ -91,6 +93,11 @@ public class SolverBuilder {
             }
             solverConfig.setThreadFactoryClass((Class<? extends ThreadFactory>) threadFactoryClass);
         }
+        if (solverDef.getScoreCalculation() == SolverDef.ScoreCalculation.INCREMENTAL) {
+            final ScoreDirectorFactoryConfig scoreDirectorFactoryConfig = new ScoreDirectorFactoryConfig();
+            scoreDirectorFactoryConfig.setIncrementalScoreCalculatorClass(TaskAssigningIncrementalScoreCalculator.class);
+            solverConfig.setScoreDirectorFactoryConfig(scoreDirectorFactoryConfig);
+        }
         final SolverFactory<TaskAssigningSolution> solverFactory = SolverFactory.create(solverConfig);
         return solverFactory.buildSolver();
     }
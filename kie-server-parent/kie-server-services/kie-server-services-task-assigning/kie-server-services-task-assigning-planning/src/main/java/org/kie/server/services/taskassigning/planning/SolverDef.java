@@ -18,6 +18,11 @@ package org.kie.server.services.taskassigning.planning;
 
 public class SolverDef {
 
+    public enum ScoreCalculation {
+        DRL,
+        INCREMENTAL
+    }
+
     private String containerId;
     private String groupId;
     private String artifactId;
@@ -25,6 +30,7 @@ public class SolverDef {
     private String moveThreadCount;
     private int moveThreadBufferSize;
     private String threadFactoryClass;
+    private ScoreCalculation scoreCalculation = ScoreCalculation.DRL;
 
     private String solverConfigResource;
 
@@ -50,6 +56,19 @@ public class SolverDef {
                      String moveThreadCount,
                      int moveThreadBufferSize,
                      String threadFactoryClass) {
+        this(containerId, groupId, artifactId, version, solverConfigResource, moveThreadCount, moveThreadBufferSize,
+             threadFactoryClass, ScoreCalculation.DRL);
+    }
+
+    public SolverDef(String containerId,
+                     String groupId,
+                     String artifactId,
+                     String version,
+                     String solverConfigResource,
+                     String moveThreadCount,
+                     int moveThreadBufferSize,
+                     String threadFactoryClass,
+                     ScoreCalculation scoreCalculation) {
         this.containerId = containerId;
         this.groupId = groupId;
         this.artifactId = artifactId;
@@ -58,6 +77,7 @@ public class SolverDef {
         this.moveThreadCount = moveThreadCount;
         this.moveThreadBufferSize = moveThreadBufferSize;
         this.threadFactoryClass = threadFactoryClass;
+        this.scoreCalculation = scoreCalculation;
     }
 
     public String getContainerId() {
@@ -91,4 +111,8 @@ public class SolverDef {
     public String getThreadFactoryClass() {
         return threadFactoryClass;
     }
+
+    public ScoreCalculation getScoreCalculation() {
+        return scoreCalculation;
+    }
 }
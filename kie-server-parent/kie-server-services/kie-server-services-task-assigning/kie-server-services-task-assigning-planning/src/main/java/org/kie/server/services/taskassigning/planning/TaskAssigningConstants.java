@@ -111,6 +111,14 @@ public class TaskAssigningConstants {
      */
     public static final String TASK_ASSIGNING_SOLVER_THREAD_FACTORY_CLASS = "org.kie.server.taskAssigning.solver.threadFactoryClass";
 
+    /**
+     * Property for configuring how the solver calculates the score, DRL (default) or INCREMENTAL.
+     * DRL uses the score rules from the solver configuration while INCREMENTAL replaces them with the
+     * TaskAssigningIncrementalScoreCalculator, that calculates the same constraints without a Drools working memory.
+     * Only applies to solvers created from the configResource.
+     */
+    public static final String TASK_ASSIGNING_SOLVER_SCORE_CALCULATION = "org.kie.server.taskAssigning.solver.scoreCalculation";
+
     public static final String TASK_ASSIGNING_SOLVER_CONTAINER_ID = "org.kie.server.taskAssigning.solver.container.id";
 
     public static final String TASK_ASSIGNING_SOLVER_CONTAINER_GROUP_ID = "org.kie.server.taskAssigning.solver.container.groupId";
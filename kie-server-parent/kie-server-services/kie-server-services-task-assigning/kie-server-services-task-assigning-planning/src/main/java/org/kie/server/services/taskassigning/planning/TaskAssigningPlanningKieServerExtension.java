@@ -64,6 +64,7 @@ import static org.kie.server.services.taskassigning.planning.TaskAssigningConsta
 import static org.kie.server.services.taskassigning.planning.TaskAssigningConstants.TASK_ASSIGNING_SOLVER_CONTAINER_VERSION;
 import static org.kie.server.services.taskassigning.planning.TaskAssigningConstants.TASK_ASSIGNING_SOLVER_MOVE_THREAD_BUFFER_SIZE;
 import static org.kie.server.services.taskassigning.planning.TaskAssigningConstants.TASK_ASSIGNING_SOLVER_MOVE_THREAD_COUNT;
+import static org.kie.server.services.taskassigning.planning.TaskAssigningConstants.TASK_ASSIGNING_SOLVER_SCORE_CALCULATION;
 import static org.kie.server.services.taskassigning.planning.TaskAssigningConstants.TASK_ASSIGNING_SOLVER_THREAD_FACTORY_CLASS;
 import static org.kie.server.services.taskassigning.planning.TaskAssigningConstants.TASK_ASSIGNING_USER_SYSTEM_CONTAINER_ARTIFACT_ID;
 import static org.kie.server.services.taskassigning.planning.TaskAssigningConstants.TASK_ASSIGNING_USER_SYSTEM_CONTAINER_GROUP_ID;
@@ -280,6 +281,8 @@ public class TaskAssigningPlanningKieServerExtension implements KieServerExtensi
         final String moveThreadCount = readSystemProperty(TASK_ASSIGNING_SOLVER_MOVE_THREAD_COUNT, null, value -> value);
         final int moveThreadBufferSize = readSystemProperty(TASK_ASSIGNING_SOLVER_MOVE_THREAD_BUFFER_SIZE, -1, Integer::parseInt);
         final String threadFactoryClass = readSystemProperty(TASK_ASSIGNING_SOLVER_THREAD_FACTORY_CLASS, null, value -> value);
+        final SolverDef.ScoreCalculation scoreCalculation = readSystemProperty(TASK_ASSIGNING_SOLVER_SCORE_CALCULATION, SolverDef.ScoreCalculation.DRL,
+                                                                               value -> SolverDef.ScoreCalculation.valueOf(value.trim().toUpperCase()));
 
         return new SolverDef(containerId,
                              groupId,
@@ -288,7 +291,8 @@ public class TaskAssigningPlanningKieServerExtension implements KieServerExtensi
                              solverConfigResource,
                              moveThreadCount,
                              moveThreadBufferSize,
-                             threadFactoryClass);
+                             threadFactoryClass,
+                             scoreCalculation);
     }
 
     TaskAssigningService createTaskAssigningService() {
@@ -33,7 +33,9 @@ import org.kie.server.services.taskassigning.core.model.User;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import static org.junit.Assert.assertTrue;
 import static org.kie.api.task.model.Status.InProgress;
@@ -42,6 +44,8 @@ import static org.kie.api.task.model.Status.Reserved;
 import static org.kie.api.task.model.Status.Suspended;
 import static org.kie.server.api.model.taskassigning.util.StatusConverter.convertToString;
 import static org.kie.server.services.taskassigning.core.model.ModelConstants.DUMMY_TASK;
+import static org.kie.server.services.taskassigning.core.model.ModelConstants.IS_PLANNING_USER;
+import static org.kie.server.services.taskassigning.core.model.ModelConstants.PLANNING_USER;
 import static org.kie.server.services.taskassigning.core.model.ModelConstants.PLANNING_USER_ID;
 import static org.kie.server.services.taskassigning.core.model.solver.TaskHelper.extractTasks;
 import static org.kie.server.services.taskassigning.planning.TestUtil.assertContains;
@@ -92,6 +96,30 @@ public class SolutionBuilderTest {
         assertEquals(DUMMY_TASK, solution.getTaskList().get(0));
     }
 
+    @Test
+    public void buildAndCheckEncodedWithSolutionDictionary() {
+        List<org.kie.server.services.taskassigning.user.system.api.User> externalUsers = buildExternalUsers();
+        TaskAssigningSolution solution = SolutionBuilder.create()
+                .withTasks(Collections.emptyList())
+                .withUsers(externalUsers)
+                .withContext(context)
+                .build();
+        TaskAssigningSolution otherSolution = SolutionBuilder.create()
+                .withTasks(Collections.emptyList())
+                .withUsers(externalUsers)
+                .withContext(context)
+                .build();
+
+        assertNotNull(solution.getIndexDictionary());
+        assertNotSame(solution.getIndexDictionary(), otherSolution.getIndexDictionary());
+        solution.getUserList().stream()
+                .filter(user -> !IS_PLANNING_USER.test(user.getEntityId()))
+                .forEach(user -> assertSame(solution.getIndexDictionary(), user.getEncodedUser().getDictionary()));
+        // the shared PLANNING_USER and DUMMY_TASK are never encoded with the dictionary of a particular solution.
+        assertNull(PLANNING_USER.getEncodedUser());
+        assertNull(DUMMY_TASK.getEncodedTask());
+    }
+
     @Test
     public void buildAndCheckReadyTaskWasProcessedCorrect() {
         List<org.kie.server.services.taskassigning.user.system.api.User> externalUsers = buildExternalUsers();
@@ -43,6 +43,8 @@ public class SolverBuilderTest {
 
     private static final String SOLVER_CONTAINER_CONFIG_RESOURCE = "org/kie/server/services/taskassigning/planning/test/model/SolverBuilderTestContainerConfig.xml";
 
+    private static final String DEFAULT_SOLVER_CONFIG_RESOURCE = "org/kie/server/services/taskassigning/solver/taskAssigningDefaultSolverConfig.xml";
+
     private static final String CONTAINER_ID = "CONTAINER_ID";
 
     private static final String NOT_EXISTING_SOLVER_CONFIG_RESOURCE = "NotExistingResource.xml";
@@ -77,6 +79,17 @@ public class SolverBuilderTest {
         assertNotNull(solver);
     }
 
+    @Test
+    public void buildFromResourceWithIncrementalScoreCalculationSuccessful() {
+        SolverDef solverDef = new SolverDef(null, null, null, null, DEFAULT_SOLVER_CONFIG_RESOURCE, null, -1, null,
+                                            SolverDef.ScoreCalculation.INCREMENTAL);
+        Solver solver = SolverBuilder.create()
+                .solverDef(solverDef)
+                .registry(registry)
+                .build();
+        assertNotNull(solver);
+    }
+
     @Test
     public void buildFromResourceWithThreadFactoryNotFoundError() {
         SolverDef solverDef = new SolverDef(SOLVER_SIMPLE_CONFIG_RESOURCE, AUTO, 10, NOT_EXISTING_CLASS);
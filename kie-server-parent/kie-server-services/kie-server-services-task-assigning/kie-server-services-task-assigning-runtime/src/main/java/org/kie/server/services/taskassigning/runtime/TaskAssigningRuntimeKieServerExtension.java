@@ -25,6 +25,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.io.IOUtils;
 import org.jbpm.kie.services.impl.query.SqlQueryDefinition;
@@ -49,6 +53,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.kie.server.api.KieServerConstants.KIE_TASK_ASSIGNING_RUNTIME_EXT_DISABLED;
+import static org.kie.server.api.KieServerConstants.KIE_TASK_ASSIGNING_RUNTIME_PLANNING_EXECUTION_MAX_BATCH_SIZE;
+import static org.kie.server.api.KieServerConstants.KIE_TASK_ASSIGNING_RUNTIME_PLANNING_EXECUTION_THREADS;
 import static org.kie.server.api.model.taskassigning.QueryParamName.TO_TASK_ID;
 import static org.kie.server.services.taskassigning.runtime.TaskAssigningRuntimeKieServerExtensionMessages.HEALTH_CHECK_ERROR;
 import static org.kie.server.services.taskassigning.runtime.TaskAssigningRuntimeKieServerExtensionMessages.HEALTH_CHECK_IS_ALIVE_MESSAGE;
@@ -68,8 +74,13 @@ public class TaskAssigningRuntimeKieServerExtension implements KieServerExtensio
 
     static final String TASK_ASSIGNING_QUERY_DEFINITIONS_RESOURCE = "/task-assigning-query-definitions.json";
 
+    static final int DEFAULT_PLANNING_EXECUTION_THREADS = 4;
+
+    private static final long EXECUTOR_TERMINATION_TIMEOUT = 5;
+
     private KieServerRegistry registry;
     private TaskAssigningRuntimeServiceBase taskAssigningRuntimeServiceBase;
+    private ExecutorService planningExecutorService;
     private QueryService queryService = null;
 
     private List<Object> services = new ArrayList<>();
@@ -122,12 +133,65 @@ public class TaskAssigningRuntimeKieServerExtension implements KieServerExtensio
                 }
             }
         }
-        taskAssigningRuntimeServiceBase = new TaskAssigningRuntimeServiceBase(kieServer, registry, userTaskService, queryService);
+        final int threads = readPositiveIntProperty(KIE_TASK_ASSIGNING_RUNTIME_PLANNING_EXECUTION_THREADS, DEFAULT_PLANNING_EXECUTION_THREADS);
+        final int maxBatchSize = readPositiveIntProperty(KIE_TASK_ASSIGNING_RUNTIME_PLANNING_EXECUTION_MAX_BATCH_SIZE, TaskAssigningRuntimeServiceBase.DEFAULT_MAX_BATCH_SIZE);
+        planningExecutorService = newPlanningExecutorService(threads);
+        taskAssigningRuntimeServiceBase = new TaskAssigningRuntimeServiceBase(kieServer, registry, userTaskService, queryService,
+                                                                              planningExecutorService, maxBatchSize);
+    }
+
+    /**
+     * Creates the executor for running the planning commands of the different containers. Threads are daemon threads
+     * so that a not yet destroyed extension never prevents the JVM from exiting.
+     */
+    static ExecutorService newPlanningExecutorService(int threads) {
+        final AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "KieServer-TaskAssigningPlanning-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    ExecutorService getPlanningExecutorService() {
+        return planningExecutorService;
     }
 
     @Override
     public void destroy(KieServerImpl kieServer, KieServerRegistry registry) {
-        // no-op are required for this extension.
+        if (planningExecutorService != null) {
+            planningExecutorService.shutdown();
+            try {
+                if (planningExecutorService.awaitTermination(EXECUTOR_TERMINATION_TIMEOUT, TimeUnit.SECONDS)) {
+                    LOGGER.debug("Planning ExecutorService was successfully shutted down.");
+                } else {
+                    LOGGER.debug("Planning ExecutorService didn't terminate in {} seconds, pending executions will be cancelled.", EXECUTOR_TERMINATION_TIMEOUT);
+                    planningExecutorService.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.debug("An exception was thrown during planning executionService graceful termination.", e);
+                planningExecutorService.shutdownNow();
+            }
+        }
+    }
+
+    private static int readPositiveIntProperty(String propertyName, int defaultValue) {
+        final String value = System.getProperty(propertyName);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            final int result = Integer.parseInt(value.trim());
+            if (result > 0) {
+                return result;
+            }
+        } catch (NumberFormatException e) {
+            LOGGER.debug("Property: {} could not be parsed", propertyName, e);
+        }
+        LOGGER.warn("Invalid value: {} was set for property: {}, a value greater than zero is expected. Default value: {} will be used.",
+                    value, propertyName, defaultValue);
+        return defaultValue;
     }
 
     @Override
@@ -21,6 +21,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -63,6 +65,8 @@ public class TaskAssigningRuntimeServiceBase {
 
     private static final int INTERNAL_QUERY_PAGE_SIZE = 3000;
 
+    static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
     static final String TASK_MODIFIED_ERROR_MSG = "Task: %s was modified by an external action since the last executed plan";
 
     static final String TASK_MODIFIED_ERROR_MSG_1 = TASK_MODIFIED_ERROR_MSG + " actualOwner is %s but the last assignedUser is %s";
@@ -81,12 +85,29 @@ public class TaskAssigningRuntimeServiceBase {
     private KieServerRegistry registry;
     private UserTaskService userTaskService;
     private TaskAssigningRuntimeServiceQueryHelper queryHelper;
+    private Executor executor;
+    private int maxBatchSize;
 
     public TaskAssigningRuntimeServiceBase(KieServerImpl kieServer, KieServerRegistry registry, UserTaskService userTaskService, QueryService queryService) {
+        this(kieServer, registry, userTaskService, queryService, Runnable::run, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * @param executor executor for running the planning commands of the different containers. The commands for a
+     * given container are always executed in the same thread, but different containers can be processed in parallel.
+     * @param maxBatchSize max number of planning commands to execute in the same transaction.
+     */
+    public TaskAssigningRuntimeServiceBase(KieServerImpl kieServer, KieServerRegistry registry, UserTaskService userTaskService, QueryService queryService,
+                                           Executor executor, int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("A maxBatchSize greater than zero is required, but is: " + maxBatchSize);
+        }
         this.kieServer = kieServer;
         this.registry = registry;
         this.userTaskService = userTaskService;
         this.queryHelper = createQueryHelper(registry, userTaskService, queryService);
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
     }
 
     public List<TaskData> executeFindTasksQuery(Map<String, Object> params) {
@@ -122,30 +143,28 @@ public class TaskAssigningRuntimeServiceBase {
 
         stopWatch.reset();
         stopWatch.start();
+        // containers are independent from each other, so the commands for each container can be executed in parallel.
+        final List<CompletableFuture<PlanningExecutionResult>> containerResults = new ArrayList<>();
         for (Map.Entry<String, List<PlanningCommand>> entry : commandsByContainer.entrySet()) {
-            try {
-                executeContainerCommands(entry.getKey(), entry.getValue());
-            } catch (PlanningException e) {
-                LOGGER.debug("An error was produced during plan execution on containerId: {}, error code: {}, message: {}",
-                             entry.getKey(), e.getCode(), e.getMessage());
-                return PlanningExecutionResult.builder()
-                        .error(e.getCode())
-                        .errorMessage(e.getMessage())
-                        .containerId(e.getContainerId())
-                        .build();
-            } catch (Exception e) {
-                final String msg = String.format(UNEXPECTED_ERROR_DURING_PLAN_EXECUTION, entry.getKey(), e.getMessage());
-                LOGGER.error(msg, e);
-                return PlanningExecutionResult.builder()
-                        .error(PlanningExecutionResult.ErrorCode.UNEXPECTED_ERROR)
-                        .errorMessage(msg)
-                        .containerId(entry.getKey())
-                        .build();
+            containerResults.add(CompletableFuture.supplyAsync(() -> executeContainerCommands(entry.getKey(), entry.getValue()), executor));
+        }
+        // when more than one container fails, the first failure is reported and the remaining are logged. The
+        // containers that were successfully processed are not affected.
+        PlanningExecutionResult result = null;
+        for (CompletableFuture<PlanningExecutionResult> containerResult : containerResults) {
+            final PlanningExecutionResult executionResult = containerResult.join();
+            if (executionResult.hasError()) {
+                if (result == null) {
+                    result = executionResult;
+                } else {
+                    LOGGER.debug("Additional error produced during plan execution on containerId: {}, error code: {}, message: {}",
+                                 executionResult.getContainerId(), executionResult.getError(), executionResult.getErrorMessage());
+                }
             }
         }
         stopWatch.stop();
         LOGGER.debug("Time for executing the planning with planning items: {}  ->  {}", planningItemList.getItems().size(), stopWatch);
-        return PlanningExecutionResult.builder().build();
+        return result != null ? result : PlanningExecutionResult.builder().build();
     }
 
     private Map<String, List<PlanningCommand>> calculatePlanningCommands(PlanningItemList planningItemList, String userId) {
@@ -243,7 +262,30 @@ public class TaskAssigningRuntimeServiceBase {
         return result.stream().collect(Collectors.toMap(TaskData::getTaskId, Function.identity()));
     }
 
-    private void executeContainerCommands(String containerId, List<PlanningCommand> commands) {
+    private PlanningExecutionResult executeContainerCommands(String containerId, List<PlanningCommand> commands) {
+        try {
+            doExecuteContainerCommands(containerId, commands);
+            return PlanningExecutionResult.builder().build();
+        } catch (PlanningException e) {
+            LOGGER.debug("An error was produced during plan execution on containerId: {}, error code: {}, message: {}",
+                         containerId, e.getCode(), e.getMessage());
+            return PlanningExecutionResult.builder()
+                    .error(e.getCode())
+                    .errorMessage(e.getMessage())
+                    .containerId(e.getContainerId())
+                    .build();
+        } catch (Exception e) {
+            final String msg = String.format(UNEXPECTED_ERROR_DURING_PLAN_EXECUTION, containerId, e.getMessage());
+            LOGGER.error(msg, e);
+            return PlanningExecutionResult.builder()
+                    .error(PlanningExecutionResult.ErrorCode.UNEXPECTED_ERROR)
+                    .errorMessage(msg)
+                    .containerId(containerId)
+                    .build();
+        }
+    }
+
+    private void doExecuteContainerCommands(String containerId, List<PlanningCommand> commands) {
         LOGGER.debug("Executing planning commands for container: {}", containerId);
         List<DelegateAndSaveCommand> delegations = new ArrayList<>();
         List<SavePlanningItemCommand> saves = new ArrayList<>();
@@ -262,15 +304,7 @@ public class TaskAssigningRuntimeServiceBase {
         bulkDelegate(containerId, delegations);
         List<PlanningCommand> onlyDBCommands = new ArrayList<>(saves);
         onlyDBCommands.addAll(deletes);
-        if (!onlyDBCommands.isEmpty()) {
-            CompositeCommand onlyDBCommand = new CompositeCommand<>(new TaskCommand<TaskCommand>() {
-                @Override
-                public TaskCommand execute(Context context) {
-                    return null;
-                }
-            }, onlyDBCommands.toArray(new TaskCommand[0]));
-            userTaskService.execute(containerId, onlyDBCommand);
-        }
+        executeInBatches(containerId, onlyDBCommands);
         LOGGER.debug("Planning commands execution for container: {} finished successfully", containerId);
     }
 
@@ -283,12 +317,27 @@ public class TaskAssigningRuntimeServiceBase {
 
     private void bulkDelegate(String containerId, List<DelegateAndSaveCommand> delegations) {
         LOGGER.debug("Executing bulk delegation for container: {}", containerId);
-        for (DelegateAndSaveCommand command : delegations) {
-            userTaskService.execute(containerId, command);
-        }
+        executeInBatches(containerId, delegations);
         LOGGER.debug("Bulk delegation for container: {} finished successfully", containerId);
     }
 
+    /**
+     * Executes the commands in groups of at most maxBatchSize commands. Each group is executed as a CompositeCommand,
+     * and thus in the same transaction, in order to reduce the transactions and flushes needed to process large plans.
+     */
+    private void executeInBatches(String containerId, List<? extends PlanningCommand> commands) {
+        for (int from = 0; from < commands.size(); from += maxBatchSize) {
+            final List<? extends PlanningCommand> batch = commands.subList(from, Math.min(from + maxBatchSize, commands.size()));
+            CompositeCommand batchCommand = new CompositeCommand<>(new TaskCommand<TaskCommand>() {
+                @Override
+                public TaskCommand execute(Context context) {
+                    return null;
+                }
+            }, batch.toArray(new TaskCommand[0]));
+            userTaskService.execute(containerId, batchCommand);
+        }
+    }
+
     private void addCommand(Map<String, List<PlanningCommand>> commandsByContainer, String containerId, PlanningCommand command) {
         commandsByContainer.computeIfAbsent(containerId, k -> new ArrayList<>()).add(command);
     }
@@ -18,6 +18,8 @@ package org.kie.server.services.taskassigning.runtime;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import org.assertj.core.api.Assertions;
 import org.jbpm.services.api.UserTaskService;
@@ -126,6 +128,30 @@ public class TaskAssigningRuntimeKieServerExtensionTest {
         verify(queryService, times(4)).replaceQuery(any());
     }
 
+    @Test
+    public void destroy() {
+        prepareExtension();
+        extension.init(kieServer, registry);
+        ExecutorService executorService = extension.getPlanningExecutorService();
+        assertFalse(executorService.isShutdown());
+
+        extension.destroy(kieServer, registry);
+        assertTrue(executorService.isTerminated());
+    }
+
+    @Test
+    public void planningExecutorServiceThreads() throws Exception {
+        ExecutorService executorService = TaskAssigningRuntimeKieServerExtension.newPlanningExecutorService(2);
+        try {
+            Callable<Thread> currentThread = Thread::currentThread;
+            Thread thread = executorService.submit(currentThread).get();
+            assertTrue(thread.isDaemon());
+            assertEquals("KieServer-TaskAssigningPlanning-1", thread.getName());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     @Test
     public void getExtensionName() {
         assertEquals(EXTENSION_NAME, extension.getExtensionName());
@@ -16,11 +16,17 @@
 
 package org.kie.server.services.taskassigning.runtime;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.jbpm.services.api.UserTaskService;
 import org.jbpm.services.api.query.QueryService;
@@ -49,6 +55,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.kie.api.task.model.Status.InProgress;
 import static org.kie.api.task.model.Status.Ready;
@@ -62,8 +69,10 @@ import static org.kie.server.services.taskassigning.runtime.TaskAssigningRuntime
 import static org.kie.server.services.taskassigning.runtime.TaskAssigningRuntimeServiceBase.UNEXPECTED_ERROR_DURING_PLAN_EXECUTION;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -77,6 +86,8 @@ public class TaskAssigningRuntimeServiceBaseTest {
     private static final String PREVIOUS_ASSIGNED_USER_ID = "PREVIOUS_ASSIGNED_USER_ID";
     private static final String PREVIOUS_ASSIGNED_USER_ID_CHANGED = "PREVIOUS_ASSIGNED_USER_ID_CHANGED";
     private static final String ERROR_MESSAGE = "ERROR_MESSAGE";
+    private static final String CONTAINER_ID2 = "CONTAINER_ID2";
+    private static final int MAX_BATCH_SIZE = 2;
 
     @Mock
     private KieServerImpl kieServer;
@@ -103,7 +114,91 @@ public class TaskAssigningRuntimeServiceBaseTest {
     @Before
     public void setUp() {
         when(kieServer.isKieServerReady()).thenReturn(true);
-        serviceBase = new TaskAssigningRuntimeServiceBaseMock(kieServer, registry, userTaskService, queryService);
+        serviceBase = new TaskAssigningRuntimeServiceBaseMock(kieServer, registry, userTaskService, queryService, MAX_BATCH_SIZE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createWithInvalidMaxBatchSize() {
+        new TaskAssigningRuntimeServiceBaseMock(kieServer, registry, userTaskService, queryService, 0);
+    }
+
+    @Test
+    public void executePlanningWithMoreItemsThanMaxBatchSize() {
+        List<TaskData> taskDataList = new ArrayList<>();
+        List<PlanningItem> planningItems = new ArrayList<>();
+        for (long taskId = 0; taskId < MAX_BATCH_SIZE + 1; taskId++) {
+            taskDataList.add(mockTaskData(taskId, InProgress, ASSIGNED_USER_ID, null));
+            planningItems.add(mockPlanningItem(taskId, CONTAINER_ID, ASSIGNED_USER_ID));
+        }
+        PlanningItemList planningItemList = new PlanningItemList(planningItems);
+
+        prepareExecution(taskDataList, CONTAINER_ID);
+        PlanningExecutionResult result = serviceBase.executePlanning(planningItemList, USER_ID);
+        verify(userTaskService, times(2)).execute(eq(CONTAINER_ID), planningCommandCaptor.capture());
+
+        List<TaskCommand> firstBatch = ((CompositeCommand) planningCommandCaptor.getAllValues().get(0)).getCommands();
+        List<TaskCommand> secondBatch = ((CompositeCommand) planningCommandCaptor.getAllValues().get(1)).getCommands();
+        assertEquals(MAX_BATCH_SIZE, firstBatch.size());
+        assertEquals(1, secondBatch.size());
+        for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+            assertSavePlanningItemCommand(firstBatch, i, planningItems.get(i));
+        }
+        assertSavePlanningItemCommand(secondBatch, 0, planningItems.get(MAX_BATCH_SIZE));
+        assertNoError(result);
+    }
+
+    @Test
+    public void executePlanningWithErrorInOneContainer() {
+        TaskData taskData1 = mockTaskData(TASK_ID, Ready);
+        TaskData taskData2 = mockTaskData(TASK_ID + 1, Ready);
+        List<TaskData> taskDataList = Arrays.asList(taskData1, taskData2);
+        PlanningItem planningItem1 = mockPlanningItem(TASK_ID, CONTAINER_ID, ASSIGNED_USER_ID);
+        PlanningItem planningItem2 = mockPlanningItem(TASK_ID + 1, CONTAINER_ID2, ASSIGNED_USER_ID);
+        PlanningItemList planningItemList = new PlanningItemList(Arrays.asList(planningItem1, planningItem2));
+
+        prepareExecution(taskDataList, CONTAINER_ID);
+        when(registry.getContainer(CONTAINER_ID2)).thenReturn(container);
+        when(userTaskService.execute(eq(CONTAINER_ID), any())).thenThrow(new RuntimeException(ERROR_MESSAGE));
+        PlanningExecutionResult result = serviceBase.executePlanning(planningItemList, USER_ID);
+
+        // the failure in the first container doesn't prevent the second container from being processed.
+        verify(userTaskService).execute(eq(CONTAINER_ID2), planningCommandCaptor.capture());
+        assertDelegateAndSaveCommand(((CompositeCommand) planningCommandCaptor.getValue()).getCommands(), 0, USER_ID, planningItem2);
+        assertHasError(result, PlanningExecutionResult.ErrorCode.UNEXPECTED_ERROR, String.format(UNEXPECTED_ERROR_DURING_PLAN_EXECUTION, CONTAINER_ID, ERROR_MESSAGE), CONTAINER_ID);
+    }
+
+    @Test(timeout = 30000)
+    public void executePlanningWithContainersInParallel() {
+        TaskData taskData1 = mockTaskData(TASK_ID, Ready);
+        TaskData taskData2 = mockTaskData(TASK_ID + 1, Ready);
+        List<TaskData> taskDataList = Arrays.asList(taskData1, taskData2);
+        PlanningItem planningItem1 = mockPlanningItem(TASK_ID, CONTAINER_ID, ASSIGNED_USER_ID);
+        PlanningItem planningItem2 = mockPlanningItem(TASK_ID + 1, CONTAINER_ID2, ASSIGNED_USER_ID);
+        PlanningItemList planningItemList = new PlanningItemList(Arrays.asList(planningItem1, planningItem2));
+
+        prepareExecution(taskDataList, CONTAINER_ID);
+        when(registry.getContainer(CONTAINER_ID2)).thenReturn(container);
+        CyclicBarrier bothContainersExecuting = new CyclicBarrier(2);
+        Map<String, String> threadByContainer = new ConcurrentHashMap<>();
+        when(userTaskService.execute(anyString(), any())).thenAnswer(invocation -> {
+            threadByContainer.put((String) invocation.getArguments()[0], Thread.currentThread().getName());
+            // the commands of each container can only finish while the commands of the other one are being executed.
+            bothContainersExecuting.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        ExecutorService executor = TaskAssigningRuntimeKieServerExtension.newPlanningExecutorService(2);
+        try {
+            serviceBase = new TaskAssigningRuntimeServiceBaseMock(kieServer, registry, userTaskService, queryService, executor, MAX_BATCH_SIZE);
+            PlanningExecutionResult result = serviceBase.executePlanning(planningItemList, USER_ID);
+
+            assertNoError(result);
+            assertEquals(2, threadByContainer.size());
+            assertNotEquals(threadByContainer.get(CONTAINER_ID), threadByContainer.get(CONTAINER_ID2));
+            assertTrue(threadByContainer.values().stream().allMatch(name -> name.startsWith("KieServer-TaskAssigningPlanning-")));
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     @Test
@@ -135,7 +230,7 @@ public class TaskAssigningRuntimeServiceBaseTest {
         PlanningExecutionResult result = serviceBase.executePlanning(planningItemList, USER_ID);
         verify(userTaskService).execute(eq(CONTAINER_ID), planningCommandCaptor.capture());
 
-        assertDelegateAndSaveCommand(planningCommandCaptor.getAllValues(), 0, USER_ID, planningItem);
+        assertDelegateAndSaveCommand(((CompositeCommand) planningCommandCaptor.getValue()).getCommands(), 0, USER_ID, planningItem);
         assertNoError(result);
     }
 
@@ -150,7 +245,7 @@ public class TaskAssigningRuntimeServiceBaseTest {
         PlanningExecutionResult result = serviceBase.executePlanning(planningItemList, USER_ID);
         verify(userTaskService).execute(eq(CONTAINER_ID), planningCommandCaptor.capture());
 
-        assertDelegateAndSaveCommand(planningCommandCaptor.getAllValues(), 0, USER_ID, planningItem);
+        assertDelegateAndSaveCommand(((CompositeCommand) planningCommandCaptor.getValue()).getCommands(), 0, USER_ID, planningItem);
         assertNoError(result);
     }
 
@@ -166,7 +261,7 @@ public class TaskAssigningRuntimeServiceBaseTest {
         PlanningExecutionResult result = serviceBase.executePlanning(planningItemList, USER_ID);
         verify(userTaskService).execute(eq(CONTAINER_ID), planningCommandCaptor.capture());
 
-        assertDelegateAndSaveCommand(planningCommandCaptor.getAllValues(), 0, USER_ID, planningItem);
+        assertDelegateAndSaveCommand(((CompositeCommand) planningCommandCaptor.getValue()).getCommands(), 0, USER_ID, planningItem);
         assertNoError(result);
     }
 
@@ -341,8 +436,14 @@ public class TaskAssigningRuntimeServiceBaseTest {
 
     private class TaskAssigningRuntimeServiceBaseMock extends TaskAssigningRuntimeServiceBase {
 
-        public TaskAssigningRuntimeServiceBaseMock(KieServerImpl kieServer, KieServerRegistry registry, UserTaskService userTaskService, QueryService queryService) {
-            super(kieServer, registry, userTaskService, queryService);
+        public TaskAssigningRuntimeServiceBaseMock(KieServerImpl kieServer, KieServerRegistry registry, UserTaskService userTaskService, QueryService queryService,
+                                                   int maxBatchSize) {
+            this(kieServer, registry, userTaskService, queryService, Runnable::run, maxBatchSize);
+        }
+
+        public TaskAssigningRuntimeServiceBaseMock(KieServerImpl kieServer, KieServerRegistry registry, UserTaskService userTaskService, QueryService queryService,
+                                                   Executor executor, int maxBatchSize) {
+            super(kieServer, registry, userTaskService, queryService, executor, maxBatchSize);
         }
 
         @Override
@@ -15,6 +15,9 @@
 
 package org.kie.server.integrationtests.dmn;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Before;
@@ -28,6 +31,8 @@ import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.dmn.DMNContextKS;
 import org.kie.server.api.model.dmn.DMNModelInfoList;
+import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.api.model.dmn.DMNResultKSList;
 import org.kie.server.client.impl.DMNServicesClientImpl;
 import org.kie.server.integrationtests.shared.KieServerAssert;
 import org.kie.server.integrationtests.shared.KieServerDeployer;
@@ -124,6 +129,27 @@ public class DMNInputDataStringIntegrationTest
         assertThat( dmnResult.getDecisionResultByName( "Greeting Message" ).getResult(), is( "Salve John Doe" ) );
     }
     
+    @Test
+    public void test_evaluateAllBatch() {
+        List<DMNContext> contexts = new ArrayList<>();
+        for (String name : Arrays.asList("John Doe", "Jane Doe", "Paul Doe")) {
+            DMNContext dmnContext = dmnClient.newContext();
+            dmnContext.set( "Full Name", name );
+            contexts.add(dmnContext);
+        }
+
+        ServiceResponse<DMNResultKSList> evaluateAllBatch = dmnClient.evaluateAllBatch(CONTAINER_ID, MODEL_NAMESPACE, MODEL_NAME, contexts);
+
+        assertEquals(ResponseType.SUCCESS, evaluateAllBatch.getType());
+        assertEquals("OK from container '" + CONTAINER_ID + "'", evaluateAllBatch.getMsg());
+
+        List<DMNResultKS> results = evaluateAllBatch.getResult().getResults();
+        assertThat( results.size(), is( 3 ) );
+        assertThat( results.get(0).getDecisionResultByName( "Greeting Message" ).getResult(), is( "Hello John Doe" ) );
+        assertThat( results.get(1).getDecisionResultByName( "Greeting Message" ).getResult(), is( "Hello Jane Doe" ) );
+        assertThat( results.get(2).getContext().get( "Greeting Message" ), is( "Hello Paul Doe" ) );
+    }
+
     // See org.kie.dmn.core.DMNInputRuntimeTest
     @Test
     public void testInputStringEvaluateDecisionByName() {
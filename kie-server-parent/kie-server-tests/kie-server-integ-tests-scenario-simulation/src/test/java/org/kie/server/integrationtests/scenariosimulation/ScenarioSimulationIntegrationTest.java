@@ -20,6 +20,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.stream.Collectors;
 
 import org.junit.BeforeClass;
@@ -49,6 +50,7 @@ public class ScenarioSimulationIntegrationTest
     private static final String DMN_SCESIM_FAIL_PATH = "/input-data-string-fail.scesim";
     private static final String RULE_SCESIM_SUCCESS_PATH = "/rule-success.scesim";
     private static final String RULE_SCESIM_FAIL_PATH = "/rule-fail.scesim";
+    private static final String DMN_SCESIM_MULTIPLE_PATH = "/input-data-string-multiple.scesim";
     private ScenarioSimulationServicesClient scenarioSimulationServicesClient;
 
     @Override
@@ -77,6 +79,37 @@ public class ScenarioSimulationIntegrationTest
                                       scenarioSimulationServicesClient.executeScenario(containerId, loadResource(content)));
     }
 
+    @Test
+    public void executeScenarioInParallelTest() throws Exception {
+        commonExecuteScenario((containerId, content) ->
+                                      scenarioSimulationServicesClient.executeScenario(containerId, loadResource(content), 2));
+    }
+
+    @Test
+    public void executeMultipleScenariosInParallelTest() throws Exception {
+        String content = loadResource(DMN_SCESIM_MULTIPLE_PATH);
+
+        ServiceResponse<ScenarioSimulationResult> serialResponse = scenarioSimulationServicesClient.executeScenario(CONTAINER_1_ID, content, 1);
+        // scenarios are split into two shards, each running every other scenario
+        ServiceResponse<ScenarioSimulationResult> parallelResponse = scenarioSimulationServicesClient.executeScenario(CONTAINER_1_ID, content, 2);
+
+        for (ServiceResponse<ScenarioSimulationResult> response : Arrays.asList(serialResponse, parallelResponse)) {
+            assertEquals(ResponseType.FAILURE, response.getType());
+            assertEquals("Test Scenario execution failed", response.getMsg());
+
+            ScenarioSimulationResult result = response.getResult();
+            assertEquals(4, result.getRunCount());
+            assertEquals(4, result.getTimings().size());
+            // failures and timings of merged shards are reported in the order scenarios are defined
+            assertEquals(2, result.getFailures().size());
+            assertEquals("#2: Scenario 'KO scenario 2' failed", result.getFailures().get(0).getErrorMessage());
+            assertEquals("#4: Scenario 'KO scenario 4' failed", result.getFailures().get(1).getErrorMessage());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(serialResponse.getResult().getTimings().get(i).getDescription(), result.getTimings().get(i).getDescription());
+            }
+        }
+    }
+
     private void commonExecuteScenario(CheckedExceptionBiFunction<String, String, ServiceResponse<ScenarioSimulationResult>> methodToTest) throws Exception {
 
         ServiceResponse<ScenarioSimulationResult> dmnResponseSuccess = methodToTest.apply(CONTAINER_1_ID, DMN_SCESIM_SUCCESS_PATH);
@@ -84,6 +117,7 @@ public class ScenarioSimulationIntegrationTest
         assertEquals(ResponseType.SUCCESS, dmnResponseSuccess.getType());
         assertEquals(1, dmnResponseSuccess.getResult().getRunCount());
         assertEquals("Test Scenario successfully executed", dmnResponseSuccess.getMsg());
+        assertEquals(1, dmnResponseSuccess.getResult().getTimings().size());
 
         ServiceResponse<ScenarioSimulationResult> dmnResponseFail = methodToTest.apply(CONTAINER_1_ID, DMN_SCESIM_FAIL_PATH);
 